@@ -3,13 +3,19 @@ package com.versuchdrei.datamanager;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 
+import com.versuchdrei.datamanager.datasource.DataScope;
 import com.versuchdrei.datamanager.datasource.DataSource;
+import com.versuchdrei.datamanager.watch.ChangeListener;
+import com.versuchdrei.datamanager.watch.DataWatch;
 
 /**
  * the API class to access the data manager from other plugins
@@ -18,6 +24,9 @@ import com.versuchdrei.datamanager.datasource.DataSource;
  */
 public class DataManager {
 	
+	// the data source used while the plugin is not enabled, to run code using the API outside of a server
+	private static volatile DataSource standaloneSource;
+	
 	public static class Global{
 
 		public static boolean set(final String pluginKey, final String dataKey, final String data) {
@@ -187,6 +196,136 @@ public class DataManager {
 		public static List<String> getList(final String pluginKey, final String dataKey, final List<String> other) {
 			return getList(pluginKey, dataKey).orElse(other);
 		}
+		
+		public static boolean appendToList(final String pluginKey, final String dataKey, final String element) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().appendToList(pluginKey, dataKey, element);
+		}
+		
+		public static boolean removeFromList(final String pluginKey, final String dataKey, final String element) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().removeFromList(pluginKey, dataKey, element);
+		}
+		
+		public static boolean listContains(final String pluginKey, final String dataKey, final String element) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot read data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().listContains(pluginKey, dataKey, element);
+		}
+		
+		public static int getListSize(final String pluginKey, final String dataKey) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot read data
+			if(!optionalSource.isPresent()) {
+				return 0;
+			}
+			
+			return optionalSource.get().getListSize(pluginKey, dataKey);
+		}
+		
+		public static Optional<List<String>> getListRange(final String pluginKey, final String dataKey, final int start, final int count) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot read data
+			if(!optionalSource.isPresent()) {
+				return Optional.empty();
+			}
+			
+			return Optional.of(optionalSource.get().getListRange(pluginKey, dataKey, start, count));
+		}
+		
+		public static Optional<Integer> increment(final String pluginKey, final String dataKey, final int delta) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return Optional.empty();
+			}
+			
+			return optionalSource.get().increment(pluginKey, dataKey, delta);
+		}
+		
+		public static boolean compareAndSet(final String pluginKey, final String dataKey, final int expected, final int data) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().compareAndSet(pluginKey, dataKey, expected, data);
+		}
+		
+		public static Optional<Long> increment(final String pluginKey, final String dataKey, final long delta) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return Optional.empty();
+			}
+			
+			return optionalSource.get().increment(pluginKey, dataKey, delta);
+		}
+		
+		public static boolean compareAndSet(final String pluginKey, final String dataKey, final long expected, final long data) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().compareAndSet(pluginKey, dataKey, expected, data);
+		}
+		
+		public static Optional<Float> increment(final String pluginKey, final String dataKey, final float delta) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return Optional.empty();
+			}
+			
+			return optionalSource.get().increment(pluginKey, dataKey, delta);
+		}
+		
+		public static boolean compareAndSet(final String pluginKey, final String dataKey, final float expected, final float data) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().compareAndSet(pluginKey, dataKey, expected, data);
+		}
+		
+		public static Optional<Double> increment(final String pluginKey, final String dataKey, final double delta) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return Optional.empty();
+			}
+			
+			return optionalSource.get().increment(pluginKey, dataKey, delta);
+		}
+		
+		public static boolean compareAndSet(final String pluginKey, final String dataKey, final double expected, final double data) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().compareAndSet(pluginKey, dataKey, expected, data);
+		}
 	
 	}
 	
@@ -444,292 +583,725 @@ public class DataManager {
 			return getList(player.getUniqueId(), pluginKey, dataKey, other);
 		}
 		
-	}
-	
-	public static class Groups{
-		
-		public static boolean addGroup(final String group, final String pluginKey) {
+		public static boolean forEachValue(final UUID uuid, final String pluginKey, final BiConsumer<String, Object> consumer) {
 			final Optional<DataSource> optionalSource = getDataSource();
-			// if no data source is present we cannot write data
+			// if no data source is present we cannot read data
 			if(!optionalSource.isPresent()) {
 				return false;
 			}
 			
-			return optionalSource.get().addGroup(group, pluginKey);
+			optionalSource.get().forEachValue(uuid, pluginKey, consumer);
+			return true;
 		}
 		
-		public static boolean deleteGroup(final String group, final String pluginKey) {
-			final Optional<DataSource> optionalSource = getDataSource();
-			// if no data source is present we cannot write data
-			if(!optionalSource.isPresent()) {
-				return false;
-			}
-			
-			return optionalSource.get().deleteGroup(group, pluginKey);
+		public static boolean forEachValue(final OfflinePlayer player, final String pluginKey, final BiConsumer<String, Object> consumer) {
+			return forEachValue(player.getUniqueId(), pluginKey, consumer);
 		}
 		
-		public static boolean isGroup(final String group, final String pluginKey) {
+		public static boolean appendToList(final UUID uuid, final String pluginKey, final String dataKey, final String element) {
 			final Optional<DataSource> optionalSource = getDataSource();
 			// if no data source is present we cannot write data
 			if(!optionalSource.isPresent()) {
 				return false;
 			}
 			
-			return optionalSource.get().isGroup(group, pluginKey);
+			return optionalSource.get().appendToList(uuid, pluginKey, dataKey, element);
 		}
 		
-		public static boolean addMember(final UUID uuid, final String group, final String pluginKey) {
+		public static boolean appendToList(final OfflinePlayer player, final String pluginKey, final String dataKey, final String element) {
+			return appendToList(player.getUniqueId(), pluginKey, dataKey, element);
+		}
+		
+		public static boolean removeFromList(final UUID uuid, final String pluginKey, final String dataKey, final String element) {
 			final Optional<DataSource> optionalSource = getDataSource();
 			// if no data source is present we cannot write data
 			if(!optionalSource.isPresent()) {
 				return false;
 			}
 			
-			return optionalSource.get().addMember(uuid, group, pluginKey);
+			return optionalSource.get().removeFromList(uuid, pluginKey, dataKey, element);
 		}
 		
-		public static boolean addMember(final OfflinePlayer player, final String group, final String pluginKey) {
-			return addMember(player.getUniqueId(), group, pluginKey);
+		public static boolean removeFromList(final OfflinePlayer player, final String pluginKey, final String dataKey, final String element) {
+			return removeFromList(player.getUniqueId(), pluginKey, dataKey, element);
 		}
 		
-		public static boolean removeMember(final UUID uuid, final String group, final String pluginKey) {
+		public static boolean listContains(final UUID uuid, final String pluginKey, final String dataKey, final String element) {
 			final Optional<DataSource> optionalSource = getDataSource();
-			// if no data source is present we cannot write data
+			// if no data source is present we cannot read data
 			if(!optionalSource.isPresent()) {
 				return false;
 			}
 			
-			return optionalSource.get().removeMember(uuid, group, pluginKey);
+			return optionalSource.get().listContains(uuid, pluginKey, dataKey, element);
 		}
 		
-		public static boolean removeMember(final OfflinePlayer player, final String group, final String pluginKey) {
-			return removeMember(player.getUniqueId(), group, pluginKey);
+		public static boolean listContains(final OfflinePlayer player, final String pluginKey, final String dataKey, final String element) {
+			return listContains(player.getUniqueId(), pluginKey, dataKey, element);
 		}
 		
-		public static boolean isMember(final UUID uuid, final String group, final String pluginKey) {
+		public static int getListSize(final UUID uuid, final String pluginKey, final String dataKey) {
 			final Optional<DataSource> optionalSource = getDataSource();
-			// if no data source is present we cannot write data
+			// if no data source is present we cannot read data
 			if(!optionalSource.isPresent()) {
-				return false;
+				return 0;
 			}
 			
-			return optionalSource.get().isMember(uuid, group, pluginKey);
+			return optionalSource.get().getListSize(uuid, pluginKey, dataKey);
 		}
 		
-		public static boolean isMember(final OfflinePlayer player, final String group, final String pluginKey) {
-			return isMember(player.getUniqueId(), group, pluginKey);
+		public static int getListSize(final OfflinePlayer player, final String pluginKey, final String dataKey) {
+			return getListSize(player.getUniqueId(), pluginKey, dataKey);
 		}
 		
-		public static Optional<List<OfflinePlayer>> getMembers(final String group, final String pluginKey) {
-			final Optional<List<UUID>> memberIDs = getMemberIDs(group, pluginKey);
-			// if we have no IDs we can't map them on the players
-			if(memberIDs.isEmpty()) {
+		public static Optional<List<String>> getListRange(final UUID uuid, final String pluginKey, final String dataKey, final int start, final int count) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot read data
+			if(!optionalSource.isPresent()) {
 				return Optional.empty();
 			}
 			
-			return Optional.of(memberIDs.get().stream().map(uuid -> Bukkit.getOfflinePlayer(uuid)).collect(Collectors.toList()));
+			return Optional.of(optionalSource.get().getListRange(uuid, pluginKey, dataKey, start, count));
 		}
 		
-		public static Optional<List<UUID>> getMemberIDs(final String group, final String pluginKey) {
+		public static Optional<List<String>> getListRange(final OfflinePlayer player, final String pluginKey, final String dataKey, final int start, final int count) {
+			return getListRange(player.getUniqueId(), pluginKey, dataKey, start, count);
+		}
+		
+		public static Optional<Integer> increment(final UUID uuid, final String pluginKey, final String dataKey, final int delta) {
 			final Optional<DataSource> optionalSource = getDataSource();
 			// if no data source is present we cannot write data
 			if(!optionalSource.isPresent()) {
 				return Optional.empty();
 			}
 			
-			return optionalSource.get().getMemberIDs(group, pluginKey);
+			return optionalSource.get().increment(uuid, pluginKey, dataKey, delta);
 		}
 		
-		public static Optional<List<String>> getGroups(final String pluginKey) {
+		public static Optional<Integer> increment(final OfflinePlayer player, final String pluginKey, final String dataKey, final int delta) {
+			return increment(player.getUniqueId(), pluginKey, dataKey, delta);
+		}
+		
+		public static boolean compareAndSet(final UUID uuid, final String pluginKey, final String dataKey, final int expected, final int data) {
 			final Optional<DataSource> optionalSource = getDataSource();
 			// if no data source is present we cannot write data
 			if(!optionalSource.isPresent()) {
-				return Optional.empty();
+				return false;
 			}
 			
-			return Optional.of(optionalSource.get().getGroups(pluginKey));
+			return optionalSource.get().compareAndSet(uuid, pluginKey, dataKey, expected, data);
 		}
 		
-		public static Optional<List<String>> getGroups(final UUID uuid, final String pluginKey) {
+		public static boolean compareAndSet(final OfflinePlayer player, final String pluginKey, final String dataKey, final int expected, final int data) {
+			return compareAndSet(player.getUniqueId(), pluginKey, dataKey, expected, data);
+		}
+		
+		public static Optional<Long> increment(final UUID uuid, final String pluginKey, final String dataKey, final long delta) {
 			final Optional<DataSource> optionalSource = getDataSource();
-			// if no data source is present we cannot read data
+			// if no data source is present we cannot write data
 			if(!optionalSource.isPresent()) {
 				return Optional.empty();
 			}
 			
-			return Optional.of(optionalSource.get().getGroups(uuid, pluginKey));
+			return optionalSource.get().increment(uuid, pluginKey, dataKey, delta);
 		}
 		
-		public static Optional<List<String>> getGroups(final OfflinePlayer player, final String pluginKey) {
-			return getGroups(player.getUniqueId(), pluginKey);
+		public static Optional<Long> increment(final OfflinePlayer player, final String pluginKey, final String dataKey, final long delta) {
+			return increment(player.getUniqueId(), pluginKey, dataKey, delta);
 		}
-
-		public static boolean set(final String group, final String pluginKey, final String dataKey, final String data) {
+		
+		public static boolean compareAndSet(final UUID uuid, final String pluginKey, final String dataKey, final long expected, final long data) {
 			final Optional<DataSource> optionalSource = getDataSource();
 			// if no data source is present we cannot write data
 			if(!optionalSource.isPresent()) {
 				return false;
 			}
 			
-			return optionalSource.get().set(group, pluginKey, dataKey, data);
+			return optionalSource.get().compareAndSet(uuid, pluginKey, dataKey, expected, data);
 		}
 		
-		public static boolean set(final String group, final String pluginKey, final String dataKey, final int data) {
+		public static boolean compareAndSet(final OfflinePlayer player, final String pluginKey, final String dataKey, final long expected, final long data) {
+			return compareAndSet(player.getUniqueId(), pluginKey, dataKey, expected, data);
+		}
+		
+		public static Optional<Float> increment(final UUID uuid, final String pluginKey, final String dataKey, final float delta) {
 			final Optional<DataSource> optionalSource = getDataSource();
 			// if no data source is present we cannot write data
 			if(!optionalSource.isPresent()) {
-				return false;
+				return Optional.empty();
 			}
 			
-			return optionalSource.get().set(group, pluginKey, dataKey, data);
+			return optionalSource.get().increment(uuid, pluginKey, dataKey, delta);
 		}
 		
-		public static boolean set(final String group, final String pluginKey, final String dataKey, final long data) {
+		public static Optional<Float> increment(final OfflinePlayer player, final String pluginKey, final String dataKey, final float delta) {
+			return increment(player.getUniqueId(), pluginKey, dataKey, delta);
+		}
+		
+		public static boolean compareAndSet(final UUID uuid, final String pluginKey, final String dataKey, final float expected, final float data) {
 			final Optional<DataSource> optionalSource = getDataSource();
 			// if no data source is present we cannot write data
 			if(!optionalSource.isPresent()) {
 				return false;
 			}
 			
-			return optionalSource.get().set(group, pluginKey, dataKey, data);
+			return optionalSource.get().compareAndSet(uuid, pluginKey, dataKey, expected, data);
 		}
 		
-		public static boolean set(final String group, final String pluginKey, final String dataKey, final float data) {
-			final Optional<DataSource> optionalSource = getDataSource();
-			// if no data source is present we cannot read data
-			if(!optionalSource.isPresent()) {
-				return false;
-			}
-			
-			return optionalSource.get().set(group, pluginKey, dataKey, data);
+		public static boolean compareAndSet(final OfflinePlayer player, final String pluginKey, final String dataKey, final float expected, final float data) {
+			return compareAndSet(player.getUniqueId(), pluginKey, dataKey, expected, data);
 		}
 		
-		public static boolean set(final String group, final String pluginKey, final String dataKey, final double data) {
+		public static Optional<Double> increment(final UUID uuid, final String pluginKey, final String dataKey, final double delta) {
 			final Optional<DataSource> optionalSource = getDataSource();
-			// if no data source is present we cannot read data
+			// if no data source is present we cannot write data
 			if(!optionalSource.isPresent()) {
-				return false;
+				return Optional.empty();
 			}
 			
-			return optionalSource.get().set(group, pluginKey, dataKey, data);
+			return optionalSource.get().increment(uuid, pluginKey, dataKey, delta);
 		}
 		
-		public static boolean set(final String group, final String pluginKey, final String dataKey, final boolean data) {
-			final Optional<DataSource> optionalSource = getDataSource();
-			// if no data source is present we cannot read data
-			if(!optionalSource.isPresent()) {
-				return false;
-			}
-			
-			return optionalSource.get().set(group, pluginKey, dataKey, data);
+		public static Optional<Double> increment(final OfflinePlayer player, final String pluginKey, final String dataKey, final double delta) {
+			return increment(player.getUniqueId(), pluginKey, dataKey, delta);
 		}
-
-		public static boolean set(final String group, final String pluginKey, final String dataKey, final List<String> data) {
+		
+		public static boolean compareAndSet(final UUID uuid, final String pluginKey, final String dataKey, final double expected, final double data) {
 			final Optional<DataSource> optionalSource = getDataSource();
 			// if no data source is present we cannot write data
 			if(!optionalSource.isPresent()) {
 				return false;
 			}
 			
-			return optionalSource.get().set(group, pluginKey, dataKey, data);
+			return optionalSource.get().compareAndSet(uuid, pluginKey, dataKey, expected, data);
 		}
 		
-		public static Optional<String> getString(final String group, final String pluginKey, final String dataKey){
+		public static boolean compareAndSet(final OfflinePlayer player, final String pluginKey, final String dataKey, final double expected, final double data) {
+			return compareAndSet(player.getUniqueId(), pluginKey, dataKey, expected, data);
+		}
+		
+		public static boolean registerRankedKey(final String pluginKey, final String dataKey, final NumericType type) {
 			final Optional<DataSource> optionalSource = getDataSource();
 			// if no data source is present we cannot read data
 			if(!optionalSource.isPresent()) {
-				return Optional.empty();
+				return false;
 			}
 			
-			return optionalSource.get().getString(group, pluginKey, dataKey);
+			optionalSource.get().registerRankedKey(pluginKey, dataKey, type);
+			return true;
 		}
 		
-		public static String getString(final String group, final String pluginKey, final String dataKey, final String other) {
-			return getString(group, pluginKey, dataKey).orElse(other);
+		public static Optional<List<RankedEntry>> getTop(final String pluginKey, final String dataKey, final NumericType type, final int count) {
+			return getRanking(pluginKey, dataKey, type, 0, count);
 		}
 		
-		public static Optional<Integer> getInt(final String group, final String pluginKey, final String dataKey){
+		public static Optional<List<RankedEntry>> getRanking(final String pluginKey, final String dataKey, final NumericType type, final int offset, final int limit) {
 			final Optional<DataSource> optionalSource = getDataSource();
 			// if no data source is present we cannot read data
 			if(!optionalSource.isPresent()) {
 				return Optional.empty();
 			}
 			
-			return optionalSource.get().getInt(group, pluginKey, dataKey);
-		}
-		
-		public static int getInt(final String group, final String pluginKey, final String dataKey, final int other) {
-			return getInt(group, pluginKey, dataKey).orElse(other);
+			return Optional.of(optionalSource.get().getRanking(pluginKey, dataKey, type, offset, limit));
 		}
 		
-		public static Optional<Long> getLong(final String group, final String pluginKey, final String dataKey){
+		public static Optional<Integer> getRank(final UUID uuid, final String pluginKey, final String dataKey, final NumericType type) {
 			final Optional<DataSource> optionalSource = getDataSource();
 			// if no data source is present we cannot read data
 			if(!optionalSource.isPresent()) {
 				return Optional.empty();
 			}
 			
-			return optionalSource.get().getLong(group, pluginKey, dataKey);
+			return optionalSource.get().getRank(uuid, pluginKey, dataKey, type);
 		}
 		
-		public static long getLong(final String group, final String pluginKey, final String dataKey, final long other) {
-			return getLong(group, pluginKey, dataKey).orElse(other);
+		public static Optional<Integer> getRank(final OfflinePlayer player, final String pluginKey, final String dataKey, final NumericType type) {
+			return getRank(player.getUniqueId(), pluginKey, dataKey, type);
 		}
 		
-		public static Optional<Float> getFloat(final String group, final String pluginKey, final String dataKey){
+	}
+	
+	public static class Groups{
+		
+		public static boolean addGroup(final String group, final String pluginKey) {
 			final Optional<DataSource> optionalSource = getDataSource();
-			// if no data source is present we cannot read data
+			// if no data source is present we cannot write data
 			if(!optionalSource.isPresent()) {
-				return Optional.empty();
+				return false;
 			}
 			
-			return optionalSource.get().getFloat(group, pluginKey, dataKey);
+			return optionalSource.get().addGroup(group, pluginKey);
 		}
 		
-		public static float getFloat(final String group, final String pluginKey, final String dataKey, final float other) {
-			return getFloat(group, pluginKey, dataKey).orElse(other);
+		public static boolean deleteGroup(final String group, final String pluginKey) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().deleteGroup(group, pluginKey);
 		}
 		
-		public static Optional<Double> getDouble(final String group, final String pluginKey, final String dataKey){
+		public static boolean isGroup(final String group, final String pluginKey) {
 			final Optional<DataSource> optionalSource = getDataSource();
-			// if no data source is present we cannot read data
+			// if no data source is present we cannot write data
 			if(!optionalSource.isPresent()) {
-				return Optional.empty();
+				return false;
 			}
 			
-			return optionalSource.get().getDouble(group, pluginKey, dataKey);
+			return optionalSource.get().isGroup(group, pluginKey);
 		}
 		
-		public static double getDouble(final String group, final String pluginKey, final String dataKey, final double other) {
+		public static boolean addMember(final UUID uuid, final String group, final String pluginKey) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().addMember(uuid, group, pluginKey);
+		}
+		
+		public static boolean addMember(final OfflinePlayer player, final String group, final String pluginKey) {
+			return addMember(player.getUniqueId(), group, pluginKey);
+		}
+		
+		public static boolean removeMember(final UUID uuid, final String group, final String pluginKey) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().removeMember(uuid, group, pluginKey);
+		}
+		
+		public static boolean removeMember(final OfflinePlayer player, final String group, final String pluginKey) {
+			return removeMember(player.getUniqueId(), group, pluginKey);
+		}
+		
+		public static boolean isMember(final UUID uuid, final String group, final String pluginKey) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().isMember(uuid, group, pluginKey);
+		}
+		
+		public static boolean isMember(final OfflinePlayer player, final String group, final String pluginKey) {
+			return isMember(player.getUniqueId(), group, pluginKey);
+		}
+		
+		public static Optional<List<OfflinePlayer>> getMembers(final String group, final String pluginKey) {
+			final Optional<List<UUID>> memberIDs = getMemberIDs(group, pluginKey);
+			// if we have no IDs we can't map them on the players
+			if(memberIDs.isEmpty()) {
+				return Optional.empty();
+			}
+			
+			return Optional.of(memberIDs.get().stream().map(uuid -> Bukkit.getOfflinePlayer(uuid)).collect(Collectors.toList()));
+		}
+		
+		public static Optional<List<UUID>> getMemberIDs(final String group, final String pluginKey) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return Optional.empty();
+			}
+			
+			return optionalSource.get().getMemberIDs(group, pluginKey);
+		}
+		
+		public static boolean forEachMember(final String group, final String pluginKey, final Consumer<OfflinePlayer> consumer) {
+			// the players are only looked up when they are handed to the consumer
+			return forEachMemberID(group, pluginKey, uuid -> consumer.accept(Bukkit.getOfflinePlayer(uuid)));
+		}
+		
+		public static boolean forEachMemberID(final String group, final String pluginKey, final Consumer<UUID> consumer) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot read data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().forEachMemberID(group, pluginKey, consumer);
+		}
+		
+		public static Optional<List<OfflinePlayer>> getMembers(final String group, final String pluginKey, final UUID after, final int limit) {
+			final Optional<List<UUID>> memberIDs = getMemberIDs(group, pluginKey, after, limit);
+			// if we have no IDs we can't map them on the players
+			if(memberIDs.isEmpty()) {
+				return Optional.empty();
+			}
+			
+			return Optional.of(memberIDs.get().stream().map(uuid -> Bukkit.getOfflinePlayer(uuid)).collect(Collectors.toList()));
+		}
+		
+		public static Optional<List<UUID>> getMemberIDs(final String group, final String pluginKey, final UUID after, final int limit) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot read data
+			if(!optionalSource.isPresent()) {
+				return Optional.empty();
+			}
+			
+			return optionalSource.get().getMemberIDs(group, pluginKey, after, limit);
+		}
+		
+		public static Optional<List<String>> getGroups(final String pluginKey) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return Optional.empty();
+			}
+			
+			return Optional.of(optionalSource.get().getGroups(pluginKey));
+		}
+		
+		public static boolean forEachGroup(final String pluginKey, final Consumer<String> consumer) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot read data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			optionalSource.get().forEachGroup(pluginKey, consumer);
+			return true;
+		}
+		
+		public static Optional<List<String>> getGroups(final String pluginKey, final String after, final int limit) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot read data
+			if(!optionalSource.isPresent()) {
+				return Optional.empty();
+			}
+			
+			return Optional.of(optionalSource.get().getGroups(pluginKey, after, limit));
+		}
+		
+		public static Optional<List<String>> getGroups(final UUID uuid, final String pluginKey) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot read data
+			if(!optionalSource.isPresent()) {
+				return Optional.empty();
+			}
+			
+			return Optional.of(optionalSource.get().getGroups(uuid, pluginKey));
+		}
+		
+		public static Optional<List<String>> getGroups(final OfflinePlayer player, final String pluginKey) {
+			return getGroups(player.getUniqueId(), pluginKey);
+		}
+
+		public static boolean set(final String group, final String pluginKey, final String dataKey, final String data) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().set(group, pluginKey, dataKey, data);
+		}
+		
+		public static boolean set(final String group, final String pluginKey, final String dataKey, final int data) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().set(group, pluginKey, dataKey, data);
+		}
+		
+		public static boolean set(final String group, final String pluginKey, final String dataKey, final long data) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().set(group, pluginKey, dataKey, data);
+		}
+		
+		public static boolean set(final String group, final String pluginKey, final String dataKey, final float data) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot read data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().set(group, pluginKey, dataKey, data);
+		}
+		
+		public static boolean set(final String group, final String pluginKey, final String dataKey, final double data) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot read data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().set(group, pluginKey, dataKey, data);
+		}
+		
+		public static boolean set(final String group, final String pluginKey, final String dataKey, final boolean data) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot read data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().set(group, pluginKey, dataKey, data);
+		}
+
+		public static boolean set(final String group, final String pluginKey, final String dataKey, final List<String> data) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().set(group, pluginKey, dataKey, data);
+		}
+		
+		public static Optional<String> getString(final String group, final String pluginKey, final String dataKey){
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot read data
+			if(!optionalSource.isPresent()) {
+				return Optional.empty();
+			}
+			
+			return optionalSource.get().getString(group, pluginKey, dataKey);
+		}
+		
+		public static String getString(final String group, final String pluginKey, final String dataKey, final String other) {
+			return getString(group, pluginKey, dataKey).orElse(other);
+		}
+		
+		public static Optional<Integer> getInt(final String group, final String pluginKey, final String dataKey){
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot read data
+			if(!optionalSource.isPresent()) {
+				return Optional.empty();
+			}
+			
+			return optionalSource.get().getInt(group, pluginKey, dataKey);
+		}
+		
+		public static int getInt(final String group, final String pluginKey, final String dataKey, final int other) {
+			return getInt(group, pluginKey, dataKey).orElse(other);
+		}
+		
+		public static Optional<Long> getLong(final String group, final String pluginKey, final String dataKey){
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot read data
+			if(!optionalSource.isPresent()) {
+				return Optional.empty();
+			}
+			
+			return optionalSource.get().getLong(group, pluginKey, dataKey);
+		}
+		
+		public static long getLong(final String group, final String pluginKey, final String dataKey, final long other) {
+			return getLong(group, pluginKey, dataKey).orElse(other);
+		}
+		
+		public static Optional<Float> getFloat(final String group, final String pluginKey, final String dataKey){
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot read data
+			if(!optionalSource.isPresent()) {
+				return Optional.empty();
+			}
+			
+			return optionalSource.get().getFloat(group, pluginKey, dataKey);
+		}
+		
+		public static float getFloat(final String group, final String pluginKey, final String dataKey, final float other) {
+			return getFloat(group, pluginKey, dataKey).orElse(other);
+		}
+		
+		public static Optional<Double> getDouble(final String group, final String pluginKey, final String dataKey){
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot read data
+			if(!optionalSource.isPresent()) {
+				return Optional.empty();
+			}
+			
+			return optionalSource.get().getDouble(group, pluginKey, dataKey);
+		}
+		
+		public static double getDouble(final String group, final String pluginKey, final String dataKey, final double other) {
 			return getDouble(group, pluginKey, dataKey).orElse(other);
 		}
 		
-		public static Optional<Boolean> getBoolean(final String group, final String pluginKey, final String dataKey){
+		public static Optional<Boolean> getBoolean(final String group, final String pluginKey, final String dataKey){
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot read data
+			if(!optionalSource.isPresent()) {
+				return Optional.empty();
+			}
+			
+			return optionalSource.get().getBoolean(group, pluginKey, dataKey);
+		}
+		
+		public static boolean getBoolean(final String group, final String pluginKey, final String dataKey, final boolean other) {
+			return getBoolean(group, pluginKey, dataKey).orElse(other);
+		}
+		
+		public static Optional<List<String>> getList(final String group, final String pluginKey, final String dataKey){
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot read data
+			if(!optionalSource.isPresent()) {
+				return Optional.empty();
+			}
+			
+			return optionalSource.get().getList(group, pluginKey, dataKey);
+		}
+		
+		public static List<String> getList(final String group, final String pluginKey, final String dataKey, final List<String> other) {
+			return getList(group, pluginKey, dataKey).orElse(other);
+		}
+		
+		public static boolean forEachValue(final String group, final String pluginKey, final BiConsumer<String, Object> consumer) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot read data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			optionalSource.get().forEachValue(group, pluginKey, consumer);
+			return true;
+		}
+		
+		public static boolean appendToList(final String group, final String pluginKey, final String dataKey, final String element) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().appendToList(group, pluginKey, dataKey, element);
+		}
+		
+		public static boolean removeFromList(final String group, final String pluginKey, final String dataKey, final String element) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().removeFromList(group, pluginKey, dataKey, element);
+		}
+		
+		public static boolean listContains(final String group, final String pluginKey, final String dataKey, final String element) {
 			final Optional<DataSource> optionalSource = getDataSource();
 			// if no data source is present we cannot read data
 			if(!optionalSource.isPresent()) {
-				return Optional.empty();
+				return false;
 			}
 			
-			return optionalSource.get().getBoolean(group, pluginKey, dataKey);
+			return optionalSource.get().listContains(group, pluginKey, dataKey, element);
 		}
 		
-		public static boolean getBoolean(final String group, final String pluginKey, final String dataKey, final boolean other) {
-			return getBoolean(group, pluginKey, dataKey).orElse(other);
+		public static int getListSize(final String group, final String pluginKey, final String dataKey) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot read data
+			if(!optionalSource.isPresent()) {
+				return 0;
+			}
+			
+			return optionalSource.get().getListSize(group, pluginKey, dataKey);
 		}
 		
-		public static Optional<List<String>> getList(final String group, final String pluginKey, final String dataKey){
+		public static Optional<List<String>> getListRange(final String group, final String pluginKey, final String dataKey, final int start, final int count) {
 			final Optional<DataSource> optionalSource = getDataSource();
 			// if no data source is present we cannot read data
 			if(!optionalSource.isPresent()) {
 				return Optional.empty();
 			}
 			
-			return optionalSource.get().getList(group, pluginKey, dataKey);
+			return Optional.of(optionalSource.get().getListRange(group, pluginKey, dataKey, start, count));
 		}
 		
-		public static List<String> getList(final String group, final String pluginKey, final String dataKey, final List<String> other) {
-			return getList(group, pluginKey, dataKey).orElse(other);
+		public static Optional<Integer> increment(final String group, final String pluginKey, final String dataKey, final int delta) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return Optional.empty();
+			}
+			
+			return optionalSource.get().increment(group, pluginKey, dataKey, delta);
+		}
+		
+		public static boolean compareAndSet(final String group, final String pluginKey, final String dataKey, final int expected, final int data) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().compareAndSet(group, pluginKey, dataKey, expected, data);
+		}
+		
+		public static Optional<Long> increment(final String group, final String pluginKey, final String dataKey, final long delta) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return Optional.empty();
+			}
+			
+			return optionalSource.get().increment(group, pluginKey, dataKey, delta);
+		}
+		
+		public static boolean compareAndSet(final String group, final String pluginKey, final String dataKey, final long expected, final long data) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().compareAndSet(group, pluginKey, dataKey, expected, data);
+		}
+		
+		public static Optional<Float> increment(final String group, final String pluginKey, final String dataKey, final float delta) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return Optional.empty();
+			}
+			
+			return optionalSource.get().increment(group, pluginKey, dataKey, delta);
+		}
+		
+		public static boolean compareAndSet(final String group, final String pluginKey, final String dataKey, final float expected, final float data) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().compareAndSet(group, pluginKey, dataKey, expected, data);
+		}
+		
+		public static Optional<Double> increment(final String group, final String pluginKey, final String dataKey, final double delta) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return Optional.empty();
+			}
+			
+			return optionalSource.get().increment(group, pluginKey, dataKey, delta);
+		}
+		
+		public static boolean compareAndSet(final String group, final String pluginKey, final String dataKey, final double expected, final double data) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().compareAndSet(group, pluginKey, dataKey, expected, data);
 		}
 
 		public static boolean set(final UUID uuid, final String group, final String pluginKey, final String dataKey, final String data) {
@@ -984,15 +1556,284 @@ public class DataManager {
 			return getList(player.getUniqueId(), group, pluginKey, dataKey, other);
 		}
 		
+		public static boolean forEachValue(final UUID uuid, final String group, final String pluginKey, final BiConsumer<String, Object> consumer) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot read data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			optionalSource.get().forEachValue(uuid, group, pluginKey, consumer);
+			return true;
+		}
+		
+		public static boolean forEachValue(final OfflinePlayer player, final String group, final String pluginKey, final BiConsumer<String, Object> consumer) {
+			return forEachValue(player.getUniqueId(), group, pluginKey, consumer);
+		}
+		
+		public static boolean appendToList(final UUID uuid, final String group, final String pluginKey, final String dataKey, final String element) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().appendToList(uuid, group, pluginKey, dataKey, element);
+		}
+		
+		public static boolean appendToList(final OfflinePlayer player, final String group, final String pluginKey, final String dataKey, final String element) {
+			return appendToList(player.getUniqueId(), group, pluginKey, dataKey, element);
+		}
+		
+		public static boolean removeFromList(final UUID uuid, final String group, final String pluginKey, final String dataKey, final String element) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().removeFromList(uuid, group, pluginKey, dataKey, element);
+		}
+		
+		public static boolean removeFromList(final OfflinePlayer player, final String group, final String pluginKey, final String dataKey, final String element) {
+			return removeFromList(player.getUniqueId(), group, pluginKey, dataKey, element);
+		}
+		
+		public static boolean listContains(final UUID uuid, final String group, final String pluginKey, final String dataKey, final String element) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot read data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().listContains(uuid, group, pluginKey, dataKey, element);
+		}
+		
+		public static boolean listContains(final OfflinePlayer player, final String group, final String pluginKey, final String dataKey, final String element) {
+			return listContains(player.getUniqueId(), group, pluginKey, dataKey, element);
+		}
+		
+		public static int getListSize(final UUID uuid, final String group, final String pluginKey, final String dataKey) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot read data
+			if(!optionalSource.isPresent()) {
+				return 0;
+			}
+			
+			return optionalSource.get().getListSize(uuid, group, pluginKey, dataKey);
+		}
+		
+		public static int getListSize(final OfflinePlayer player, final String group, final String pluginKey, final String dataKey) {
+			return getListSize(player.getUniqueId(), group, pluginKey, dataKey);
+		}
+		
+		public static Optional<List<String>> getListRange(final UUID uuid, final String group, final String pluginKey, final String dataKey, final int start, final int count) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot read data
+			if(!optionalSource.isPresent()) {
+				return Optional.empty();
+			}
+			
+			return Optional.of(optionalSource.get().getListRange(uuid, group, pluginKey, dataKey, start, count));
+		}
+		
+		public static Optional<List<String>> getListRange(final OfflinePlayer player, final String group, final String pluginKey, final String dataKey, final int start, final int count) {
+			return getListRange(player.getUniqueId(), group, pluginKey, dataKey, start, count);
+		}
+		
+		public static Optional<Integer> increment(final UUID uuid, final String group, final String pluginKey, final String dataKey, final int delta) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return Optional.empty();
+			}
+			
+			return optionalSource.get().increment(uuid, group, pluginKey, dataKey, delta);
+		}
+		
+		public static Optional<Integer> increment(final OfflinePlayer player, final String group, final String pluginKey, final String dataKey, final int delta) {
+			return increment(player.getUniqueId(), group, pluginKey, dataKey, delta);
+		}
+		
+		public static boolean compareAndSet(final UUID uuid, final String group, final String pluginKey, final String dataKey, final int expected, final int data) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().compareAndSet(uuid, group, pluginKey, dataKey, expected, data);
+		}
+		
+		public static boolean compareAndSet(final OfflinePlayer player, final String group, final String pluginKey, final String dataKey, final int expected, final int data) {
+			return compareAndSet(player.getUniqueId(), group, pluginKey, dataKey, expected, data);
+		}
+		
+		public static Optional<Long> increment(final UUID uuid, final String group, final String pluginKey, final String dataKey, final long delta) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return Optional.empty();
+			}
+			
+			return optionalSource.get().increment(uuid, group, pluginKey, dataKey, delta);
+		}
+		
+		public static Optional<Long> increment(final OfflinePlayer player, final String group, final String pluginKey, final String dataKey, final long delta) {
+			return increment(player.getUniqueId(), group, pluginKey, dataKey, delta);
+		}
+		
+		public static boolean compareAndSet(final UUID uuid, final String group, final String pluginKey, final String dataKey, final long expected, final long data) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().compareAndSet(uuid, group, pluginKey, dataKey, expected, data);
+		}
+		
+		public static boolean compareAndSet(final OfflinePlayer player, final String group, final String pluginKey, final String dataKey, final long expected, final long data) {
+			return compareAndSet(player.getUniqueId(), group, pluginKey, dataKey, expected, data);
+		}
+		
+		public static Optional<Float> increment(final UUID uuid, final String group, final String pluginKey, final String dataKey, final float delta) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return Optional.empty();
+			}
+			
+			return optionalSource.get().increment(uuid, group, pluginKey, dataKey, delta);
+		}
+		
+		public static Optional<Float> increment(final OfflinePlayer player, final String group, final String pluginKey, final String dataKey, final float delta) {
+			return increment(player.getUniqueId(), group, pluginKey, dataKey, delta);
+		}
+		
+		public static boolean compareAndSet(final UUID uuid, final String group, final String pluginKey, final String dataKey, final float expected, final float data) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().compareAndSet(uuid, group, pluginKey, dataKey, expected, data);
+		}
+		
+		public static boolean compareAndSet(final OfflinePlayer player, final String group, final String pluginKey, final String dataKey, final float expected, final float data) {
+			return compareAndSet(player.getUniqueId(), group, pluginKey, dataKey, expected, data);
+		}
+		
+		public static Optional<Double> increment(final UUID uuid, final String group, final String pluginKey, final String dataKey, final double delta) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return Optional.empty();
+			}
+			
+			return optionalSource.get().increment(uuid, group, pluginKey, dataKey, delta);
+		}
+		
+		public static Optional<Double> increment(final OfflinePlayer player, final String group, final String pluginKey, final String dataKey, final double delta) {
+			return increment(player.getUniqueId(), group, pluginKey, dataKey, delta);
+		}
+		
+		public static boolean compareAndSet(final UUID uuid, final String group, final String pluginKey, final String dataKey, final double expected, final double data) {
+			final Optional<DataSource> optionalSource = getDataSource();
+			// if no data source is present we cannot write data
+			if(!optionalSource.isPresent()) {
+				return false;
+			}
+			
+			return optionalSource.get().compareAndSet(uuid, group, pluginKey, dataKey, expected, data);
+		}
+		
+		public static boolean compareAndSet(final OfflinePlayer player, final String group, final String pluginKey, final String dataKey, final double expected, final double data) {
+			return compareAndSet(player.getUniqueId(), group, pluginKey, dataKey, expected, data);
+		}
+		
 	}
 	
-	private static Optional<DataSource> getDataSource(){
+	/**
+	 * passes all changes of the value made through the data manager to the listener, in one batch per tick on the server thread
+	 * @param scope the scope of the value
+	 * @param pluginKey the key of the plugin owning the value
+	 * @param dataKey the key of the value
+	 * @param listener the listener to pass the changes to
+	 * @return the watch to cancel the subscription, or an empty optional if the data manager is not enabled
+	 */
+	public static Optional<DataWatch> watch(final DataScope scope, final String pluginKey, final String dataKey, final ChangeListener listener){
+		return watch(scope, pluginKey, dataKey, listener, Runnable::run);
+	}
+	
+	/**
+	 * passes all changes of the value made through the data manager to the listener, in one batch per tick
+	 * @param scope the scope of the value
+	 * @param pluginKey the key of the plugin owning the value
+	 * @param dataKey the key of the value
+	 * @param listener the listener to pass the changes to
+	 * @param executor the executor to run the listener on
+	 * @return the watch to cancel the subscription, or an empty optional if the data manager is not enabled
+	 */
+	public static Optional<DataWatch> watch(final DataScope scope, final String pluginKey, final String dataKey, final ChangeListener listener, 
+			final Executor executor){
+		return watch(scope, pluginKey, dataKey, false, listener, executor);
+	}
+	
+	/**
+	 * passes all changes of values whose key starts with the prefix to the listener, in one batch per tick on the server thread
+	 * @param scope the scope of the values
+	 * @param pluginKey the key of the plugin owning the values
+	 * @param prefix the prefix of the keys of the values
+	 * @param listener the listener to pass the changes to
+	 * @return the watch to cancel the subscription, or an empty optional if the data manager is not enabled
+	 */
+	public static Optional<DataWatch> watchPrefix(final DataScope scope, final String pluginKey, final String prefix, final ChangeListener listener){
+		return watchPrefix(scope, pluginKey, prefix, listener, Runnable::run);
+	}
+	
+	/**
+	 * passes all changes of values whose key starts with the prefix to the listener, in one batch per tick
+	 * @param scope the scope of the values
+	 * @param pluginKey the key of the plugin owning the values
+	 * @param prefix the prefix of the keys of the values
+	 * @param listener the listener to pass the changes to
+	 * @param executor the executor to run the listener on
+	 * @return the watch to cancel the subscription, or an empty optional if the data manager is not enabled
+	 */
+	public static Optional<DataWatch> watchPrefix(final DataScope scope, final String pluginKey, final String prefix, final ChangeListener listener, 
+			final Executor executor){
+		return watch(scope, pluginKey, prefix, true, listener, executor);
+	}
+	
+	private static Optional<DataWatch> watch(final DataScope scope, final String pluginKey, final String dataKey, final boolean prefix, 
+			final ChangeListener listener, final Executor executor){
 		final Optional<Main> optionalPlugin = Main.getCurrent();
-		// if no plugin instance is present we cannot access the data source
+		// if no plugin instance is present there are no changes to watch
 		if(!optionalPlugin.isPresent()) {
 			return Optional.empty();
 		}
 		
+		return optionalPlugin.get().getChangeDispatcher().map(dispatcher -> dispatcher.watch(scope, pluginKey, dataKey, prefix, listener, executor));
+	}
+	
+	/**
+	 * sets the data source the API uses while the plugin is not enabled, like in simulations running outside of a server, 
+	 * it is ignored once the plugin is enabled
+	 * @param source the set up data source to use, or null to use none
+	 */
+	public static void setStandaloneSource(final DataSource source) {
+		DataManager.standaloneSource = source;
+	}
+	
+	private static Optional<DataSource> getDataSource(){
+		final Optional<Main> optionalPlugin = Main.getCurrent();
+		// if no plugin instance is present we can only access a data source set up outside of a server
+		if(!optionalPlugin.isPresent()) {
+			return Optional.ofNullable(DataManager.standaloneSource);
+		}
+		
 		return optionalPlugin.get().getDataSource();
 		
 	}
@@ -0,0 +1,338 @@
+package com.versuchdrei.datamanager;
+
+import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.bukkit.Bukkit;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+
+import com.versuchdrei.datamanager.capture.CaptureProxy;
+import com.versuchdrei.datamanager.capture.TraceWriter;
+import com.versuchdrei.datamanager.datasource.DataScope;
+import com.versuchdrei.datamanager.datasource.StorageUsage;
+import com.versuchdrei.datamanager.datasource.database.SlowStatement;
+import com.versuchdrei.datamanager.datasource.database.StatementLog;
+import com.versuchdrei.datamanager.datasource.database.StatementShape;
+import com.versuchdrei.datamanager.datasource.proxy.ShadowProxy;
+import com.versuchdrei.datamanager.metrics.CallerBlocking;
+import com.versuchdrei.datamanager.metrics.HotKey;
+import com.versuchdrei.datamanager.metrics.HotKeyTracker;
+import com.versuchdrei.datamanager.metrics.MainThreadMonitor;
+import com.versuchdrei.datamanager.metrics.Metrics;
+import com.versuchdrei.datamanager.metrics.OperationKey;
+import com.versuchdrei.datamanager.metrics.OperationStats;
+import com.versuchdrei.datamanager.metrics.PluginAccounting;
+import com.versuchdrei.datamanager.metrics.PluginUsage;
+
+/**
+ * the command to inspect the data manager while the server is running
+ * @author VersuchDrei
+ * @version 1.0
+ */
+class DataManagerCommand implements CommandExecutor {
+	
+	private static final String SUBCOMMAND_METRICS = "metrics";
+	private static final String SUBCOMMAND_STATEMENTS = "statements";
+	private static final String SUBCOMMAND_SLOW = "slow";
+	private static final String SUBCOMMAND_BLOCKING = "blocking";
+	private static final String SUBCOMMAND_HOT_KEYS = "hotkeys";
+	private static final String SUBCOMMAND_USAGE = "usage";
+	private static final String ARGUMENT_RECOUNT = "recount";
+	private static final String SUBCOMMAND_CAPTURE = "capture";
+	private static final String ARGUMENT_START = "start";
+	private static final String ARGUMENT_STOP = "stop";
+	private static final String ARGUMENT_REDACT = "redact";
+	private static final String CAPTURE_FOLDER = "captures";
+	private static final String CAPTURE_EXTENSION = ".dmtrace";
+	private static final String SUBCOMMAND_SHADOW = "shadow";
+	// the number of entries listed, so the output fits into the chat
+	private static final int LINES = 10;
+	
+	private final Main main;
+	
+	DataManagerCommand(final Main main) {
+		this.main = main;
+	}
+	
+	@Override
+	public boolean onCommand(final CommandSender sender, final Command command, final String label, final String[] args) {
+		if(args.length == 0) {
+			return false;
+		}
+		
+		switch(args[0].toLowerCase()) {
+		case DataManagerCommand.SUBCOMMAND_METRICS:
+			sendMetrics(sender, args.length > 1 ? args[1] : null);
+			return true;
+		case DataManagerCommand.SUBCOMMAND_STATEMENTS:
+			sendStatements(sender);
+			return true;
+		case DataManagerCommand.SUBCOMMAND_SLOW:
+			sendSlowStatements(sender);
+			return true;
+		case DataManagerCommand.SUBCOMMAND_BLOCKING:
+			sendBlocking(sender);
+			return true;
+		case DataManagerCommand.SUBCOMMAND_HOT_KEYS:
+			return sendHotKeys(sender, args.length > 1 ? args[1] : DataScope.PLAYER.name());
+		case DataManagerCommand.SUBCOMMAND_USAGE:
+			if(args.length > 1 && args[1].equalsIgnoreCase(DataManagerCommand.ARGUMENT_RECOUNT)) {
+				recountStorage(sender);
+			} else {
+				sendUsage(sender);
+			}
+			return true;
+		case DataManagerCommand.SUBCOMMAND_CAPTURE:
+			return capture(sender, args);
+		case DataManagerCommand.SUBCOMMAND_SHADOW:
+			sendShadow(sender);
+			return true;
+		default:
+			return false;
+		}
+	}
+	
+	private void sendMetrics(final CommandSender sender, final String pluginKey) {
+		final Optional<Metrics> metrics = this.main.getMetrics();
+		if(!metrics.isPresent()) {
+			sender.sendMessage("Metrics are disabled in the config.");
+			return;
+		}
+		
+		final List<OperationStats> stats = metrics.get().getLatest().stream()
+				.filter(entry -> pluginKey == null || pluginKey.equals(entry.getKey().getPluginKey()))
+				.limit(DataManagerCommand.LINES)
+				.collect(Collectors.toList());
+		if(stats.isEmpty()) {
+			sender.sendMessage("No calls were measured during the last interval.");
+			return;
+		}
+		
+		sender.sendMessage("operation: calls/s, p50, p99, p999, max");
+		for(final OperationStats entry: stats) {
+			sender.sendMessage(String.format(Locale.ROOT, "%s: %.1f/s, %s, %s, %s, %s%s", entry.getKey(), entry.getThroughput(), 
+					formatNanos(entry.getP50()), formatNanos(entry.getP99()), formatNanos(entry.getP999()), formatNanos(entry.getMax()), 
+					entry.getErrors() > 0 ? ", " + entry.getErrors() + " errors" : ""));
+		}
+	}
+	
+	private void sendStatements(final CommandSender sender) {
+		final Optional<StatementLog> log = this.main.getStatementLog();
+		if(!log.isPresent()) {
+			sender.sendMessage("Statements are only logged for sqlite and mysql.");
+			return;
+		}
+		
+		sender.sendMessage("statement: count, total, average, max");
+		for(final StatementShape shape: log.get().getShapes().stream().limit(DataManagerCommand.LINES).collect(Collectors.toList())) {
+			sender.sendMessage(String.format(Locale.ROOT, "%s %s: %d, %s, %s, %s", shape.getOperation(), shape.getTable(), shape.getCount(), 
+					formatNanos(shape.getTotalNanos()), formatNanos(shape.getTotalNanos() / Math.max(shape.getCount(), 1)), formatNanos(shape.getMaxNanos())));
+		}
+	}
+	
+	private void sendSlowStatements(final CommandSender sender) {
+		final Optional<StatementLog> log = this.main.getStatementLog();
+		if(!log.isPresent()) {
+			sender.sendMessage("Statements are only logged for sqlite and mysql.");
+			return;
+		}
+		
+		final List<SlowStatement> statements = log.get().getSlowStatements();
+		if(statements.isEmpty()) {
+			sender.sendMessage("No slow statements were logged.");
+			return;
+		}
+		
+		for(final SlowStatement statement: statements.stream().limit(DataManagerCommand.LINES).collect(Collectors.toList())) {
+			sender.sendMessage(statement.toString());
+		}
+	}
+	
+	private void sendBlocking(final CommandSender sender) {
+		final Optional<MainThreadMonitor> monitor = this.main.getMainThreadMonitor();
+		if(!monitor.isPresent()) {
+			sender.sendMessage("The main thread budget is disabled in the config.");
+			return;
+		}
+		
+		final List<CallerBlocking> blocking = monitor.get().getLatest();
+		if(blocking.isEmpty()) {
+			sender.sendMessage("No calls were made on the server thread during the last minute.");
+			return;
+		}
+		
+		sender.sendMessage("plugin: calls, blocked, over budget during the last minute");
+		for(final CallerBlocking entry: blocking.stream().limit(DataManagerCommand.LINES).collect(Collectors.toList())) {
+			sender.sendMessage(String.format(Locale.ROOT, "%s: %d, %s, %d", entry.getPluginKey() == null ? "none" : entry.getPluginKey(), 
+					entry.getCalls(), formatNanos(entry.getNanos()), entry.getOverBudget()));
+		}
+	}
+	
+	private boolean sendHotKeys(final CommandSender sender, final String scopeName) {
+		final DataScope scope;
+		try {
+			scope = DataScope.valueOf(scopeName.toUpperCase());
+		} catch (final IllegalArgumentException e) {
+			return false;
+		}
+		
+		final Optional<HotKeyTracker> tracker = this.main.getHotKeyTracker();
+		if(!tracker.isPresent()) {
+			sender.sendMessage("Hot keys are not tracked, as the sample rate is 0 in the config.");
+			return true;
+		}
+		
+		final List<HotKey> keys = tracker.get().getTopKeys(scope);
+		if(keys.isEmpty()) {
+			sender.sendMessage("No " + scope.name().toLowerCase() + " keys were accessed recently.");
+			return true;
+		}
+		
+		sender.sendMessage("most accessed " + scope.name().toLowerCase() + " keys: estimated recent accesses");
+		for(final HotKey key: keys.stream().limit(DataManagerCommand.LINES).collect(Collectors.toList())) {
+			sender.sendMessage(key.getPluginKey() + "." + key.getDataKey() + ": " + key.getEstimate());
+		}
+		return true;
+	}
+	
+	private void sendUsage(final CommandSender sender) {
+		final Optional<PluginAccounting> accounting = this.main.getAccounting();
+		if(!accounting.isPresent()) {
+			sender.sendMessage("Plugin accounting is disabled in the config.");
+			return;
+		}
+		
+		final List<PluginUsage> usage = accounting.get().getUsage();
+		if(usage.isEmpty()) {
+			sender.sendMessage("No plugin has used the data manager yet.");
+			return;
+		}
+		
+		final long recountTime = accounting.get().getRecountTime();
+		sender.sendMessage(recountTime == 0 ? "The stored data was not counted yet." 
+				: "The stored data was counted " + (System.currentTimeMillis() - recountTime) / 60000 + " minutes ago.");
+		sender.sendMessage("plugin: stored values, stored size, reads/s, writes/s, total time");
+		for(final PluginUsage entry: usage.stream().limit(DataManagerCommand.LINES).collect(Collectors.toList())) {
+			final Optional<StorageUsage> storage = entry.getStorage();
+			sender.sendMessage(String.format(Locale.ROOT, "%s: %s, %s, %.1f/s, %.1f/s, %s", entry.getPluginKey(), 
+					storage.map(value -> Long.toString(value.getEntries())).orElse("?"), storage.map(value -> formatBytes(value.getBytes())).orElse("?"), 
+					entry.getReadRate(), entry.getWriteRate(), formatNanos(entry.getNanos())));
+		}
+	}
+	
+	private void recountStorage(final CommandSender sender) {
+		if(!this.main.getAccounting().isPresent()) {
+			sender.sendMessage("Plugin accounting is disabled in the config.");
+			return;
+		}
+		
+		sender.sendMessage("Counting the stored data of all plugins...");
+		// reading all data takes a while, the result is reported back on the server thread
+		Bukkit.getScheduler().runTaskAsynchronously(this.main, () -> {
+			final boolean counted = this.main.recountStorage();
+			Bukkit.getScheduler().runTask(this.main, () -> {
+				if(counted) {
+					sendUsage(sender);
+				} else {
+					sender.sendMessage("The stored data is already being counted.");
+				}
+			});
+		});
+	}
+	
+	private boolean capture(final CommandSender sender, final String[] args) {
+		final Optional<CaptureProxy> capture = this.main.getCapture();
+		if(!capture.isPresent()) {
+			sender.sendMessage("Workload capture is disabled in the config.");
+			return true;
+		}
+		
+		if(args.length == 1) {
+			final Optional<TraceWriter> writer = capture.get().getWriter();
+			sender.sendMessage(writer.map(value -> "Capturing to " + value.getFile().getName() + ", " + value.getRecorded() + " calls recorded, " 
+					+ value.getDropped() + " dropped.").orElse("No capture is running."));
+			return true;
+		}
+		
+		switch(args[1].toLowerCase()) {
+		case DataManagerCommand.ARGUMENT_START:
+			final boolean redacted = args.length > 2 && args[2].equalsIgnoreCase(DataManagerCommand.ARGUMENT_REDACT);
+			final String name = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date()) + DataManagerCommand.CAPTURE_EXTENSION;
+			final File file = new File(new File(this.main.getDataFolder(), DataManagerCommand.CAPTURE_FOLDER), name);
+			if(capture.get().start(file, redacted)) {
+				sender.sendMessage("Capturing all calls to " + file.getName() + (redacted ? " without their values." : "."));
+			} else {
+				sender.sendMessage("A capture is already running or the file could not be created.");
+			}
+			return true;
+		case DataManagerCommand.ARGUMENT_STOP:
+			final Optional<TraceWriter> stopped = capture.get().stop();
+			sender.sendMessage(stopped.map(value -> "Captured " + value.getRecorded() + " calls to " + value.getFile().getName() + ", " 
+					+ value.getDropped() + " were dropped.").orElse("No capture is running."));
+			return true;
+		default:
+			return false;
+		}
+	}
+	
+	private void sendShadow(final CommandSender sender) {
+		final Optional<ShadowProxy> shadow = this.main.getShadow();
+		if(!shadow.isPresent()) {
+			sender.sendMessage("No shadow data system is set in the config.");
+			return;
+		}
+		
+		final ShadowProxy proxy = shadow.get();
+		sender.sendMessage(String.format(Locale.ROOT, "Mirrored %d calls, %d dropped, %d pending, %d failed on the shadow, %d returned a different result.", 
+				proxy.getMirrored(), proxy.getDropped(), proxy.getPending(), proxy.getShadowErrors(), proxy.getMismatches()));
+		
+		final List<OperationStats> primary = proxy.getPrimaryMetrics().getLatest();
+		if(primary.isEmpty()) {
+			sender.sendMessage("No calls were measured during the last interval.");
+			return;
+		}
+		
+		final Map<OperationKey, OperationStats> mirrored = new HashMap<>();
+		for(final OperationStats stats: proxy.getShadowMetrics().getLatest()) {
+			mirrored.put(stats.getKey(), stats);
+		}
+		sender.sendMessage("operation: calls/s, p50, p99, max (shadow calls/s, p50, p99, max)");
+		for(final OperationStats entry: primary.stream().limit(DataManagerCommand.LINES).collect(Collectors.toList())) {
+			final OperationStats other = mirrored.get(entry.getKey());
+			sender.sendMessage(String.format(Locale.ROOT, "%s: %.1f/s, %s, %s, %s (%s)", entry.getKey(), entry.getThroughput(), 
+					formatNanos(entry.getP50()), formatNanos(entry.getP99()), formatNanos(entry.getMax()), 
+					other == null ? "-" : String.format(Locale.ROOT, "%.1f/s, %s, %s, %s", other.getThroughput(), 
+							formatNanos(other.getP50()), formatNanos(other.getP99()), formatNanos(other.getMax()))));
+		}
+	}
+	
+	private static String formatBytes(final long bytes) {
+		if(bytes < 1024) {
+			return bytes + "B";
+		} else if(bytes < 1024 * 1024) {
+			return String.format(Locale.ROOT, "%.1fKiB", bytes / 1024.0);
+		} else {
+			return String.format(Locale.ROOT, "%.1fMiB", bytes / (1024.0 * 1024.0));
+		}
+	}
+	
+	private static String formatNanos(final long nanos) {
+		if(nanos < 1000) {
+			return nanos + "ns";
+		} else if(nanos < 1000000) {
+			return String.format(Locale.ROOT, "%.1fus", nanos / 1e3);
+		} else {
+			return String.format(Locale.ROOT, "%.1fms", nanos / 1e6);
+		}
+	}
+
+}
@@ -8,5 +8,13 @@ package com.versuchdrei.datamanager;
 public enum DataSystem {
 	SINGLE_YAML,
 	MULTI_YAML,
-	MYSQL
+	SQLITE,
+	MYSQL;
+
+	/**
+	 * @return true if the data system is a database several servers can share, otherwise false
+	 */
+	public boolean isDatabase() {
+		return this == DataSystem.SQLITE || this == DataSystem.MYSQL;
+	}
 }
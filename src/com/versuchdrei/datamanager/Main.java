@@ -1,14 +1,44 @@
 package com.versuchdrei.datamanager;
 
+import java.io.File;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.bukkit.Bukkit;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import com.versuchdrei.datamanager.capture.CaptureProxy;
 import com.versuchdrei.datamanager.datasource.DataSource;
 import com.versuchdrei.datamanager.datasource.config.MultiYamlDataSource;
 import com.versuchdrei.datamanager.datasource.config.SingleYamlDataSource;
+import com.versuchdrei.datamanager.datasource.database.DBCache;
+import com.versuchdrei.datamanager.datasource.database.DBSchema;
+import com.versuchdrei.datamanager.datasource.database.JDBCDataSource;
 import com.versuchdrei.datamanager.datasource.database.MySQLDataSource;
+import com.versuchdrei.datamanager.datasource.database.SQLiteDataSource;
+import com.versuchdrei.datamanager.datasource.database.StatementLog;
+import com.versuchdrei.datamanager.datasource.proxy.AccountingProxy;
+import com.versuchdrei.datamanager.datasource.proxy.CallerProxy;
+import com.versuchdrei.datamanager.datasource.proxy.ChangeProxy;
+import com.versuchdrei.datamanager.datasource.proxy.GlobalSnapshotProxy;
+import com.versuchdrei.datamanager.datasource.proxy.HotKeyProxy;
+import com.versuchdrei.datamanager.datasource.proxy.MainThreadProxy;
+import com.versuchdrei.datamanager.datasource.proxy.MetricsProxy;
+import com.versuchdrei.datamanager.datasource.proxy.NegativeCacheProxy;
+import com.versuchdrei.datamanager.datasource.proxy.ShadowProxy;
+import com.versuchdrei.datamanager.metrics.HotKeyTracker;
+import com.versuchdrei.datamanager.metrics.MainThreadMonitor;
+import com.versuchdrei.datamanager.metrics.Metrics;
+import com.versuchdrei.datamanager.metrics.PluginAccounting;
+import com.versuchdrei.datamanager.metrics.PrometheusExporter;
+import com.versuchdrei.datamanager.metrics.TraceCounters;
+import com.versuchdrei.datamanager.trace.Tracing;
+import com.versuchdrei.datamanager.trace.jfr.JfrSupport;
+import com.versuchdrei.datamanager.watch.ChangeDispatcher;
 
 /**
  * the main class of the data manager
@@ -18,11 +48,42 @@ import com.versuchdrei.datamanager.datasource.database.MySQLDataSource;
 public class Main extends JavaPlugin{
 	
 	private static final String CONFIG_KEY_DATA_SYSTEM = "dataSystem";
+	private static final String CONFIG_KEY_SCHEMA = "schema";
 	private static final String CONFIG_KEY_HOSTNAME = "hostname";
 	private static final String CONFIG_KEY_PORT = "port";
 	private static final String CONFIG_KEY_DATABASE = "database";
 	private static final String CONFIG_KEY_USER = "user";
 	private static final String CONFIG_KEY_PASSWORD = "password";
+	private static final String CONFIG_KEY_FETCH_SIZE = "fetchSize";
+	private static final String CONFIG_KEY_GLOBAL_SNAPSHOT = "globalSnapshot";
+	private static final String CONFIG_KEY_CACHE_CAPACITY = "cacheCapacity";
+	private static final String CONFIG_KEY_CACHE_SYNC_INTERVAL = "cacheSyncInterval";
+	private static final String CONFIG_KEY_NEGATIVE_CACHE_CAPACITY = "negativeCacheCapacity";
+	private static final String CONFIG_KEY_METRICS_INTERVAL = "metricsInterval";
+	private static final String CONFIG_KEY_SLOW_STATEMENT_THRESHOLD = "slowStatementThreshold";
+	private static final String CONFIG_KEY_MAIN_THREAD_BUDGET = "mainThreadBudget";
+	private static final String CONFIG_KEY_HOT_KEY_SAMPLE_RATE = "hotKeySampleRate";
+	private static final String CONFIG_KEY_PROMETHEUS_PORT = "prometheusPort";
+	private static final String CONFIG_KEY_PROMETHEUS_FILE = "prometheusFile";
+	private static final String CONFIG_KEY_PROMETHEUS_FILE_INTERVAL = "prometheusFileInterval";
+	private static final String CONFIG_KEY_PLUGIN_ACCOUNTING = "pluginAccounting";
+	private static final String CONFIG_KEY_STORAGE_RECOUNT_INTERVAL = "storageRecountInterval";
+	private static final String CONFIG_KEY_STORAGE_TRACKING = "storageTracking";
+	private static final String CONFIG_KEY_WORKLOAD_CAPTURE = "workloadCapture";
+	private static final String CONFIG_KEY_SHADOW_DATA_SYSTEM = "shadowDataSystem";
+	
+	private static final String COMMAND = "datamanager";
+	
+	private static final int DEFAULT_FETCH_SIZE = 1000;
+	private static final long DEFAULT_CACHE_SYNC_INTERVAL = 1000;
+	private static final int DEFAULT_NEGATIVE_CACHE_CAPACITY = 10000;
+	private static final int DEFAULT_METRICS_INTERVAL = 60;
+	private static final long DEFAULT_SLOW_STATEMENT_THRESHOLD = 50;
+	private static final int DEFAULT_HOT_KEY_SAMPLE_RATE = 16;
+	private static final int DEFAULT_PROMETHEUS_FILE_INTERVAL = 15;
+	private static final int DEFAULT_STORAGE_RECOUNT_INTERVAL = 15;
+	private static final int TICKS_PER_SECOND = 20;
+	private static final long TICKS_PER_MINUTE = 60 * Main.TICKS_PER_SECOND;
 	
 	private static Main current;
 	
@@ -38,38 +99,246 @@ public class Main extends JavaPlugin{
 	}
 	
 	private DataSource dataSource;
+	private ChangeDispatcher changeDispatcher;
+	private Metrics metrics;
+	private StatementLog statementLog;
+	private MainThreadMonitor mainThreadMonitor;
+	private HotKeyTracker hotKeyTracker;
+	private PluginAccounting accounting;
+	private CaptureProxy capture;
+	private ShadowProxy shadow;
+	private final AtomicBoolean recounting = new AtomicBoolean();
+	private PrometheusExporter exporter;
 	
 	@Override
 	public void onEnable() {
 		super.saveDefaultConfig();
 		final FileConfiguration config = getConfig();
 		final DataSystem dataSystem = DataSystem.valueOf(config.getString(Main.CONFIG_KEY_DATA_SYSTEM).toUpperCase());
+		final DataSource backend = createDataSource(dataSystem, config);
+		this.dataSource = backend;
+		if(backend instanceof JDBCDataSource) {
+			this.statementLog = ((JDBCDataSource) backend).getStatementLog();
+			this.statementLog.setSlowThreshold(config.getLong(Main.CONFIG_KEY_SLOW_STATEMENT_THRESHOLD, Main.DEFAULT_SLOW_STATEMENT_THRESHOLD), getLogger());
+			this.dataSource = new CallerProxy(this.dataSource).create();
+		}
+		final String shadowDataSystem = config.getString(Main.CONFIG_KEY_SHADOW_DATA_SYSTEM, "");
+		if(!shadowDataSystem.isEmpty()) {
+			startShadow(dataSystem, DataSystem.valueOf(shadowDataSystem.toUpperCase()), config);
+		}
+		// values added by other servers sharing the database would not leave a trace in the negative cache
+		final int negativeCacheCapacity = config.getInt(Main.CONFIG_KEY_NEGATIVE_CACHE_CAPACITY, dataSystem.isDatabase() ? 0 : Main.DEFAULT_NEGATIVE_CACHE_CAPACITY);
+		if(negativeCacheCapacity > 0) {
+			this.dataSource = new NegativeCacheProxy(this.dataSource, negativeCacheCapacity).create();
+		}
+		// other servers sharing the database would not leave a trace in the snapshot
+		if(config.getBoolean(Main.CONFIG_KEY_GLOBAL_SNAPSHOT, !dataSystem.isDatabase())) {
+			this.dataSource = new GlobalSnapshotProxy(this.dataSource).create();
+		}
+		this.changeDispatcher = new ChangeDispatcher();
+		this.dataSource = new ChangeProxy(this.dataSource, this.changeDispatcher).create();
+		final int metricsInterval = config.getInt(Main.CONFIG_KEY_METRICS_INTERVAL, Main.DEFAULT_METRICS_INTERVAL);
+		if(metricsInterval > 0) {
+			// measured last, so the latencies include the caches and are the ones the calling plugins see
+			this.metrics = new Metrics();
+			this.dataSource = new MetricsProxy(this.dataSource, this.metrics).create();
+			final long ticks = (long) metricsInterval * Main.TICKS_PER_SECOND;
+			Bukkit.getScheduler().runTaskTimerAsynchronously(this, this.metrics::rollInterval, ticks, ticks);
+		}
+		if(config.getBoolean(Main.CONFIG_KEY_PLUGIN_ACCOUNTING, true)) {
+			this.accounting = new PluginAccounting();
+			// the replaced values are read from the backend itself, so the reads do not show up as calls of the plugins
+			final DataSource trackedBackend = config.getBoolean(Main.CONFIG_KEY_STORAGE_TRACKING, false) ? backend : null;
+			this.dataSource = new AccountingProxy(this.dataSource, this.accounting, dataSystem.isDatabase(), trackedBackend).create();
+			Bukkit.getScheduler().runTaskTimerAsynchronously(this, this.accounting::rollPeriod, Main.TICKS_PER_MINUTE, Main.TICKS_PER_MINUTE);
+		}
+		final long mainThreadBudget = config.getLong(Main.CONFIG_KEY_MAIN_THREAD_BUDGET, -1);
+		if(mainThreadBudget >= 0) {
+			// plugins are enabled on the server thread
+			this.mainThreadMonitor = new MainThreadMonitor(Thread.currentThread(), mainThreadBudget, getLogger());
+			this.dataSource = new MainThreadProxy(this.dataSource, this.mainThreadMonitor).create();
+			Bukkit.getScheduler().runTaskTimerAsynchronously(this, this.mainThreadMonitor::rollPeriod, Main.TICKS_PER_MINUTE, Main.TICKS_PER_MINUTE);
+		}
+		final int hotKeySampleRate = config.getInt(Main.CONFIG_KEY_HOT_KEY_SAMPLE_RATE, Main.DEFAULT_HOT_KEY_SAMPLE_RATE);
+		if(hotKeySampleRate > 0) {
+			this.hotKeyTracker = new HotKeyTracker(hotKeySampleRate);
+			this.dataSource = new HotKeyProxy(this.dataSource, this.hotKeyTracker).create();
+			// halving the counts every minute lets a key that stops being accessed drop out within a few minutes
+			Bukkit.getScheduler().runTaskTimerAsynchronously(this, this.hotKeyTracker::decay, Main.TICKS_PER_MINUTE, Main.TICKS_PER_MINUTE);
+		}
+		if(config.getBoolean(Main.CONFIG_KEY_WORKLOAD_CAPTURE, true)) {
+			// captured in front of all caches, so a replay repeats the calls exactly as the plugins made them
+			this.capture = new CaptureProxy(this.dataSource);
+			this.dataSource = this.capture.create();
+		}
+		// the events are only recorded while a flight recording enables them
+		if(Tracing.isFlightRecorderAvailable()) {
+			this.dataSource = JfrSupport.install(this.dataSource, dataSystem.name().toLowerCase());
+		}
+		startExporter(config, backend);
+		this.dataSource.setup();
+		// tracked writes keep the stored data up to date, otherwise only the recounts do
+		final int recountInterval = config.getInt(Main.CONFIG_KEY_STORAGE_RECOUNT_INTERVAL, 
+				config.getBoolean(Main.CONFIG_KEY_STORAGE_TRACKING, false) ? 0 : Main.DEFAULT_STORAGE_RECOUNT_INTERVAL);
+		// the first recount runs right away, so the stored data is known shortly after the start
+		if(this.accounting != null && recountInterval > 0) {
+			Bukkit.getScheduler().runTaskTimerAsynchronously(this, this::recountStorage, 1, recountInterval * Main.TICKS_PER_MINUTE);
+		} else if(this.accounting != null) {
+			Bukkit.getScheduler().runTaskAsynchronously(this, this::recountStorage);
+		}
+		// the changes are passed to the listeners once per tick
+		Bukkit.getScheduler().runTaskTimer(this, this.changeDispatcher::dispatch, 1, 1);
+		getCommand(Main.COMMAND).setExecutor(new DataManagerCommand(this));
+		Main.current = this;
+	}
+	
+	@Override
+	public void onDisable() {
+		Main.current = null;
+		if(this.exporter != null) {
+			this.exporter.close();
+			this.exporter = null;
+		}
+		if(this.capture != null) {
+			this.capture.stop();
+			this.capture = null;
+		}
+		this.dataSource.close();
+		this.dataSource = null;
+		Tracing.clear();
+		this.changeDispatcher = null;
+		this.metrics = null;
+		this.statementLog = null;
+		this.mainThreadMonitor = null;
+		this.hotKeyTracker = null;
+		this.accounting = null;
+		this.shadow = null;
+		// with the support of MySQL we need to close the connection here
+	}
+	
+	private DataSource createDataSource(final DataSystem dataSystem, final FileConfiguration config) {
 		switch(dataSystem) {
 		case SINGLE_YAML:
-			this.dataSource = new SingleYamlDataSource();
-			break;
+			return new SingleYamlDataSource();
 		case MULTI_YAML:
-			this.dataSource = new MultiYamlDataSource(this);
-			break;
+			return new MultiYamlDataSource(this);
+		case SQLITE:
+			return new SQLiteDataSource(getSchema(config), getCache(config));
 		case MYSQL:
+		default:
 			final String hostname = config.getString(Main.CONFIG_KEY_HOSTNAME);
 			final String port = config.getString(Main.CONFIG_KEY_PORT);
 			final String database = config.getString(Main.CONFIG_KEY_DATABASE);
 			final String user = config.getString(Main.CONFIG_KEY_USER);
 			final String password = config.getString(Main.CONFIG_KEY_PASSWORD);
-			this.dataSource = new MySQLDataSource(hostname, port, database, user, password);
-			break;
+			final int fetchSize = config.getInt(Main.CONFIG_KEY_FETCH_SIZE, Main.DEFAULT_FETCH_SIZE);
+			return new MySQLDataSource(hostname, port, database, user, password, getSchema(config), fetchSize, getCache(config));
 		}
-		this.dataSource.setup();
-		Main.current = this;
 	}
 	
-	@Override
-	public void onDisable() {
-		Main.current = null;
-		this.dataSource.close();
-		this.dataSource = null;
-		// with the support of MySQL we need to close the connection here
+	/**
+	 * unloads the files of players leaving the server in the shadow backend
+	 */
+	private static class ShadowListener implements Listener{
+		
+		private final ShadowProxy shadow;
+		
+		private ShadowListener(final ShadowProxy shadow) {
+			this.shadow = shadow;
+		}
+		
+		@EventHandler
+		public void onQuit(final PlayerQuitEvent event) {
+			this.shadow.unloadPlayer(event.getPlayer().getUniqueId());
+		}
+		
+	}
+	
+	private void startShadow(final DataSystem dataSystem, final DataSystem shadowDataSystem, final FileConfiguration config) {
+		if(shadowDataSystem == dataSystem) {
+			// both would work on the same files or tables
+			getLogger().warning("The shadow data system has to differ from the data system, calls are not mirrored.");
+			return;
+		}
+		
+		// the files of players are loaded by the thread of the shadow proxy instead of a listener on the server thread
+		final MultiYamlDataSource playerFiles = shadowDataSystem == DataSystem.MULTI_YAML ? new MultiYamlDataSource(null) : null;
+		final DataSource shadowSource = playerFiles != null ? playerFiles : createDataSource(shadowDataSystem, config);
+		// mirrored below all caches, so the shadow backend gets the calls the primary backend gets and is measured the same way
+		this.shadow = new ShadowProxy(this.dataSource, shadowSource, playerFiles, getLogger());
+		this.dataSource = this.shadow.create();
+		if(playerFiles != null) {
+			Bukkit.getPluginManager().registerEvents(new ShadowListener(this.shadow), this);
+		}
+		final int metricsInterval = config.getInt(Main.CONFIG_KEY_METRICS_INTERVAL, Main.DEFAULT_METRICS_INTERVAL);
+		final long ticks = (long) (metricsInterval > 0 ? metricsInterval : Main.DEFAULT_METRICS_INTERVAL) * Main.TICKS_PER_SECOND;
+		Bukkit.getScheduler().runTaskTimerAsynchronously(this, this.shadow::rollInterval, ticks, ticks);
+	}
+	
+	private void startExporter(final FileConfiguration config, final DataSource backend) {
+		final int port = config.getInt(Main.CONFIG_KEY_PROMETHEUS_PORT, 0);
+		final String file = config.getString(Main.CONFIG_KEY_PROMETHEUS_FILE, "");
+		if(port <= 0 && file.isEmpty()) {
+			return;
+		}
+		
+		final TraceCounters counters = new TraceCounters();
+		Tracing.add(counters);
+		this.exporter = new PrometheusExporter(this.metrics, counters, this.statementLog, this.hotKeyTracker, this.accounting);
+		this.exporter.addGauge("pending_changes", "Changes not yet passed to the watching plugins.", this.changeDispatcher::getPending);
+		if(backend instanceof JDBCDataSource) {
+			// the database backends use a single connection
+			final JDBCDataSource database = (JDBCDataSource) backend;
+			this.exporter.addGauge("database_connections_open", "Open connections to the database.", () -> database.isConnectionOpen() ? 1 : 0);
+		}
+		if(this.shadow != null) {
+			final ShadowProxy currentShadow = this.shadow;
+			this.exporter.addGauge("shadow_pending_calls", "Calls waiting to be mirrored to the shadow backend.", currentShadow::getPending);
+			this.exporter.addGauge("shadow_dropped_calls", "Calls not mirrored to the shadow backend as it fell behind.", currentShadow::getDropped);
+			this.exporter.addGauge("shadow_mismatches", "Calls whose result on the shadow backend differed.", currentShadow::getMismatches);
+		}
+		
+		if(port > 0) {
+			this.exporter.startServer(port);
+		}
+		if(!file.isEmpty()) {
+			final PrometheusExporter currentExporter = this.exporter;
+			final File target = new File(getDataFolder(), file);
+			final long ticks = (long) config.getInt(Main.CONFIG_KEY_PROMETHEUS_FILE_INTERVAL, Main.DEFAULT_PROMETHEUS_FILE_INTERVAL) * Main.TICKS_PER_SECOND;
+			Bukkit.getScheduler().runTaskTimerAsynchronously(this, () -> currentExporter.writeFile(target), ticks, ticks);
+		}
+	}
+	
+	/**
+	 * counts the data stored by every plugin and passes it to the accounting, which reads all data and must not run on the server thread
+	 * @return true if the data was counted, false if accounting is disabled or another recount is running
+	 */
+	boolean recountStorage() {
+		final PluginAccounting currentAccounting = this.accounting;
+		final DataSource currentDataSource = this.dataSource;
+		if(currentAccounting == null || currentDataSource == null || !this.recounting.compareAndSet(false, true)) {
+			return false;
+		}
+		
+		try {
+			currentAccounting.setStorage(currentDataSource.countStorage());
+			return true;
+		} finally {
+			this.recounting.set(false);
+		}
+	}
+	
+	private DBSchema getSchema(final FileConfiguration config) {
+		// configs written by older versions do not contain the schema yet
+		return DBSchema.valueOf(config.getString(Main.CONFIG_KEY_SCHEMA, DBSchema.SPLIT.name()).toUpperCase());
+	}
+	
+	private DBCache getCache(final FileConfiguration config) {
+		final int capacity = config.getInt(Main.CONFIG_KEY_CACHE_CAPACITY, 0);
+		if(capacity <= 0) {
+			return null;
+		}
+		return new DBCache(capacity, config.getLong(Main.CONFIG_KEY_CACHE_SYNC_INTERVAL, Main.DEFAULT_CACHE_SYNC_INTERVAL));
 	}
 	
 	Optional<DataSource> getDataSource(){
@@ -79,5 +348,41 @@ public class Main extends JavaPlugin{
 		
 		return Optional.of(dataSource);
 	}
+	
+	Optional<ChangeDispatcher> getChangeDispatcher(){
+		if(changeDispatcher == null) {
+			return Optional.empty();
+		}
+		
+		return Optional.of(changeDispatcher);
+	}
+	
+	Optional<Metrics> getMetrics(){
+		return Optional.ofNullable(this.metrics);
+	}
+	
+	Optional<StatementLog> getStatementLog(){
+		return Optional.ofNullable(this.statementLog);
+	}
+	
+	Optional<MainThreadMonitor> getMainThreadMonitor(){
+		return Optional.ofNullable(this.mainThreadMonitor);
+	}
+	
+	Optional<HotKeyTracker> getHotKeyTracker(){
+		return Optional.ofNullable(this.hotKeyTracker);
+	}
+	
+	Optional<PluginAccounting> getAccounting(){
+		return Optional.ofNullable(this.accounting);
+	}
+	
+	Optional<CaptureProxy> getCapture(){
+		return Optional.ofNullable(this.capture);
+	}
+	
+	Optional<ShadowProxy> getShadow(){
+		return Optional.ofNullable(this.shadow);
+	}
 
 }
@@ -0,0 +1,13 @@
+package com.versuchdrei.datamanager;
+
+/**
+ * an enum for all types of data that players can be ranked by
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public enum NumericType {
+	INT,
+	LONG,
+	FLOAT,
+	DOUBLE
+}
@@ -0,0 +1,53 @@
+package com.versuchdrei.datamanager;
+
+import java.util.UUID;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+
+/**
+ * a class representing the position of a player in the ranking of a numeric value
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class RankedEntry {
+	
+	private final int rank;
+	private final UUID uuid;
+	private final Number value;
+	
+	public RankedEntry(final int rank, final UUID uuid, final Number value) {
+		this.rank = rank;
+		this.uuid = uuid;
+		this.value = value;
+	}
+	
+	/**
+	 * returns the rank of the player, 1 being the highest value
+	 * @return the rank of the player
+	 */
+	public int getRank() {
+		return this.rank;
+	}
+	
+	public UUID getUUID() {
+		return this.uuid;
+	}
+	
+	/**
+	 * looks up the player of this entry, which is not done before it is needed
+	 * @return the player of this entry
+	 */
+	public OfflinePlayer getPlayer() {
+		return Bukkit.getOfflinePlayer(this.uuid);
+	}
+	
+	/**
+	 * returns the value of the player, as an Integer, Long, Float or Double depending on the type of the ranking
+	 * @return the value of the player
+	 */
+	public Number getValue() {
+		return this.value;
+	}
+
+}
@@ -0,0 +1,83 @@
+package com.versuchdrei.datamanager.capture;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Optional;
+
+import com.versuchdrei.datamanager.datasource.DataSource;
+import com.versuchdrei.datamanager.datasource.proxy.DataOperation;
+import com.versuchdrei.datamanager.datasource.proxy.DataSourceProxy;
+
+/**
+ * records the calls of the data source to a trace file while a capture is running
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class CaptureProxy extends DataSourceProxy {
+	
+	// null while no capture is running, which leaves a single read of the field on every call
+	private volatile TraceWriter writer;
+	
+	public CaptureProxy(final DataSource source) {
+		super(source);
+	}
+	
+	@Override
+	protected Object invoke(final DataOperation operation, final Object[] args) throws Throwable {
+		final TraceWriter currentWriter = this.writer;
+		if(currentWriter == null) {
+			return forward(operation, args);
+		}
+		
+		final long start = System.nanoTime();
+		boolean failed = true;
+		try {
+			final Object result = forward(operation, args);
+			failed = false;
+			return result;
+		} finally {
+			currentWriter.record(operation, args, Thread.currentThread().getName(), start, System.nanoTime() - start, failed);
+		}
+	}
+	
+	/**
+	 * starts recording all calls to the file
+	 * @param file the file to write the trace to
+	 * @param redacted true to only record the sizes of the values, otherwise false
+	 * @return true if the capture was started, false if another capture is running or the file can not be created
+	 */
+	public synchronized boolean start(final File file, final boolean redacted) {
+		if(this.writer != null) {
+			return false;
+		}
+		
+		try {
+			this.writer = TraceWriter.start(file, redacted);
+			return true;
+		} catch (final IOException e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+	
+	/**
+	 * stops the running capture and closes its file, which waits for the recorded calls to be written
+	 * @return the writer of the stopped capture, or an empty optional if no capture was running
+	 */
+	public synchronized Optional<TraceWriter> stop() {
+		final TraceWriter stopped = this.writer;
+		this.writer = null;
+		if(stopped != null) {
+			stopped.close();
+		}
+		return Optional.ofNullable(stopped);
+	}
+	
+	/**
+	 * @return the writer of the running capture, or an empty optional if no capture is running
+	 */
+	public Optional<TraceWriter> getWriter() {
+		return Optional.ofNullable(this.writer);
+	}
+
+}
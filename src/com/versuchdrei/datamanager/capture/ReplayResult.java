@@ -0,0 +1,61 @@
+package com.versuchdrei.datamanager.capture;
+
+import java.util.List;
+
+import com.versuchdrei.datamanager.metrics.OperationStats;
+
+/**
+ * the latencies of a replayed trace next to the ones measured when it was captured
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class ReplayResult {
+	
+	private final List<OperationStats> replayed;
+	private final List<OperationStats> captured;
+	private final long calls;
+	private final long nanos;
+	private final long maxLag;
+	
+	ReplayResult(final List<OperationStats> replayed, final List<OperationStats> captured, final long calls, final long nanos, final long maxLag) {
+		this.replayed = replayed;
+		this.captured = captured;
+		this.calls = calls;
+		this.nanos = nanos;
+		this.maxLag = maxLag;
+	}
+	
+	/**
+	 * @return the latencies of every kind of operation during the replay, the most frequent first
+	 */
+	public List<OperationStats> getReplayed(){
+		return this.replayed;
+	}
+	
+	/**
+	 * returns the latencies of every kind of operation when the trace was captured, their throughput is meaningless
+	 * @return the captured latencies, the most frequent first
+	 */
+	public List<OperationStats> getCaptured(){
+		return this.captured;
+	}
+	
+	public long getCalls() {
+		return this.calls;
+	}
+	
+	/**
+	 * @return the time the replay took in nanoseconds
+	 */
+	public long getNanos() {
+		return this.nanos;
+	}
+	
+	/**
+	 * @return the longest time a call started after it was due in nanoseconds, a high lag means the backend could not keep up with the trace
+	 */
+	public long getMaxLag() {
+		return this.maxLag;
+	}
+
+}
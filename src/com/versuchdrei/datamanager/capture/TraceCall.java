@@ -0,0 +1,74 @@
+package com.versuchdrei.datamanager.capture;
+
+import java.lang.reflect.Method;
+
+import com.versuchdrei.datamanager.datasource.proxy.DataOperation;
+
+/**
+ * a call of the data source read from a trace file
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class TraceCall {
+	
+	private final long time;
+	private final String thread;
+	private final DataOperation operation;
+	private final Object[] args;
+	private final long nanos;
+	private final boolean failed;
+	
+	TraceCall(final long time, final String thread, final DataOperation operation, final Object[] args, final long nanos, final boolean failed) {
+		this.time = time;
+		this.thread = thread;
+		this.operation = operation;
+		this.args = args;
+		this.nanos = nanos;
+		this.failed = failed;
+	}
+	
+	/**
+	 * @return the time the call started at in nanoseconds since the capture started
+	 */
+	public long getTime() {
+		return this.time;
+	}
+	
+	/**
+	 * @return the name of the thread that made the call
+	 */
+	public String getThread() {
+		return this.thread;
+	}
+	
+	public DataOperation getOperation() {
+		return this.operation;
+	}
+	
+	public Method getMethod() {
+		return this.operation.getMethod();
+	}
+	
+	/**
+	 * returns the arguments to repeat the call with, redacted values are replaced by values of the same size
+	 * @return the arguments of the call
+	 */
+	public Object[] getArguments() {
+		return this.args;
+	}
+	
+	/**
+	 * @return the time the call took when it was captured in nanoseconds
+	 */
+	public long getNanos() {
+		return this.nanos;
+	}
+	
+	/**
+	 * @return true if the call threw an exception when it was captured, otherwise false
+	 */
+	public boolean isFailed() {
+		return this.failed;
+	}
+
+}
@@ -0,0 +1,77 @@
+package com.versuchdrei.datamanager.capture;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * The layout of a trace file. 
+ * A trace starts with a header followed by records, which either define a string or describe a call. 
+ * Strings that repeat, like keys, players, threads and methods, are defined once and referenced by their index afterwards, 
+ * numbers are written with as few bytes as their value needs and the whole file is compressed.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+class TraceFormat {
+	
+	static final int MAGIC = 0x444D5452;
+	static final int VERSION = 1;
+	// set in the flags of the header if the values are left out and only their sizes are written
+	static final int FLAG_REDACTED = 1;
+	static final int RECORD_STRING = 1;
+	static final int RECORD_CALL = 2;
+	
+	private TraceFormat() {}
+	
+	/**
+	 * @param method a method of the data source
+	 * @return the name and parameter types of the method, which identify it among the overloads
+	 */
+	static String getSignature(final Method method) {
+		return method.getName() + "(" + Arrays.stream(method.getParameterTypes()).map(Class::getSimpleName).collect(Collectors.joining(",")) + ")";
+	}
+	
+	/**
+	 * writes a non negative number in groups of seven bits, the lowest first
+	 * @param output the output to write to
+	 * @param value the number to write
+	 * @throws IOException if the output fails
+	 */
+	static void writeVarLong(final DataOutput output, final long value) throws IOException {
+		long remaining = value;
+		while((remaining & ~0x7FL) != 0) {
+			output.writeByte((int) (remaining & 0x7F) | 0x80);
+			remaining >>>= 7;
+		}
+		output.writeByte((int) remaining);
+	}
+	
+	static long readVarLong(final DataInput input) throws IOException {
+		long value = 0;
+		for(int shift = 0; shift < 64; shift += 7) {
+			final int read = input.readUnsignedByte();
+			value |= (long) (read & 0x7F) << shift;
+			if((read & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("malformed number in trace");
+	}
+	
+	/**
+	 * maps numbers close to 0 to small non negative numbers, so negative numbers are written as compact as positive ones
+	 * @param value the number to map
+	 * @return the mapped number
+	 */
+	static long zigZag(final long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+	
+	static long unZigZag(final long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+}
@@ -0,0 +1,206 @@
+package com.versuchdrei.datamanager.capture;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import com.versuchdrei.datamanager.NumericType;
+import com.versuchdrei.datamanager.datasource.DataSource;
+import com.versuchdrei.datamanager.datasource.proxy.DataOperation;
+
+/**
+ * reads the calls of a trace file one at a time, so traces of any length can be replayed
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class TraceReader implements Closeable {
+	
+	// passed for the consumers of the data source, which are not part of the trace
+	private static final Consumer<Object> IGNORING_CONSUMER = value -> {};
+	private static final BiConsumer<Object, Object> IGNORING_BI_CONSUMER = (key, value) -> {};
+	
+	private final DataInputStream input;
+	private final boolean redacted;
+	private final long startTime;
+	private final List<String> strings = new ArrayList<>();
+	private final Map<String, DataOperation> operations = new HashMap<>();
+	private long time = 0;
+	
+	/**
+	 * opens the trace file and reads its header
+	 * @param file the trace file to read
+	 * @throws IOException if the file can not be read or is no trace
+	 */
+	public TraceReader(final File file) throws IOException {
+		this.input = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))));
+		try {
+			if(this.input.readInt() != TraceFormat.MAGIC) {
+				throw new IOException(file + " is no trace of the data manager");
+			}
+			final int version = this.input.readUnsignedByte();
+			if(version != TraceFormat.VERSION) {
+				throw new IOException("unsupported trace version " + version);
+			}
+			this.redacted = (this.input.readUnsignedByte() & TraceFormat.FLAG_REDACTED) != 0;
+			this.startTime = this.input.readLong();
+		} catch (final IOException e) {
+			this.input.close();
+			throw e;
+		}
+		
+		for(final Method method: DataSource.class.getMethods()) {
+			this.operations.put(TraceFormat.getSignature(method), DataOperation.of(method));
+		}
+	}
+	
+	/**
+	 * @return true if the trace only contains the sizes of the values, otherwise false
+	 */
+	public boolean isRedacted() {
+		return this.redacted;
+	}
+	
+	/**
+	 * @return the time the capture started at in milliseconds since the epoch
+	 */
+	public long getStartTime() {
+		return this.startTime;
+	}
+	
+	/**
+	 * reads the next call, a trace that was cut off while being written ends with the last complete call
+	 * @return the next call, or null at the end of the trace
+	 * @throws IOException if the file can not be read or is malformed
+	 */
+	public TraceCall next() throws IOException {
+		while(true) {
+			final int record;
+			try {
+				record = this.input.read();
+			} catch (final EOFException e) {
+				return null;
+			}
+			
+			try {
+				switch(record) {
+				case -1:
+					return null;
+				case TraceFormat.RECORD_STRING:
+					final byte[] bytes = new byte[(int) TraceFormat.readVarLong(this.input)];
+					this.input.readFully(bytes);
+					this.strings.add(new String(bytes, StandardCharsets.UTF_8));
+					break;
+				case TraceFormat.RECORD_CALL:
+					return readCall();
+				default:
+					throw new IOException("unknown record " + record + " in trace");
+				}
+			} catch (final EOFException e) {
+				return null;
+			}
+		}
+	}
+	
+	private TraceCall readCall() throws IOException {
+		this.time += TraceFormat.unZigZag(TraceFormat.readVarLong(this.input));
+		final String thread = readString();
+		final String signature = readString();
+		final DataOperation operation = this.operations.get(signature);
+		if(operation == null) {
+			throw new IOException("unknown method " + signature + " in trace");
+		}
+		
+		final Class<?>[] parameters = operation.getMethod().getParameterTypes();
+		final Object[] args = new Object[parameters.length];
+		for(int i = 0; i < parameters.length; i++) {
+			args[i] = readArgument(parameters[i], operation.isValueArgument(i));
+		}
+		
+		final long nanos = TraceFormat.readVarLong(this.input);
+		final boolean failed = this.input.readBoolean();
+		return new TraceCall(this.time, thread, operation, args, nanos, failed);
+	}
+	
+	private Object readArgument(final Class<?> type, final boolean value) throws IOException {
+		if(type == String.class) {
+			return value ? readValue() : readString();
+		} else if(type == UUID.class) {
+			final String uuid = readString();
+			return uuid == null ? null : UUID.fromString(uuid);
+		} else if(type == List.class) {
+			final long size = TraceFormat.readVarLong(this.input);
+			if(size == 0) {
+				return null;
+			}
+			final List<String> list = new ArrayList<>();
+			for(long i = 1; i < size; i++) {
+				list.add(readValue());
+			}
+			return list;
+		} else if(type == int.class) {
+			return (int) TraceFormat.unZigZag(TraceFormat.readVarLong(this.input));
+		} else if(type == long.class) {
+			return TraceFormat.unZigZag(TraceFormat.readVarLong(this.input));
+		} else if(type == float.class) {
+			return this.input.readFloat();
+		} else if(type == double.class) {
+			return this.input.readDouble();
+		} else if(type == boolean.class) {
+			return this.input.readBoolean();
+		} else if(type == NumericType.class) {
+			return NumericType.values()[this.input.readUnsignedByte()];
+		} else if(type == Consumer.class) {
+			return TraceReader.IGNORING_CONSUMER;
+		} else if(type == BiConsumer.class) {
+			return TraceReader.IGNORING_BI_CONSUMER;
+		}
+		throw new IOException("unsupported parameter type " + type.getSimpleName() + " in trace");
+	}
+	
+	private String readString() throws IOException {
+		final long index = TraceFormat.readVarLong(this.input);
+		if(index == 0) {
+			return null;
+		}
+		if(index > this.strings.size()) {
+			throw new IOException("undefined string " + index + " in trace");
+		}
+		return this.strings.get((int) index - 1);
+	}
+	
+	private String readValue() throws IOException {
+		final long size = TraceFormat.readVarLong(this.input);
+		if(size == 0) {
+			return null;
+		}
+		
+		final int length = (int) size - 1;
+		if(this.redacted) {
+			// a value of the same size puts the same load on the backend
+			return "x".repeat(length);
+		}
+		final byte[] bytes = new byte[length];
+		this.input.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+	
+	@Override
+	public void close() throws IOException {
+		this.input.close();
+	}
+
+}
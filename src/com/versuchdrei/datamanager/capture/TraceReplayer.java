@@ -0,0 +1,222 @@
+package com.versuchdrei.datamanager.capture;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.versuchdrei.datamanager.datasource.DataSource;
+import com.versuchdrei.datamanager.datasource.config.SingleYamlDataSource;
+import com.versuchdrei.datamanager.datasource.database.DBSchema;
+import com.versuchdrei.datamanager.datasource.database.MySQLDataSource;
+import com.versuchdrei.datamanager.datasource.database.SQLiteDataSource;
+import com.versuchdrei.datamanager.datasource.proxy.DataOperation;
+import com.versuchdrei.datamanager.metrics.Metrics;
+import com.versuchdrei.datamanager.metrics.OperationKey;
+import com.versuchdrei.datamanager.metrics.OperationStats;
+
+/**
+ * Repeats the calls of a trace file against a data source and measures their latencies. 
+ * The calls of every captured thread are made by one thread of the replayer in their original order, 
+ * so calls that depended on each other when they were captured still do.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class TraceReplayer {
+	
+	private static final String USAGE = "usage: <trace> <speed, 0 for as fast as possible> <single_yaml | sqlite <file> [schema] | mysql <hostname> <port> <database> <user> <password> [schema]>";
+	// captured threads beyond this number share the threads of the replayer
+	private static final int MAX_THREADS = 64;
+	// the number of calls that may wait for their thread, which keeps the memory bounded if the backend falls behind
+	private static final int MAX_PENDING = 100000;
+	private static final int FETCH_SIZE = 1000;
+	
+	private final DataSource source;
+	private final Map<DataOperation, OperationKey> keys = new ConcurrentHashMap<>();
+	
+	/**
+	 * @param source the data source to replay the calls against, it has to be set up already
+	 */
+	public TraceReplayer(final DataSource source) {
+		this.source = source;
+	}
+	
+	/**
+	 * replays the trace and waits for all calls to finish
+	 * @param file the trace file to replay
+	 * @param speed how many times faster than captured to replay the calls, 0 to replay them as fast as possible
+	 * @return the latencies of the replay and the capture
+	 * @throws IOException if the trace can not be read
+	 * @throws InterruptedException if the thread is interrupted while replaying
+	 */
+	public ReplayResult replay(final File file, final double speed) throws IOException, InterruptedException {
+		final Metrics replayed = new Metrics();
+		final Metrics captured = new Metrics();
+		final Map<String, ExecutorService> threads = new HashMap<>();
+		final List<ExecutorService> workers = new ArrayList<>();
+		final Semaphore pending = new Semaphore(TraceReplayer.MAX_PENDING);
+		final AtomicLong maxLag = new AtomicLong();
+		long calls = 0;
+		
+		final long begin = System.nanoTime();
+		try (TraceReader reader = new TraceReader(file)){
+			TraceCall call;
+			while((call = reader.next()) != null) {
+				final TraceCall currentCall = call;
+				final OperationKey key = getKey(call.getOperation());
+				captured.record(key, call.getNanos(), call.isFailed());
+				
+				final long due = speed > 0 ? begin + (long) (call.getTime() / speed) : 0;
+				if(speed > 0) {
+					// parking overshoots by a bit, which is caught up by not waiting for the following calls
+					for(long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+						LockSupport.parkNanos(wait);
+					}
+				}
+				
+				pending.acquire();
+				calls++;
+				getWorker(threads, workers, call.getThread()).execute(() -> {
+					final long start = System.nanoTime();
+					if(due != 0) {
+						maxLag.accumulateAndGet(start - due, Math::max);
+					}
+					boolean failed = false;
+					try {
+						currentCall.getMethod().invoke(this.source, currentCall.getArguments());
+					} catch (final InvocationTargetException | IllegalAccessException e) {
+						failed = true;
+					} finally {
+						replayed.record(key, System.nanoTime() - start, failed);
+						pending.release();
+					}
+				});
+			}
+		} finally {
+			for(final ExecutorService worker: workers) {
+				worker.shutdown();
+			}
+			for(final ExecutorService worker: workers) {
+				worker.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+			}
+		}
+		
+		final long nanos = System.nanoTime() - begin;
+		replayed.rollInterval();
+		captured.rollInterval();
+		return new ReplayResult(replayed.getLatest(), captured.getLatest(), calls, nanos, maxLag.get());
+	}
+	
+	private OperationKey getKey(final DataOperation operation) {
+		// the plugins are left out, the replay compares the backends and not the plugins using them
+		return this.keys.computeIfAbsent(operation, newOperation -> new OperationKey(operation.getName(), operation.getScope().orElse(null), 
+				operation.getValueType().map(Class::getSimpleName).orElse(null), null));
+	}
+	
+	private static ExecutorService getWorker(final Map<String, ExecutorService> threads, final List<ExecutorService> workers, final String thread) {
+		return threads.computeIfAbsent(thread, newThread -> {
+			if(workers.size() >= TraceReplayer.MAX_THREADS) {
+				return workers.get(threads.size() % TraceReplayer.MAX_THREADS);
+			}
+			final String name = "DataManager replay " + workers.size();
+			final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+				final Thread replayThread = new Thread(runnable, name);
+				replayThread.setDaemon(true);
+				return replayThread;
+			});
+			workers.add(worker);
+			return worker;
+		});
+	}
+	
+	/**
+	 * replays a trace against a backend outside of a server and prints the latencies, 
+	 * the backend only has to be on the class path with its driver, the yaml backends also need the server
+	 * @param args the trace, the speed and the backend with its settings
+	 */
+	public static void main(final String[] args) {
+		if(args.length < 3) {
+			System.err.println(TraceReplayer.USAGE);
+			return;
+		}
+		
+		final DataSource source;
+		final double speed;
+		try {
+			speed = Double.parseDouble(args[1]);
+			source = createDataSource(args);
+		} catch (final IllegalArgumentException | IndexOutOfBoundsException e) {
+			System.err.println(TraceReplayer.USAGE);
+			return;
+		}
+		
+		source.setup();
+		try {
+			print(new TraceReplayer(source).replay(new File(args[0]), speed));
+		} catch (final IOException e) {
+			e.printStackTrace();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			source.close();
+		}
+	}
+	
+	private static DataSource createDataSource(final String[] args) {
+		switch(args[2].toLowerCase()) {
+		case "single_yaml":
+			return new SingleYamlDataSource();
+		case "sqlite":
+			return new SQLiteDataSource(new File(args[3]), getSchema(args, 4));
+		case "mysql":
+			return new MySQLDataSource(args[3], args[4], args[5], args[6], args[7], getSchema(args, 8), TraceReplayer.FETCH_SIZE, null);
+		default:
+			// the multi yaml backend loads the files of players when they join the server, so it can not run without one
+			throw new IllegalArgumentException("unsupported backend " + args[2]);
+		}
+	}
+	
+	private static DBSchema getSchema(final String[] args, final int index) {
+		return args.length > index ? DBSchema.valueOf(args[index].toUpperCase()) : DBSchema.SPLIT;
+	}
+	
+	private static void print(final ReplayResult result) {
+		System.out.println(String.format(Locale.ROOT, "replayed %d calls in %.1fs, the calls started up to %s late", 
+				result.getCalls(), result.getNanos() / 1e9, formatNanos(result.getMaxLag())));
+		final Map<OperationKey, OperationStats> captured = new HashMap<>();
+		for(final OperationStats stats: result.getCaptured()) {
+			captured.put(stats.getKey(), stats);
+		}
+		
+		System.out.println("operation: calls, errors, p50, p99, p999, max (captured p50, p99, p999, max)");
+		for(final OperationStats stats: result.getReplayed()) {
+			final OperationStats before = captured.get(stats.getKey());
+			System.out.println(String.format(Locale.ROOT, "%s: %d, %d, %s, %s, %s, %s (%s)", stats.getKey(), stats.getCount(), stats.getErrors(), 
+					formatNanos(stats.getP50()), formatNanos(stats.getP99()), formatNanos(stats.getP999()), formatNanos(stats.getMax()), 
+					before == null ? "-" : formatNanos(before.getP50()) + ", " + formatNanos(before.getP99()) + ", " 
+							+ formatNanos(before.getP999()) + ", " + formatNanos(before.getMax())));
+		}
+	}
+	
+	private static String formatNanos(final long nanos) {
+		if(nanos < 1000) {
+			return nanos + "ns";
+		} else if(nanos < 1000000) {
+			return String.format(Locale.ROOT, "%.1fus", nanos / 1e3);
+		} else {
+			return String.format(Locale.ROOT, "%.1fms", nanos / 1e6);
+		}
+	}
+
+}
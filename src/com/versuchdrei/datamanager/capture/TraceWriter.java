@@ -0,0 +1,286 @@
+package com.versuchdrei.datamanager.capture;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+import com.versuchdrei.datamanager.NumericType;
+import com.versuchdrei.datamanager.datasource.proxy.DataOperation;
+
+/**
+ * Writes the calls of the data source to a trace file. 
+ * Recording a call only puts it into a queue, the calls are encoded and written by a thread of the writer, 
+ * so the callers never wait for the file. Calls are dropped if the queue is full.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class TraceWriter {
+	
+	private static final int QUEUE_CAPACITY = 65536;
+	// how long the writing thread waits for calls before checking whether it was stopped
+	private static final long POLL_MILLIS = 100;
+	
+	private final File file;
+	private final boolean redacted;
+	private final DataOutputStream output;
+	private final BlockingQueue<Call> queue = new ArrayBlockingQueue<>(TraceWriter.QUEUE_CAPACITY);
+	private final LongAdder recorded = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+	private final long start = System.nanoTime();
+	private final Thread thread;
+	private volatile boolean running = true;
+	
+	// the following fields are only accessed by the writing thread
+	private final Map<String, Integer> strings = new HashMap<>();
+	private final ByteArrayOutputStream callBytes = new ByteArrayOutputStream();
+	private final DataOutputStream callOutput = new DataOutputStream(this.callBytes);
+	private long previousStart = 0;
+	
+	private TraceWriter(final File file, final boolean redacted, final DataOutputStream output) {
+		this.file = file;
+		this.redacted = redacted;
+		this.output = output;
+		this.thread = new Thread(this::run, "DataManager trace writer");
+		this.thread.setDaemon(true);
+	}
+	
+	/**
+	 * creates the trace file and starts writing the recorded calls to it
+	 * @param file the file to write, an existing file is replaced
+	 * @param redacted true to only write the sizes of the values instead of the values, otherwise false
+	 * @return the started writer
+	 * @throws IOException if the file can not be created
+	 */
+	public static TraceWriter start(final File file, final boolean redacted) throws IOException {
+		final File parent = file.getAbsoluteFile().getParentFile();
+		if(parent != null) {
+			parent.mkdirs();
+		}
+		
+		final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(file))));
+		output.writeInt(TraceFormat.MAGIC);
+		output.writeByte(TraceFormat.VERSION);
+		output.writeByte(redacted ? TraceFormat.FLAG_REDACTED : 0);
+		output.writeLong(System.currentTimeMillis());
+		
+		final TraceWriter writer = new TraceWriter(file, redacted, output);
+		writer.thread.start();
+		return writer;
+	}
+	
+	/**
+	 * records a call, unless the writer is stopped or too far behind
+	 * @param operation the called method
+	 * @param args the arguments of the call
+	 * @param thread the name of the calling thread
+	 * @param start the value of {@link System#nanoTime()} when the call started
+	 * @param nanos the time the call took in nanoseconds
+	 * @param failed true if the call threw an exception, otherwise false
+	 */
+	void record(final DataOperation operation, final Object[] args, final String thread, final long start, final long nanos, final boolean failed) {
+		if(!this.running) {
+			return;
+		}
+		
+		// lists may be changed by the caller after the call, so they are copied before the call is handed to the writing thread
+		final Object[] copy = args == null ? new Object[0] : args.clone();
+		for(int i = 0; i < copy.length; i++) {
+			if(copy[i] instanceof List) {
+				copy[i] = new ArrayList<>((List<?>) copy[i]);
+			}
+		}
+		
+		if(this.queue.offer(new Call(operation, copy, thread, start, nanos, failed))) {
+			this.recorded.increment();
+		} else {
+			this.dropped.increment();
+		}
+	}
+	
+	/**
+	 * stops recording, writes the remaining calls and closes the file
+	 */
+	public void close() {
+		this.running = false;
+		try {
+			this.thread.join();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	public File getFile() {
+		return this.file;
+	}
+	
+	public boolean isRedacted() {
+		return this.redacted;
+	}
+	
+	/**
+	 * @return the number of calls that were recorded
+	 */
+	public long getRecorded() {
+		return this.recorded.sum();
+	}
+	
+	/**
+	 * @return the number of calls that were dropped, because the file could not be written fast enough
+	 */
+	public long getDropped() {
+		return this.dropped.sum();
+	}
+	
+	private void run() {
+		try {
+			while(this.running || !this.queue.isEmpty()) {
+				final Call call = this.queue.poll(TraceWriter.POLL_MILLIS, TimeUnit.MILLISECONDS);
+				if(call != null) {
+					write(call);
+				}
+			}
+		} catch (final IOException e) {
+			e.printStackTrace();
+			this.running = false;
+		} catch (final InterruptedException e) {
+			this.running = false;
+		} finally {
+			this.queue.clear();
+			try {
+				this.output.close();
+			} catch (final IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+	
+	private void write(final Call call) throws IOException {
+		// strings are defined before the call that uses them, so the call is encoded separately first
+		this.callBytes.reset();
+		final long time = call.start - this.start;
+		TraceFormat.writeVarLong(this.callOutput, TraceFormat.zigZag(time - this.previousStart));
+		this.previousStart = time;
+		writeString(call.thread);
+		writeString(TraceFormat.getSignature(call.operation.getMethod()));
+		
+		final Class<?>[] parameters = call.operation.getMethod().getParameterTypes();
+		for(int i = 0; i < parameters.length; i++) {
+			writeArgument(parameters[i], call.args[i], call.operation.isValueArgument(i));
+		}
+		
+		TraceFormat.writeVarLong(this.callOutput, call.nanos);
+		this.callOutput.writeBoolean(call.failed);
+		
+		this.output.writeByte(TraceFormat.RECORD_CALL);
+		this.callBytes.writeTo(this.output);
+	}
+	
+	private void writeArgument(final Class<?> type, final Object arg, final boolean value) throws IOException {
+		if(type == String.class) {
+			if(value) {
+				writeValue((String) arg);
+			} else {
+				writeString((String) arg);
+			}
+		} else if(type == UUID.class) {
+			writeString(arg == null ? null : arg.toString());
+		} else if(type == List.class) {
+			if(arg == null) {
+				TraceFormat.writeVarLong(this.callOutput, 0);
+				return;
+			}
+			final List<?> list = (List<?>) arg;
+			TraceFormat.writeVarLong(this.callOutput, list.size() + 1L);
+			for(final Object element: list) {
+				writeValue((String) element);
+			}
+		} else if(type == int.class || type == long.class) {
+			TraceFormat.writeVarLong(this.callOutput, TraceFormat.zigZag(((Number) arg).longValue()));
+		} else if(type == float.class) {
+			this.callOutput.writeFloat((Float) arg);
+		} else if(type == double.class) {
+			this.callOutput.writeDouble((Double) arg);
+		} else if(type == boolean.class) {
+			this.callOutput.writeBoolean((Boolean) arg);
+		} else if(type == NumericType.class) {
+			this.callOutput.writeByte(((NumericType) arg).ordinal());
+		}
+		// consumers are not written, the replayer passes one that ignores what it is given
+	}
+	
+	/**
+	 * writes a reference to the string, which is defined first if it was not written before
+	 * @param string the string to write
+	 * @throws IOException if the file can not be written
+	 */
+	private void writeString(final String string) throws IOException {
+		if(string == null) {
+			TraceFormat.writeVarLong(this.callOutput, 0);
+			return;
+		}
+		
+		Integer index = this.strings.get(string);
+		if(index == null) {
+			index = this.strings.size();
+			this.strings.put(string, index);
+			final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+			this.output.writeByte(TraceFormat.RECORD_STRING);
+			TraceFormat.writeVarLong(this.output, bytes.length);
+			this.output.write(bytes);
+		}
+		TraceFormat.writeVarLong(this.callOutput, index + 1L);
+	}
+	
+	/**
+	 * writes the size of the value and the value itself, unless the trace is redacted
+	 * @param value the value to write
+	 * @throws IOException if the file can not be written
+	 */
+	private void writeValue(final String value) throws IOException {
+		if(value == null) {
+			TraceFormat.writeVarLong(this.callOutput, 0);
+			return;
+		}
+		
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		TraceFormat.writeVarLong(this.callOutput, bytes.length + 1L);
+		if(!this.redacted) {
+			this.callOutput.write(bytes);
+		}
+	}
+	
+	private static class Call {
+		
+		private final DataOperation operation;
+		private final Object[] args;
+		private final String thread;
+		private final long start;
+		private final long nanos;
+		private final boolean failed;
+		
+		private Call(final DataOperation operation, final Object[] args, final String thread, final long start, final long nanos, final boolean failed) {
+			this.operation = operation;
+			this.args = args;
+			this.thread = thread;
+			this.start = start;
+			this.nanos = nanos;
+			this.failed = failed;
+		}
+		
+	}
+
+}
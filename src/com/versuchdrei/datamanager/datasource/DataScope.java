@@ -0,0 +1,13 @@
+package com.versuchdrei.datamanager.datasource;
+
+/**
+ * an enum for all scopes data can be stored in
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public enum DataScope {
+	GLOBAL,
+	PLAYER,
+	GROUP,
+	MEMBER
+}
@@ -1,8 +1,14 @@
 package com.versuchdrei.datamanager.datasource;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import com.versuchdrei.datamanager.NumericType;
+import com.versuchdrei.datamanager.RankedEntry;
 
 /**
  * the super interface for all backend systems
@@ -15,6 +21,9 @@ public interface DataSource {
 	
 	public void setup();
 	
+	// counts the values stored by every plugin, which reads all data of the backend and should not be called on the main thread
+	public Map<String, StorageUsage> countStorage();
+	
 	public void close();
 
 	public boolean set(String pluginKey, String dataKey, String data) ;
@@ -44,6 +53,36 @@ public interface DataSource {
 	public Optional<Boolean> getBoolean(String pluginKey, String dataKey);
 	
 	public Optional<List<String>> getList(String pluginKey, String dataKey);
+	
+	public boolean appendToList(String pluginKey, String dataKey, String element);
+	
+	// removes every occurrence of the element and returns whether there was any
+	public boolean removeFromList(String pluginKey, String dataKey, String element);
+	
+	public boolean listContains(String pluginKey, String dataKey, String element);
+	
+	public int getListSize(String pluginKey, String dataKey);
+	
+	// returns up to count elements beginning at the index start
+	public List<String> getListRange(String pluginKey, String dataKey, int start, int count);
+	
+	// adds the delta to the value, where a missing value counts as 0, and returns the new value or an empty optional on failure
+	public Optional<Integer> increment(String pluginKey, String dataKey, int delta);
+	
+	// only sets the value if it currently equals the expected one, returns false if it does not or if there is no value
+	public boolean compareAndSet(String pluginKey, String dataKey, int expected, int data);
+	
+	public Optional<Long> increment(String pluginKey, String dataKey, long delta);
+	
+	public boolean compareAndSet(String pluginKey, String dataKey, long expected, long data);
+	
+	public Optional<Float> increment(String pluginKey, String dataKey, float delta);
+	
+	public boolean compareAndSet(String pluginKey, String dataKey, float expected, float data);
+	
+	public Optional<Double> increment(String pluginKey, String dataKey, double delta);
+	
+	public boolean compareAndSet(String pluginKey, String dataKey, double expected, double data);
 
 	public boolean set(UUID uuid, String pluginKey, String dataKey, String data) ;
 	
@@ -73,6 +112,46 @@ public interface DataSource {
 	
 	public Optional<List<String>> getList(UUID uuid, String pluginKey, String dataKey);
 	
+	// hands every value the plugin stored for the player to the consumer with its data key, the type of the value tells the type it is stored as
+	// the consumer must not change values of the same player and plugin
+	public void forEachValue(UUID uuid, String pluginKey, BiConsumer<String, Object> consumer);
+	
+	public boolean appendToList(UUID uuid, String pluginKey, String dataKey, String element);
+	
+	public boolean removeFromList(UUID uuid, String pluginKey, String dataKey, String element);
+	
+	public boolean listContains(UUID uuid, String pluginKey, String dataKey, String element);
+	
+	public int getListSize(UUID uuid, String pluginKey, String dataKey);
+	
+	public List<String> getListRange(UUID uuid, String pluginKey, String dataKey, int start, int count);
+	
+	public Optional<Integer> increment(UUID uuid, String pluginKey, String dataKey, int delta);
+	
+	public boolean compareAndSet(UUID uuid, String pluginKey, String dataKey, int expected, int data);
+	
+	public Optional<Long> increment(UUID uuid, String pluginKey, String dataKey, long delta);
+	
+	public boolean compareAndSet(UUID uuid, String pluginKey, String dataKey, long expected, long data);
+	
+	public Optional<Float> increment(UUID uuid, String pluginKey, String dataKey, float delta);
+	
+	public boolean compareAndSet(UUID uuid, String pluginKey, String dataKey, float expected, float data);
+	
+	public Optional<Double> increment(UUID uuid, String pluginKey, String dataKey, double delta);
+	
+	public boolean compareAndSet(UUID uuid, String pluginKey, String dataKey, double expected, double data);
+	
+	// prepares the backend for ranked queries on the key, ranked queries also work on keys that were never registered 
+	// but a backend may answer with an empty ranking until it has prepared the key
+	public void registerRankedKey(String pluginKey, String dataKey, NumericType type);
+	
+	// returns up to limit players beginning at the rank offset + 1, ordered by their value descending and by their id descending on ties
+	public List<RankedEntry> getRanking(String pluginKey, String dataKey, NumericType type, int offset, int limit);
+	
+	// returns the rank of the player, 1 being the highest value, or an empty optional if the player has no value for the key
+	public Optional<Integer> getRank(UUID uuid, String pluginKey, String dataKey, NumericType type);
+	
 	public boolean addGroup(String group, String pluginKey);
 	
 	public boolean deleteGroup(String group, String pluginKey);
@@ -87,8 +166,22 @@ public interface DataSource {
 	
 	public Optional<List<UUID>> getMemberIDs(String group, String pluginKey);
 	
+	// hands the members to the consumer one at a time without collecting them first, returns false if the group does not exist
+	// the consumer must not add or remove members of the same group
+	public boolean forEachMemberID(String group, String pluginKey, Consumer<UUID> consumer);
+	
+	// returns up to limit members ordered by their id, beginning after the given member or with the first member if it is null
+	// passing the last member of a page gets the next page, which stays correct if members change in between
+	public Optional<List<UUID>> getMemberIDs(String group, String pluginKey, UUID after, int limit);
+	
 	public List<String> getGroups(String pluginKey);
 	
+	// the consumer must not add or delete groups of the same plugin
+	public void forEachGroup(String pluginKey, Consumer<String> consumer);
+	
+	// returns up to limit groups ordered by their name, beginning after the given group or with the first group if it is null
+	public List<String> getGroups(String pluginKey, String after, int limit);
+	
 	public List<String> getGroups(UUID uuid, String pluginKey);
 	
 	public boolean set(String group, String pluginKey, String dataKey, String data);
@@ -118,6 +211,36 @@ public interface DataSource {
 	public Optional<Boolean> getBoolean(String group, String pluginKey, String dataKey);
 	
 	public Optional<List<String>> getList(String group, String pluginKey, String dataKey);
+	
+	// hands every value the plugin stored for the group to the consumer with its data key, the values of the members are not included
+	// the consumer must not change values of the same group and plugin
+	public void forEachValue(String group, String pluginKey, BiConsumer<String, Object> consumer);
+	
+	public boolean appendToList(String group, String pluginKey, String dataKey, String element);
+	
+	public boolean removeFromList(String group, String pluginKey, String dataKey, String element);
+	
+	public boolean listContains(String group, String pluginKey, String dataKey, String element);
+	
+	public int getListSize(String group, String pluginKey, String dataKey);
+	
+	public List<String> getListRange(String group, String pluginKey, String dataKey, int start, int count);
+	
+	public Optional<Integer> increment(String group, String pluginKey, String dataKey, int delta);
+	
+	public boolean compareAndSet(String group, String pluginKey, String dataKey, int expected, int data);
+	
+	public Optional<Long> increment(String group, String pluginKey, String dataKey, long delta);
+	
+	public boolean compareAndSet(String group, String pluginKey, String dataKey, long expected, long data);
+	
+	public Optional<Float> increment(String group, String pluginKey, String dataKey, float delta);
+	
+	public boolean compareAndSet(String group, String pluginKey, String dataKey, float expected, float data);
+	
+	public Optional<Double> increment(String group, String pluginKey, String dataKey, double delta);
+	
+	public boolean compareAndSet(String group, String pluginKey, String dataKey, double expected, double data);
 
 	public boolean set(UUID uuid, String group, String pluginKey, String dataKey, String data) ;
 	
@@ -146,5 +269,35 @@ public interface DataSource {
 	public Optional<Boolean> getBoolean(UUID uuid, String group, String pluginKey, String dataKey);
 	
 	public Optional<List<String>> getList(UUID uuid, String group, String pluginKey, String dataKey);
+	
+	// hands every value the plugin stored for the member of the group to the consumer with its data key
+	// the consumer must not change values of the same member, group and plugin
+	public void forEachValue(UUID uuid, String group, String pluginKey, BiConsumer<String, Object> consumer);
+	
+	public boolean appendToList(UUID uuid, String group, String pluginKey, String dataKey, String element);
+	
+	public boolean removeFromList(UUID uuid, String group, String pluginKey, String dataKey, String element);
+	
+	public boolean listContains(UUID uuid, String group, String pluginKey, String dataKey, String element);
+	
+	public int getListSize(UUID uuid, String group, String pluginKey, String dataKey);
+	
+	public List<String> getListRange(UUID uuid, String group, String pluginKey, String dataKey, int start, int count);
+	
+	public Optional<Integer> increment(UUID uuid, String group, String pluginKey, String dataKey, int delta);
+	
+	public boolean compareAndSet(UUID uuid, String group, String pluginKey, String dataKey, int expected, int data);
+	
+	public Optional<Long> increment(UUID uuid, String group, String pluginKey, String dataKey, long delta);
+	
+	public boolean compareAndSet(UUID uuid, String group, String pluginKey, String dataKey, long expected, long data);
+	
+	public Optional<Float> increment(UUID uuid, String group, String pluginKey, String dataKey, float delta);
+	
+	public boolean compareAndSet(UUID uuid, String group, String pluginKey, String dataKey, float expected, float data);
+	
+	public Optional<Double> increment(UUID uuid, String group, String pluginKey, String dataKey, double delta);
+	
+	public boolean compareAndSet(UUID uuid, String group, String pluginKey, String dataKey, double expected, double data);
 
 }
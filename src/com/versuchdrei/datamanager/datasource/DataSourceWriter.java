@@ -0,0 +1,143 @@
+package com.versuchdrei.datamanager.datasource;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Writes the visited data into a data source through its regular methods. 
+ * This works for every backend that is set up, but every value is saved on its own, 
+ * subclasses may collect the writes and apply them together.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class DataSourceWriter implements DataVisitor {
+	
+	protected final DataSource target;
+	private boolean success = true;
+	
+	/**
+	 * @param target the set up data source to write to
+	 */
+	public DataSourceWriter(final DataSource target) {
+		this.target = target;
+	}
+	
+	@Override
+	public void visitGlobal(final String pluginKey, final String dataKey, final Object value) {
+		apply(() -> {
+			if(value instanceof String) {
+				return this.target.set(pluginKey, dataKey, (String) value);
+			} else if(value instanceof Integer) {
+				return this.target.set(pluginKey, dataKey, (int) value);
+			} else if(value instanceof Long) {
+				return this.target.set(pluginKey, dataKey, (long) value);
+			} else if(value instanceof Float) {
+				return this.target.set(pluginKey, dataKey, (float) value);
+			} else if(value instanceof Double) {
+				return this.target.set(pluginKey, dataKey, (double) value);
+			} else if(value instanceof Boolean) {
+				return this.target.set(pluginKey, dataKey, (boolean) value);
+			}
+			return this.target.set(pluginKey, dataKey, asList(value));
+		});
+	}
+	
+	@Override
+	public void visitPlayer(final UUID uuid, final String pluginKey, final String dataKey, final Object value) {
+		apply(() -> {
+			if(value instanceof String) {
+				return this.target.set(uuid, pluginKey, dataKey, (String) value);
+			} else if(value instanceof Integer) {
+				return this.target.set(uuid, pluginKey, dataKey, (int) value);
+			} else if(value instanceof Long) {
+				return this.target.set(uuid, pluginKey, dataKey, (long) value);
+			} else if(value instanceof Float) {
+				return this.target.set(uuid, pluginKey, dataKey, (float) value);
+			} else if(value instanceof Double) {
+				return this.target.set(uuid, pluginKey, dataKey, (double) value);
+			} else if(value instanceof Boolean) {
+				return this.target.set(uuid, pluginKey, dataKey, (boolean) value);
+			}
+			return this.target.set(uuid, pluginKey, dataKey, asList(value));
+		});
+	}
+	
+	@Override
+	public void visitGroup(final String group, final String pluginKey, final List<UUID> members) {
+		apply(() -> {
+			// the group and its members may exist already, which is fine as long as they exist afterwards
+			this.target.addGroup(group, pluginKey);
+			for(final UUID member: members) {
+				this.target.addMember(member, group, pluginKey);
+			}
+			return this.target.isGroup(group, pluginKey);
+		});
+	}
+	
+	@Override
+	public void visitGroupValue(final String group, final String pluginKey, final String dataKey, final Object value) {
+		apply(() -> {
+			if(value instanceof String) {
+				return this.target.set(group, pluginKey, dataKey, (String) value);
+			} else if(value instanceof Integer) {
+				return this.target.set(group, pluginKey, dataKey, (int) value);
+			} else if(value instanceof Long) {
+				return this.target.set(group, pluginKey, dataKey, (long) value);
+			} else if(value instanceof Float) {
+				return this.target.set(group, pluginKey, dataKey, (float) value);
+			} else if(value instanceof Double) {
+				return this.target.set(group, pluginKey, dataKey, (double) value);
+			} else if(value instanceof Boolean) {
+				return this.target.set(group, pluginKey, dataKey, (boolean) value);
+			}
+			return this.target.set(group, pluginKey, dataKey, asList(value));
+		});
+	}
+	
+	@Override
+	public void visitMemberValue(final UUID uuid, final String group, final String pluginKey, final String dataKey, final Object value) {
+		apply(() -> {
+			if(value instanceof String) {
+				return this.target.set(uuid, group, pluginKey, dataKey, (String) value);
+			} else if(value instanceof Integer) {
+				return this.target.set(uuid, group, pluginKey, dataKey, (int) value);
+			} else if(value instanceof Long) {
+				return this.target.set(uuid, group, pluginKey, dataKey, (long) value);
+			} else if(value instanceof Float) {
+				return this.target.set(uuid, group, pluginKey, dataKey, (float) value);
+			} else if(value instanceof Double) {
+				return this.target.set(uuid, group, pluginKey, dataKey, (double) value);
+			} else if(value instanceof Boolean) {
+				return this.target.set(uuid, group, pluginKey, dataKey, (boolean) value);
+			}
+			return this.target.set(uuid, group, pluginKey, dataKey, asList(value));
+		});
+	}
+	
+	@Override
+	public boolean finish() {
+		return this.success;
+	}
+	
+	/**
+	 * applies a single write, subclasses may delay it and apply it later by calling {@link #record(boolean)} with its result
+	 * @param write the write to apply, returns false if it failed
+	 */
+	protected void apply(final BooleanSupplier write) {
+		record(write.getAsBoolean());
+	}
+	
+	/**
+	 * @param written the result of applied writes
+	 */
+	protected void record(final boolean written) {
+		this.success &= written;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static List<String> asList(final Object value) {
+		return (List<String>) value;
+	}
+
+}
@@ -0,0 +1,28 @@
+package com.versuchdrei.datamanager.datasource;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Receives stored data one value at a time, for example to write a generated dataset or to copy data between backends. 
+ * Values are given as String, Integer, Long, Float, Double, Boolean or a List of String. 
+ * Groups are visited before the values of their members.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public interface DataVisitor {
+	
+	public void visitGlobal(String pluginKey, String dataKey, Object value);
+	
+	public void visitPlayer(UUID uuid, String pluginKey, String dataKey, Object value);
+	
+	public void visitGroup(String group, String pluginKey, List<UUID> members);
+	
+	public void visitGroupValue(String group, String pluginKey, String dataKey, Object value);
+	
+	public void visitMemberValue(UUID uuid, String group, String pluginKey, String dataKey, Object value);
+	
+	// called once after all data was visited, returns false if the data could not be completely handled
+	public boolean finish();
+
+}
@@ -0,0 +1,41 @@
+package com.versuchdrei.datamanager.datasource;
+
+/**
+ * the amount of data a plugin has stored in a backend
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class StorageUsage {
+	
+	private final long entries;
+	private final long bytes;
+	
+	/**
+	 * @param entries the number of stored values, rows for database backends and keys for yaml backends
+	 * @param bytes the approximate size of the stored keys and values
+	 */
+	public StorageUsage(final long entries, final long bytes) {
+		this.entries = entries;
+		this.bytes = bytes;
+	}
+	
+	public long getEntries() {
+		return this.entries;
+	}
+	
+	/**
+	 * @return the approximate size of the stored keys and values, the overhead of the file format or the database is not included
+	 */
+	public long getBytes() {
+		return this.bytes;
+	}
+	
+	/**
+	 * @param other the usage to add
+	 * @return the sum of both usages
+	 */
+	public StorageUsage plus(final StorageUsage other) {
+		return new StorageUsage(this.entries + other.entries, this.bytes + other.bytes);
+	}
+
+}
@@ -1,5 +1,7 @@
 package com.versuchdrei.datamanager.datasource.config;
 
+import com.versuchdrei.datamanager.NumericType;
+
 /**
  * an enum for all keys for config type backends
  * @author VersuchDrei
@@ -23,4 +25,39 @@ public enum ConfigDataType {
 	public String getKey() {
 		return this.configKey;
 	}
+	
+	public static ConfigDataType of(final NumericType type) {
+		switch(type) {
+		case INT:
+			return ConfigDataType.INT;
+		case LONG:
+			return ConfigDataType.LONG;
+		case FLOAT:
+			return ConfigDataType.FLOAT;
+		case DOUBLE:
+		default:
+			return ConfigDataType.DOUBLE;
+		}
+	}
+	
+	/**
+	 * @param value a value of a supported type, which are String, Integer, Long, Float, Double, Boolean and a List of String
+	 * @return the type the value is stored as
+	 */
+	public static ConfigDataType ofValue(final Object value) {
+		if(value instanceof String) {
+			return ConfigDataType.STRING;
+		} else if(value instanceof Integer) {
+			return ConfigDataType.INT;
+		} else if(value instanceof Long) {
+			return ConfigDataType.LONG;
+		} else if(value instanceof Float) {
+			return ConfigDataType.FLOAT;
+		} else if(value instanceof Double) {
+			return ConfigDataType.DOUBLE;
+		} else if(value instanceof Boolean) {
+			return ConfigDataType.BOOLEAN;
+		}
+		return ConfigDataType.LIST;
+	}
 }
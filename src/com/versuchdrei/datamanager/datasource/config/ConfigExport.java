@@ -0,0 +1,105 @@
+package com.versuchdrei.datamanager.datasource.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+/**
+ * Reads all values stored in a configuration, to hand them to a visitor.
+ * The yaml backends keep the values of a plugin, a group or a member in one section with a sub section for every type.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+class ConfigExport {
+
+	/**
+	 * hands every value of the section to the consumer, converted to the type it is stored as
+	 * @param section the section holding a sub section for every type
+	 * @param consumer the consumer for the data key and the value
+	 */
+	static void forEachValue(final ConfigurationSection section, final BiConsumer<String, Object> consumer) {
+		for(final ConfigDataType type: ConfigDataType.values()) {
+			final ConfigurationSection typeSection = section.getConfigurationSection(type.getKey());
+			if(typeSection == null) {
+				continue;
+			}
+
+			// data keys containing dots are stored in nested sections, so the keys are read with their full path
+			for(final String dataKey: typeSection.getKeys(true)) {
+				if(!typeSection.isConfigurationSection(dataKey)) {
+					consumer.accept(dataKey, getValue(typeSection, type, dataKey));
+				}
+			}
+		}
+	}
+
+	/**
+	 * hands every direct sub section to the consumer
+	 * @param section the section holding the sub sections
+	 * @param consumer the consumer for the key and the sub section
+	 */
+	static void forEachSection(final ConfigurationSection section, final BiConsumer<String, ConfigurationSection> consumer) {
+		if(section == null) {
+			return;
+		}
+
+		for(final String key: section.getKeys(false)) {
+			final ConfigurationSection child = section.getConfigurationSection(key);
+			if(child != null) {
+				consumer.accept(key, child);
+			}
+		}
+	}
+
+	/**
+	 * @param uuids the uuids as strings
+	 * @return the uuids, skipping the strings that are no uuid
+	 */
+	static List<UUID> parseUuids(final List<String> uuids) {
+		final List<UUID> parsed = new ArrayList<>(uuids.size());
+		for(final String uuid: uuids) {
+			final UUID parsedUuid = parseUuid(uuid);
+			if(parsedUuid != null) {
+				parsed.add(parsedUuid);
+			}
+		}
+		return parsed;
+	}
+
+	/**
+	 * @param uuid the uuid as string
+	 * @return the uuid, or null if the string is no uuid
+	 */
+	static UUID parseUuid(final String uuid) {
+		try {
+			return UUID.fromString(uuid);
+		} catch (final IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	private static Object getValue(final ConfigurationSection section, final ConfigDataType type, final String dataKey) {
+		// yaml reads numbers as the smallest fitting type, so they are converted by the type they were stored as
+		switch(type) {
+		case STRING:
+			return section.getString(dataKey);
+		case INT:
+			return section.getInt(dataKey);
+		case LONG:
+			return section.getLong(dataKey);
+		case DOUBLE:
+			return section.getDouble(dataKey);
+		case FLOAT:
+			return (float) section.getDouble(dataKey);
+		case BOOLEAN:
+			return section.getBoolean(dataKey);
+		case LIST:
+		default:
+			return section.getStringList(dataKey);
+		}
+	}
+
+}
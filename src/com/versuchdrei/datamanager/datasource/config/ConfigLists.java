@@ -0,0 +1,142 @@
+package com.versuchdrei.datamanager.datasource.config;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+/**
+ * Element operations on lists stored in a configuration. 
+ * They work on the list instance held by the configuration, so no operation copies or re-encodes the whole list.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+class ConfigLists {
+
+	/**
+	 * sets a value of any type, lists are copied like the setters of the data sources do, so the caller may keep changing its list
+	 * @param config the configuration to set the value in
+	 * @param configKey the key of the value
+	 * @param value the value to set
+	 */
+	static void setCopy(final ConfigurationSection config, final String configKey, final Object value) {
+		config.set(configKey, value instanceof List ? new ArrayList<>((List<?>) value) : value);
+	}
+
+	/**
+	 * appends the element to the list, creating the list if it does not exist
+	 * @param config the configuration holding the list
+	 * @param configKey the key of the list
+	 * @param element the element to append
+	 */
+	static void append(final ConfigurationSection config, final String configKey, final String element) {
+		final List<Object> list = getMutableList(config, configKey);
+		if(list == null) {
+			final List<Object> created = new ArrayList<>();
+			created.add(element);
+			config.set(configKey, created);
+			return;
+		}
+		
+		list.add(element);
+	}
+	
+	/**
+	 * removes every occurrence of the element from the list
+	 * @param config the configuration holding the list
+	 * @param configKey the key of the list
+	 * @param element the element to remove
+	 * @return true if the list contained the element, otherwise false
+	 */
+	static boolean remove(final ConfigurationSection config, final String configKey, final String element) {
+		final List<?> list = config.getList(configKey);
+		if(list == null || !list.contains(element)) {
+			return false;
+		}
+		
+		return getMutableList(config, configKey).removeIf(object -> Objects.equals(element, object));
+	}
+	
+	static boolean contains(final ConfigurationSection config, final String configKey, final String element) {
+		final List<?> list = config.getList(configKey);
+		return list != null && list.contains(element);
+	}
+	
+	static int size(final ConfigurationSection config, final String configKey) {
+		final List<?> list = config.getList(configKey);
+		return list == null ? 0 : list.size();
+	}
+	
+	/**
+	 * hands every element of the list to the consumer without copying the list
+	 * @param config the configuration holding the list
+	 * @param configKey the key of the list
+	 * @param consumer the consumer for the elements
+	 */
+	static void forEach(final ConfigurationSection config, final String configKey, final Consumer<String> consumer) {
+		final List<?> list = config.getList(configKey);
+		if(list == null) {
+			return;
+		}
+		
+		for(final Object element: list) {
+			consumer.accept(String.valueOf(element));
+		}
+	}
+	
+	/**
+	 * returns up to count elements in their natural order, beginning after the given element, 
+	 * like the databases page through their index, so a page stays correct if elements change in between
+	 * @param elements the elements to page through in any order, might be null
+	 * @param after the element to begin after, or null to begin with the first element
+	 * @param count the maximum number of elements
+	 * @return the page of elements
+	 */
+	static List<String> pageAfter(final Collection<?> elements, final String after, final int count) {
+		if(elements == null || count <= 0) {
+			return new ArrayList<>();
+		}
+		
+		return elements.stream().map(String::valueOf).filter(element -> after == null || element.compareTo(after) > 0)
+				.sorted().limit(count).collect(Collectors.toList());
+	}
+	
+	static List<String> range(final ConfigurationSection config, final String configKey, final int start, final int count) {
+		final List<?> list = config.getList(configKey);
+		final List<String> range = new ArrayList<>();
+		if(list == null || start < 0 || count <= 0) {
+			return range;
+		}
+		
+		final int end = (int) Math.min(list.size(), (long) start + count);
+		for(int i = start; i < end; i++) {
+			range.add(String.valueOf(list.get(i)));
+		}
+		return range;
+	}
+	
+	/**
+	 * Returns the list instance held by the configuration. 
+	 * Lists that were set from outside might not support modification, these are replaced by a modifiable copy once.
+	 * @return the list, or null if there is no list
+	 */
+	@SuppressWarnings("unchecked")
+	private static List<Object> getMutableList(final ConfigurationSection config, final String configKey) {
+		final List<?> list = config.getList(configKey);
+		if(list == null) {
+			return null;
+		}
+		if(list instanceof ArrayList) {
+			return (List<Object>) list;
+		}
+		
+		final List<Object> copy = new ArrayList<>(list);
+		config.set(configKey, copy);
+		return copy;
+	}
+
+}
@@ -0,0 +1,87 @@
+package com.versuchdrei.datamanager.datasource.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import com.versuchdrei.datamanager.NumericType;
+
+/**
+ * Atomic operations on numbers stored in a configuration. 
+ * Every operation holds the lock of the configuration while it reads and writes the value, so concurrent updates of the same configuration are not lost.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+class ConfigNumbers {
+	
+	/**
+	 * adds the delta to the value, a missing value counts as 0
+	 * @param config the configuration holding the value
+	 * @param configKey the key of the value
+	 * @param type the type of the value
+	 * @param delta the delta to add
+	 * @return the new value
+	 */
+	static Number add(final ConfigurationSection config, final String configKey, final NumericType type, final Number delta) {
+		synchronized(config) {
+			final Number value;
+			switch(type) {
+			case INT:
+				value = config.getInt(configKey) + delta.intValue();
+				break;
+			case LONG:
+				value = config.getLong(configKey) + delta.longValue();
+				break;
+			case FLOAT:
+				value = (float) config.getDouble(configKey) + delta.floatValue();
+				break;
+			case DOUBLE:
+			default:
+				value = config.getDouble(configKey) + delta.doubleValue();
+				break;
+			}
+			
+			config.set(configKey, value);
+			return value;
+		}
+	}
+	
+	/**
+	 * sets the value only if it currently equals the expected value
+	 * @param config the configuration holding the value
+	 * @param configKey the key of the value
+	 * @param type the type of the value
+	 * @param expected the value that is expected to be stored
+	 * @param value the new value
+	 * @return true if the value was set, false if the stored value differs or there is none
+	 */
+	static boolean compareAndSet(final ConfigurationSection config, final String configKey, final NumericType type, final Number expected, final Number value) {
+		synchronized(config) {
+			if(!config.contains(configKey)) {
+				return false;
+			}
+			
+			final boolean matches;
+			switch(type) {
+			case INT:
+				matches = config.getInt(configKey) == expected.intValue();
+				break;
+			case LONG:
+				matches = config.getLong(configKey) == expected.longValue();
+				break;
+			case FLOAT:
+				matches = Float.compare((float) config.getDouble(configKey), expected.floatValue()) == 0;
+				break;
+			case DOUBLE:
+			default:
+				matches = Double.compare(config.getDouble(configKey), expected.doubleValue()) == 0;
+				break;
+			}
+			
+			if(!matches) {
+				return false;
+			}
+			config.set(configKey, value);
+			return true;
+		}
+	}
+
+}
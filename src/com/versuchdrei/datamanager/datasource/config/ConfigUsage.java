@@ -0,0 +1,70 @@
+package com.versuchdrei.datamanager.datasource.config;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import com.versuchdrei.datamanager.datasource.StorageUsage;
+
+/**
+ * counts the values in the sections of a yaml backend by the plugin storing them
+ * @author VersuchDrei
+ * @version 1.0
+ */
+class ConfigUsage {
+	
+	/**
+	 * Adds every value of the section to the usage of its plugin. 
+	 * The size of a value is the length of its path and its content, which is roughly what it takes up in the file.
+	 * @param usage the usage by plugin to add to
+	 * @param section the section to count
+	 * @param pluginSegment the index of the part of the path holding the plugin, 0 being the first part within the section
+	 * @param pluginKey maps the part of the path to the plugin key, for layouts that add something to it
+	 */
+	static void count(final Map<String, StorageUsage> usage, final ConfigurationSection section, final int pluginSegment, 
+			final Function<String, String> pluginKey) {
+		for(final Map.Entry<String, Object> entry: section.getValues(true).entrySet()) {
+			final Object value = entry.getValue();
+			if(value instanceof ConfigurationSection) {
+				continue;
+			}
+			
+			final String[] path = entry.getKey().split("\\.", pluginSegment + 2);
+			if(path.length <= pluginSegment) {
+				continue;
+			}
+			
+			usage.merge(pluginKey.apply(path[pluginSegment]), new StorageUsage(1, entry.getKey().length() + getLength(value)), StorageUsage::plus);
+		}
+	}
+	
+	/**
+	 * adds every value of the section to the usage of the given plugin
+	 * @param usage the usage by plugin to add to
+	 * @param section the section to count
+	 * @param pluginKey the plugin storing all values of the section
+	 */
+	static void count(final Map<String, StorageUsage> usage, final ConfigurationSection section, final String pluginKey) {
+		for(final Map.Entry<String, Object> entry: section.getValues(true).entrySet()) {
+			final Object value = entry.getValue();
+			if(!(value instanceof ConfigurationSection)) {
+				usage.merge(pluginKey, new StorageUsage(1, entry.getKey().length() + getLength(value)), StorageUsage::plus);
+			}
+		}
+	}
+	
+	private static long getLength(final Object value) {
+		if(value instanceof List) {
+			long length = 0;
+			for(final Object element: (List<?>) value) {
+				length += String.valueOf(element).length();
+			}
+			return length;
+		}
+		
+		return String.valueOf(value).length();
+	}
+
+}
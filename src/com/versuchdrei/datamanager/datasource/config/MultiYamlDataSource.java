@@ -5,15 +5,23 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
@@ -21,7 +29,13 @@ import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import com.versuchdrei.datamanager.NumericType;
+import com.versuchdrei.datamanager.RankedEntry;
 import com.versuchdrei.datamanager.datasource.DataSource;
+import com.versuchdrei.datamanager.datasource.DataVisitor;
+import com.versuchdrei.datamanager.datasource.StorageUsage;
+import com.versuchdrei.datamanager.trace.Span;
+import com.versuchdrei.datamanager.trace.Tracing;
 
 /**
  * a datasource for yaml files which creates a file for every player
@@ -34,6 +48,8 @@ public class MultiYamlDataSource implements DataSource{
 	private static final String PLAYER_FILE_PATH = DataSource.FILE_PATH + "players/";
 	private static final String GROUP_FILE_PATH = DataSource.FILE_PATH + "groups/";
 	private static final String FILE_EXTENSION = ".yml";
+	// the number of player files a writer keeps open, which saves reading a file again when players are visited interleaved
+	private static final int WRITER_OPEN_PLAYERS = 256;
 
 	private static final String CONFIG_TYPE_GLOBAL = "global";
 	private static final String CONFIG_TYPE_GROUPS = "groups";
@@ -50,11 +66,14 @@ public class MultiYamlDataSource implements DataSource{
 		}
 		
 		private boolean save() {
+			final Span span = Tracing.get().beginFileSave(configFile.getPath());
 			try {
 				config.save(configFile);
 				return true;
 			} catch(final IOException ex) {
 				return false;
+			} finally {
+				span.end(configFile.length());
 			}
 		}
 	}
@@ -63,19 +82,120 @@ public class MultiYamlDataSource implements DataSource{
 		
 		@EventHandler
 		public void onJoin(final PlayerJoinEvent event) {
-			final UUID uuid = event.getPlayer().getUniqueId();
-			final File configFile = new File(MultiYamlDataSource.PLAYER_FILE_PATH + uuid.toString() + MultiYamlDataSource.FILE_EXTENSION);
-			final YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
-			
-			MultiYamlDataSource.this.playerConfigs.put(uuid, new ConfigPair(configFile, config));
+			loadPlayer(event.getPlayer().getUniqueId());
 		}
 		
 		@EventHandler
 		public void onQuit(final PlayerQuitEvent event) {
-			final UUID uuid = event.getPlayer().getUniqueId();
-			MultiYamlDataSource.this.playerConfigs.get(uuid).save();
+			unloadPlayer(event.getPlayer().getUniqueId());
+		}
+		
+	}
+	
+	/**
+	 * writes visited data directly into the files, every file is only saved once as long as not too many players are visited interleaved, 
+	 * while writing through the data source saves the file after every value
+	 */
+	private static class FileWriter implements DataVisitor{
+		
+		// only read once a global value is visited, so writers that only visit players never save the global file
+		private YamlConfiguration globalConfig;
+		// the files of groups are small, so all of them are kept until the end
+		private final Map<String, Map<String, YamlConfiguration>> groupConfigs = new HashMap<>();
+		// the files of the last visited players are kept, the least recently visited file is saved once too many are open
+		private final Map<UUID, YamlConfiguration> playerConfigs = new LinkedHashMap<UUID, YamlConfiguration>(16, 0.75f, true) {
+			
+			private static final long serialVersionUID = 1L;
 			
-			MultiYamlDataSource.this.playerConfigs.remove(uuid);
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<UUID, YamlConfiguration> eldest) {
+				if(size() <= MultiYamlDataSource.WRITER_OPEN_PLAYERS) {
+					return false;
+				}
+				
+				save(eldest.getValue(), getPlayerFile(eldest.getKey()));
+				return true;
+			}
+			
+		};
+		private boolean success = true;
+		
+		private FileWriter() {
+			new File(MultiYamlDataSource.PLAYER_FILE_PATH).mkdirs();
+		}
+		
+		@Override
+		public void visitGlobal(final String pluginKey, final String dataKey, final Object value) {
+			ConfigLists.setCopy(getGlobalConfig(), buildConfigKeyGlobalData(ConfigDataType.ofValue(value), pluginKey, dataKey), value);
+		}
+		
+		@Override
+		public void visitPlayer(final UUID uuid, final String pluginKey, final String dataKey, final Object value) {
+			ConfigLists.setCopy(getPlayerConfig(uuid), buildConfigKeyPlayerData(ConfigDataType.ofValue(value), pluginKey, dataKey), value);
+		}
+		
+		@Override
+		public void visitGroup(final String group, final String pluginKey, final List<UUID> members) {
+			final YamlConfiguration config = getGroupConfig(group, pluginKey);
+			final LinkedHashSet<String> uuids = new LinkedHashSet<>(config.getStringList(MultiYamlDataSource.CONFIG_TYPE_MEMBERS));
+			for(final UUID member: members) {
+				uuids.add(member.toString());
+			}
+			config.set(MultiYamlDataSource.CONFIG_TYPE_MEMBERS, new ArrayList<>(uuids));
+		}
+		
+		@Override
+		public void visitGroupValue(final String group, final String pluginKey, final String dataKey, final Object value) {
+			ConfigLists.setCopy(getGroupConfig(group, pluginKey), buildConfigKeyGroupData(ConfigDataType.ofValue(value), dataKey), value);
+		}
+		
+		@Override
+		public void visitMemberValue(final UUID uuid, final String group, final String pluginKey, final String dataKey, final Object value) {
+			ConfigLists.setCopy(getPlayerConfig(uuid), buildConfigKeyPlayerGroupData(group, ConfigDataType.ofValue(value), pluginKey, dataKey), value);
+		}
+		
+		@Override
+		public boolean finish() {
+			for(final Map.Entry<UUID, YamlConfiguration> entry: this.playerConfigs.entrySet()) {
+				save(entry.getValue(), getPlayerFile(entry.getKey()));
+			}
+			if(this.globalConfig != null) {
+				save(this.globalConfig, new File(DataSource.FILE_PATH + MultiYamlDataSource.FILE_NAME_GLOBAL));
+			}
+			for(final Map.Entry<String, Map<String, YamlConfiguration>> pluginEntry: this.groupConfigs.entrySet()) {
+				final String pluginPath = MultiYamlDataSource.GROUP_FILE_PATH + pluginEntry.getKey() + "/";
+				new File(pluginPath).mkdirs();
+				for(final Map.Entry<String, YamlConfiguration> entry: pluginEntry.getValue().entrySet()) {
+					save(entry.getValue(), new File(pluginPath + entry.getKey() + MultiYamlDataSource.FILE_EXTENSION));
+				}
+			}
+			return this.success;
+		}
+		
+		private YamlConfiguration getGlobalConfig() {
+			if(this.globalConfig == null) {
+				this.globalConfig = YamlConfiguration.loadConfiguration(new File(DataSource.FILE_PATH + MultiYamlDataSource.FILE_NAME_GLOBAL));
+			}
+			return this.globalConfig;
+		}
+		
+		private YamlConfiguration getPlayerConfig(final UUID uuid) {
+			// a player whose file was saved already is read back, so nothing is lost if the data is not visited player by player
+			return this.playerConfigs.computeIfAbsent(uuid, key -> YamlConfiguration.loadConfiguration(getPlayerFile(key)));
+		}
+		
+		private YamlConfiguration getGroupConfig(final String group, final String pluginKey) {
+			return this.groupConfigs.computeIfAbsent(pluginKey, key -> new HashMap<>()).computeIfAbsent(group, key -> 
+					YamlConfiguration.loadConfiguration(new File(MultiYamlDataSource.GROUP_FILE_PATH + pluginKey + "/" + group + MultiYamlDataSource.FILE_EXTENSION)));
+		}
+		
+		private void save(final YamlConfiguration config, final File file) {
+			try {
+				config.save(file);
+			} catch (final IOException e) {
+				e.printStackTrace();
+				this.success = false;
+			}
 		}
 		
 	}
@@ -84,731 +204,1762 @@ public class MultiYamlDataSource implements DataSource{
 	
 	private final File globalFile;
 	private final YamlConfiguration globalConfig;
-	private final Map<UUID, ConfigPair> playerConfigs = new HashMap<>();
-	private final Map<String, Map<String, ConfigPair>> groupConfigs = new HashMap<>();
+	private final Map<UUID, ConfigPair> playerConfigs = new ConcurrentHashMap<>();
+	private final Map<String, Map<String, ConfigPair>> groupConfigs = new ConcurrentHashMap<>();
+	private final StripedLocks locks = new StripedLocks();
+	// rankings are only built for keys that were queried, by the key of the ranked data
+	private final Map<String, Ranking> rankings = new ConcurrentHashMap<>();
 	
+	/**
+	 * @param plugin the plugin to register the listener loading the files of joining players for, 
+	 * or null to run the data source outside of a server and load the files of players with {@link #loadPlayer(UUID)}
+	 */
 	public MultiYamlDataSource(final JavaPlugin plugin) {
 		this.plugin = plugin;
 		this.globalFile = new File(DataSource.FILE_PATH + MultiYamlDataSource.FILE_NAME_GLOBAL);
 		this.globalConfig = YamlConfiguration.loadConfiguration(globalFile);
 	}
 	
+	/**
+	 * creates a writer that stores visited data directly in the files of this backend, 
+	 * it must not be used while a data source of this backend is running
+	 * @return the writer, data is only guaranteed to be written once it is finished
+	 */
+	public static DataVisitor createWriter() {
+		return new FileWriter();
+	}
+	
+	/**
+	 * hands all data stored in the files of this backend to the visitor, groups with their members before the values of the players, 
+	 * every file is read on its own and the values of a player are handed over together, 
+	 * it must not be used while a data source of this backend is running
+	 * @param visitor the visitor to hand the data to, it is not finished by this method
+	 */
+	public static void export(final DataVisitor visitor) {
+		final File[] pluginDirectories = new File(MultiYamlDataSource.GROUP_FILE_PATH).listFiles(File::isDirectory);
+		if(pluginDirectories != null) {
+			for(final File pluginDirectory: pluginDirectories) {
+				final String pluginKey = pluginDirectory.getName();
+				for(final File file: listConfigFiles(pluginDirectory)) {
+					final String group = getBaseName(file);
+					final YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
+					visitor.visitGroup(group, pluginKey, ConfigExport.parseUuids(config.getStringList(MultiYamlDataSource.CONFIG_TYPE_MEMBERS)));
+					ConfigExport.forEachValue(config, (dataKey, value) -> visitor.visitGroupValue(group, pluginKey, dataKey, value));
+				}
+			}
+		}
+		
+		final YamlConfiguration globalConfig = YamlConfiguration.loadConfiguration(new File(DataSource.FILE_PATH + MultiYamlDataSource.FILE_NAME_GLOBAL));
+		ConfigExport.forEachSection(globalConfig.getConfigurationSection(MultiYamlDataSource.CONFIG_TYPE_GLOBAL), (pluginKey, section) -> 
+				ConfigExport.forEachValue(section, (dataKey, value) -> visitor.visitGlobal(pluginKey, dataKey, value)));
+		
+		for(final File file: listConfigFiles(new File(MultiYamlDataSource.PLAYER_FILE_PATH))) {
+			final UUID uuid = ConfigExport.parseUuid(getBaseName(file));
+			if(uuid == null) {
+				continue;
+			}
+			
+			ConfigExport.forEachSection(YamlConfiguration.loadConfiguration(file), (pluginKey, section) -> {
+				ConfigExport.forEachValue(section, (dataKey, value) -> visitor.visitPlayer(uuid, pluginKey, dataKey, value));
+				ConfigExport.forEachSection(section.getConfigurationSection(MultiYamlDataSource.CONFIG_TYPE_GROUPS), (group, groupSection) -> 
+						ConfigExport.forEachValue(groupSection, (dataKey, value) -> visitor.visitMemberValue(uuid, group, pluginKey, dataKey, value)));
+			});
+		}
+	}
+	
+	private static File[] listConfigFiles(final File directory) {
+		final File[] files = directory.listFiles((parent, name) -> name.endsWith(MultiYamlDataSource.FILE_EXTENSION));
+		return files == null ? new File[0] : files;
+	}
+	
+	private static String getBaseName(final File file) {
+		final String name = file.getName();
+		return name.substring(0, name.length() - MultiYamlDataSource.FILE_EXTENSION.length());
+	}
+	
 	@Override
 	public void setup() {
 		new File(MultiYamlDataSource.PLAYER_FILE_PATH).mkdirs();
 		new File(MultiYamlDataSource.GROUP_FILE_PATH).mkdirs();
-		Bukkit.getPluginManager().registerEvents(new EventListener(), plugin);
+		if(this.plugin != null) {
+			Bukkit.getPluginManager().registerEvents(new EventListener(), this.plugin);
+		}
 		setUpGroups();
 	}
+	
+	/**
+	 * loads the file of a player, which is required to access the data of the player
+	 * @param uuid the uuid of the player
+	 */
+	public void loadPlayer(final UUID uuid) {
+		final File configFile = getPlayerFile(uuid);
+		final YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+		
+		StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			this.playerConfigs.put(uuid, new ConfigPair(configFile, config));
+		});
+	}
+	
+	/**
+	 * saves and unloads the file of a player
+	 * @param uuid the uuid of the player
+	 */
+	public void unloadPlayer(final UUID uuid) {
+		StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.remove(uuid);
+			if(pair != null) {
+				pair.save();
+			}
+		});
+	}
 
 	@Override
 	public void close() {
-		saveGlobal();
-		for(final ConfigPair pair: this.playerConfigs.values()) {
-			pair.save();
+		StripedLocks.write(this.locks.getGlobal(), () -> saveGlobal());
+		for(final Map.Entry<UUID, ConfigPair> entry: this.playerConfigs.entrySet()) {
+			StripedLocks.write(this.locks.getPlayer(entry.getKey()), () -> entry.getValue().save());
 		}
-		for(final Map<String, ConfigPair> map: this.groupConfigs.values()) {
-			for(final ConfigPair pair: map.values()) {
-				pair.save();
+		for(final Map.Entry<String, Map<String, ConfigPair>> pluginEntry: this.groupConfigs.entrySet()) {
+			for(final Map.Entry<String, ConfigPair> entry: pluginEntry.getValue().entrySet()) {
+				StripedLocks.write(this.locks.getGroup(entry.getKey(), pluginEntry.getKey()), () -> entry.getValue().save());
 			}
 		}
 		
 		this.playerConfigs.clear();
 		this.groupConfigs.clear();
 	}
+	
+	@Override
+	public Map<String, StorageUsage> countStorage(){
+		final Map<String, StorageUsage> usage = new HashMap<>();
+		StripedLocks.read(this.locks.getGlobal(), () -> {
+			final ConfigurationSection global = this.globalConfig.getConfigurationSection(MultiYamlDataSource.CONFIG_TYPE_GLOBAL);
+			if(global != null) {
+				ConfigUsage.count(usage, global, 0, Function.identity());
+			}
+		});
+		
+		final File[] files = new File(MultiYamlDataSource.PLAYER_FILE_PATH).listFiles((directory, name) -> name.endsWith(MultiYamlDataSource.FILE_EXTENSION));
+		if(files != null) {
+			for(final File file: files) {
+				final UUID uuid = ConfigExport.parseUuid(getBaseName(file));
+				if(uuid == null) {
+					// other files in the folder are not players
+					continue;
+				}
+				StripedLocks.read(this.locks.getPlayer(uuid), () -> {
+					// loaded configs of online players may hold changes that are not saved yet
+					final ConfigPair pair = this.playerConfigs.get(uuid);
+					ConfigUsage.count(usage, pair == null ? YamlConfiguration.loadConfiguration(file) : pair.config, 0, Function.identity());
+				});
+			}
+		}
+		
+		for(final Map.Entry<String, Map<String, ConfigPair>> pluginEntry: this.groupConfigs.entrySet()) {
+			for(final Map.Entry<String, ConfigPair> entry: pluginEntry.getValue().entrySet()) {
+				StripedLocks.read(this.locks.getGroup(entry.getKey(), pluginEntry.getKey()), 
+						() -> ConfigUsage.count(usage, entry.getValue().config, pluginEntry.getKey()));
+			}
+		}
+		return usage;
+	}
 
 	@Override
 	public boolean set(final String pluginKey, final String dataKey, final String data) {
-		this.globalConfig.set(buildConfigKeyGlobalData(ConfigDataType.STRING, pluginKey, dataKey), data);
-		return saveGlobal();
+		return StripedLocks.write(this.locks.getGlobal(), () -> {
+			this.globalConfig.set(buildConfigKeyGlobalData(ConfigDataType.STRING, pluginKey, dataKey), data);
+			return saveGlobal();
+		});
 	}
 
 	@Override
 	public boolean set(final String pluginKey, final String dataKey, final int data) {
-		this.globalConfig.set(buildConfigKeyGlobalData(ConfigDataType.INT, pluginKey, dataKey), data);
-		return saveGlobal();
+		return StripedLocks.write(this.locks.getGlobal(), () -> {
+			this.globalConfig.set(buildConfigKeyGlobalData(ConfigDataType.INT, pluginKey, dataKey), data);
+			return saveGlobal();
+		});
 	}
 
 	@Override
 	public boolean set(final String pluginKey, final String dataKey, final long data) {
-		this.globalConfig.set(buildConfigKeyGlobalData(ConfigDataType.LONG, pluginKey, dataKey), data);
-		return saveGlobal();
+		return StripedLocks.write(this.locks.getGlobal(), () -> {
+			this.globalConfig.set(buildConfigKeyGlobalData(ConfigDataType.LONG, pluginKey, dataKey), data);
+			return saveGlobal();
+		});
 	}
 
 	@Override
 	public boolean set(final String pluginKey, final String dataKey, final float data) {
-		this.globalConfig.set(buildConfigKeyGlobalData(ConfigDataType.FLOAT, pluginKey, dataKey), data);
-		return saveGlobal();
+		return StripedLocks.write(this.locks.getGlobal(), () -> {
+			this.globalConfig.set(buildConfigKeyGlobalData(ConfigDataType.FLOAT, pluginKey, dataKey), data);
+			return saveGlobal();
+		});
 	}
 
 	@Override
 	public boolean set(final String pluginKey, final String dataKey, final double data) {
-		this.globalConfig.set(buildConfigKeyGlobalData(ConfigDataType.DOUBLE, pluginKey, dataKey), data);
-		return saveGlobal();
+		return StripedLocks.write(this.locks.getGlobal(), () -> {
+			this.globalConfig.set(buildConfigKeyGlobalData(ConfigDataType.DOUBLE, pluginKey, dataKey), data);
+			return saveGlobal();
+		});
 	}
 
 	@Override
 	public boolean set(final String pluginKey, final String dataKey, final boolean data) {
-		this.globalConfig.set(buildConfigKeyGlobalData(ConfigDataType.BOOLEAN, pluginKey, dataKey), data);
-		return saveGlobal();
+		return StripedLocks.write(this.locks.getGlobal(), () -> {
+			this.globalConfig.set(buildConfigKeyGlobalData(ConfigDataType.BOOLEAN, pluginKey, dataKey), data);
+			return saveGlobal();
+		});
 	}
 
 	@Override
 	public boolean set(final String pluginKey, final String dataKey, final List<String> data) {
-		this.globalConfig.set(buildConfigKeyGlobalData(ConfigDataType.LIST, pluginKey, dataKey), data);
-		return saveGlobal();
+		return StripedLocks.write(this.locks.getGlobal(), () -> {
+			this.globalConfig.set(buildConfigKeyGlobalData(ConfigDataType.LIST, pluginKey, dataKey), new ArrayList<>(data));
+			return saveGlobal();
+		});
 	}
 
 	@Override
 	public Optional<String> getString(final String pluginKey, final String dataKey) {
-		final String data = this.globalConfig.getString(buildConfigKeyGlobalData(ConfigDataType.STRING, pluginKey, dataKey));
-		if(data == null) {
-			return Optional.empty();
-		}
-		return Optional.of(data);
+		return StripedLocks.read(this.locks.getGlobal(), () -> {
+			final String data = this.globalConfig.getString(buildConfigKeyGlobalData(ConfigDataType.STRING, pluginKey, dataKey));
+			if(data == null) {
+				return Optional.empty();
+			}
+			return Optional.of(data);
+		});
 	}
 
 	@Override
 	public Optional<Integer> getInt(final String pluginKey, final String dataKey) {
-		final String configKey = buildConfigKeyGlobalData(ConfigDataType.INT, pluginKey, dataKey);
-		if(!this.globalConfig.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(this.globalConfig.getInt(configKey));
+		return StripedLocks.read(this.locks.getGlobal(), () -> {
+			final String configKey = buildConfigKeyGlobalData(ConfigDataType.INT, pluginKey, dataKey);
+			if(!this.globalConfig.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(this.globalConfig.getInt(configKey));
+		});
 	}
 
 	@Override
 	public Optional<Long> getLong(final String pluginKey, final String dataKey) {
-		final String configKey = buildConfigKeyGlobalData(ConfigDataType.LONG, pluginKey, dataKey);
-		if(!this.globalConfig.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(this.globalConfig.getLong(configKey));
+		return StripedLocks.read(this.locks.getGlobal(), () -> {
+			final String configKey = buildConfigKeyGlobalData(ConfigDataType.LONG, pluginKey, dataKey);
+			if(!this.globalConfig.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(this.globalConfig.getLong(configKey));
+		});
 	}
 
 	@Override
 	public Optional<Float> getFloat(final String pluginKey, final String dataKey) {
-		final String configKey = buildConfigKeyGlobalData(ConfigDataType.FLOAT, pluginKey, dataKey);
-		if(!this.globalConfig.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of((float) this.globalConfig.getDouble(configKey));
+		return StripedLocks.read(this.locks.getGlobal(), () -> {
+			final String configKey = buildConfigKeyGlobalData(ConfigDataType.FLOAT, pluginKey, dataKey);
+			if(!this.globalConfig.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of((float) this.globalConfig.getDouble(configKey));
+		});
 	}
 
 	@Override
 	public Optional<Double> getDouble(final String pluginKey, final String dataKey) {
-		final String configKey = buildConfigKeyGlobalData(ConfigDataType.DOUBLE, pluginKey, dataKey);
-		if(!this.globalConfig.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(this.globalConfig.getDouble(configKey));
+		return StripedLocks.read(this.locks.getGlobal(), () -> {
+			final String configKey = buildConfigKeyGlobalData(ConfigDataType.DOUBLE, pluginKey, dataKey);
+			if(!this.globalConfig.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(this.globalConfig.getDouble(configKey));
+		});
 	}
 
 	@Override
 	public Optional<Boolean> getBoolean(final String pluginKey, final String dataKey) {
-		final String configKey = buildConfigKeyGlobalData(ConfigDataType.BOOLEAN, pluginKey, dataKey);
-		if(!this.globalConfig.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(this.globalConfig.getBoolean(configKey));
+		return StripedLocks.read(this.locks.getGlobal(), () -> {
+			final String configKey = buildConfigKeyGlobalData(ConfigDataType.BOOLEAN, pluginKey, dataKey);
+			if(!this.globalConfig.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(this.globalConfig.getBoolean(configKey));
+		});
 	}
 
 	@Override
 	public Optional<List<String>> getList(final String pluginKey, final String dataKey) {
-		final String configKey = buildConfigKeyGlobalData(ConfigDataType.LIST, pluginKey, dataKey);
-		if(!this.globalConfig.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(this.globalConfig.getStringList(configKey));
+		return StripedLocks.read(this.locks.getGlobal(), () -> {
+			final String configKey = buildConfigKeyGlobalData(ConfigDataType.LIST, pluginKey, dataKey);
+			if(!this.globalConfig.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(this.globalConfig.getStringList(configKey));
+		});
+	}
+
+	@Override
+	public boolean appendToList(final String pluginKey, final String dataKey, final String element) {
+		return StripedLocks.write(this.locks.getGlobal(), () -> {
+			ConfigLists.append(this.globalConfig, buildConfigKeyGlobalData(ConfigDataType.LIST, pluginKey, dataKey), element);
+			return saveGlobal();
+		});
+	}
+
+	@Override
+	public boolean removeFromList(final String pluginKey, final String dataKey, final String element) {
+		return StripedLocks.write(this.locks.getGlobal(), () -> {
+			if(!ConfigLists.remove(this.globalConfig, buildConfigKeyGlobalData(ConfigDataType.LIST, pluginKey, dataKey), element)) {
+				return false;
+			}
+			return saveGlobal();
+		});
+	}
+
+	@Override
+	public boolean listContains(final String pluginKey, final String dataKey, final String element) {
+		return StripedLocks.read(this.locks.getGlobal(), () -> {
+			return ConfigLists.contains(this.globalConfig, buildConfigKeyGlobalData(ConfigDataType.LIST, pluginKey, dataKey), element);
+		});
+	}
+
+	@Override
+	public int getListSize(final String pluginKey, final String dataKey) {
+		return StripedLocks.read(this.locks.getGlobal(), () -> {
+			return ConfigLists.size(this.globalConfig, buildConfigKeyGlobalData(ConfigDataType.LIST, pluginKey, dataKey));
+		});
+	}
+
+	@Override
+	public List<String> getListRange(final String pluginKey, final String dataKey, final int start, final int count) {
+		return StripedLocks.read(this.locks.getGlobal(), () -> {
+			return ConfigLists.range(this.globalConfig, buildConfigKeyGlobalData(ConfigDataType.LIST, pluginKey, dataKey), start, count);
+		});
+	}
+
+	@Override
+	public Optional<Integer> increment(final String pluginKey, final String dataKey, final int delta) {
+		return StripedLocks.write(this.locks.getGlobal(), () -> {
+			final int value = ConfigNumbers.add(this.globalConfig, buildConfigKeyGlobalData(ConfigDataType.INT, pluginKey, dataKey), NumericType.INT, delta).intValue();
+			if(!saveGlobal()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
+	}
+
+	@Override
+	public boolean compareAndSet(final String pluginKey, final String dataKey, final int expected, final int data) {
+		return StripedLocks.write(this.locks.getGlobal(), () -> {
+			if(!ConfigNumbers.compareAndSet(this.globalConfig, buildConfigKeyGlobalData(ConfigDataType.INT, pluginKey, dataKey), NumericType.INT, expected, data)) {
+				return false;
+			}
+			return saveGlobal();
+		});
+	}
+
+	@Override
+	public Optional<Long> increment(final String pluginKey, final String dataKey, final long delta) {
+		return StripedLocks.write(this.locks.getGlobal(), () -> {
+			final long value = ConfigNumbers.add(this.globalConfig, buildConfigKeyGlobalData(ConfigDataType.LONG, pluginKey, dataKey), NumericType.LONG, delta).longValue();
+			if(!saveGlobal()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
+	}
+
+	@Override
+	public boolean compareAndSet(final String pluginKey, final String dataKey, final long expected, final long data) {
+		return StripedLocks.write(this.locks.getGlobal(), () -> {
+			if(!ConfigNumbers.compareAndSet(this.globalConfig, buildConfigKeyGlobalData(ConfigDataType.LONG, pluginKey, dataKey), NumericType.LONG, expected, data)) {
+				return false;
+			}
+			return saveGlobal();
+		});
+	}
+
+	@Override
+	public Optional<Float> increment(final String pluginKey, final String dataKey, final float delta) {
+		return StripedLocks.write(this.locks.getGlobal(), () -> {
+			final float value = ConfigNumbers.add(this.globalConfig, buildConfigKeyGlobalData(ConfigDataType.FLOAT, pluginKey, dataKey), NumericType.FLOAT, delta).floatValue();
+			if(!saveGlobal()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
+	}
+
+	@Override
+	public boolean compareAndSet(final String pluginKey, final String dataKey, final float expected, final float data) {
+		return StripedLocks.write(this.locks.getGlobal(), () -> {
+			if(!ConfigNumbers.compareAndSet(this.globalConfig, buildConfigKeyGlobalData(ConfigDataType.FLOAT, pluginKey, dataKey), NumericType.FLOAT, expected, data)) {
+				return false;
+			}
+			return saveGlobal();
+		});
+	}
+
+	@Override
+	public Optional<Double> increment(final String pluginKey, final String dataKey, final double delta) {
+		return StripedLocks.write(this.locks.getGlobal(), () -> {
+			final double value = ConfigNumbers.add(this.globalConfig, buildConfigKeyGlobalData(ConfigDataType.DOUBLE, pluginKey, dataKey), NumericType.DOUBLE, delta).doubleValue();
+			if(!saveGlobal()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
+	}
+
+	@Override
+	public boolean compareAndSet(final String pluginKey, final String dataKey, final double expected, final double data) {
+		return StripedLocks.write(this.locks.getGlobal(), () -> {
+			if(!ConfigNumbers.compareAndSet(this.globalConfig, buildConfigKeyGlobalData(ConfigDataType.DOUBLE, pluginKey, dataKey), NumericType.DOUBLE, expected, data)) {
+				return false;
+			}
+			return saveGlobal();
+		});
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String pluginKey, final String dataKey, final String data) {
-		final ConfigPair pair = this.playerConfigs.get(uuid);
-		pair.config.set(buildConfigKeyPlayerData(ConfigDataType.STRING, pluginKey, dataKey), data);
-		return pair.save();
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			pair.config.set(buildConfigKeyPlayerData(ConfigDataType.STRING, pluginKey, dataKey), data);
+			return pair.save();
+		});
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String pluginKey, final String dataKey, final int data) {
-		final ConfigPair pair = this.playerConfigs.get(uuid);
-		pair.config.set(buildConfigKeyPlayerData(ConfigDataType.INT, pluginKey, dataKey), data);
-		return pair.save();
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			pair.config.set(buildConfigKeyPlayerData(ConfigDataType.INT, pluginKey, dataKey), data);
+			updateRanking(uuid, pluginKey, dataKey, NumericType.INT, data);
+			return pair.save();
+		});
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String pluginKey, final String dataKey, final long data) {
-		final ConfigPair pair = this.playerConfigs.get(uuid);
-		pair.config.set(buildConfigKeyPlayerData(ConfigDataType.LONG, pluginKey, dataKey), data);
-		return pair.save();
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			pair.config.set(buildConfigKeyPlayerData(ConfigDataType.LONG, pluginKey, dataKey), data);
+			updateRanking(uuid, pluginKey, dataKey, NumericType.LONG, data);
+			return pair.save();
+		});
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String pluginKey, final String dataKey, final float data) {
-		final ConfigPair pair = this.playerConfigs.get(uuid);
-		pair.config.set(buildConfigKeyPlayerData(ConfigDataType.FLOAT, pluginKey, dataKey), data);
-		return pair.save();
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			pair.config.set(buildConfigKeyPlayerData(ConfigDataType.FLOAT, pluginKey, dataKey), data);
+			updateRanking(uuid, pluginKey, dataKey, NumericType.FLOAT, data);
+			return pair.save();
+		});
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String pluginKey, final String dataKey, final double data) {
-		final ConfigPair pair = this.playerConfigs.get(uuid);
-		pair.config.set(buildConfigKeyPlayerData(ConfigDataType.DOUBLE, pluginKey, dataKey), data);
-		return pair.save();
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			pair.config.set(buildConfigKeyPlayerData(ConfigDataType.DOUBLE, pluginKey, dataKey), data);
+			updateRanking(uuid, pluginKey, dataKey, NumericType.DOUBLE, data);
+			return pair.save();
+		});
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String pluginKey, final String dataKey, final boolean data) {
-		final ConfigPair pair = this.playerConfigs.get(uuid);
-		pair.config.set(buildConfigKeyPlayerData(ConfigDataType.BOOLEAN, pluginKey, dataKey), data);
-		return pair.save();
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			pair.config.set(buildConfigKeyPlayerData(ConfigDataType.BOOLEAN, pluginKey, dataKey), data);
+			return pair.save();
+		});
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String pluginKey, final String dataKey, final List<String> data) {
-		final ConfigPair pair = this.playerConfigs.get(uuid);
-		pair.config.set(buildConfigKeyPlayerData(ConfigDataType.LIST, pluginKey, dataKey), data);
-		return pair.save();
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			pair.config.set(buildConfigKeyPlayerData(ConfigDataType.LIST, pluginKey, dataKey), new ArrayList<>(data));
+			return pair.save();
+		});
 	}
 
 	@Override
 	public Optional<String> getString(final UUID uuid, final String pluginKey, final String dataKey) {
-		final ConfigPair pair = this.playerConfigs.get(uuid);
-		final String data = pair.config.getString(buildConfigKeyPlayerData(ConfigDataType.STRING, pluginKey, dataKey));
-		if(data == null) {
-			return Optional.empty();
-		}
-		return Optional.of(data);
+		return StripedLocks.read(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			final String data = pair.config.getString(buildConfigKeyPlayerData(ConfigDataType.STRING, pluginKey, dataKey));
+			if(data == null) {
+				return Optional.empty();
+			}
+			return Optional.of(data);
+		});
 	}
 
 	@Override
 	public Optional<Integer> getInt(final UUID uuid, final String pluginKey, final String dataKey) {
-		final ConfigPair pair = this.playerConfigs.get(uuid);
-		final String configKey = buildConfigKeyPlayerData(ConfigDataType.INT, pluginKey, dataKey);
-		if(!pair.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(pair.config.getInt(configKey));
+		return StripedLocks.read(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			final String configKey = buildConfigKeyPlayerData(ConfigDataType.INT, pluginKey, dataKey);
+			if(!pair.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(pair.config.getInt(configKey));
+		});
 	}
 
 	@Override
 	public Optional<Long> getLong(final UUID uuid, final String pluginKey, final String dataKey) {
-		final ConfigPair pair = this.playerConfigs.get(uuid);
-		final String configKey = buildConfigKeyPlayerData(ConfigDataType.LONG, pluginKey, dataKey);
-		if(!pair.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(pair.config.getLong(configKey));
+		return StripedLocks.read(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			final String configKey = buildConfigKeyPlayerData(ConfigDataType.LONG, pluginKey, dataKey);
+			if(!pair.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(pair.config.getLong(configKey));
+		});
 	}
 
 	@Override
 	public Optional<Float> getFloat(final UUID uuid, final String pluginKey, final String dataKey) {
-		final ConfigPair pair = this.playerConfigs.get(uuid);
-		final String configKey = buildConfigKeyPlayerData(ConfigDataType.FLOAT, pluginKey, dataKey);
-		if(!pair.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of((float) pair.config.getDouble(configKey));
+		return StripedLocks.read(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			final String configKey = buildConfigKeyPlayerData(ConfigDataType.FLOAT, pluginKey, dataKey);
+			if(!pair.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of((float) pair.config.getDouble(configKey));
+		});
 	}
 
 	@Override
 	public Optional<Double> getDouble(final UUID uuid, final String pluginKey, final String dataKey) {
-		final ConfigPair pair = this.playerConfigs.get(uuid);
-		final String configKey = buildConfigKeyPlayerData(ConfigDataType.DOUBLE, pluginKey, dataKey);
-		if(!pair.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(pair.config.getDouble(configKey));
+		return StripedLocks.read(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			final String configKey = buildConfigKeyPlayerData(ConfigDataType.DOUBLE, pluginKey, dataKey);
+			if(!pair.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(pair.config.getDouble(configKey));
+		});
 	}
 
 	@Override
 	public Optional<Boolean> getBoolean(final UUID uuid, final String pluginKey, final String dataKey) {
-		final ConfigPair pair = this.playerConfigs.get(uuid);
-		final String configKey = buildConfigKeyPlayerData(ConfigDataType.BOOLEAN, pluginKey, dataKey);
-		if(!pair.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(pair.config.getBoolean(configKey));
+		return StripedLocks.read(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			final String configKey = buildConfigKeyPlayerData(ConfigDataType.BOOLEAN, pluginKey, dataKey);
+			if(!pair.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(pair.config.getBoolean(configKey));
+		});
 	}
 
 	@Override
 	public Optional<List<String>> getList(final UUID uuid, final String pluginKey, final String dataKey) {
-		final ConfigPair pair = this.playerConfigs.get(uuid);
-		final String configKey = buildConfigKeyPlayerData(ConfigDataType.LIST, pluginKey, dataKey);
-		if(!pair.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(pair.config.getStringList(configKey));
+		return StripedLocks.read(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			final String configKey = buildConfigKeyPlayerData(ConfigDataType.LIST, pluginKey, dataKey);
+			if(!pair.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(pair.config.getStringList(configKey));
+		});
 	}
-	
+
 	@Override
-	public boolean addGroup(final String group, final String pluginKey) {
-		if(!this.groupConfigs.containsKey(pluginKey)) {
-			new File(MultiYamlDataSource.GROUP_FILE_PATH + group + "/").mkdir();
-			this.groupConfigs.put(pluginKey, new HashMap<String, ConfigPair>());
-		}
-		final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
-		if(map.containsKey(group)) {
-			return false;
-		}
-		
-		final File configFile = new File(MultiYamlDataSource.GROUP_FILE_PATH + group + MultiYamlDataSource.FILE_EXTENSION);
-		final YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
-		
-		final ConfigPair pair = new ConfigPair(configFile, config);
-		if(!pair.save()) {
-			return false;
-		}
-		
-		map.put(group, pair);
-		return true;
+	public void forEachValue(final UUID uuid, final String pluginKey, final BiConsumer<String, Object> consumer) {
+		StripedLocks.read(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			// the groups of the player are kept in the same section, but not in a section of a type
+			final ConfigurationSection section = pair.config.getConfigurationSection(pluginKey);
+			if(section != null) {
+				ConfigExport.forEachValue(section, consumer);
+			}
+		});
 	}
-	
+
 	@Override
-	public boolean deleteGroup(final String group, final String pluginKey) {
-		if(!this.groupConfigs.containsKey(pluginKey)) {
-			return false;
-		}
-		final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
-		if(!map.containsKey(group)) {
-			return false;
-		}
-		
-		final ConfigPair groupPair = map.get(group);
-		final List<String> uuids = groupPair.config.getStringList(MultiYamlDataSource.CONFIG_TYPE_MEMBERS);
-		for(final String uuid: uuids) {
-			final ConfigPair playerPair = this.playerConfigs.get(UUID.fromString(uuid));
-			final String configKey = buildConfigKeyPlayerGroup(group, pluginKey);
-			playerPair.config.set(configKey, null);
-		}
-		
-		map.remove(group);
-		groupPair.configFile.delete();
-		return true;
+	public boolean appendToList(final UUID uuid, final String pluginKey, final String dataKey, final String element) {
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			ConfigLists.append(pair.config, buildConfigKeyPlayerData(ConfigDataType.LIST, pluginKey, dataKey), element);
+			return pair.save();
+		});
 	}
-	
+
 	@Override
-	public boolean isGroup(final String group, final String pluginKey) {
-		if(!this.groupConfigs.containsKey(pluginKey)) {
-			return false;
-		}
-		
-		return this.groupConfigs.get(pluginKey).containsKey(group);
+	public boolean removeFromList(final UUID uuid, final String pluginKey, final String dataKey, final String element) {
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			if(!ConfigLists.remove(pair.config, buildConfigKeyPlayerData(ConfigDataType.LIST, pluginKey, dataKey), element)) {
+				return false;
+			}
+			return pair.save();
+		});
 	}
-	
-	@Override
-	public boolean addMember(final UUID uuid, final String group, final String pluginKey) {
-		if(!this.groupConfigs.containsKey(pluginKey)) {
-			return false;
-		}
-		final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
-		if(!map.containsKey(group)) {
-			return false;
-		}
 
-		final String uuidString = uuid.toString();
-		final ConfigPair pair = map.get(group);
-		final List<String> uuids = pair.config.getStringList(MultiYamlDataSource.CONFIG_TYPE_MEMBERS);
-		if(uuids.contains(uuidString)) {
-			return false;
-		}
-		uuids.add(uuidString);
-		pair.config.set(MultiYamlDataSource.CONFIG_TYPE_MEMBERS, uuids);
-		return pair.save();
-	}
-	
 	@Override
-	public boolean removeMember(final UUID uuid, final String group, final String pluginKey) {
-		if(!this.groupConfigs.containsKey(pluginKey)) {
-			return false;
-		}
-		final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
-		if(!map.containsKey(group)) {
-			return false;
-		}
-
-		final String uuidString = uuid.toString();
-		final ConfigPair pair = map.get(group);
-		final List<String> uuids = pair.config.getStringList(MultiYamlDataSource.CONFIG_TYPE_MEMBERS);
-		if(!uuids.contains(uuidString)) {
-			return false;
-		}
-		uuids.remove(uuidString);
-		pair.config.set(MultiYamlDataSource.CONFIG_TYPE_MEMBERS, uuids);
-		return pair.save();
+	public boolean listContains(final UUID uuid, final String pluginKey, final String dataKey, final String element) {
+		return StripedLocks.read(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			return ConfigLists.contains(pair.config, buildConfigKeyPlayerData(ConfigDataType.LIST, pluginKey, dataKey), element);
+		});
 	}
-	
-	@Override
-	public boolean isMember(final UUID uuid, final String group, final String pluginKey) {
-		if(!this.groupConfigs.containsKey(pluginKey)) {
-			return false;
-		}
-		final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
-		if(!map.containsKey(group)) {
-			return false;
-		}
 
-		final ConfigPair pair = map.get(group);
-		final List<String> uuids = pair.config.getStringList(MultiYamlDataSource.CONFIG_TYPE_MEMBERS);
-		
-		return uuids.contains(uuid.toString());
+	@Override
+	public int getListSize(final UUID uuid, final String pluginKey, final String dataKey) {
+		return StripedLocks.read(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			return ConfigLists.size(pair.config, buildConfigKeyPlayerData(ConfigDataType.LIST, pluginKey, dataKey));
+		});
 	}
-	
+
 	@Override
-	public Optional<List<UUID>> getMemberIDs(final String group, final String pluginKey){
-		if(!this.groupConfigs.containsKey(pluginKey)) {
-			return Optional.empty();
-		}
-		
-		final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
-		if(!map.containsKey(group)) {
-			return Optional.empty();
-		}
-		
-		final ConfigPair pair = map.get(group);
-		final List<UUID> members = pair.config.getStringList(MultiYamlDataSource.CONFIG_TYPE_MEMBERS)
-				.stream().map(uuid -> UUID.fromString(uuid)).collect(Collectors.toList());
-		
-		return Optional.of(members);
+	public List<String> getListRange(final UUID uuid, final String pluginKey, final String dataKey, final int start, final int count) {
+		return StripedLocks.read(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			return ConfigLists.range(pair.config, buildConfigKeyPlayerData(ConfigDataType.LIST, pluginKey, dataKey), start, count);
+		});
 	}
-	
+
 	@Override
-	public List<String> getGroups(final String pluginKey){
-		return this.groupConfigs.get(pluginKey).keySet().stream().collect(Collectors.toList());
+	public Optional<Integer> increment(final UUID uuid, final String pluginKey, final String dataKey, final int delta) {
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			final int value = ConfigNumbers.add(pair.config, buildConfigKeyPlayerData(ConfigDataType.INT, pluginKey, dataKey), NumericType.INT, delta).intValue();
+			updateRanking(uuid, pluginKey, dataKey, NumericType.INT, value);
+			if(!pair.save()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
 	}
-	
+
 	@Override
-	public List<String> getGroups(final UUID uuid, final String pluginKey){
-		return this.groupConfigs.get(pluginKey).entrySet().stream()
-				.filter(entry -> entry.getValue().config.getStringList(MultiYamlDataSource.CONFIG_TYPE_MEMBERS).contains(uuid.toString()))
-				.map(entry -> entry.getKey()).collect(Collectors.toList());
+	public boolean compareAndSet(final UUID uuid, final String pluginKey, final String dataKey, final int expected, final int data) {
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			if(!ConfigNumbers.compareAndSet(pair.config, buildConfigKeyPlayerData(ConfigDataType.INT, pluginKey, dataKey), NumericType.INT, expected, data)) {
+				return false;
+			}
+			updateRanking(uuid, pluginKey, dataKey, NumericType.INT, data);
+			return pair.save();
+		});
 	}
-	
+
 	@Override
-	public boolean set(final String group, final String pluginKey, final String dataKey, final String data) {
-		final ConfigPair pair = getGroupPair(group, pluginKey);
-		if(pair == null) {
-			return false;
-		}
-		pair.config.set(buildConfigKeyGroupData(ConfigDataType.STRING, dataKey), data);
-		return pair.save();		
+	public Optional<Long> increment(final UUID uuid, final String pluginKey, final String dataKey, final long delta) {
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			final long value = ConfigNumbers.add(pair.config, buildConfigKeyPlayerData(ConfigDataType.LONG, pluginKey, dataKey), NumericType.LONG, delta).longValue();
+			updateRanking(uuid, pluginKey, dataKey, NumericType.LONG, value);
+			if(!pair.save()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
 	}
-	
+
 	@Override
-	public boolean set(final String group, final String pluginKey, final String dataKey, final int data) {
-		final ConfigPair pair = getGroupPair(group, pluginKey);
-		if(pair == null) {
+	public boolean compareAndSet(final UUID uuid, final String pluginKey, final String dataKey, final long expected, final long data) {
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			if(!ConfigNumbers.compareAndSet(pair.config, buildConfigKeyPlayerData(ConfigDataType.LONG, pluginKey, dataKey), NumericType.LONG, expected, data)) {
+				return false;
+			}
+			updateRanking(uuid, pluginKey, dataKey, NumericType.LONG, data);
+			return pair.save();
+		});
+	}
+
+	@Override
+	public Optional<Float> increment(final UUID uuid, final String pluginKey, final String dataKey, final float delta) {
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			final float value = ConfigNumbers.add(pair.config, buildConfigKeyPlayerData(ConfigDataType.FLOAT, pluginKey, dataKey), NumericType.FLOAT, delta).floatValue();
+			updateRanking(uuid, pluginKey, dataKey, NumericType.FLOAT, value);
+			if(!pair.save()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
+	}
+
+	@Override
+	public boolean compareAndSet(final UUID uuid, final String pluginKey, final String dataKey, final float expected, final float data) {
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			if(!ConfigNumbers.compareAndSet(pair.config, buildConfigKeyPlayerData(ConfigDataType.FLOAT, pluginKey, dataKey), NumericType.FLOAT, expected, data)) {
+				return false;
+			}
+			updateRanking(uuid, pluginKey, dataKey, NumericType.FLOAT, data);
+			return pair.save();
+		});
+	}
+
+	@Override
+	public Optional<Double> increment(final UUID uuid, final String pluginKey, final String dataKey, final double delta) {
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			final double value = ConfigNumbers.add(pair.config, buildConfigKeyPlayerData(ConfigDataType.DOUBLE, pluginKey, dataKey), NumericType.DOUBLE, delta).doubleValue();
+			updateRanking(uuid, pluginKey, dataKey, NumericType.DOUBLE, value);
+			if(!pair.save()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
+	}
+
+	@Override
+	public boolean compareAndSet(final UUID uuid, final String pluginKey, final String dataKey, final double expected, final double data) {
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			if(!ConfigNumbers.compareAndSet(pair.config, buildConfigKeyPlayerData(ConfigDataType.DOUBLE, pluginKey, dataKey), NumericType.DOUBLE, expected, data)) {
+				return false;
+			}
+			updateRanking(uuid, pluginKey, dataKey, NumericType.DOUBLE, data);
+			return pair.save();
+		});
+	}
+	
+	@Override
+	public void registerRankedKey(final String pluginKey, final String dataKey, final NumericType type) {
+		getRanking(pluginKey, dataKey, type);
+	}
+	
+	@Override
+	public List<RankedEntry> getRanking(final String pluginKey, final String dataKey, final NumericType type, final int offset, final int limit) {
+		final Ranking ranking = getRanking(pluginKey, dataKey, type);
+		return ranking.isReady() ? ranking.getPage(offset, limit) : new ArrayList<>();
+	}
+	
+	@Override
+	public Optional<Integer> getRank(final UUID uuid, final String pluginKey, final String dataKey, final NumericType type) {
+		final Ranking ranking = getRanking(pluginKey, dataKey, type);
+		return ranking.isReady() ? ranking.getRank(uuid) : Optional.empty();
+	}
+
+	@Override
+	public boolean addGroup(final String group, final String pluginKey) {
+		return StripedLocks.write(this.locks.getGroup(group, pluginKey), () -> {
+			final Map<String, ConfigPair> map = this.groupConfigs.computeIfAbsent(pluginKey, key -> {
+				new File(MultiYamlDataSource.GROUP_FILE_PATH + group + "/").mkdir();
+				return new ConcurrentHashMap<String, ConfigPair>();
+			});
+			if(map.containsKey(group)) {
+				return false;
+			}
+			
+			final File configFile = new File(MultiYamlDataSource.GROUP_FILE_PATH + group + MultiYamlDataSource.FILE_EXTENSION);
+			final YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+			
+			final ConfigPair pair = new ConfigPair(configFile, config);
+			if(!pair.save()) {
+				return false;
+			}
+			
+			map.put(group, pair);
+			return true;
+		});
+	}
+	
+	@Override
+	public boolean deleteGroup(final String group, final String pluginKey) {
+		return StripedLocks.write(this.locks.getGroup(group, pluginKey), () -> {
+			if(!this.groupConfigs.containsKey(pluginKey)) {
+				return false;
+			}
+			final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
+			if(!map.containsKey(group)) {
+				return false;
+			}
+			
+			final ConfigPair groupPair = map.get(group);
+			final List<String> uuids = groupPair.config.getStringList(MultiYamlDataSource.CONFIG_TYPE_MEMBERS);
+			for(final String uuid: uuids) {
+				final UUID memberID = UUID.fromString(uuid);
+				StripedLocks.write(this.locks.getPlayer(memberID), () -> {
+					final ConfigPair playerPair = this.playerConfigs.get(memberID);
+					final String configKey = buildConfigKeyPlayerGroup(group, pluginKey);
+					playerPair.config.set(configKey, null);
+				});
+			}
+			
+			map.remove(group);
+			groupPair.configFile.delete();
+			return true;
+		});
+	}
+	
+	@Override
+	public boolean isGroup(final String group, final String pluginKey) {
+		if(!this.groupConfigs.containsKey(pluginKey)) {
 			return false;
 		}
-		pair.config.set(buildConfigKeyGroupData(ConfigDataType.INT, dataKey), data);
-		return pair.save();	
+		
+		return this.groupConfigs.get(pluginKey).containsKey(group);
 	}
 	
 	@Override
-	public boolean set(final String group, final String pluginKey, final String dataKey, final long data) {
-		final ConfigPair pair = getGroupPair(group, pluginKey);
-		if(pair == null) {
-			return false;
+	public boolean addMember(final UUID uuid, final String group, final String pluginKey) {
+		return StripedLocks.write(this.locks.getGroup(group, pluginKey), () -> {
+			if(!this.groupConfigs.containsKey(pluginKey)) {
+				return false;
+			}
+			final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
+			if(!map.containsKey(group)) {
+				return false;
+			}
+	
+			final String uuidString = uuid.toString();
+			final ConfigPair pair = map.get(group);
+			final List<String> uuids = pair.config.getStringList(MultiYamlDataSource.CONFIG_TYPE_MEMBERS);
+			if(uuids.contains(uuidString)) {
+				return false;
+			}
+			uuids.add(uuidString);
+			pair.config.set(MultiYamlDataSource.CONFIG_TYPE_MEMBERS, uuids);
+			return pair.save();
+		});
+	}
+	
+	@Override
+	public boolean removeMember(final UUID uuid, final String group, final String pluginKey) {
+		return StripedLocks.write(this.locks.getGroup(group, pluginKey), () -> {
+			if(!this.groupConfigs.containsKey(pluginKey)) {
+				return false;
+			}
+			final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
+			if(!map.containsKey(group)) {
+				return false;
+			}
+	
+			final String uuidString = uuid.toString();
+			final ConfigPair pair = map.get(group);
+			final List<String> uuids = pair.config.getStringList(MultiYamlDataSource.CONFIG_TYPE_MEMBERS);
+			if(!uuids.contains(uuidString)) {
+				return false;
+			}
+			uuids.remove(uuidString);
+			pair.config.set(MultiYamlDataSource.CONFIG_TYPE_MEMBERS, uuids);
+			return pair.save();
+		});
+	}
+	
+	@Override
+	public boolean isMember(final UUID uuid, final String group, final String pluginKey) {
+		return StripedLocks.read(this.locks.getGroup(group, pluginKey), () -> {
+			if(!this.groupConfigs.containsKey(pluginKey)) {
+				return false;
+			}
+			final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
+			if(!map.containsKey(group)) {
+				return false;
+			}
+	
+			final ConfigPair pair = map.get(group);
+			final List<String> uuids = pair.config.getStringList(MultiYamlDataSource.CONFIG_TYPE_MEMBERS);
+			
+			return uuids.contains(uuid.toString());
+		});
+	}
+	
+	@Override
+	public Optional<List<UUID>> getMemberIDs(final String group, final String pluginKey){
+		return StripedLocks.read(this.locks.getGroup(group, pluginKey), () -> {
+			if(!this.groupConfigs.containsKey(pluginKey)) {
+				return Optional.empty();
+			}
+			
+			final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
+			if(!map.containsKey(group)) {
+				return Optional.empty();
+			}
+			
+			final ConfigPair pair = map.get(group);
+			final List<UUID> members = pair.config.getStringList(MultiYamlDataSource.CONFIG_TYPE_MEMBERS)
+					.stream().map(uuid -> UUID.fromString(uuid)).collect(Collectors.toList());
+			
+			return Optional.of(members);
+		});
+	}
+	
+	@Override
+	public boolean forEachMemberID(final String group, final String pluginKey, final Consumer<UUID> consumer) {
+		return StripedLocks.read(this.locks.getGroup(group, pluginKey), () -> {
+			final ConfigPair pair = getGroupPair(group, pluginKey);
+			if(pair == null) {
+				return false;
+			}
+			
+			ConfigLists.forEach(pair.config, MultiYamlDataSource.CONFIG_TYPE_MEMBERS, uuid -> consumer.accept(UUID.fromString(uuid)));
+			return true;
+		});
+	}
+	
+	@Override
+	public Optional<List<UUID>> getMemberIDs(final String group, final String pluginKey, final UUID after, final int limit){
+		return StripedLocks.read(this.locks.getGroup(group, pluginKey), () -> {
+			final ConfigPair pair = getGroupPair(group, pluginKey);
+			if(pair == null) {
+				return Optional.empty();
+			}
+			
+			return Optional.of(ConfigLists.pageAfter(pair.config.getList(MultiYamlDataSource.CONFIG_TYPE_MEMBERS), 
+					after == null ? null : after.toString(), limit).stream().map(uuid -> UUID.fromString(uuid)).collect(Collectors.toList()));
+		});
+	}
+	
+	@Override
+	public List<String> getGroups(final String pluginKey){
+		return this.groupConfigs.get(pluginKey).keySet().stream().collect(Collectors.toList());
+	}
+	
+	@Override
+	public void forEachGroup(final String pluginKey, final Consumer<String> consumer) {
+		final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
+		if(map == null) {
+			return;
 		}
-		pair.config.set(buildConfigKeyGroupData(ConfigDataType.LONG, dataKey), data);
-		return pair.save();	
+		
+		map.keySet().forEach(consumer);
+	}
+	
+	@Override
+	public List<String> getGroups(final String pluginKey, final String after, final int limit){
+		final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
+		return ConfigLists.pageAfter(map == null ? null : map.keySet(), after, limit);
+	}
+	
+	@Override
+	public List<String> getGroups(final UUID uuid, final String pluginKey){
+		return this.groupConfigs.get(pluginKey).entrySet().stream()
+				.filter(entry -> StripedLocks.read(this.locks.getGroup(entry.getKey(), pluginKey), 
+						() -> entry.getValue().config.getStringList(MultiYamlDataSource.CONFIG_TYPE_MEMBERS).contains(uuid.toString())))
+				.map(entry -> entry.getKey()).collect(Collectors.toList());
+	}
+	
+	@Override
+	public boolean set(final String group, final String pluginKey, final String dataKey, final String data) {
+		return StripedLocks.write(this.locks.getGroup(group, pluginKey), () -> {
+			final ConfigPair pair = getGroupPair(group, pluginKey);
+			if(pair == null) {
+				return false;
+			}
+			pair.config.set(buildConfigKeyGroupData(ConfigDataType.STRING, dataKey), data);
+			return pair.save();		
+		});
+	}
+	
+	@Override
+	public boolean set(final String group, final String pluginKey, final String dataKey, final int data) {
+		return StripedLocks.write(this.locks.getGroup(group, pluginKey), () -> {
+			final ConfigPair pair = getGroupPair(group, pluginKey);
+			if(pair == null) {
+				return false;
+			}
+			pair.config.set(buildConfigKeyGroupData(ConfigDataType.INT, dataKey), data);
+			return pair.save();	
+		});
+	}
+	
+	@Override
+	public boolean set(final String group, final String pluginKey, final String dataKey, final long data) {
+		return StripedLocks.write(this.locks.getGroup(group, pluginKey), () -> {
+			final ConfigPair pair = getGroupPair(group, pluginKey);
+			if(pair == null) {
+				return false;
+			}
+			pair.config.set(buildConfigKeyGroupData(ConfigDataType.LONG, dataKey), data);
+			return pair.save();	
+		});
 	}
 	
 	@Override
 	public boolean set(final String group, final String pluginKey, final String dataKey, final float data) {
-		final ConfigPair pair = getGroupPair(group, pluginKey);
-		if(pair == null) {
-			return false;
-		}
-		pair.config.set(buildConfigKeyGroupData(ConfigDataType.FLOAT, dataKey), data);
-		return pair.save();	
+		return StripedLocks.write(this.locks.getGroup(group, pluginKey), () -> {
+			final ConfigPair pair = getGroupPair(group, pluginKey);
+			if(pair == null) {
+				return false;
+			}
+			pair.config.set(buildConfigKeyGroupData(ConfigDataType.FLOAT, dataKey), data);
+			return pair.save();	
+		});
 	}
 	
 	@Override
 	public boolean set(final String group, final String pluginKey, final String dataKey, final double data) {
-		final ConfigPair pair = getGroupPair(group, pluginKey);
-		if(pair == null) {
-			return false;
-		}
-		pair.config.set(buildConfigKeyGroupData(ConfigDataType.DOUBLE, dataKey), data);
-		return pair.save();	
+		return StripedLocks.write(this.locks.getGroup(group, pluginKey), () -> {
+			final ConfigPair pair = getGroupPair(group, pluginKey);
+			if(pair == null) {
+				return false;
+			}
+			pair.config.set(buildConfigKeyGroupData(ConfigDataType.DOUBLE, dataKey), data);
+			return pair.save();	
+		});
 	}
 	
 	@Override
 	public boolean set(final String group, final String pluginKey, final String dataKey, final boolean data) {
-		final ConfigPair pair = getGroupPair(group, pluginKey);
-		if(pair == null) {
-			return false;
-		}
-		pair.config.set(buildConfigKeyGroupData(ConfigDataType.BOOLEAN, dataKey), data);
-		return pair.save();	
+		return StripedLocks.write(this.locks.getGroup(group, pluginKey), () -> {
+			final ConfigPair pair = getGroupPair(group, pluginKey);
+			if(pair == null) {
+				return false;
+			}
+			pair.config.set(buildConfigKeyGroupData(ConfigDataType.BOOLEAN, dataKey), data);
+			return pair.save();	
+		});
 	}
 
 	@Override
 	public boolean set(final String group, final String pluginKey, final String dataKey, final List<String> data) {
-		final ConfigPair pair = getGroupPair(group, pluginKey);
-		if(pair == null) {
-			return false;
-		}
-		pair.config.set(buildConfigKeyGroupData(ConfigDataType.LIST, dataKey), data);
-		return pair.save();	
+		return StripedLocks.write(this.locks.getGroup(group, pluginKey), () -> {
+			final ConfigPair pair = getGroupPair(group, pluginKey);
+			if(pair == null) {
+				return false;
+			}
+			pair.config.set(buildConfigKeyGroupData(ConfigDataType.LIST, dataKey), new ArrayList<>(data));
+			return pair.save();	
+		});
 	}
 	
 	@Override
 	public Optional<String> getString(final String group, final String pluginKey, final String dataKey){
-		final ConfigPair pair = getGroupPair(group, pluginKey);
-		if(pair == null) {
-			return Optional.empty();
-		}
-		
-		final String data = pair.config.getString(buildConfigKeyGroupData(ConfigDataType.STRING, dataKey));
-		if(data == null) {
-			return Optional.empty();
-		}
-		return Optional.of(data);
+		return StripedLocks.read(this.locks.getGroup(group, pluginKey), () -> {
+			final ConfigPair pair = getGroupPair(group, pluginKey);
+			if(pair == null) {
+				return Optional.empty();
+			}
+			
+			final String data = pair.config.getString(buildConfigKeyGroupData(ConfigDataType.STRING, dataKey));
+			if(data == null) {
+				return Optional.empty();
+			}
+			return Optional.of(data);
+		});
 	}
 	
 	@Override
 	public Optional<Integer> getInt(final String group, final String pluginKey, final String dataKey){
-		final ConfigPair pair = getGroupPair(group, pluginKey);
-		if(pair == null) {
-			return Optional.empty();
-		}
-		
-		final String configKey = buildConfigKeyGroupData(ConfigDataType.INT, dataKey);
-		if(!pair.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		
-		return Optional.of(pair.config.getInt(configKey));
+		return StripedLocks.read(this.locks.getGroup(group, pluginKey), () -> {
+			final ConfigPair pair = getGroupPair(group, pluginKey);
+			if(pair == null) {
+				return Optional.empty();
+			}
+			
+			final String configKey = buildConfigKeyGroupData(ConfigDataType.INT, dataKey);
+			if(!pair.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			
+			return Optional.of(pair.config.getInt(configKey));
+		});
 	}
 	
 	@Override
 	public Optional<Long> getLong(final String group, final String pluginKey, final String dataKey){
-		final ConfigPair pair = getGroupPair(group, pluginKey);
-		if(pair == null) {
-			return Optional.empty();
-		}
-		
-		final String configKey = buildConfigKeyGroupData(ConfigDataType.LONG, dataKey);
-		if(!pair.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		
-		return Optional.of(pair.config.getLong(configKey));
+		return StripedLocks.read(this.locks.getGroup(group, pluginKey), () -> {
+			final ConfigPair pair = getGroupPair(group, pluginKey);
+			if(pair == null) {
+				return Optional.empty();
+			}
+			
+			final String configKey = buildConfigKeyGroupData(ConfigDataType.LONG, dataKey);
+			if(!pair.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			
+			return Optional.of(pair.config.getLong(configKey));
+		});
 	}
 	
 	@Override
 	public Optional<Float> getFloat(final String group, final String pluginKey, final String dataKey){
-		final ConfigPair pair = getGroupPair(group, pluginKey);
-		if(pair == null) {
-			return Optional.empty();
-		}
-		
-		final String configKey = buildConfigKeyGroupData(ConfigDataType.FLOAT, dataKey);
-		if(!pair.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		
-		return Optional.of((float) pair.config.getDouble(configKey));
+		return StripedLocks.read(this.locks.getGroup(group, pluginKey), () -> {
+			final ConfigPair pair = getGroupPair(group, pluginKey);
+			if(pair == null) {
+				return Optional.empty();
+			}
+			
+			final String configKey = buildConfigKeyGroupData(ConfigDataType.FLOAT, dataKey);
+			if(!pair.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			
+			return Optional.of((float) pair.config.getDouble(configKey));
+		});
 	}
 	
 	@Override
 	public Optional<Double> getDouble(final String group, final String pluginKey, final String dataKey){
-		final ConfigPair pair = getGroupPair(group, pluginKey);
-		if(pair == null) {
-			return Optional.empty();
-		}
-		
-		final String configKey = buildConfigKeyGroupData(ConfigDataType.DOUBLE, dataKey);
-		if(!pair.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		
-		return Optional.of(pair.config.getDouble(configKey));
+		return StripedLocks.read(this.locks.getGroup(group, pluginKey), () -> {
+			final ConfigPair pair = getGroupPair(group, pluginKey);
+			if(pair == null) {
+				return Optional.empty();
+			}
+			
+			final String configKey = buildConfigKeyGroupData(ConfigDataType.DOUBLE, dataKey);
+			if(!pair.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			
+			return Optional.of(pair.config.getDouble(configKey));
+		});
 	}
 	
 	@Override
 	public Optional<Boolean> getBoolean(final String group, final String pluginKey, final String dataKey){
-		final ConfigPair pair = getGroupPair(group, pluginKey);
-		if(pair == null) {
-			return Optional.empty();
-		}
-		
-		final String configKey = buildConfigKeyGroupData(ConfigDataType.BOOLEAN, dataKey);
-		if(!pair.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		
-		return Optional.of(pair.config.getBoolean(configKey));
+		return StripedLocks.read(this.locks.getGroup(group, pluginKey), () -> {
+			final ConfigPair pair = getGroupPair(group, pluginKey);
+			if(pair == null) {
+				return Optional.empty();
+			}
+			
+			final String configKey = buildConfigKeyGroupData(ConfigDataType.BOOLEAN, dataKey);
+			if(!pair.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			
+			return Optional.of(pair.config.getBoolean(configKey));
+		});
 	}
 	
 	@Override
 	public Optional<List<String>> getList(final String group, final String pluginKey, final String dataKey){
-		final ConfigPair pair = getGroupPair(group, pluginKey);
-		if(pair == null) {
-			return Optional.empty();
-		}
-		
-		final String configKey = buildConfigKeyGroupData(ConfigDataType.LIST, dataKey);
-		if(!pair.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		
-		return Optional.of(pair.config.getStringList(configKey));
+		return StripedLocks.read(this.locks.getGroup(group, pluginKey), () -> {
+			final ConfigPair pair = getGroupPair(group, pluginKey);
+			if(pair == null) {
+				return Optional.empty();
+			}
+			
+			final String configKey = buildConfigKeyGroupData(ConfigDataType.LIST, dataKey);
+			if(!pair.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			
+			return Optional.of(pair.config.getStringList(configKey));
+		});
+	}
+
+	@Override
+	public void forEachValue(final String group, final String pluginKey, final BiConsumer<String, Object> consumer) {
+		StripedLocks.read(this.locks.getGroup(group, pluginKey), () -> {
+			final ConfigPair pair = getGroupPair(group, pluginKey);
+			if(pair != null) {
+				// the members are kept in the same file, but not in a section of a type
+				ConfigExport.forEachValue(pair.config, consumer);
+			}
+		});
+	}
+
+	@Override
+	public boolean appendToList(final String group, final String pluginKey, final String dataKey, final String element) {
+		return StripedLocks.write(this.locks.getGroup(group, pluginKey), () -> {
+			final ConfigPair pair = getGroupPair(group, pluginKey);
+			if(pair == null) {
+				return false;
+			}
+			ConfigLists.append(pair.config, buildConfigKeyGroupData(ConfigDataType.LIST, dataKey), element);
+			return pair.save();
+		});
+	}
+
+	@Override
+	public boolean removeFromList(final String group, final String pluginKey, final String dataKey, final String element) {
+		return StripedLocks.write(this.locks.getGroup(group, pluginKey), () -> {
+			final ConfigPair pair = getGroupPair(group, pluginKey);
+			if(pair == null || !ConfigLists.remove(pair.config, buildConfigKeyGroupData(ConfigDataType.LIST, dataKey), element)) {
+				return false;
+			}
+			return pair.save();
+		});
+	}
+
+	@Override
+	public boolean listContains(final String group, final String pluginKey, final String dataKey, final String element) {
+		return StripedLocks.read(this.locks.getGroup(group, pluginKey), () -> {
+			final ConfigPair pair = getGroupPair(group, pluginKey);
+			if(pair == null) {
+				return false;
+			}
+			return ConfigLists.contains(pair.config, buildConfigKeyGroupData(ConfigDataType.LIST, dataKey), element);
+		});
+	}
+
+	@Override
+	public int getListSize(final String group, final String pluginKey, final String dataKey) {
+		return StripedLocks.read(this.locks.getGroup(group, pluginKey), () -> {
+			final ConfigPair pair = getGroupPair(group, pluginKey);
+			if(pair == null) {
+				return 0;
+			}
+			return ConfigLists.size(pair.config, buildConfigKeyGroupData(ConfigDataType.LIST, dataKey));
+		});
+	}
+
+	@Override
+	public List<String> getListRange(final String group, final String pluginKey, final String dataKey, final int start, final int count) {
+		return StripedLocks.read(this.locks.getGroup(group, pluginKey), () -> {
+			final ConfigPair pair = getGroupPair(group, pluginKey);
+			if(pair == null) {
+				return new ArrayList<>();
+			}
+			return ConfigLists.range(pair.config, buildConfigKeyGroupData(ConfigDataType.LIST, dataKey), start, count);
+		});
+	}
+
+	@Override
+	public Optional<Integer> increment(final String group, final String pluginKey, final String dataKey, final int delta) {
+		return StripedLocks.write(this.locks.getGroup(group, pluginKey), () -> {
+			final ConfigPair pair = getGroupPair(group, pluginKey);
+			if(pair == null) {
+				return Optional.empty();
+			}
+			final int value = ConfigNumbers.add(pair.config, buildConfigKeyGroupData(ConfigDataType.INT, dataKey), NumericType.INT, delta).intValue();
+			if(!pair.save()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
+	}
+
+	@Override
+	public boolean compareAndSet(final String group, final String pluginKey, final String dataKey, final int expected, final int data) {
+		return StripedLocks.write(this.locks.getGroup(group, pluginKey), () -> {
+			final ConfigPair pair = getGroupPair(group, pluginKey);
+			if(pair == null) {
+				return false;
+			}
+			if(!ConfigNumbers.compareAndSet(pair.config, buildConfigKeyGroupData(ConfigDataType.INT, dataKey), NumericType.INT, expected, data)) {
+				return false;
+			}
+			return pair.save();
+		});
+	}
+
+	@Override
+	public Optional<Long> increment(final String group, final String pluginKey, final String dataKey, final long delta) {
+		return StripedLocks.write(this.locks.getGroup(group, pluginKey), () -> {
+			final ConfigPair pair = getGroupPair(group, pluginKey);
+			if(pair == null) {
+				return Optional.empty();
+			}
+			final long value = ConfigNumbers.add(pair.config, buildConfigKeyGroupData(ConfigDataType.LONG, dataKey), NumericType.LONG, delta).longValue();
+			if(!pair.save()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
+	}
+
+	@Override
+	public boolean compareAndSet(final String group, final String pluginKey, final String dataKey, final long expected, final long data) {
+		return StripedLocks.write(this.locks.getGroup(group, pluginKey), () -> {
+			final ConfigPair pair = getGroupPair(group, pluginKey);
+			if(pair == null) {
+				return false;
+			}
+			if(!ConfigNumbers.compareAndSet(pair.config, buildConfigKeyGroupData(ConfigDataType.LONG, dataKey), NumericType.LONG, expected, data)) {
+				return false;
+			}
+			return pair.save();
+		});
+	}
+
+	@Override
+	public Optional<Float> increment(final String group, final String pluginKey, final String dataKey, final float delta) {
+		return StripedLocks.write(this.locks.getGroup(group, pluginKey), () -> {
+			final ConfigPair pair = getGroupPair(group, pluginKey);
+			if(pair == null) {
+				return Optional.empty();
+			}
+			final float value = ConfigNumbers.add(pair.config, buildConfigKeyGroupData(ConfigDataType.FLOAT, dataKey), NumericType.FLOAT, delta).floatValue();
+			if(!pair.save()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
+	}
+
+	@Override
+	public boolean compareAndSet(final String group, final String pluginKey, final String dataKey, final float expected, final float data) {
+		return StripedLocks.write(this.locks.getGroup(group, pluginKey), () -> {
+			final ConfigPair pair = getGroupPair(group, pluginKey);
+			if(pair == null) {
+				return false;
+			}
+			if(!ConfigNumbers.compareAndSet(pair.config, buildConfigKeyGroupData(ConfigDataType.FLOAT, dataKey), NumericType.FLOAT, expected, data)) {
+				return false;
+			}
+			return pair.save();
+		});
+	}
+
+	@Override
+	public Optional<Double> increment(final String group, final String pluginKey, final String dataKey, final double delta) {
+		return StripedLocks.write(this.locks.getGroup(group, pluginKey), () -> {
+			final ConfigPair pair = getGroupPair(group, pluginKey);
+			if(pair == null) {
+				return Optional.empty();
+			}
+			final double value = ConfigNumbers.add(pair.config, buildConfigKeyGroupData(ConfigDataType.DOUBLE, dataKey), NumericType.DOUBLE, delta).doubleValue();
+			if(!pair.save()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
+	}
+
+	@Override
+	public boolean compareAndSet(final String group, final String pluginKey, final String dataKey, final double expected, final double data) {
+		return StripedLocks.write(this.locks.getGroup(group, pluginKey), () -> {
+			final ConfigPair pair = getGroupPair(group, pluginKey);
+			if(pair == null) {
+				return false;
+			}
+			if(!ConfigNumbers.compareAndSet(pair.config, buildConfigKeyGroupData(ConfigDataType.DOUBLE, dataKey), NumericType.DOUBLE, expected, data)) {
+				return false;
+			}
+			return pair.save();
+		});
 	}
 	
 	@Override
 	public boolean set(final UUID uuid, final String group, final String pluginKey, final String dataKey, final String data) {
-		final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
-		if(map == null || !map.containsKey(group)) {
-			return false;
-		}
-		final ConfigPair pair = this.playerConfigs.get(uuid);
-		pair.config.set(buildConfigKeyPlayerGroupData(group, ConfigDataType.STRING, pluginKey, dataKey), data);
-		return pair.save();
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
+			if(map == null || !map.containsKey(group)) {
+				return false;
+			}
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			pair.config.set(buildConfigKeyPlayerGroupData(group, ConfigDataType.STRING, pluginKey, dataKey), data);
+			return pair.save();
+		});
 	}
 	
 	@Override
 	public boolean set(final UUID uuid, final String group, final String pluginKey, final String dataKey, final int data) {
-		final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
-		if(map == null || !map.containsKey(group)) {
-			return false;
-		}
-		final ConfigPair pair = this.playerConfigs.get(uuid);
-		pair.config.set(buildConfigKeyPlayerGroupData(group, ConfigDataType.INT, pluginKey, dataKey), data);
-		return pair.save();
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
+			if(map == null || !map.containsKey(group)) {
+				return false;
+			}
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			pair.config.set(buildConfigKeyPlayerGroupData(group, ConfigDataType.INT, pluginKey, dataKey), data);
+			return pair.save();
+		});
 	}
 	
 	@Override
 	public boolean set(final UUID uuid, final String group, final String pluginKey, final String dataKey, final long data) {
-		final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
-		if(map == null || !map.containsKey(group)) {
-			return false;
-		}
-		final ConfigPair pair = this.playerConfigs.get(uuid);
-		pair.config.set(buildConfigKeyPlayerGroupData(group, ConfigDataType.LONG, pluginKey, dataKey), data);
-		return pair.save();
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
+			if(map == null || !map.containsKey(group)) {
+				return false;
+			}
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			pair.config.set(buildConfigKeyPlayerGroupData(group, ConfigDataType.LONG, pluginKey, dataKey), data);
+			return pair.save();
+		});
 	}
 	
 	@Override
 	public boolean set(final UUID uuid, final String group, final String pluginKey, final String dataKey, final float data) {
-		final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
-		if(map == null || !map.containsKey(group)) {
-			return false;
-		}
-		final ConfigPair pair = this.playerConfigs.get(uuid);
-		pair.config.set(buildConfigKeyPlayerGroupData(group, ConfigDataType.FLOAT, pluginKey, dataKey), data);
-		return pair.save();
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
+			if(map == null || !map.containsKey(group)) {
+				return false;
+			}
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			pair.config.set(buildConfigKeyPlayerGroupData(group, ConfigDataType.FLOAT, pluginKey, dataKey), data);
+			return pair.save();
+		});
 	}
 	
 	@Override
 	public boolean set(final UUID uuid, final String group, final String pluginKey, final String dataKey, final double data) {
-		final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
-		if(map == null || !map.containsKey(group)) {
-			return false;
-		}
-		final ConfigPair pair = this.playerConfigs.get(uuid);
-		pair.config.set(buildConfigKeyPlayerGroupData(group, ConfigDataType.DOUBLE, pluginKey, dataKey), data);
-		return pair.save();
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
+			if(map == null || !map.containsKey(group)) {
+				return false;
+			}
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			pair.config.set(buildConfigKeyPlayerGroupData(group, ConfigDataType.DOUBLE, pluginKey, dataKey), data);
+			return pair.save();
+		});
 	}
 	
 	@Override
 	public boolean set(final UUID uuid, final String group, final String pluginKey, final String dataKey, final boolean data) {
-		final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
-		if(map == null || !map.containsKey(group)) {
-			return false;
-		}
-		final ConfigPair pair = this.playerConfigs.get(uuid);
-		pair.config.set(buildConfigKeyPlayerGroupData(group, ConfigDataType.BOOLEAN, pluginKey, dataKey), data);
-		return pair.save();
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
+			if(map == null || !map.containsKey(group)) {
+				return false;
+			}
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			pair.config.set(buildConfigKeyPlayerGroupData(group, ConfigDataType.BOOLEAN, pluginKey, dataKey), data);
+			return pair.save();
+		});
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String group, final String pluginKey, final String dataKey, final List<String> data) {
-		final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
-		if(map == null || !map.containsKey(group)) {
-			return false;
-		}
-		final ConfigPair pair = this.playerConfigs.get(uuid);
-		pair.config.set(buildConfigKeyPlayerGroupData(group, ConfigDataType.LIST, pluginKey, dataKey), data);
-		return pair.save();
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
+			if(map == null || !map.containsKey(group)) {
+				return false;
+			}
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			pair.config.set(buildConfigKeyPlayerGroupData(group, ConfigDataType.LIST, pluginKey, dataKey), new ArrayList<>(data));
+			return pair.save();
+		});
 	}
 	
 	@Override
 	public Optional<String> getString(final UUID uuid, final String group, final String pluginKey, final String dataKey){
-		final ConfigPair pair = this.playerConfigs.get(uuid);
-		final String data = pair.config.getString(buildConfigKeyPlayerGroupData(group, ConfigDataType.STRING, pluginKey, dataKey));
-		if(data == null) {
-			return Optional.empty();
-		}
-		return Optional.of(data);
+		return StripedLocks.read(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			final String data = pair.config.getString(buildConfigKeyPlayerGroupData(group, ConfigDataType.STRING, pluginKey, dataKey));
+			if(data == null) {
+				return Optional.empty();
+			}
+			return Optional.of(data);
+		});
 	}
 	
 	@Override
 	public Optional<Integer> getInt(final UUID uuid, final String group, final String pluginKey, final String dataKey){
-		final ConfigPair pair = this.playerConfigs.get(uuid);
-		final String configKey = buildConfigKeyPlayerGroupData(group, ConfigDataType.INT, pluginKey, dataKey);
-		if(!pair.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(pair.config.getInt(configKey));
+		return StripedLocks.read(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			final String configKey = buildConfigKeyPlayerGroupData(group, ConfigDataType.INT, pluginKey, dataKey);
+			if(!pair.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(pair.config.getInt(configKey));
+		});
 	}
 	
 	@Override
 	public Optional<Long> getLong(final UUID uuid, final String group, final String pluginKey, final String dataKey){
-		final ConfigPair pair = this.playerConfigs.get(uuid);
-		final String configKey = buildConfigKeyPlayerGroupData(group, ConfigDataType.LONG, pluginKey, dataKey);
-		if(!pair.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(pair.config.getLong(configKey));
+		return StripedLocks.read(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			final String configKey = buildConfigKeyPlayerGroupData(group, ConfigDataType.LONG, pluginKey, dataKey);
+			if(!pair.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(pair.config.getLong(configKey));
+		});
 	}
 	
 	@Override
 	public Optional<Float> getFloat(final UUID uuid, final String group, final String pluginKey, final String dataKey){
-		final ConfigPair pair = this.playerConfigs.get(uuid);
-		final String configKey = buildConfigKeyPlayerGroupData(group, ConfigDataType.FLOAT, pluginKey, dataKey);
-		if(!pair.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of((float) pair.config.getDouble(configKey));
+		return StripedLocks.read(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			final String configKey = buildConfigKeyPlayerGroupData(group, ConfigDataType.FLOAT, pluginKey, dataKey);
+			if(!pair.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of((float) pair.config.getDouble(configKey));
+		});
 	}
 	
 	@Override
 	public Optional<Double> getDouble(final UUID uuid, final String group, final String pluginKey, final String dataKey){
-		final ConfigPair pair = this.playerConfigs.get(uuid);
-		final String configKey = buildConfigKeyPlayerGroupData(group, ConfigDataType.DOUBLE, pluginKey, dataKey);
-		if(!pair.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(pair.config.getDouble(configKey));
+		return StripedLocks.read(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			final String configKey = buildConfigKeyPlayerGroupData(group, ConfigDataType.DOUBLE, pluginKey, dataKey);
+			if(!pair.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(pair.config.getDouble(configKey));
+		});
 	}
 	
 	@Override
 	public Optional<Boolean> getBoolean(final UUID uuid, final String group, final String pluginKey, final String dataKey){
-		final ConfigPair pair = this.playerConfigs.get(uuid);
-		final String configKey = buildConfigKeyPlayerGroupData(group, ConfigDataType.BOOLEAN, pluginKey, dataKey);
-		if(!pair.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(pair.config.getBoolean(configKey));
+		return StripedLocks.read(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			final String configKey = buildConfigKeyPlayerGroupData(group, ConfigDataType.BOOLEAN, pluginKey, dataKey);
+			if(!pair.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(pair.config.getBoolean(configKey));
+		});
 	}
 	
 	@Override
 	public Optional<List<String>> getList(final UUID uuid, final String group, final String pluginKey, final String dataKey){
-		final ConfigPair pair = this.playerConfigs.get(uuid);
-		final String configKey = buildConfigKeyPlayerGroupData(group, ConfigDataType.LIST, pluginKey, dataKey);
-		if(!pair.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(pair.config.getStringList(configKey));
+		return StripedLocks.read(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			final String configKey = buildConfigKeyPlayerGroupData(group, ConfigDataType.LIST, pluginKey, dataKey);
+			if(!pair.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(pair.config.getStringList(configKey));
+		});
+	}
+
+	@Override
+	public void forEachValue(final UUID uuid, final String group, final String pluginKey, final BiConsumer<String, Object> consumer) {
+		StripedLocks.read(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			// the files of players that are not online are not loaded
+			final ConfigurationSection section = pair == null ? null : pair.config.getConfigurationSection(buildConfigKeyPlayerGroup(group, pluginKey));
+			if(section != null) {
+				ConfigExport.forEachValue(section, consumer);
+			}
+		});
+	}
+
+	@Override
+	public boolean appendToList(final UUID uuid, final String group, final String pluginKey, final String dataKey, final String element) {
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
+			if(map == null || !map.containsKey(group)) {
+				return false;
+			}
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			ConfigLists.append(pair.config, buildConfigKeyPlayerGroupData(group, ConfigDataType.LIST, pluginKey, dataKey), element);
+			return pair.save();
+		});
+	}
+
+	@Override
+	public boolean removeFromList(final UUID uuid, final String group, final String pluginKey, final String dataKey, final String element) {
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
+			if(map == null || !map.containsKey(group)) {
+				return false;
+			}
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			if(!ConfigLists.remove(pair.config, buildConfigKeyPlayerGroupData(group, ConfigDataType.LIST, pluginKey, dataKey), element)) {
+				return false;
+			}
+			return pair.save();
+		});
+	}
+
+	@Override
+	public boolean listContains(final UUID uuid, final String group, final String pluginKey, final String dataKey, final String element) {
+		return StripedLocks.read(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			return ConfigLists.contains(pair.config, buildConfigKeyPlayerGroupData(group, ConfigDataType.LIST, pluginKey, dataKey), element);
+		});
+	}
+
+	@Override
+	public int getListSize(final UUID uuid, final String group, final String pluginKey, final String dataKey) {
+		return StripedLocks.read(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			return ConfigLists.size(pair.config, buildConfigKeyPlayerGroupData(group, ConfigDataType.LIST, pluginKey, dataKey));
+		});
+	}
+
+	@Override
+	public List<String> getListRange(final UUID uuid, final String group, final String pluginKey, final String dataKey, final int start, final int count) {
+		return StripedLocks.read(this.locks.getPlayer(uuid), () -> {
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			return ConfigLists.range(pair.config, buildConfigKeyPlayerGroupData(group, ConfigDataType.LIST, pluginKey, dataKey), start, count);
+		});
+	}
+
+	@Override
+	public Optional<Integer> increment(final UUID uuid, final String group, final String pluginKey, final String dataKey, final int delta) {
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
+			if(map == null || !map.containsKey(group)) {
+				return Optional.empty();
+			}
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			final int value = ConfigNumbers.add(pair.config, buildConfigKeyPlayerGroupData(group, ConfigDataType.INT, pluginKey, dataKey), NumericType.INT, delta).intValue();
+			if(!pair.save()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
+	}
+
+	@Override
+	public boolean compareAndSet(final UUID uuid, final String group, final String pluginKey, final String dataKey, final int expected, final int data) {
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
+			if(map == null || !map.containsKey(group)) {
+				return false;
+			}
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			if(!ConfigNumbers.compareAndSet(pair.config, buildConfigKeyPlayerGroupData(group, ConfigDataType.INT, pluginKey, dataKey), NumericType.INT, expected, data)) {
+				return false;
+			}
+			return pair.save();
+		});
+	}
+
+	@Override
+	public Optional<Long> increment(final UUID uuid, final String group, final String pluginKey, final String dataKey, final long delta) {
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
+			if(map == null || !map.containsKey(group)) {
+				return Optional.empty();
+			}
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			final long value = ConfigNumbers.add(pair.config, buildConfigKeyPlayerGroupData(group, ConfigDataType.LONG, pluginKey, dataKey), NumericType.LONG, delta).longValue();
+			if(!pair.save()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
+	}
+
+	@Override
+	public boolean compareAndSet(final UUID uuid, final String group, final String pluginKey, final String dataKey, final long expected, final long data) {
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
+			if(map == null || !map.containsKey(group)) {
+				return false;
+			}
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			if(!ConfigNumbers.compareAndSet(pair.config, buildConfigKeyPlayerGroupData(group, ConfigDataType.LONG, pluginKey, dataKey), NumericType.LONG, expected, data)) {
+				return false;
+			}
+			return pair.save();
+		});
+	}
+
+	@Override
+	public Optional<Float> increment(final UUID uuid, final String group, final String pluginKey, final String dataKey, final float delta) {
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
+			if(map == null || !map.containsKey(group)) {
+				return Optional.empty();
+			}
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			final float value = ConfigNumbers.add(pair.config, buildConfigKeyPlayerGroupData(group, ConfigDataType.FLOAT, pluginKey, dataKey), NumericType.FLOAT, delta).floatValue();
+			if(!pair.save()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
+	}
+
+	@Override
+	public boolean compareAndSet(final UUID uuid, final String group, final String pluginKey, final String dataKey, final float expected, final float data) {
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
+			if(map == null || !map.containsKey(group)) {
+				return false;
+			}
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			if(!ConfigNumbers.compareAndSet(pair.config, buildConfigKeyPlayerGroupData(group, ConfigDataType.FLOAT, pluginKey, dataKey), NumericType.FLOAT, expected, data)) {
+				return false;
+			}
+			return pair.save();
+		});
+	}
+
+	@Override
+	public Optional<Double> increment(final UUID uuid, final String group, final String pluginKey, final String dataKey, final double delta) {
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
+			if(map == null || !map.containsKey(group)) {
+				return Optional.empty();
+			}
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			final double value = ConfigNumbers.add(pair.config, buildConfigKeyPlayerGroupData(group, ConfigDataType.DOUBLE, pluginKey, dataKey), NumericType.DOUBLE, delta).doubleValue();
+			if(!pair.save()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
+	}
+
+	@Override
+	public boolean compareAndSet(final UUID uuid, final String group, final String pluginKey, final String dataKey, final double expected, final double data) {
+		return StripedLocks.write(this.locks.getPlayer(uuid), () -> {
+			final Map<String, ConfigPair> map = this.groupConfigs.get(pluginKey);
+			if(map == null || !map.containsKey(group)) {
+				return false;
+			}
+			final ConfigPair pair = this.playerConfigs.get(uuid);
+			if(!ConfigNumbers.compareAndSet(pair.config, buildConfigKeyPlayerGroupData(group, ConfigDataType.DOUBLE, pluginKey, dataKey), NumericType.DOUBLE, expected, data)) {
+				return false;
+			}
+			return pair.save();
+		});
 	}
 	
 	private static String buildConfigKeyGlobalData(final ConfigDataType type, final String pluginKey, final String dataKey) {
 		return MultiYamlDataSource.CONFIG_TYPE_GLOBAL + "." + pluginKey + "." + type.getKey() + "." + dataKey;
 	}
 	
+	private static File getPlayerFile(final UUID uuid) {
+		return new File(MultiYamlDataSource.PLAYER_FILE_PATH + uuid.toString() + MultiYamlDataSource.FILE_EXTENSION);
+	}
+	
+	/**
+	 * @return the ranking of the key, which is not ready yet while its files are still being read
+	 */
+	private Ranking getRanking(final String pluginKey, final String dataKey, final NumericType type) {
+		final String rankingKey = buildConfigKeyPlayerData(ConfigDataType.of(type), pluginKey, dataKey);
+		final Ranking ranking = this.rankings.get(rankingKey);
+		if(ranking != null) {
+			return ranking;
+		}
+		
+		// the ranking is published before it is filled, so the setters already update it while the files are read
+		final Ranking created = new Ranking(type);
+		final Ranking existing = this.rankings.putIfAbsent(rankingKey, created);
+		if(existing != null) {
+			return existing;
+		}
+		
+		// reading the file of every player takes long, so it does not block the caller unless there is no server to run it on
+		if(this.plugin == null) {
+			buildRanking(rankingKey, created);
+		} else {
+			Bukkit.getScheduler().runTaskAsynchronously(this.plugin, () -> buildRanking(rankingKey, created));
+		}
+		return created;
+	}
+	
+	private void buildRanking(final String rankingKey, final Ranking ranking) {
+		// the ranking is built once from the files of all players, afterwards it is kept up to date by the setters
+		final File[] files = new File(MultiYamlDataSource.PLAYER_FILE_PATH).listFiles((directory, name) -> name.endsWith(MultiYamlDataSource.FILE_EXTENSION));
+		if(files != null) {
+			for(final File file: files) {
+				final String fileName = file.getName();
+				final UUID uuid = ConfigExport.parseUuid(fileName.substring(0, fileName.length() - MultiYamlDataSource.FILE_EXTENSION.length()));
+				if(uuid == null) {
+					// other files in the folder, like backups with a changed name, are not players
+					continue;
+				}
+				// reading and ranking the value under the lock of the player keeps a concurrent setter from being overwritten
+				StripedLocks.read(this.locks.getPlayer(uuid), () -> {
+					// loaded configs of online players may hold changes that are not saved yet
+					final ConfigPair pair = this.playerConfigs.get(uuid);
+					final YamlConfiguration config = pair == null ? YamlConfiguration.loadConfiguration(file) : pair.config;
+					final Object value = config.get(rankingKey);
+					if(value instanceof Number) {
+						ranking.update(uuid, (Number) value);
+					}
+				});
+			}
+		}
+		
+		ranking.setReady();
+	}
+	
+	private void updateRanking(final UUID uuid, final String pluginKey, final String dataKey, final NumericType type, final Number value) {
+		final Ranking ranking = this.rankings.get(buildConfigKeyPlayerData(ConfigDataType.of(type), pluginKey, dataKey));
+		if(ranking != null) {
+			ranking.update(uuid, value);
+		}
+	}
+	
 	private static String buildConfigKeyPlayerData(final ConfigDataType type, final String pluginKey, final String dataKey) {
 		return pluginKey + "." + type.getKey() + "." + dataKey;
 	}
@@ -839,7 +1990,7 @@ public class MultiYamlDataSource implements DataSource{
 	}
 	
 	private void setUpPluginGroups(final String pluginKey) {
-		this.groupConfigs.put(pluginKey, new HashMap<String, ConfigPair>());
+		this.groupConfigs.put(pluginKey, new ConcurrentHashMap<String, ConfigPair>());
 		
 		try (Stream<Path> walk = Files.walk(Paths.get(MultiYamlDataSource.GROUP_FILE_PATH + pluginKey + "/"))) {
 
@@ -870,11 +2021,14 @@ public class MultiYamlDataSource implements DataSource{
 
 	
 	private boolean saveGlobal() {
+		final Span span = Tracing.get().beginFileSave(this.globalFile.getPath());
 		try {
 			this.globalConfig.save(this.globalFile);
 			return true;
 		}catch(final IOException ex) {
 			return false;
+		} finally {
+			span.end(this.globalFile.length());
 		}
 	}
 
@@ -0,0 +1,252 @@
+package com.versuchdrei.datamanager.datasource.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+
+import com.versuchdrei.datamanager.NumericType;
+import com.versuchdrei.datamanager.RankedEntry;
+
+/**
+ * Keeps the values of all players for one key sorted, so ranked queries do not have to look at every player. 
+ * The values are held in a treap where every node knows the size of its subtree, 
+ * which makes every update, rank lookup and access by rank take logarithmic time.
+ * Players are ordered by their value descending and by their id descending on ties, just like the database backends do.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+class Ranking {
+	
+	private static final Random RANDOM = new Random();
+	
+	private static class Node {
+		
+		private final UUID uuid;
+		private final String id;
+		private final Number value;
+		private final int priority;
+		private int size = 1;
+		private Node left;
+		private Node right;
+		
+		private Node(final UUID uuid, final Number value) {
+			this.uuid = uuid;
+			this.id = uuid.toString();
+			this.value = value;
+			this.priority = Ranking.RANDOM.nextInt();
+		}
+		
+		private void update() {
+			this.size = 1 + size(this.left) + size(this.right);
+		}
+	}
+	
+	private static int size(final Node node) {
+		return node == null ? 0 : node.size;
+	}
+	
+	/**
+	 * converts a value as it is read from a configuration into the boxed type of the ranking
+	 * @param type the type of the ranking
+	 * @param value the value to convert
+	 * @return the converted value
+	 */
+	static Number normalize(final NumericType type, final Number value) {
+		switch(type) {
+		case INT:
+			return value.intValue();
+		case LONG:
+			return value.longValue();
+		case FLOAT:
+			return value.floatValue();
+		case DOUBLE:
+		default:
+			return value.doubleValue();
+		}
+	}
+	
+	private final NumericType type;
+	private final Map<UUID, Node> nodes = new HashMap<>();
+	private Node root;
+	// false while the ranking is still being filled with the existing values
+	private volatile boolean ready = false;
+	
+	Ranking(final NumericType type) {
+		this.type = type;
+	}
+	
+	/**
+	 * marks the ranking as filled with all existing values
+	 */
+	void setReady() {
+		this.ready = true;
+	}
+	
+	/**
+	 * @return true if the ranking was filled with all existing values, otherwise false
+	 */
+	boolean isReady() {
+		return this.ready;
+	}
+	
+	/**
+	 * sets the value of the player, adding the player to the ranking if necessary
+	 * @param uuid the id of the player
+	 * @param value the new value of the player
+	 */
+	synchronized void update(final UUID uuid, final Number value) {
+		remove(uuid);
+		final Node node = new Node(uuid, normalize(this.type, value));
+		this.nodes.put(uuid, node);
+		
+		final Node[] parts = split(this.root, node);
+		this.root = merge(merge(parts[0], node), parts[1]);
+	}
+	
+	synchronized void remove(final UUID uuid) {
+		final Node node = this.nodes.remove(uuid);
+		if(node != null) {
+			this.root = remove(this.root, node);
+		}
+	}
+	
+	/**
+	 * returns up to limit players beginning at the rank offset + 1
+	 * @param offset the number of players to skip
+	 * @param limit the maximum number of players to return
+	 * @return the players with their ranks
+	 */
+	synchronized List<RankedEntry> getPage(final int offset, final int limit) {
+		final List<RankedEntry> page = new ArrayList<>();
+		if(offset < 0 || limit <= 0) {
+			return page;
+		}
+		
+		final int end = (int) Math.min(size(this.root), (long) offset + limit);
+		for(int i = offset; i < end; i++) {
+			final Node node = select(i);
+			page.add(new RankedEntry(i + 1, node.uuid, node.value));
+		}
+		return page;
+	}
+	
+	/**
+	 * returns the rank of the player, 1 being the highest value
+	 * @param uuid the id of the player
+	 * @return the rank of the player, or an empty optional if the player is not ranked
+	 */
+	synchronized Optional<Integer> getRank(final UUID uuid) {
+		final Node node = this.nodes.get(uuid);
+		if(node == null) {
+			return Optional.empty();
+		}
+		
+		int above = 0;
+		Node current = this.root;
+		while(current != node) {
+			if(compare(node, current) < 0) {
+				current = current.left;
+			} else {
+				above += size(current.left) + 1;
+				current = current.right;
+			}
+		}
+		return Optional.of(above + size(node.left) + 1);
+	}
+	
+	/**
+	 * compares two nodes by their order in the ranking
+	 * @return a negative number if the first node ranks higher than the second one
+	 */
+	private int compare(final Node first, final Node second) {
+		final int byValue;
+		if(this.type == NumericType.INT || this.type == NumericType.LONG) {
+			byValue = Long.compare(second.value.longValue(), first.value.longValue());
+		} else {
+			byValue = Double.compare(second.value.doubleValue(), first.value.doubleValue());
+		}
+		
+		if(byValue != 0) {
+			return byValue;
+		}
+		return second.id.compareTo(first.id);
+	}
+	
+	private Node select(int index) {
+		Node current = this.root;
+		while(current != null) {
+			final int leftSize = size(current.left);
+			if(index < leftSize) {
+				current = current.left;
+			} else if(index == leftSize) {
+				return current;
+			} else {
+				index -= leftSize + 1;
+				current = current.right;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * splits the tree into the nodes ranking higher than the given node and all others
+	 */
+	private Node[] split(final Node tree, final Node node) {
+		if(tree == null) {
+			return new Node[] {null, null};
+		}
+		
+		if(compare(tree, node) < 0) {
+			final Node[] parts = split(tree.right, node);
+			tree.right = parts[0];
+			tree.update();
+			return new Node[] {tree, parts[1]};
+		}
+		
+		final Node[] parts = split(tree.left, node);
+		tree.left = parts[1];
+		tree.update();
+		return new Node[] {parts[0], tree};
+	}
+	
+	private Node merge(final Node first, final Node second) {
+		if(first == null) {
+			return second;
+		}
+		if(second == null) {
+			return first;
+		}
+		
+		if(first.priority > second.priority) {
+			first.right = merge(first.right, second);
+			first.update();
+			return first;
+		}
+		
+		second.left = merge(first, second.left);
+		second.update();
+		return second;
+	}
+	
+	private Node remove(final Node tree, final Node node) {
+		if(tree == null) {
+			return null;
+		}
+		if(tree == node) {
+			return merge(tree.left, tree.right);
+		}
+		
+		if(compare(node, tree) < 0) {
+			tree.left = remove(tree.left, node);
+		} else {
+			tree.right = remove(tree.right, node);
+		}
+		tree.update();
+		return tree;
+	}
+
+}
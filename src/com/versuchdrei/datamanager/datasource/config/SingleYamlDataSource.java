@@ -3,15 +3,30 @@ package com.versuchdrei.datamanager.datasource.config;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.YamlConfiguration;
 
+import com.versuchdrei.datamanager.NumericType;
+import com.versuchdrei.datamanager.RankedEntry;
 import com.versuchdrei.datamanager.datasource.DataSource;
+import com.versuchdrei.datamanager.datasource.DataVisitor;
+import com.versuchdrei.datamanager.datasource.StorageUsage;
+import com.versuchdrei.datamanager.trace.Span;
+import com.versuchdrei.datamanager.trace.Tracing;
 
 /**
  * a datasource for a single yaml file holding all information
@@ -27,564 +42,1426 @@ public class SingleYamlDataSource implements DataSource{
 	private static final String CONFIG_TYPE_GROUPS = "groups";
 	private static final String CONFIG_TYPE_MEMBERS = "members";
 	
+	/**
+	 * writes visited data directly into the file, which is only saved once at the end, 
+	 * while writing through the data source saves the whole file after every value
+	 */
+	private static class FileWriter implements DataVisitor{
+		
+		private final File configFile = new File(DataSource.FILE_PATH + SingleYamlDataSource.FILE_NAME);
+		private final YamlConfiguration config = YamlConfiguration.loadConfiguration(this.configFile);
+		
+		@Override
+		public void visitGlobal(final String pluginKey, final String dataKey, final Object value) {
+			ConfigLists.setCopy(this.config, buildConfigKeyGlobalData(ConfigDataType.ofValue(value), pluginKey, dataKey), value);
+		}
+		
+		@Override
+		public void visitPlayer(final UUID uuid, final String pluginKey, final String dataKey, final Object value) {
+			ConfigLists.setCopy(this.config, buildConfigKeyPlayerData(uuid, ConfigDataType.ofValue(value), pluginKey, dataKey), value);
+		}
+		
+		@Override
+		public void visitGroup(final String group, final String pluginKey, final List<UUID> members) {
+			final String configKey = buildConfigKeyMembers(group, pluginKey);
+			final LinkedHashSet<String> uuids = new LinkedHashSet<>(this.config.getStringList(configKey));
+			for(final UUID member: members) {
+				uuids.add(member.toString());
+			}
+			this.config.set(configKey, new ArrayList<>(uuids));
+		}
+		
+		@Override
+		public void visitGroupValue(final String group, final String pluginKey, final String dataKey, final Object value) {
+			ConfigLists.setCopy(this.config, buildConfigKeyGroupData(group, ConfigDataType.ofValue(value), pluginKey, dataKey), value);
+		}
+		
+		@Override
+		public void visitMemberValue(final UUID uuid, final String group, final String pluginKey, final String dataKey, final Object value) {
+			ConfigLists.setCopy(this.config, buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.ofValue(value), pluginKey, dataKey), value);
+		}
+		
+		@Override
+		public boolean finish() {
+			this.configFile.getAbsoluteFile().getParentFile().mkdirs();
+			try {
+				this.config.save(this.configFile);
+				return true;
+			} catch (final IOException e) {
+				e.printStackTrace();
+				return false;
+			}
+		}
+		
+	}
+	
 	private final File configFile;
 	private final YamlConfiguration config;
+	// all data shares one configuration that is saved as a whole, so reads may run in parallel but writes are exclusive
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	// rankings are only built for keys that were queried, by the key of the ranked data
+	private final Map<String, Ranking> rankings = new ConcurrentHashMap<>();
 	
 	public SingleYamlDataSource() {
 		this.configFile = new File(DataSource.FILE_PATH + SingleYamlDataSource.FILE_NAME);
 		this.config = YamlConfiguration.loadConfiguration(configFile);
 	}
 	
+	/**
+	 * creates a writer that stores visited data directly in the file of this backend, 
+	 * it must not be used while a data source of this backend is running
+	 * @return the writer, data is only guaranteed to be written once it is finished
+	 */
+	public static DataVisitor createWriter() {
+		return new FileWriter();
+	}
+	
+	/**
+	 * hands all data stored in the file of this backend to the visitor, groups with their members before the values of the players, 
+	 * it must not be used while a data source of this backend is running
+	 * @param visitor the visitor to hand the data to, it is not finished by this method
+	 */
+	public static void export(final DataVisitor visitor) {
+		final YamlConfiguration config = YamlConfiguration.loadConfiguration(new File(DataSource.FILE_PATH + SingleYamlDataSource.FILE_NAME));
+		
+		final ConfigurationSection groups = config.getConfigurationSection(SingleYamlDataSource.CONFIG_TYPE_GROUPS);
+		ConfigExport.forEachSection(groups, (pluginKey, pluginGroups) -> ConfigExport.forEachSection(pluginGroups, (group, section) -> {
+			visitor.visitGroup(group, pluginKey, ConfigExport.parseUuids(section.getStringList(SingleYamlDataSource.CONFIG_TYPE_MEMBERS)));
+			ConfigExport.forEachValue(section, (dataKey, value) -> visitor.visitGroupValue(group, pluginKey, dataKey, value));
+		}));
+		
+		ConfigExport.forEachSection(config.getConfigurationSection(SingleYamlDataSource.CONFIG_TYPE_GLOBAL), (pluginKey, section) -> 
+				ConfigExport.forEachValue(section, (dataKey, value) -> visitor.visitGlobal(pluginKey, dataKey, value)));
+		
+		ConfigExport.forEachSection(config.getConfigurationSection(SingleYamlDataSource.CONFIG_TYPE_PLAYERS), (player, playerSection) -> {
+			final UUID uuid = ConfigExport.parseUuid(player);
+			if(uuid == null) {
+				return;
+			}
+			
+			ConfigExport.forEachSection(playerSection, (segment, section) -> {
+				final String pluginKey = getPlayerPluginKey(segment);
+				// a plugin whose key ends with the groups key is told apart by not owning any groups
+				if(pluginKey.equals(segment) || groups == null || !groups.isConfigurationSection(pluginKey)) {
+					ConfigExport.forEachValue(section, (dataKey, value) -> visitor.visitPlayer(uuid, segment, dataKey, value));
+					return;
+				}
+				
+				ConfigExport.forEachSection(section, (group, groupSection) -> 
+						ConfigExport.forEachValue(groupSection, (dataKey, value) -> visitor.visitMemberValue(uuid, group, pluginKey, dataKey, value)));
+			});
+		});
+	}
+	
 	@Override
 	public void setup() {
 	}
 
 	@Override
 	public void close() {
-		save();
+		StripedLocks.write(this.lock, () -> {
+			save();
+		});
+	}
+	
+	@Override
+	public Map<String, StorageUsage> countStorage(){
+		final Map<String, StorageUsage> usage = new HashMap<>();
+		StripedLocks.read(this.lock, () -> {
+			final ConfigurationSection global = this.config.getConfigurationSection(SingleYamlDataSource.CONFIG_TYPE_GLOBAL);
+			if(global != null) {
+				ConfigUsage.count(usage, global, 0, Function.identity());
+			}
+			final ConfigurationSection players = this.config.getConfigurationSection(SingleYamlDataSource.CONFIG_TYPE_PLAYERS);
+			if(players != null) {
+				ConfigUsage.count(usage, players, 1, SingleYamlDataSource::getPlayerPluginKey);
+			}
+			final ConfigurationSection groups = this.config.getConfigurationSection(SingleYamlDataSource.CONFIG_TYPE_GROUPS);
+			if(groups != null) {
+				ConfigUsage.count(usage, groups, 0, Function.identity());
+			}
+		});
+		return usage;
+	}
+	
+	private static String getPlayerPluginKey(final String segment) {
+		// the groups of a player are stored under the plugin key directly followed by the groups key
+		if(segment.length() > SingleYamlDataSource.CONFIG_TYPE_GROUPS.length() && segment.endsWith(SingleYamlDataSource.CONFIG_TYPE_GROUPS)) {
+			return segment.substring(0, segment.length() - SingleYamlDataSource.CONFIG_TYPE_GROUPS.length());
+		}
+		return segment;
 	}
 
 	@Override
 	public boolean set(final String pluginKey, final String dataKey, final String data) {
-		this.config.set(buildConfigKeyGlobalData(ConfigDataType.STRING, pluginKey, dataKey), data);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			this.config.set(buildConfigKeyGlobalData(ConfigDataType.STRING, pluginKey, dataKey), data);
+			return save();
+		});
 	}
 
 	@Override
 	public boolean set(final String pluginKey, final String dataKey, final int data) {
-		this.config.set(buildConfigKeyGlobalData(ConfigDataType.INT, pluginKey, dataKey), data);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			this.config.set(buildConfigKeyGlobalData(ConfigDataType.INT, pluginKey, dataKey), data);
+			return save();
+		});
 	}
 
 	@Override
 	public boolean set(final String pluginKey, final String dataKey, final long data) {
-		this.config.set(buildConfigKeyGlobalData(ConfigDataType.LONG, pluginKey, dataKey), data);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			this.config.set(buildConfigKeyGlobalData(ConfigDataType.LONG, pluginKey, dataKey), data);
+			return save();
+		});
 	}
 
 	@Override
 	public boolean set(final String pluginKey, final String dataKey, final float data) {
-		this.config.set(buildConfigKeyGlobalData(ConfigDataType.FLOAT, pluginKey, dataKey), data);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			this.config.set(buildConfigKeyGlobalData(ConfigDataType.FLOAT, pluginKey, dataKey), data);
+			return save();
+		});
 	}
 
 	@Override
 	public boolean set(final String pluginKey, final String dataKey, final double data) {
-		this.config.set(buildConfigKeyGlobalData(ConfigDataType.DOUBLE, pluginKey, dataKey), data);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			this.config.set(buildConfigKeyGlobalData(ConfigDataType.DOUBLE, pluginKey, dataKey), data);
+			return save();
+		});
 	}
 
 	@Override
 	public boolean set(final String pluginKey, final String dataKey, final boolean data) {
-		this.config.set(buildConfigKeyGlobalData(ConfigDataType.BOOLEAN, pluginKey, dataKey), data);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			this.config.set(buildConfigKeyGlobalData(ConfigDataType.BOOLEAN, pluginKey, dataKey), data);
+			return save();
+		});
 	}
 
 	@Override
 	public boolean set(final String pluginKey, final String dataKey, final List<String> data) {
-		this.config.set(buildConfigKeyGlobalData(ConfigDataType.LIST, pluginKey, dataKey), data);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			this.config.set(buildConfigKeyGlobalData(ConfigDataType.LIST, pluginKey, dataKey), new ArrayList<>(data));
+			return save();
+		});
 	}
 
 	@Override
 	public Optional<String> getString(final String pluginKey, final String dataKey) {
-		final String data = this.config.getString(buildConfigKeyGlobalData(ConfigDataType.STRING, pluginKey, dataKey));
-		if(data == null) {
-			return Optional.empty();
-		}
-		return Optional.of(data);
+		return StripedLocks.read(this.lock, () -> {
+			final String data = this.config.getString(buildConfigKeyGlobalData(ConfigDataType.STRING, pluginKey, dataKey));
+			if(data == null) {
+				return Optional.empty();
+			}
+			return Optional.of(data);
+		});
 	}
 
 	@Override
 	public Optional<Integer> getInt(final String pluginKey, final String dataKey) {
-		final String configKey = buildConfigKeyGlobalData(ConfigDataType.INT, pluginKey, dataKey);
-		if(!this.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(this.config.getInt(configKey));
+		return StripedLocks.read(this.lock, () -> {
+			final String configKey = buildConfigKeyGlobalData(ConfigDataType.INT, pluginKey, dataKey);
+			if(!this.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(this.config.getInt(configKey));
+		});
 	}
 
 	@Override
 	public Optional<Long> getLong(final String pluginKey, final String dataKey) {
-		final String configKey = buildConfigKeyGlobalData(ConfigDataType.LONG, pluginKey, dataKey);
-		if(!this.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(this.config.getLong(configKey));
+		return StripedLocks.read(this.lock, () -> {
+			final String configKey = buildConfigKeyGlobalData(ConfigDataType.LONG, pluginKey, dataKey);
+			if(!this.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(this.config.getLong(configKey));
+		});
 	}
 
 	@Override
 	public Optional<Float> getFloat(final String pluginKey, final String dataKey) {
-		final String configKey = buildConfigKeyGlobalData(ConfigDataType.FLOAT, pluginKey, dataKey);
-		if(!this.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of((float) this.config.getDouble(configKey));
+		return StripedLocks.read(this.lock, () -> {
+			final String configKey = buildConfigKeyGlobalData(ConfigDataType.FLOAT, pluginKey, dataKey);
+			if(!this.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of((float) this.config.getDouble(configKey));
+		});
 	}
 
 	@Override
 	public Optional<Double> getDouble(final String pluginKey, final String dataKey) {
-		final String configKey = buildConfigKeyGlobalData(ConfigDataType.DOUBLE, pluginKey, dataKey);
-		if(!this.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(this.config.getDouble(configKey));
+		return StripedLocks.read(this.lock, () -> {
+			final String configKey = buildConfigKeyGlobalData(ConfigDataType.DOUBLE, pluginKey, dataKey);
+			if(!this.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(this.config.getDouble(configKey));
+		});
 	}
 
 	@Override
 	public Optional<Boolean> getBoolean(final String pluginKey, final String dataKey) {
-		final String configKey = buildConfigKeyGlobalData(ConfigDataType.BOOLEAN, pluginKey, dataKey);
-		if(!this.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(this.config.getBoolean(configKey));
+		return StripedLocks.read(this.lock, () -> {
+			final String configKey = buildConfigKeyGlobalData(ConfigDataType.BOOLEAN, pluginKey, dataKey);
+			if(!this.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(this.config.getBoolean(configKey));
+		});
 	}
 
 	@Override
 	public Optional<List<String>> getList(final String pluginKey, final String dataKey) {
-		final String configKey = buildConfigKeyGlobalData(ConfigDataType.LIST, pluginKey, dataKey);
-		if(!this.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(this.config.getStringList(configKey));
+		return StripedLocks.read(this.lock, () -> {
+			final String configKey = buildConfigKeyGlobalData(ConfigDataType.LIST, pluginKey, dataKey);
+			if(!this.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(this.config.getStringList(configKey));
+		});
+	}
+
+	@Override
+	public boolean appendToList(final String pluginKey, final String dataKey, final String element) {
+		return StripedLocks.write(this.lock, () -> {
+			ConfigLists.append(this.config, buildConfigKeyGlobalData(ConfigDataType.LIST, pluginKey, dataKey), element);
+			return save();
+		});
+	}
+
+	@Override
+	public boolean removeFromList(final String pluginKey, final String dataKey, final String element) {
+		return StripedLocks.write(this.lock, () -> {
+			if(!ConfigLists.remove(this.config, buildConfigKeyGlobalData(ConfigDataType.LIST, pluginKey, dataKey), element)) {
+				return false;
+			}
+			return save();
+		});
+	}
+
+	@Override
+	public boolean listContains(final String pluginKey, final String dataKey, final String element) {
+		return StripedLocks.read(this.lock, () -> {
+			return ConfigLists.contains(this.config, buildConfigKeyGlobalData(ConfigDataType.LIST, pluginKey, dataKey), element);
+		});
+	}
+
+	@Override
+	public int getListSize(final String pluginKey, final String dataKey) {
+		return StripedLocks.read(this.lock, () -> {
+			return ConfigLists.size(this.config, buildConfigKeyGlobalData(ConfigDataType.LIST, pluginKey, dataKey));
+		});
+	}
+
+	@Override
+	public List<String> getListRange(final String pluginKey, final String dataKey, final int start, final int count) {
+		return StripedLocks.read(this.lock, () -> {
+			return ConfigLists.range(this.config, buildConfigKeyGlobalData(ConfigDataType.LIST, pluginKey, dataKey), start, count);
+		});
+	}
+
+	@Override
+	public Optional<Integer> increment(final String pluginKey, final String dataKey, final int delta) {
+		return StripedLocks.write(this.lock, () -> {
+			final int value = ConfigNumbers.add(this.config, buildConfigKeyGlobalData(ConfigDataType.INT, pluginKey, dataKey), NumericType.INT, delta).intValue();
+			if(!save()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
+	}
+
+	@Override
+	public boolean compareAndSet(final String pluginKey, final String dataKey, final int expected, final int data) {
+		return StripedLocks.write(this.lock, () -> {
+			if(!ConfigNumbers.compareAndSet(this.config, buildConfigKeyGlobalData(ConfigDataType.INT, pluginKey, dataKey), NumericType.INT, expected, data)) {
+				return false;
+			}
+			return save();
+		});
+	}
+
+	@Override
+	public Optional<Long> increment(final String pluginKey, final String dataKey, final long delta) {
+		return StripedLocks.write(this.lock, () -> {
+			final long value = ConfigNumbers.add(this.config, buildConfigKeyGlobalData(ConfigDataType.LONG, pluginKey, dataKey), NumericType.LONG, delta).longValue();
+			if(!save()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
+	}
+
+	@Override
+	public boolean compareAndSet(final String pluginKey, final String dataKey, final long expected, final long data) {
+		return StripedLocks.write(this.lock, () -> {
+			if(!ConfigNumbers.compareAndSet(this.config, buildConfigKeyGlobalData(ConfigDataType.LONG, pluginKey, dataKey), NumericType.LONG, expected, data)) {
+				return false;
+			}
+			return save();
+		});
+	}
+
+	@Override
+	public Optional<Float> increment(final String pluginKey, final String dataKey, final float delta) {
+		return StripedLocks.write(this.lock, () -> {
+			final float value = ConfigNumbers.add(this.config, buildConfigKeyGlobalData(ConfigDataType.FLOAT, pluginKey, dataKey), NumericType.FLOAT, delta).floatValue();
+			if(!save()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
+	}
+
+	@Override
+	public boolean compareAndSet(final String pluginKey, final String dataKey, final float expected, final float data) {
+		return StripedLocks.write(this.lock, () -> {
+			if(!ConfigNumbers.compareAndSet(this.config, buildConfigKeyGlobalData(ConfigDataType.FLOAT, pluginKey, dataKey), NumericType.FLOAT, expected, data)) {
+				return false;
+			}
+			return save();
+		});
+	}
+
+	@Override
+	public Optional<Double> increment(final String pluginKey, final String dataKey, final double delta) {
+		return StripedLocks.write(this.lock, () -> {
+			final double value = ConfigNumbers.add(this.config, buildConfigKeyGlobalData(ConfigDataType.DOUBLE, pluginKey, dataKey), NumericType.DOUBLE, delta).doubleValue();
+			if(!save()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
+	}
+
+	@Override
+	public boolean compareAndSet(final String pluginKey, final String dataKey, final double expected, final double data) {
+		return StripedLocks.write(this.lock, () -> {
+			if(!ConfigNumbers.compareAndSet(this.config, buildConfigKeyGlobalData(ConfigDataType.DOUBLE, pluginKey, dataKey), NumericType.DOUBLE, expected, data)) {
+				return false;
+			}
+			return save();
+		});
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String pluginKey, final String dataKey, final String data) {
-		this.config.set(buildConfigKeyPlayerData(uuid, ConfigDataType.STRING, pluginKey, dataKey), data);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			this.config.set(buildConfigKeyPlayerData(uuid, ConfigDataType.STRING, pluginKey, dataKey), data);
+			return save();
+		});
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String pluginKey, final String dataKey, final int data) {
-		this.config.set(buildConfigKeyPlayerData(uuid, ConfigDataType.INT, pluginKey, dataKey), data);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			this.config.set(buildConfigKeyPlayerData(uuid, ConfigDataType.INT, pluginKey, dataKey), data);
+			updateRanking(uuid, pluginKey, dataKey, NumericType.INT, data);
+			return save();
+		});
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String pluginKey, final String dataKey, final long data) {
-		this.config.set(buildConfigKeyPlayerData(uuid, ConfigDataType.LONG, pluginKey, dataKey), data);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			this.config.set(buildConfigKeyPlayerData(uuid, ConfigDataType.LONG, pluginKey, dataKey), data);
+			updateRanking(uuid, pluginKey, dataKey, NumericType.LONG, data);
+			return save();
+		});
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String pluginKey, final String dataKey, final float data) {
-		this.config.set(buildConfigKeyPlayerData(uuid, ConfigDataType.FLOAT, pluginKey, dataKey), data);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			this.config.set(buildConfigKeyPlayerData(uuid, ConfigDataType.FLOAT, pluginKey, dataKey), data);
+			updateRanking(uuid, pluginKey, dataKey, NumericType.FLOAT, data);
+			return save();
+		});
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String pluginKey, final String dataKey, final double data) {
-		this.config.set(buildConfigKeyPlayerData(uuid, ConfigDataType.DOUBLE, pluginKey, dataKey), data);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			this.config.set(buildConfigKeyPlayerData(uuid, ConfigDataType.DOUBLE, pluginKey, dataKey), data);
+			updateRanking(uuid, pluginKey, dataKey, NumericType.DOUBLE, data);
+			return save();
+		});
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String pluginKey, final String dataKey, final boolean data) {
-		this.config.set(buildConfigKeyPlayerData(uuid, ConfigDataType.BOOLEAN, pluginKey, dataKey), data);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			this.config.set(buildConfigKeyPlayerData(uuid, ConfigDataType.BOOLEAN, pluginKey, dataKey), data);
+			return save();
+		});
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String pluginKey, final String dataKey, final List<String> data) {
-		this.config.set(buildConfigKeyPlayerData(uuid, ConfigDataType.LIST, pluginKey, dataKey), data);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			this.config.set(buildConfigKeyPlayerData(uuid, ConfigDataType.LIST, pluginKey, dataKey), new ArrayList<>(data));
+			return save();
+		});
 	}
 
 	@Override
 	public Optional<String> getString(final UUID uuid, final String pluginKey, final String dataKey) {
-		final String data = this.config.getString(buildConfigKeyPlayerData(uuid, ConfigDataType.STRING, pluginKey, dataKey));
-		if(data == null) {
-			return Optional.empty();
-		}
-		return Optional.of(data);
+		return StripedLocks.read(this.lock, () -> {
+			final String data = this.config.getString(buildConfigKeyPlayerData(uuid, ConfigDataType.STRING, pluginKey, dataKey));
+			if(data == null) {
+				return Optional.empty();
+			}
+			return Optional.of(data);
+		});
 	}
 
 	@Override
 	public Optional<Integer> getInt(final UUID uuid, final String pluginKey, final String dataKey) {
-		final String configKey = buildConfigKeyPlayerData(uuid, ConfigDataType.INT, pluginKey, dataKey);
-		if(!this.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(this.config.getInt(configKey));
+		return StripedLocks.read(this.lock, () -> {
+			final String configKey = buildConfigKeyPlayerData(uuid, ConfigDataType.INT, pluginKey, dataKey);
+			if(!this.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(this.config.getInt(configKey));
+		});
 	}
 
 	@Override
 	public Optional<Long> getLong(final UUID uuid, final String pluginKey, final String dataKey) {
-		final String configKey = buildConfigKeyPlayerData(uuid, ConfigDataType.LONG, pluginKey, dataKey);
-		if(!this.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(this.config.getLong(configKey));
+		return StripedLocks.read(this.lock, () -> {
+			final String configKey = buildConfigKeyPlayerData(uuid, ConfigDataType.LONG, pluginKey, dataKey);
+			if(!this.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(this.config.getLong(configKey));
+		});
 	}
 
 	@Override
 	public Optional<Float> getFloat(final UUID uuid, final String pluginKey, final String dataKey) {
-		final String configKey = buildConfigKeyPlayerData(uuid, ConfigDataType.FLOAT, pluginKey, dataKey);
-		if(!this.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of((float) this.config.getDouble(configKey));
+		return StripedLocks.read(this.lock, () -> {
+			final String configKey = buildConfigKeyPlayerData(uuid, ConfigDataType.FLOAT, pluginKey, dataKey);
+			if(!this.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of((float) this.config.getDouble(configKey));
+		});
 	}
 
 	@Override
 	public Optional<Double> getDouble(final UUID uuid, final String pluginKey, final String dataKey) {
-		final String configKey = buildConfigKeyPlayerData(uuid, ConfigDataType.DOUBLE, pluginKey, dataKey);
-		if(!this.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(this.config.getDouble(configKey));
+		return StripedLocks.read(this.lock, () -> {
+			final String configKey = buildConfigKeyPlayerData(uuid, ConfigDataType.DOUBLE, pluginKey, dataKey);
+			if(!this.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(this.config.getDouble(configKey));
+		});
 	}
 
 	@Override
 	public Optional<Boolean> getBoolean(final UUID uuid, final String pluginKey, final String dataKey) {
-		final String configKey = buildConfigKeyPlayerData(uuid, ConfigDataType.BOOLEAN, pluginKey, dataKey);
-		if(!this.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(this.config.getBoolean(configKey));
+		return StripedLocks.read(this.lock, () -> {
+			final String configKey = buildConfigKeyPlayerData(uuid, ConfigDataType.BOOLEAN, pluginKey, dataKey);
+			if(!this.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(this.config.getBoolean(configKey));
+		});
 	}
 
 	@Override
 	public Optional<List<String>> getList(final UUID uuid, final String pluginKey, final String dataKey) {
-		final String configKey = buildConfigKeyPlayerData(uuid, ConfigDataType.LIST, pluginKey, dataKey);
-		if(!this.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(this.config.getStringList(configKey));
+		return StripedLocks.read(this.lock, () -> {
+			final String configKey = buildConfigKeyPlayerData(uuid, ConfigDataType.LIST, pluginKey, dataKey);
+			if(!this.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(this.config.getStringList(configKey));
+		});
+	}
+
+	@Override
+	public void forEachValue(final UUID uuid, final String pluginKey, final BiConsumer<String, Object> consumer) {
+		StripedLocks.read(this.lock, () -> {
+			final ConfigurationSection section = this.config.getConfigurationSection(SingleYamlDataSource.CONFIG_TYPE_PLAYERS + "." + uuid.toString() + "." + pluginKey);
+			if(section != null) {
+				ConfigExport.forEachValue(section, consumer);
+			}
+		});
+	}
+
+	@Override
+	public boolean appendToList(final UUID uuid, final String pluginKey, final String dataKey, final String element) {
+		return StripedLocks.write(this.lock, () -> {
+			ConfigLists.append(this.config, buildConfigKeyPlayerData(uuid, ConfigDataType.LIST, pluginKey, dataKey), element);
+			return save();
+		});
+	}
+
+	@Override
+	public boolean removeFromList(final UUID uuid, final String pluginKey, final String dataKey, final String element) {
+		return StripedLocks.write(this.lock, () -> {
+			if(!ConfigLists.remove(this.config, buildConfigKeyPlayerData(uuid, ConfigDataType.LIST, pluginKey, dataKey), element)) {
+				return false;
+			}
+			return save();
+		});
+	}
+
+	@Override
+	public boolean listContains(final UUID uuid, final String pluginKey, final String dataKey, final String element) {
+		return StripedLocks.read(this.lock, () -> {
+			return ConfigLists.contains(this.config, buildConfigKeyPlayerData(uuid, ConfigDataType.LIST, pluginKey, dataKey), element);
+		});
+	}
+
+	@Override
+	public int getListSize(final UUID uuid, final String pluginKey, final String dataKey) {
+		return StripedLocks.read(this.lock, () -> {
+			return ConfigLists.size(this.config, buildConfigKeyPlayerData(uuid, ConfigDataType.LIST, pluginKey, dataKey));
+		});
+	}
+
+	@Override
+	public List<String> getListRange(final UUID uuid, final String pluginKey, final String dataKey, final int start, final int count) {
+		return StripedLocks.read(this.lock, () -> {
+			return ConfigLists.range(this.config, buildConfigKeyPlayerData(uuid, ConfigDataType.LIST, pluginKey, dataKey), start, count);
+		});
+	}
+
+	@Override
+	public Optional<Integer> increment(final UUID uuid, final String pluginKey, final String dataKey, final int delta) {
+		return StripedLocks.write(this.lock, () -> {
+			final int value = ConfigNumbers.add(this.config, buildConfigKeyPlayerData(uuid, ConfigDataType.INT, pluginKey, dataKey), NumericType.INT, delta).intValue();
+			updateRanking(uuid, pluginKey, dataKey, NumericType.INT, value);
+			if(!save()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
+	}
+
+	@Override
+	public boolean compareAndSet(final UUID uuid, final String pluginKey, final String dataKey, final int expected, final int data) {
+		return StripedLocks.write(this.lock, () -> {
+			if(!ConfigNumbers.compareAndSet(this.config, buildConfigKeyPlayerData(uuid, ConfigDataType.INT, pluginKey, dataKey), NumericType.INT, expected, data)) {
+				return false;
+			}
+			updateRanking(uuid, pluginKey, dataKey, NumericType.INT, data);
+			return save();
+		});
+	}
+
+	@Override
+	public Optional<Long> increment(final UUID uuid, final String pluginKey, final String dataKey, final long delta) {
+		return StripedLocks.write(this.lock, () -> {
+			final long value = ConfigNumbers.add(this.config, buildConfigKeyPlayerData(uuid, ConfigDataType.LONG, pluginKey, dataKey), NumericType.LONG, delta).longValue();
+			updateRanking(uuid, pluginKey, dataKey, NumericType.LONG, value);
+			if(!save()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
+	}
+
+	@Override
+	public boolean compareAndSet(final UUID uuid, final String pluginKey, final String dataKey, final long expected, final long data) {
+		return StripedLocks.write(this.lock, () -> {
+			if(!ConfigNumbers.compareAndSet(this.config, buildConfigKeyPlayerData(uuid, ConfigDataType.LONG, pluginKey, dataKey), NumericType.LONG, expected, data)) {
+				return false;
+			}
+			updateRanking(uuid, pluginKey, dataKey, NumericType.LONG, data);
+			return save();
+		});
+	}
+
+	@Override
+	public Optional<Float> increment(final UUID uuid, final String pluginKey, final String dataKey, final float delta) {
+		return StripedLocks.write(this.lock, () -> {
+			final float value = ConfigNumbers.add(this.config, buildConfigKeyPlayerData(uuid, ConfigDataType.FLOAT, pluginKey, dataKey), NumericType.FLOAT, delta).floatValue();
+			updateRanking(uuid, pluginKey, dataKey, NumericType.FLOAT, value);
+			if(!save()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
+	}
+
+	@Override
+	public boolean compareAndSet(final UUID uuid, final String pluginKey, final String dataKey, final float expected, final float data) {
+		return StripedLocks.write(this.lock, () -> {
+			if(!ConfigNumbers.compareAndSet(this.config, buildConfigKeyPlayerData(uuid, ConfigDataType.FLOAT, pluginKey, dataKey), NumericType.FLOAT, expected, data)) {
+				return false;
+			}
+			updateRanking(uuid, pluginKey, dataKey, NumericType.FLOAT, data);
+			return save();
+		});
+	}
+
+	@Override
+	public Optional<Double> increment(final UUID uuid, final String pluginKey, final String dataKey, final double delta) {
+		return StripedLocks.write(this.lock, () -> {
+			final double value = ConfigNumbers.add(this.config, buildConfigKeyPlayerData(uuid, ConfigDataType.DOUBLE, pluginKey, dataKey), NumericType.DOUBLE, delta).doubleValue();
+			updateRanking(uuid, pluginKey, dataKey, NumericType.DOUBLE, value);
+			if(!save()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
+	}
+
+	@Override
+	public boolean compareAndSet(final UUID uuid, final String pluginKey, final String dataKey, final double expected, final double data) {
+		return StripedLocks.write(this.lock, () -> {
+			if(!ConfigNumbers.compareAndSet(this.config, buildConfigKeyPlayerData(uuid, ConfigDataType.DOUBLE, pluginKey, dataKey), NumericType.DOUBLE, expected, data)) {
+				return false;
+			}
+			updateRanking(uuid, pluginKey, dataKey, NumericType.DOUBLE, data);
+			return save();
+		});
+	}
+	
+	@Override
+	public void registerRankedKey(final String pluginKey, final String dataKey, final NumericType type) {
+		StripedLocks.read(this.lock, () -> {
+			getRanking(pluginKey, dataKey, type);
+		});
+	}
+	
+	@Override
+	public List<RankedEntry> getRanking(final String pluginKey, final String dataKey, final NumericType type, final int offset, final int limit) {
+		return StripedLocks.read(this.lock, () -> {
+			return getRanking(pluginKey, dataKey, type).getPage(offset, limit);
+		});
 	}
 	
+	@Override
+	public Optional<Integer> getRank(final UUID uuid, final String pluginKey, final String dataKey, final NumericType type) {
+		return StripedLocks.read(this.lock, () -> {
+			return getRanking(pluginKey, dataKey, type).getRank(uuid);
+		});
+	}
+
 	@Override
 	public boolean addGroup(final String group, final String pluginKey) {
-		if(isGroup(group, pluginKey)) {
-			return false;
-		}
-		
-		this.config.set(buildConfigKeyMembers(group, pluginKey), new ArrayList<String>());
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			if(isGroup(group, pluginKey)) {
+				return false;
+			}
+			
+			this.config.set(buildConfigKeyMembers(group, pluginKey), new ArrayList<String>());
+			return save();
+		});
 	}
 	
 	@Override
 	public boolean deleteGroup(final String group, final String pluginKey) {
-		final String configKey = buildConfigKeyGroup(group, pluginKey);
-		if(!this.config.contains(configKey)) {
-			return false;
-		}
-		
-		final List<String> uuids = this.config.getStringList(buildConfigKeyMembers(group, pluginKey));
-		for(final String uuid: uuids) {
-			final String configKeyPlayer = buildConfigKeyPlayerGroup(UUID.fromString(uuid), group, pluginKey);
-			this.config.set(configKeyPlayer, null);
-		}
-		
-		this.config.set(configKey, null);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			final String configKey = buildConfigKeyGroup(group, pluginKey);
+			if(!this.config.contains(configKey)) {
+				return false;
+			}
+			
+			final List<String> uuids = this.config.getStringList(buildConfigKeyMembers(group, pluginKey));
+			for(final String uuid: uuids) {
+				final String configKeyPlayer = buildConfigKeyPlayerGroup(UUID.fromString(uuid), group, pluginKey);
+				this.config.set(configKeyPlayer, null);
+			}
+			
+			this.config.set(configKey, null);
+			return save();
+		});
 	}
 	
 	@Override
 	public boolean isGroup(final String group, final String pluginKey) {
-		return this.config.contains(buildConfigKeyGroup(group, pluginKey));
+		return StripedLocks.read(this.lock, () -> {
+			return this.config.contains(buildConfigKeyGroup(group, pluginKey));
+		});
 	}
 	
 	@Override
 	public boolean addMember(final UUID uuid, final String group, final String pluginKey) {
-		final String configKey = buildConfigKeyGroup(group, pluginKey);
-		if(!this.config.contains(configKey)) {
-			return false;
-		}
-		
-		final String configKeyMembers = buildConfigKeyMembers(group, pluginKey);
-		final String uuidString = uuid.toString();
-		final List<String> uuids = this.config.getStringList(configKeyMembers);
-		if(uuids.contains(uuidString)) {
-			return false;
-		}
-		uuids.add(uuidString);
-		
-		this.config.set(configKeyMembers, uuids);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			final String configKey = buildConfigKeyGroup(group, pluginKey);
+			if(!this.config.contains(configKey)) {
+				return false;
+			}
+			
+			final String configKeyMembers = buildConfigKeyMembers(group, pluginKey);
+			final String uuidString = uuid.toString();
+			final List<String> uuids = this.config.getStringList(configKeyMembers);
+			if(uuids.contains(uuidString)) {
+				return false;
+			}
+			uuids.add(uuidString);
+			
+			this.config.set(configKeyMembers, uuids);
+			return save();
+		});
 	}
 	
 	@Override
 	public boolean removeMember(final UUID uuid, final String group, final String pluginKey) {
-		final String configKey = buildConfigKeyGroup(group, pluginKey);
-		if(!this.config.contains(configKey)) {
-			return false;
-		}
-		
-		final String configKeyMembers = buildConfigKeyMembers(group, pluginKey);
-		final String uuidString = uuid.toString();
-		final List<String> uuids = this.config.getStringList(configKeyMembers);
-		if(!uuids.contains(uuidString)) {
-			return false;
-		}
-		uuids.remove(uuidString);
-		
-		this.config.set(configKeyMembers, uuids);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			final String configKey = buildConfigKeyGroup(group, pluginKey);
+			if(!this.config.contains(configKey)) {
+				return false;
+			}
+			
+			final String configKeyMembers = buildConfigKeyMembers(group, pluginKey);
+			final String uuidString = uuid.toString();
+			final List<String> uuids = this.config.getStringList(configKeyMembers);
+			if(!uuids.contains(uuidString)) {
+				return false;
+			}
+			uuids.remove(uuidString);
+			
+			this.config.set(configKeyMembers, uuids);
+			return save();
+		});
 	}
 	
 	@Override
 	public boolean isMember(final UUID uuid, final String group, final String pluginKey) {
-		final String configKey = buildConfigKeyGroup(group, pluginKey);
-		if(!this.config.contains(configKey)) {
-			return false;
-		}
-		
-		final String configKeyMembers = buildConfigKeyMembers(group, pluginKey);
-		final List<String> uuids = this.config.getStringList(configKeyMembers);
-		return uuids.contains(uuid.toString());
+		return StripedLocks.read(this.lock, () -> {
+			final String configKey = buildConfigKeyGroup(group, pluginKey);
+			if(!this.config.contains(configKey)) {
+				return false;
+			}
+			
+			final String configKeyMembers = buildConfigKeyMembers(group, pluginKey);
+			final List<String> uuids = this.config.getStringList(configKeyMembers);
+			return uuids.contains(uuid.toString());
+		});
 	}
 	
 	@Override
 	public Optional<List<UUID>> getMemberIDs(final String group, final String pluginKey){
-		final String configKey = buildConfigKeyGroup(group, pluginKey);
-		if(!this.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		
-		final String configKeyMembers = buildConfigKeyMembers(group, pluginKey);
-		final List<UUID> members = this.config.getStringList(configKeyMembers)
-				.stream().map(uuid -> UUID.fromString(uuid)).collect(Collectors.toList());
-		
-		return Optional.of(members);
+		return StripedLocks.read(this.lock, () -> {
+			final String configKey = buildConfigKeyGroup(group, pluginKey);
+			if(!this.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			
+			final String configKeyMembers = buildConfigKeyMembers(group, pluginKey);
+			final List<UUID> members = this.config.getStringList(configKeyMembers)
+					.stream().map(uuid -> UUID.fromString(uuid)).collect(Collectors.toList());
+			
+			return Optional.of(members);
+		});
+	}
+	
+	@Override
+	public boolean forEachMemberID(final String group, final String pluginKey, final Consumer<UUID> consumer) {
+		return StripedLocks.read(this.lock, () -> {
+			if(!this.config.contains(buildConfigKeyGroup(group, pluginKey))) {
+				return false;
+			}
+			
+			ConfigLists.forEach(this.config, buildConfigKeyMembers(group, pluginKey), uuid -> consumer.accept(UUID.fromString(uuid)));
+			return true;
+		});
+	}
+	
+	@Override
+	public Optional<List<UUID>> getMemberIDs(final String group, final String pluginKey, final UUID after, final int limit){
+		return StripedLocks.read(this.lock, () -> {
+			if(!this.config.contains(buildConfigKeyGroup(group, pluginKey))) {
+				return Optional.empty();
+			}
+			
+			return Optional.of(ConfigLists.pageAfter(this.config.getList(buildConfigKeyMembers(group, pluginKey)), 
+					after == null ? null : after.toString(), limit).stream().map(uuid -> UUID.fromString(uuid)).collect(Collectors.toList()));
+		});
 	}
 	
 	@Override
 	public List<String> getGroups(final String pluginKey){
-		final String configKey = buildConfigKeyGroups(pluginKey);
-		final List<String> groups = new ArrayList<String>();
-		if(!this.config.contains(configKey)) {
+		return StripedLocks.read(this.lock, () -> {
+			final String configKey = buildConfigKeyGroups(pluginKey);
+			final List<String> groups = new ArrayList<String>();
+			if(!this.config.contains(configKey)) {
+				return groups;
+			}
+			
+			final ConfigurationSection section = this.config.getConfigurationSection(configKey);
+			for(final String key: section.getKeys(false)) {
+				groups.add(key);
+			}
+			
 			return groups;
-		}
-		
-		final ConfigurationSection section = this.config.getConfigurationSection(configKey);
-		for(final String key: section.getKeys(false)) {
-			groups.add(key);
-		}
-		
-		return groups;
+		});
+	}
+	
+	@Override
+	public void forEachGroup(final String pluginKey, final Consumer<String> consumer) {
+		StripedLocks.read(this.lock, () -> {
+			final ConfigurationSection section = this.config.getConfigurationSection(buildConfigKeyGroups(pluginKey));
+			if(section == null) {
+				return;
+			}
+			
+			section.getKeys(false).forEach(consumer);
+		});
+	}
+	
+	@Override
+	public List<String> getGroups(final String pluginKey, final String after, final int limit){
+		return StripedLocks.read(this.lock, () -> {
+			final ConfigurationSection section = this.config.getConfigurationSection(buildConfigKeyGroups(pluginKey));
+			return ConfigLists.pageAfter(section == null ? null : section.getKeys(false), after, limit);
+		});
 	}
 	
 	@Override
 	public List<String> getGroups(final UUID uuid, final String pluginKey){
-		final List<String> groups = new ArrayList<String>();
-		for(final String group: getGroups(pluginKey)) {
-			if(isMember(uuid, group, pluginKey)) {
-				groups.add(group);
+		return StripedLocks.read(this.lock, () -> {
+			final List<String> groups = new ArrayList<String>();
+			for(final String group: getGroups(pluginKey)) {
+				if(isMember(uuid, group, pluginKey)) {
+					groups.add(group);
+				}
 			}
-		}
-		return groups;
+			return groups;
+		});
 	}
 
 	@Override
 	public boolean set(final String group, final String pluginKey, final String dataKey, final String data) {
-		this.config.set(buildConfigKeyGroupData(group, ConfigDataType.STRING, pluginKey, dataKey), data);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			this.config.set(buildConfigKeyGroupData(group, ConfigDataType.STRING, pluginKey, dataKey), data);
+			return save();
+		});
 	}
 
 	@Override
 	public boolean set(final String group, final String pluginKey, final String dataKey, final int data) {
-		this.config.set(buildConfigKeyGroupData(group, ConfigDataType.INT, pluginKey, dataKey), data);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			this.config.set(buildConfigKeyGroupData(group, ConfigDataType.INT, pluginKey, dataKey), data);
+			return save();
+		});
 	}
 
 	@Override
 	public boolean set(final String group, final String pluginKey, final String dataKey, final long data) {
-		this.config.set(buildConfigKeyGroupData(group, ConfigDataType.LONG, pluginKey, dataKey), data);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			this.config.set(buildConfigKeyGroupData(group, ConfigDataType.LONG, pluginKey, dataKey), data);
+			return save();
+		});
 	}
 
 	@Override
 	public boolean set(final String group, final String pluginKey, final String dataKey, final float data) {
-		this.config.set(buildConfigKeyGroupData(group, ConfigDataType.FLOAT, pluginKey, dataKey), data);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			this.config.set(buildConfigKeyGroupData(group, ConfigDataType.FLOAT, pluginKey, dataKey), data);
+			return save();
+		});
 	}
 
 	@Override
 	public boolean set(final String group, final String pluginKey, final String dataKey, final double data) {
-		this.config.set(buildConfigKeyGroupData(group, ConfigDataType.DOUBLE, pluginKey, dataKey), data);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			this.config.set(buildConfigKeyGroupData(group, ConfigDataType.DOUBLE, pluginKey, dataKey), data);
+			return save();
+		});
 	}
 
 	@Override
 	public boolean set(final String group, final String pluginKey, final String dataKey, final boolean data) {
-		this.config.set(buildConfigKeyGroupData(group, ConfigDataType.BOOLEAN, pluginKey, dataKey), data);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			this.config.set(buildConfigKeyGroupData(group, ConfigDataType.BOOLEAN, pluginKey, dataKey), data);
+			return save();
+		});
 	}
 
 	@Override
 	public boolean set(final String group, final String pluginKey, final String dataKey, final List<String> data) {
-		this.config.set(buildConfigKeyGroupData(group, ConfigDataType.LIST, pluginKey, dataKey), data);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			this.config.set(buildConfigKeyGroupData(group, ConfigDataType.LIST, pluginKey, dataKey), new ArrayList<>(data));
+			return save();
+		});
 	}
 
 	@Override
 	public Optional<String> getString(final String group, final String pluginKey, final String dataKey) {
-		final String data = this.config.getString(buildConfigKeyGroupData(group, ConfigDataType.STRING, pluginKey, dataKey));
-		if(data == null) {
-			return Optional.empty();
-		}
-		return Optional.of(data);
+		return StripedLocks.read(this.lock, () -> {
+			final String data = this.config.getString(buildConfigKeyGroupData(group, ConfigDataType.STRING, pluginKey, dataKey));
+			if(data == null) {
+				return Optional.empty();
+			}
+			return Optional.of(data);
+		});
 	}
 
 	@Override
 	public Optional<Integer> getInt(final String group, final String pluginKey, final String dataKey) {
-		final String configKey = buildConfigKeyGroupData(group, ConfigDataType.INT, pluginKey, dataKey);
-		if(!this.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(this.config.getInt(configKey));
+		return StripedLocks.read(this.lock, () -> {
+			final String configKey = buildConfigKeyGroupData(group, ConfigDataType.INT, pluginKey, dataKey);
+			if(!this.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(this.config.getInt(configKey));
+		});
 	}
 
 	@Override
 	public Optional<Long> getLong(final String group, final String pluginKey, final String dataKey) {
-		final String configKey = buildConfigKeyGroupData(group, ConfigDataType.LONG, pluginKey, dataKey);
-		if(!this.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(this.config.getLong(configKey));
+		return StripedLocks.read(this.lock, () -> {
+			final String configKey = buildConfigKeyGroupData(group, ConfigDataType.LONG, pluginKey, dataKey);
+			if(!this.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(this.config.getLong(configKey));
+		});
 	}
 
 	@Override
 	public Optional<Float> getFloat(final String group, final String pluginKey, final String dataKey) {
-		final String configKey = buildConfigKeyGroupData(group, ConfigDataType.FLOAT, pluginKey, dataKey);
-		if(!this.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of((float) this.config.getDouble(configKey));
+		return StripedLocks.read(this.lock, () -> {
+			final String configKey = buildConfigKeyGroupData(group, ConfigDataType.FLOAT, pluginKey, dataKey);
+			if(!this.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of((float) this.config.getDouble(configKey));
+		});
 	}
 
 	@Override
 	public Optional<Double> getDouble(final String group, final String pluginKey, final String dataKey) {
-		final String configKey = buildConfigKeyGroupData(group, ConfigDataType.DOUBLE, pluginKey, dataKey);
-		if(!this.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(this.config.getDouble(configKey));
+		return StripedLocks.read(this.lock, () -> {
+			final String configKey = buildConfigKeyGroupData(group, ConfigDataType.DOUBLE, pluginKey, dataKey);
+			if(!this.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(this.config.getDouble(configKey));
+		});
 	}
 
 	@Override
 	public Optional<Boolean> getBoolean(final String group, final String pluginKey, final String dataKey) {
-		final String configKey = buildConfigKeyGroupData(group, ConfigDataType.BOOLEAN, pluginKey, dataKey);
-		if(!this.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(this.config.getBoolean(configKey));
+		return StripedLocks.read(this.lock, () -> {
+			final String configKey = buildConfigKeyGroupData(group, ConfigDataType.BOOLEAN, pluginKey, dataKey);
+			if(!this.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(this.config.getBoolean(configKey));
+		});
 	}
 
 	@Override
 	public Optional<List<String>> getList(final String group, final String pluginKey, final String dataKey) {
-		final String configKey = buildConfigKeyGroupData(group, ConfigDataType.LIST, pluginKey, dataKey);
-		if(!this.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(this.config.getStringList(configKey));
+		return StripedLocks.read(this.lock, () -> {
+			final String configKey = buildConfigKeyGroupData(group, ConfigDataType.LIST, pluginKey, dataKey);
+			if(!this.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(this.config.getStringList(configKey));
+		});
+	}
+
+	@Override
+	public void forEachValue(final String group, final String pluginKey, final BiConsumer<String, Object> consumer) {
+		StripedLocks.read(this.lock, () -> {
+			final ConfigurationSection section = this.config.getConfigurationSection(buildConfigKeyGroup(group, pluginKey));
+			if(section != null) {
+				ConfigExport.forEachValue(section, consumer);
+			}
+		});
+	}
+
+	@Override
+	public boolean appendToList(final String group, final String pluginKey, final String dataKey, final String element) {
+		return StripedLocks.write(this.lock, () -> {
+			ConfigLists.append(this.config, buildConfigKeyGroupData(group, ConfigDataType.LIST, pluginKey, dataKey), element);
+			return save();
+		});
+	}
+
+	@Override
+	public boolean removeFromList(final String group, final String pluginKey, final String dataKey, final String element) {
+		return StripedLocks.write(this.lock, () -> {
+			if(!ConfigLists.remove(this.config, buildConfigKeyGroupData(group, ConfigDataType.LIST, pluginKey, dataKey), element)) {
+				return false;
+			}
+			return save();
+		});
+	}
+
+	@Override
+	public boolean listContains(final String group, final String pluginKey, final String dataKey, final String element) {
+		return StripedLocks.read(this.lock, () -> {
+			return ConfigLists.contains(this.config, buildConfigKeyGroupData(group, ConfigDataType.LIST, pluginKey, dataKey), element);
+		});
+	}
+
+	@Override
+	public int getListSize(final String group, final String pluginKey, final String dataKey) {
+		return StripedLocks.read(this.lock, () -> {
+			return ConfigLists.size(this.config, buildConfigKeyGroupData(group, ConfigDataType.LIST, pluginKey, dataKey));
+		});
+	}
+
+	@Override
+	public List<String> getListRange(final String group, final String pluginKey, final String dataKey, final int start, final int count) {
+		return StripedLocks.read(this.lock, () -> {
+			return ConfigLists.range(this.config, buildConfigKeyGroupData(group, ConfigDataType.LIST, pluginKey, dataKey), start, count);
+		});
+	}
+
+	@Override
+	public Optional<Integer> increment(final String group, final String pluginKey, final String dataKey, final int delta) {
+		return StripedLocks.write(this.lock, () -> {
+			final int value = ConfigNumbers.add(this.config, buildConfigKeyGroupData(group, ConfigDataType.INT, pluginKey, dataKey), NumericType.INT, delta).intValue();
+			if(!save()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
+	}
+
+	@Override
+	public boolean compareAndSet(final String group, final String pluginKey, final String dataKey, final int expected, final int data) {
+		return StripedLocks.write(this.lock, () -> {
+			if(!ConfigNumbers.compareAndSet(this.config, buildConfigKeyGroupData(group, ConfigDataType.INT, pluginKey, dataKey), NumericType.INT, expected, data)) {
+				return false;
+			}
+			return save();
+		});
+	}
+
+	@Override
+	public Optional<Long> increment(final String group, final String pluginKey, final String dataKey, final long delta) {
+		return StripedLocks.write(this.lock, () -> {
+			final long value = ConfigNumbers.add(this.config, buildConfigKeyGroupData(group, ConfigDataType.LONG, pluginKey, dataKey), NumericType.LONG, delta).longValue();
+			if(!save()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
+	}
+
+	@Override
+	public boolean compareAndSet(final String group, final String pluginKey, final String dataKey, final long expected, final long data) {
+		return StripedLocks.write(this.lock, () -> {
+			if(!ConfigNumbers.compareAndSet(this.config, buildConfigKeyGroupData(group, ConfigDataType.LONG, pluginKey, dataKey), NumericType.LONG, expected, data)) {
+				return false;
+			}
+			return save();
+		});
+	}
+
+	@Override
+	public Optional<Float> increment(final String group, final String pluginKey, final String dataKey, final float delta) {
+		return StripedLocks.write(this.lock, () -> {
+			final float value = ConfigNumbers.add(this.config, buildConfigKeyGroupData(group, ConfigDataType.FLOAT, pluginKey, dataKey), NumericType.FLOAT, delta).floatValue();
+			if(!save()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
+	}
+
+	@Override
+	public boolean compareAndSet(final String group, final String pluginKey, final String dataKey, final float expected, final float data) {
+		return StripedLocks.write(this.lock, () -> {
+			if(!ConfigNumbers.compareAndSet(this.config, buildConfigKeyGroupData(group, ConfigDataType.FLOAT, pluginKey, dataKey), NumericType.FLOAT, expected, data)) {
+				return false;
+			}
+			return save();
+		});
+	}
+
+	@Override
+	public Optional<Double> increment(final String group, final String pluginKey, final String dataKey, final double delta) {
+		return StripedLocks.write(this.lock, () -> {
+			final double value = ConfigNumbers.add(this.config, buildConfigKeyGroupData(group, ConfigDataType.DOUBLE, pluginKey, dataKey), NumericType.DOUBLE, delta).doubleValue();
+			if(!save()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
+	}
+
+	@Override
+	public boolean compareAndSet(final String group, final String pluginKey, final String dataKey, final double expected, final double data) {
+		return StripedLocks.write(this.lock, () -> {
+			if(!ConfigNumbers.compareAndSet(this.config, buildConfigKeyGroupData(group, ConfigDataType.DOUBLE, pluginKey, dataKey), NumericType.DOUBLE, expected, data)) {
+				return false;
+			}
+			return save();
+		});
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String group, final String pluginKey, final String dataKey, final String data) {
-		this.config.set(buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.STRING, pluginKey, dataKey), data);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			this.config.set(buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.STRING, pluginKey, dataKey), data);
+			return save();
+		});
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String group, final String pluginKey, final String dataKey, final int data) {
-		this.config.set(buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.INT, pluginKey, dataKey), data);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			this.config.set(buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.INT, pluginKey, dataKey), data);
+			return save();
+		});
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String group, final String pluginKey, final String dataKey, final long data) {
-		this.config.set(buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.LONG, pluginKey, dataKey), data);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			this.config.set(buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.LONG, pluginKey, dataKey), data);
+			return save();
+		});
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String group, final String pluginKey, final String dataKey, final float data) {
-		this.config.set(buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.FLOAT, pluginKey, dataKey), data);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			this.config.set(buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.FLOAT, pluginKey, dataKey), data);
+			return save();
+		});
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String group, final String pluginKey, final String dataKey, final double data) {
-		this.config.set(buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.DOUBLE, pluginKey, dataKey), data);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			this.config.set(buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.DOUBLE, pluginKey, dataKey), data);
+			return save();
+		});
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String group, final String pluginKey, final String dataKey, final boolean data) {
-		this.config.set(buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.BOOLEAN, pluginKey, dataKey), data);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			this.config.set(buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.BOOLEAN, pluginKey, dataKey), data);
+			return save();
+		});
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String group, final String pluginKey, final String dataKey, final List<String> data) {
-		this.config.set(buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.LIST, pluginKey, dataKey), data);
-		return save();
+		return StripedLocks.write(this.lock, () -> {
+			this.config.set(buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.LIST, pluginKey, dataKey), new ArrayList<>(data));
+			return save();
+		});
 	}
 
 	@Override
 	public Optional<String> getString(final UUID uuid, final String group, final String pluginKey, final String dataKey) {
-		final String data = this.config.getString(buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.STRING, pluginKey, dataKey));
-		if(data == null) {
-			return Optional.empty();
-		}
-		return Optional.of(data);
+		return StripedLocks.read(this.lock, () -> {
+			final String data = this.config.getString(buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.STRING, pluginKey, dataKey));
+			if(data == null) {
+				return Optional.empty();
+			}
+			return Optional.of(data);
+		});
 	}
 
 	@Override
 	public Optional<Integer> getInt(final UUID uuid, final String group, final String pluginKey, final String dataKey) {
-		final String configKey = buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.INT, pluginKey, dataKey);
-		if(!this.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(this.config.getInt(configKey));
+		return StripedLocks.read(this.lock, () -> {
+			final String configKey = buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.INT, pluginKey, dataKey);
+			if(!this.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(this.config.getInt(configKey));
+		});
 	}
 
 	@Override
 	public Optional<Long> getLong(final UUID uuid, final String group, final String pluginKey, final String dataKey) {
-		final String configKey = buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.LONG, pluginKey, dataKey);
-		if(!this.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(this.config.getLong(configKey));
+		return StripedLocks.read(this.lock, () -> {
+			final String configKey = buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.LONG, pluginKey, dataKey);
+			if(!this.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(this.config.getLong(configKey));
+		});
 	}
 
 	@Override
 	public Optional<Float> getFloat(final UUID uuid, final String group, final String pluginKey, final String dataKey) {
-		final String configKey = buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.FLOAT, pluginKey, dataKey);
-		if(!this.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of((float) this.config.getDouble(configKey));
+		return StripedLocks.read(this.lock, () -> {
+			final String configKey = buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.FLOAT, pluginKey, dataKey);
+			if(!this.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of((float) this.config.getDouble(configKey));
+		});
 	}
 
 	@Override
 	public Optional<Double> getDouble(final UUID uuid, final String group, final String pluginKey, final String dataKey) {
-		final String configKey = buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.DOUBLE, pluginKey, dataKey);
-		if(!this.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(this.config.getDouble(configKey));
+		return StripedLocks.read(this.lock, () -> {
+			final String configKey = buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.DOUBLE, pluginKey, dataKey);
+			if(!this.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(this.config.getDouble(configKey));
+		});
 	}
 
 	@Override
 	public Optional<Boolean> getBoolean(final UUID uuid, final String group, final String pluginKey, final String dataKey) {
-		final String configKey = buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.BOOLEAN, pluginKey, dataKey);
-		if(!this.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(this.config.getBoolean(configKey));
+		return StripedLocks.read(this.lock, () -> {
+			final String configKey = buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.BOOLEAN, pluginKey, dataKey);
+			if(!this.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(this.config.getBoolean(configKey));
+		});
 	}
 
 	@Override
 	public Optional<List<String>> getList(final UUID uuid, final String group, final String pluginKey, final String dataKey) {
-		final String configKey = buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.LIST, pluginKey, dataKey);
-		if(!this.config.contains(configKey)) {
-			return Optional.empty();
-		}
-		return Optional.of(this.config.getStringList(configKey));
+		return StripedLocks.read(this.lock, () -> {
+			final String configKey = buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.LIST, pluginKey, dataKey);
+			if(!this.config.contains(configKey)) {
+				return Optional.empty();
+			}
+			return Optional.of(this.config.getStringList(configKey));
+		});
+	}
+
+	@Override
+	public void forEachValue(final UUID uuid, final String group, final String pluginKey, final BiConsumer<String, Object> consumer) {
+		StripedLocks.read(this.lock, () -> {
+			final ConfigurationSection section = this.config.getConfigurationSection(buildConfigKeyPlayerGroup(uuid, group, pluginKey));
+			if(section != null) {
+				ConfigExport.forEachValue(section, consumer);
+			}
+		});
+	}
+
+	@Override
+	public boolean appendToList(final UUID uuid, final String group, final String pluginKey, final String dataKey, final String element) {
+		return StripedLocks.write(this.lock, () -> {
+			ConfigLists.append(this.config, buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.LIST, pluginKey, dataKey), element);
+			return save();
+		});
+	}
+
+	@Override
+	public boolean removeFromList(final UUID uuid, final String group, final String pluginKey, final String dataKey, final String element) {
+		return StripedLocks.write(this.lock, () -> {
+			if(!ConfigLists.remove(this.config, buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.LIST, pluginKey, dataKey), element)) {
+				return false;
+			}
+			return save();
+		});
+	}
+
+	@Override
+	public boolean listContains(final UUID uuid, final String group, final String pluginKey, final String dataKey, final String element) {
+		return StripedLocks.read(this.lock, () -> {
+			return ConfigLists.contains(this.config, buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.LIST, pluginKey, dataKey), element);
+		});
+	}
+
+	@Override
+	public int getListSize(final UUID uuid, final String group, final String pluginKey, final String dataKey) {
+		return StripedLocks.read(this.lock, () -> {
+			return ConfigLists.size(this.config, buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.LIST, pluginKey, dataKey));
+		});
+	}
+
+	@Override
+	public List<String> getListRange(final UUID uuid, final String group, final String pluginKey, final String dataKey, final int start, final int count) {
+		return StripedLocks.read(this.lock, () -> {
+			return ConfigLists.range(this.config, buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.LIST, pluginKey, dataKey), start, count);
+		});
+	}
+
+	@Override
+	public Optional<Integer> increment(final UUID uuid, final String group, final String pluginKey, final String dataKey, final int delta) {
+		return StripedLocks.write(this.lock, () -> {
+			final int value = ConfigNumbers.add(this.config, buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.INT, pluginKey, dataKey), NumericType.INT, delta).intValue();
+			if(!save()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
+	}
+
+	@Override
+	public boolean compareAndSet(final UUID uuid, final String group, final String pluginKey, final String dataKey, final int expected, final int data) {
+		return StripedLocks.write(this.lock, () -> {
+			if(!ConfigNumbers.compareAndSet(this.config, buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.INT, pluginKey, dataKey), NumericType.INT, expected, data)) {
+				return false;
+			}
+			return save();
+		});
+	}
+
+	@Override
+	public Optional<Long> increment(final UUID uuid, final String group, final String pluginKey, final String dataKey, final long delta) {
+		return StripedLocks.write(this.lock, () -> {
+			final long value = ConfigNumbers.add(this.config, buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.LONG, pluginKey, dataKey), NumericType.LONG, delta).longValue();
+			if(!save()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
+	}
+
+	@Override
+	public boolean compareAndSet(final UUID uuid, final String group, final String pluginKey, final String dataKey, final long expected, final long data) {
+		return StripedLocks.write(this.lock, () -> {
+			if(!ConfigNumbers.compareAndSet(this.config, buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.LONG, pluginKey, dataKey), NumericType.LONG, expected, data)) {
+				return false;
+			}
+			return save();
+		});
+	}
+
+	@Override
+	public Optional<Float> increment(final UUID uuid, final String group, final String pluginKey, final String dataKey, final float delta) {
+		return StripedLocks.write(this.lock, () -> {
+			final float value = ConfigNumbers.add(this.config, buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.FLOAT, pluginKey, dataKey), NumericType.FLOAT, delta).floatValue();
+			if(!save()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
+	}
+
+	@Override
+	public boolean compareAndSet(final UUID uuid, final String group, final String pluginKey, final String dataKey, final float expected, final float data) {
+		return StripedLocks.write(this.lock, () -> {
+			if(!ConfigNumbers.compareAndSet(this.config, buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.FLOAT, pluginKey, dataKey), NumericType.FLOAT, expected, data)) {
+				return false;
+			}
+			return save();
+		});
+	}
+
+	@Override
+	public Optional<Double> increment(final UUID uuid, final String group, final String pluginKey, final String dataKey, final double delta) {
+		return StripedLocks.write(this.lock, () -> {
+			final double value = ConfigNumbers.add(this.config, buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.DOUBLE, pluginKey, dataKey), NumericType.DOUBLE, delta).doubleValue();
+			if(!save()) {
+				return Optional.empty();
+			}
+			return Optional.of(value);
+		});
+	}
+
+	@Override
+	public boolean compareAndSet(final UUID uuid, final String group, final String pluginKey, final String dataKey, final double expected, final double data) {
+		return StripedLocks.write(this.lock, () -> {
+			if(!ConfigNumbers.compareAndSet(this.config, buildConfigKeyPlayerGroupData(uuid, group, ConfigDataType.DOUBLE, pluginKey, dataKey), NumericType.DOUBLE, expected, data)) {
+				return false;
+			}
+			return save();
+		});
 	}
 	
 	private static String buildConfigKeyGlobalData(final ConfigDataType type, final String pluginKey, final String dataKey) {
@@ -595,6 +1472,38 @@ public class SingleYamlDataSource implements DataSource{
 		return SingleYamlDataSource.CONFIG_TYPE_PLAYERS + "." + uuid.toString() + "." + pluginKey + "." + type.getKey() + "." + dataKey;
 	}
 	
+	private Ranking getRanking(final String pluginKey, final String dataKey, final NumericType type) {
+		final String rankingKey = pluginKey + "." + ConfigDataType.of(type).getKey() + "." + dataKey;
+		return this.rankings.computeIfAbsent(rankingKey, key -> buildRanking(key, type));
+	}
+	
+	private Ranking buildRanking(final String rankingKey, final NumericType type) {
+		// the ranking is built once from all players, afterwards it is kept up to date by the setters
+		final Ranking ranking = new Ranking(type);
+		final ConfigurationSection players = this.config.getConfigurationSection(SingleYamlDataSource.CONFIG_TYPE_PLAYERS);
+		if(players != null) {
+			for(final String player: players.getKeys(false)) {
+				final UUID uuid = ConfigExport.parseUuid(player);
+				if(uuid == null) {
+					continue;
+				}
+				final Object value = players.get(player + "." + rankingKey);
+				if(value instanceof Number) {
+					ranking.update(uuid, (Number) value);
+				}
+			}
+		}
+		
+		return ranking;
+	}
+	
+	private void updateRanking(final UUID uuid, final String pluginKey, final String dataKey, final NumericType type, final Number value) {
+		final Ranking ranking = this.rankings.get(pluginKey + "." + ConfigDataType.of(type).getKey() + "." + dataKey);
+		if(ranking != null) {
+			ranking.update(uuid, value);
+		}
+	}
+	
 	private static String buildConfigKeyGroups(final String pluginKey) {
 		return SingleYamlDataSource.CONFIG_TYPE_GROUPS + "." + pluginKey;
 	}
@@ -620,11 +1529,14 @@ public class SingleYamlDataSource implements DataSource{
 	}
 	
 	private boolean save() {
+		final Span span = Tracing.get().beginFileSave(this.configFile.getPath());
 		try {
 			this.config.save(this.configFile);
 			return true;
 		}catch(final IOException ex) {
 			return false;
+		} finally {
+			span.end(this.configFile.length());
 		}
 	}
 
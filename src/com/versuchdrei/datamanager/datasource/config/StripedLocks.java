@@ -0,0 +1,120 @@
+package com.versuchdrei.datamanager.datasource.config;
+
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Read write locks for the data of a yaml backend, so it can be accessed from any thread.
+ * Players and groups are spread over a fixed number of locks by their hash,
+ * which lets independent players and groups be read and written in parallel without keeping a lock for each of them.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+class StripedLocks {
+
+	// a power of two, so the lock of a hash can be picked by a mask
+	private static final int STRIPES = 64;
+
+	private final ReadWriteLock globalLock = new ReentrantReadWriteLock();
+	// players and groups use separate locks, so holding the lock of a group while locking its members cannot deadlock
+	private final ReadWriteLock[] playerLocks = createLocks();
+	private final ReadWriteLock[] groupLocks = createLocks();
+
+	/**
+	 * runs the operation while holding the read lock
+	 * @param lock the lock to hold
+	 * @param operation the operation to run
+	 * @return the result of the operation
+	 */
+	static <T> T read(final ReadWriteLock lock, final Supplier<T> operation) {
+		lock.readLock().lock();
+		try {
+			return operation.get();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * runs the operation while holding the read lock
+	 * @param lock the lock to hold
+	 * @param operation the operation to run
+	 */
+	static void read(final ReadWriteLock lock, final Runnable operation) {
+		lock.readLock().lock();
+		try {
+			operation.run();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * runs the operation while holding the write lock
+	 * @param lock the lock to hold
+	 * @param operation the operation to run
+	 * @return the result of the operation
+	 */
+	static <T> T write(final ReadWriteLock lock, final Supplier<T> operation) {
+		lock.writeLock().lock();
+		try {
+			return operation.get();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * runs the operation while holding the write lock
+	 * @param lock the lock to hold
+	 * @param operation the operation to run
+	 */
+	static void write(final ReadWriteLock lock, final Runnable operation) {
+		lock.writeLock().lock();
+		try {
+			operation.run();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private static ReadWriteLock[] createLocks() {
+		final ReadWriteLock[] locks = new ReadWriteLock[StripedLocks.STRIPES];
+		for(int i = 0; i < locks.length; i++) {
+			locks[i] = new ReentrantReadWriteLock();
+		}
+		return locks;
+	}
+
+	private static int getStripe(final int hash) {
+		// spreads the high bits, since the mask only looks at the low ones
+		return (hash ^ (hash >>> 16)) & (StripedLocks.STRIPES - 1);
+	}
+
+	/**
+	 * @return the lock guarding the global data
+	 */
+	ReadWriteLock getGlobal() {
+		return this.globalLock;
+	}
+
+	/**
+	 * @param uuid the uuid of the player
+	 * @return the lock guarding the data of the player
+	 */
+	ReadWriteLock getPlayer(final UUID uuid) {
+		return this.playerLocks[getStripe(uuid.hashCode())];
+	}
+
+	/**
+	 * @param group the name of the group
+	 * @param pluginKey the key of the plugin owning the group
+	 * @return the lock guarding the group and its members
+	 */
+	ReadWriteLock getGroup(final String group, final String pluginKey) {
+		return this.groupLocks[getStripe(31 * pluginKey.hashCode() + group.hashCode())];
+	}
+
+}
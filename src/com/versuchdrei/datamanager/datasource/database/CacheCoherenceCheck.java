@@ -0,0 +1,187 @@
+package com.versuchdrei.datamanager.datasource.database;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import com.versuchdrei.datamanager.datasource.DataSource;
+
+/**
+ * Checks that the caches of two servers sharing one database stay coherent.
+ * Two data sources with caches of their own work on the same database, one of them writes and the other one has to see every write
+ * once the change log was read, including a value it read and cached before and a value it kept reading while it was written.
+ * It runs outside of a server on data of its own, the settings of MySQL are read from the config of the plugin.
+ * The file of SQLite is deleted afterwards, MySQL keeps the few values of the check under its own plugin key, where the next run overwrites them.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class CacheCoherenceCheck {
+
+	private static final String USAGE = "usage: <sqlite|mysql> [split|consolidated]";
+	private static final String CONFIG_FILE_NAME = "config.yml";
+	private static final String CHECK_FILE_NAME = "coherence.db";
+	private static final String PLUGIN_KEY = "VersuchDrei_DataManager_CoherenceCheck";
+	private static final String GROUP = "check";
+	private static final int CAPACITY = 100;
+	private static final long SYNC_INTERVAL = 200;
+	// a few intervals, so a sync that just started before the write does not count
+	private static final long SYNC_WAIT = 3 * CacheCoherenceCheck.SYNC_INTERVAL;
+	private static final int CONCURRENT_WRITES = 500;
+	// a fixed player, so repeated runs on MySQL overwrite the same values
+	private static final UUID PLAYER = new UUID(0, 1);
+
+	private final DataSource writer;
+	private final DataSource reader;
+	private final List<String> failures = new ArrayList<>();
+
+	/**
+	 * @param writer the data source of the server that writes, which is set up
+	 * @param reader the data source of the server that reads, which is set up and uses the same database
+	 */
+	public CacheCoherenceCheck(final DataSource writer, final DataSource reader) {
+		this.writer = writer;
+		this.reader = reader;
+	}
+
+	/**
+	 * runs all checks
+	 * @return the failed checks, empty if the caches stayed coherent
+	 * @throws InterruptedException if the thread is interrupted while waiting for the change log to be read
+	 */
+	public List<String> run() throws InterruptedException {
+		checkOverwrite("global value", () -> this.reader.getString(CacheCoherenceCheck.PLUGIN_KEY, "motd"),
+				() -> this.writer.set(CacheCoherenceCheck.PLUGIN_KEY, "motd", "first"), () -> this.writer.set(CacheCoherenceCheck.PLUGIN_KEY, "motd", "second"),
+				Optional.of("second"));
+		checkOverwrite("player value", () -> this.reader.getInt(CacheCoherenceCheck.PLAYER, CacheCoherenceCheck.PLUGIN_KEY, "score"),
+				() -> this.writer.set(CacheCoherenceCheck.PLAYER, CacheCoherenceCheck.PLUGIN_KEY, "score", 1),
+				() -> this.writer.set(CacheCoherenceCheck.PLAYER, CacheCoherenceCheck.PLUGIN_KEY, "score", 2), Optional.of(2));
+		checkOverwrite("increment", () -> this.reader.getInt(CacheCoherenceCheck.PLAYER, CacheCoherenceCheck.PLUGIN_KEY, "score"),
+				() -> true, () -> this.writer.increment(CacheCoherenceCheck.PLAYER, CacheCoherenceCheck.PLUGIN_KEY, "score", 5).isPresent(), Optional.of(7));
+		checkOverwrite("deleted group", () -> this.reader.getInt(CacheCoherenceCheck.PLAYER, CacheCoherenceCheck.GROUP, CacheCoherenceCheck.PLUGIN_KEY, "rank"),
+				() -> this.writer.addGroup(CacheCoherenceCheck.GROUP, CacheCoherenceCheck.PLUGIN_KEY)
+						&& this.writer.addMember(CacheCoherenceCheck.PLAYER, CacheCoherenceCheck.GROUP, CacheCoherenceCheck.PLUGIN_KEY)
+						&& this.writer.set(CacheCoherenceCheck.PLAYER, CacheCoherenceCheck.GROUP, CacheCoherenceCheck.PLUGIN_KEY, "rank", 3),
+				() -> this.writer.deleteGroup(CacheCoherenceCheck.GROUP, CacheCoherenceCheck.PLUGIN_KEY), Optional.empty());
+		checkConcurrentReads();
+		return this.failures;
+	}
+
+	/**
+	 * writes a value, lets the reader cache it, overwrites it and expects the reader to see the new value after the next sync
+	 */
+	private void checkOverwrite(final String name, final Supplier<Optional<?>> read, final Supplier<Boolean> first, final Supplier<Boolean> second,
+			final Optional<?> expected) throws InterruptedException {
+		if(!first.get()) {
+			this.failures.add(name + ": the first write failed");
+			return;
+		}
+		Thread.sleep(CacheCoherenceCheck.SYNC_WAIT);
+		// read twice, so the value is cached for sure
+		read.get();
+		read.get();
+
+		if(!second.get()) {
+			this.failures.add(name + ": the second write failed");
+			return;
+		}
+		Thread.sleep(CacheCoherenceCheck.SYNC_WAIT);
+		final Optional<?> actual = read.get();
+		if(!Objects.equals(actual, expected)) {
+			this.failures.add(name + ": expected " + expected + " but read " + actual);
+		}
+	}
+
+	/**
+	 * keeps the reader reading a value while it is incremented, so reads race with the evictions of the sync
+	 */
+	private void checkConcurrentReads() throws InterruptedException {
+		this.writer.set(CacheCoherenceCheck.PLAYER, CacheCoherenceCheck.PLUGIN_KEY, "counter", 0);
+		final AtomicBoolean writing = new AtomicBoolean(true);
+		final Thread reading = new Thread(() -> {
+			while(writing.get()) {
+				this.reader.getInt(CacheCoherenceCheck.PLAYER, CacheCoherenceCheck.PLUGIN_KEY, "counter");
+			}
+		}, "DataManager coherence check reader");
+		reading.start();
+		try {
+			for(int i = 0; i < CacheCoherenceCheck.CONCURRENT_WRITES; i++) {
+				this.writer.increment(CacheCoherenceCheck.PLAYER, CacheCoherenceCheck.PLUGIN_KEY, "counter", 1);
+			}
+		} finally {
+			writing.set(false);
+			reading.join();
+		}
+
+		Thread.sleep(CacheCoherenceCheck.SYNC_WAIT);
+		final Optional<Integer> actual = this.reader.getInt(CacheCoherenceCheck.PLAYER, CacheCoherenceCheck.PLUGIN_KEY, "counter");
+		if(!actual.equals(Optional.of(CacheCoherenceCheck.CONCURRENT_WRITES))) {
+			this.failures.add("concurrent reads: expected " + CacheCoherenceCheck.CONCURRENT_WRITES + " but read " + actual);
+		}
+	}
+
+	/**
+	 * runs the checks on the given database and prints the results
+	 * @param args the database and the schema
+	 */
+	public static void main(final String[] args) {
+		if(args.length < 1) {
+			System.err.println(CacheCoherenceCheck.USAGE);
+			return;
+		}
+
+		final DBSchema schema;
+		try {
+			schema = args.length > 1 ? DBSchema.valueOf(args[1].toUpperCase(Locale.ROOT)) : DBSchema.SPLIT;
+		} catch (final IllegalArgumentException e) {
+			System.err.println(CacheCoherenceCheck.USAGE);
+			return;
+		}
+
+		final File checkFile = new File(DataSource.FILE_PATH + CacheCoherenceCheck.CHECK_FILE_NAME);
+		final DBDataSource writer;
+		final DBDataSource reader;
+		switch(args[0].toLowerCase(Locale.ROOT)) {
+		case "sqlite":
+			writer = new SQLiteDataSource(checkFile, schema, new DBCache(CacheCoherenceCheck.CAPACITY, CacheCoherenceCheck.SYNC_INTERVAL));
+			reader = new SQLiteDataSource(checkFile, schema, new DBCache(CacheCoherenceCheck.CAPACITY, CacheCoherenceCheck.SYNC_INTERVAL));
+			break;
+		case "mysql":
+			final FileConfiguration config = YamlConfiguration.loadConfiguration(new File(DataSource.FILE_PATH + CacheCoherenceCheck.CONFIG_FILE_NAME));
+			writer = new MySQLDataSource(config.getString("hostname"), config.getString("port"), config.getString("database"),
+					config.getString("user"), config.getString("password"), schema, 0, new DBCache(CacheCoherenceCheck.CAPACITY, CacheCoherenceCheck.SYNC_INTERVAL));
+			reader = new MySQLDataSource(config.getString("hostname"), config.getString("port"), config.getString("database"),
+					config.getString("user"), config.getString("password"), schema, 0, new DBCache(CacheCoherenceCheck.CAPACITY, CacheCoherenceCheck.SYNC_INTERVAL));
+			break;
+		default:
+			System.err.println(CacheCoherenceCheck.USAGE);
+			return;
+		}
+
+		try {
+			writer.setup();
+			reader.setup();
+			final List<String> failures = new CacheCoherenceCheck(writer, reader).run();
+			if(failures.isEmpty()) {
+				System.out.println("the caches stayed coherent");
+			} else {
+				failures.forEach(System.out::println);
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			writer.close();
+			reader.close();
+			checkFile.delete();
+		}
+	}
+
+}
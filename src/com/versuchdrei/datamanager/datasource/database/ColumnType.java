@@ -14,5 +14,6 @@ public enum ColumnType {
 	FLOAT,
 	DOUBLE,
 	BOOLEAN, // needs to hold values of 1 and 0
-	STRING_LIST; // for string columns used for lists, needs to hold a formatted list
+	STRING_LIST, // for string columns used for lists, needs to hold a formatted list
+	ID; // for numeric columns that are filled with an increasing id for every inserted row, needs to hold a long
 }
@@ -0,0 +1,196 @@
+package com.versuchdrei.datamanager.datasource.database;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.versuchdrei.datamanager.utils.BoundedOwnerMap;
+
+/**
+ * An in memory cache for the values of a database backend that stays coherent with other servers using the same database.
+ * Values are cached by their owner, which is the global data of a plugin, a player, a group or a member.
+ * Every write is recorded in a change log table in the same transaction,
+ * every server reads the log in fixed intervals and evicts the owners changed by others.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class DBCache {
+
+	// missing ids are usually transactions that are not committed yet, after this time they are assumed to be rolled back
+	private static final long GAP_TIMEOUT = 60000;
+	// an id jump larger than this is not tracked id by id
+	private static final int MAX_GAPS = 1000;
+	// changes are kept in the log for this long, so servers that fall behind briefly still see them
+	private static final long RETENTION = 600000;
+
+	private final long syncInterval;
+	private final String node = UUID.randomUUID().toString();
+	private final BoundedOwnerMap<Map<String, Object>> owners;
+	// counts evictions, so a value read before an eviction is not cached after it
+	private final AtomicLong evictions = new AtomicLong();
+
+	// the following fields are only accessed by the thread reading the log
+	private long highWater = 0;
+	// ids below the high water mark that were not read yet, by the time they were first missed
+	private final Map<Long, Long> gaps = new HashMap<>();
+	// the high water mark at past points in time, to find the ids that are old enough to be deleted
+	private final Deque<long[]> marks = new ArrayDeque<>();
+
+	/**
+	 * @param capacity the maximum number of owners to keep values of
+	 * @param syncInterval the interval in milliseconds to read the change log in, which bounds how long values of other servers stay stale
+	 */
+	public DBCache(final int capacity, final long syncInterval) {
+		this.owners = new BoundedOwnerMap<>(capacity);
+		this.syncInterval = syncInterval;
+	}
+
+	/**
+	 * returns the owner of the value identified by the given keys, so the keys of all values of the same player or group result in the same owner
+	 * @param keys the keys of the value
+	 * @param ignoredColumns the columns of the keys that identify the value within its owner
+	 * @return the owner of the value
+	 */
+	static String getOwner(final List<? extends ColumnEntry> keys, final String... ignoredColumns) {
+		final StringBuilder builder = new StringBuilder();
+		outer: for(final ColumnEntry key: keys) {
+			for(final String column: ignoredColumns) {
+				if(column.equals(key.getColumn())) {
+					continue outer;
+				}
+			}
+			builder.append(key.getColumn()).append('=').append(key.asString()).append(';');
+		}
+		return builder.toString();
+	}
+
+	long getSyncInterval() {
+		return this.syncInterval;
+	}
+
+	String getNode() {
+		return this.node;
+	}
+
+	/**
+	 * returns a mark to pass to {@link #put(String, String, Object, long)} when a value is read from the database
+	 * @return the current mark
+	 */
+	long getMark() {
+		return this.evictions.get();
+	}
+
+	/**
+	 * @param owner the owner of the value
+	 * @param entry the key of the value within its owner
+	 * @return the cached value, or null if it is not cached
+	 */
+	Object get(final String owner, final String entry) {
+		final Map<String, Object> values = this.owners.get(owner);
+		return values == null ? null : values.get(entry);
+	}
+
+	/**
+	 * caches a value, unless anything was evicted since it was read
+	 * @param owner the owner of the value
+	 * @param entry the key of the value within its owner
+	 * @param value the value
+	 * @param mark the mark taken before the value was read
+	 */
+	void put(final String owner, final String entry, final Object value, final long mark) {
+		if(this.evictions.get() != mark) {
+			return;
+		}
+
+		final Map<String, Object> values = this.owners.computeIfAbsent(owner, key -> new ConcurrentHashMap<>());
+		values.put(entry, value);
+		// an eviction between the check and the insert might have missed the value, so it is checked again, any later eviction sees the value
+		if(this.evictions.get() != mark) {
+			values.remove(entry, value);
+		}
+	}
+
+	/**
+	 * evicts all values of the owner
+	 * @param owner the owner whose values to evict
+	 * @param cascade true to also evict all owners starting with the owner, like the members of a group, otherwise false
+	 */
+	void evict(final String owner, final boolean cascade) {
+		this.evictions.incrementAndGet();
+		if(cascade) {
+			this.owners.removeIf(key -> key.startsWith(owner));
+		} else {
+			this.owners.remove(owner);
+		}
+	}
+
+	/**
+	 * sets the position to read the change log from, all earlier changes are considered read
+	 * @param highWater the highest id in the change log
+	 */
+	void start(final long highWater) {
+		this.highWater = highWater;
+	}
+
+	/**
+	 * @return the id after which the change log has to be read, which includes the ids that are still missing
+	 */
+	long getSyncStart() {
+		long start = this.highWater;
+		for(final long gap: this.gaps.keySet()) {
+			start = Math.min(start, gap - 1);
+		}
+		return start;
+	}
+
+	/**
+	 * applies a change read from the log, the changes have to be applied in the order of their ids
+	 * @param id the id of the change
+	 * @param node the server that made the change
+	 * @param owner the changed owner
+	 * @param cascade whether owners starting with the changed owner are changed as well
+	 */
+	void apply(final long id, final String node, final String owner, final boolean cascade) {
+		if(id <= this.highWater && this.gaps.remove(id) == null) {
+			// read before
+			return;
+		}
+
+		if(id > this.highWater) {
+			final long now = System.currentTimeMillis();
+			if(id - this.highWater <= DBCache.MAX_GAPS) {
+				for(long missing = this.highWater + 1; missing < id; missing++) {
+					this.gaps.put(missing, now);
+				}
+			}
+			this.highWater = id;
+		}
+
+		// changes of this server were evicted when they were made
+		if(!node.equals(this.node)) {
+			evict(owner, cascade);
+		}
+	}
+
+	/**
+	 * ends a read of the change log
+	 * @return the id below which changes are old enough to be deleted from the log, or -1 if there are none yet
+	 */
+	long finishSync() {
+		final long now = System.currentTimeMillis();
+		this.gaps.values().removeIf(time -> now - time > DBCache.GAP_TIMEOUT);
+
+		this.marks.addLast(new long[] {now, this.highWater});
+		long bound = -1;
+		while(!this.marks.isEmpty() && now - this.marks.peekFirst()[0] > DBCache.RETENTION) {
+			bound = this.marks.pollFirst()[1];
+		}
+		return bound;
+	}
+
+}
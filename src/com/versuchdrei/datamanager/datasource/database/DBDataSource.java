@@ -1,13 +1,37 @@
 package com.versuchdrei.datamanager.datasource.database;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import com.versuchdrei.datamanager.NumericType;
+import com.versuchdrei.datamanager.RankedEntry;
 import com.versuchdrei.datamanager.datasource.DataSource;
+import com.versuchdrei.datamanager.datasource.DataSourceWriter;
+import com.versuchdrei.datamanager.datasource.DataVisitor;
+import com.versuchdrei.datamanager.datasource.StorageUsage;
+import com.versuchdrei.datamanager.trace.Span;
+import com.versuchdrei.datamanager.trace.Tracing;
 import com.versuchdrei.datamanager.utils.StringUtils;
 
 /**
@@ -53,11 +77,134 @@ public abstract class DBDataSource implements DataSource{
 	private static final String TABLE_GROUP_MEMBER_BOOLEANS = "VersuchDrei_DataManager_GroupMemberBooleans";
 	private static final String TABLE_GROUP_MEMBER_LISTS = "VersuchDrei_DataManager_GroupMemberLists";
 	
+	private static final String TABLE_GLOBAL_DATA = "VersuchDrei_DataManager_GlobalData";
+	private static final String TABLE_PLAYER_DATA = "VersuchDrei_DataManager_PlayerData";
+	private static final String TABLE_GROUP_DATA = "VersuchDrei_DataManager_GroupData";
+	private static final String TABLE_GROUP_MEMBER_DATA = "VersuchDrei_DataManager_GroupMemberData";
+	
+	private static final String TABLE_LIST_ELEMENTS = "VersuchDrei_DataManager_ListElements";
+	private static final String TABLE_PLAYER_LIST_ELEMENTS = "VersuchDrei_DataManager_PlayerListElements";
+	private static final String TABLE_GROUP_LIST_ELEMENTS = "VersuchDrei_DataManager_GroupListElements";
+	private static final String TABLE_GROUP_MEMBER_LIST_ELEMENTS = "VersuchDrei_DataManager_GroupMemberListElements";
+	
+	private static final String TABLE_CHANGE_LOG = "VersuchDrei_DataManager_ChangeLog";
+	
+	private static final Map<ColumnType, String> GLOBAL_TABLES = mapTables(DBDataSource.TABLE_STRINGS, DBDataSource.TABLE_INTS, DBDataSource.TABLE_LONGS, 
+			DBDataSource.TABLE_FLOATS, DBDataSource.TABLE_DOUBLES, DBDataSource.TABLE_BOOLEANS, DBDataSource.TABLE_LISTS);
+	private static final Map<ColumnType, String> PLAYER_TABLES = mapTables(DBDataSource.TABLE_PLAYER_STRINGS, DBDataSource.TABLE_PLAYER_INTS, DBDataSource.TABLE_PLAYER_LONGS, 
+			DBDataSource.TABLE_PLAYER_FLOATS, DBDataSource.TABLE_PLAYER_DOUBLES, DBDataSource.TABLE_PLAYER_BOOLEANS, DBDataSource.TABLE_PLAYER_LISTS);
+	private static final Map<ColumnType, String> GROUP_TABLES = mapTables(DBDataSource.TABLE_GROUP_STRINGS, DBDataSource.TABLE_GROUP_INTS, DBDataSource.TABLE_GROUP_LONGS, 
+			DBDataSource.TABLE_GROUP_FLOATS, DBDataSource.TABLE_GROUP_DOUBLES, DBDataSource.TABLE_GROUP_BOOLEANS, DBDataSource.TABLE_GROUP_LISTS);
+	private static final Map<ColumnType, String> GROUP_MEMBER_TABLES = mapTables(DBDataSource.TABLE_GROUP_MEMBER_STRINGS, DBDataSource.TABLE_GROUP_MEMBER_INTS, DBDataSource.TABLE_GROUP_MEMBER_LONGS, 
+			DBDataSource.TABLE_GROUP_MEMBER_FLOATS, DBDataSource.TABLE_GROUP_MEMBER_DOUBLES, DBDataSource.TABLE_GROUP_MEMBER_BOOLEANS, DBDataSource.TABLE_GROUP_MEMBER_LISTS);
+	
 	private static final String COLUMN_PLAYER = "Player";
 	private static final String COLUMN_GROUP = "Group";
 	private static final String COLUMN_PLUGIN_KEY = "PluginKey";
 	private static final String COLUMN_DATA_KEY = "DataKey";
 	private static final String COLUMN_DATA = "Data"; // value would be a more straightforward name here, but is a keyword in most database languages
+	private static final String COLUMN_TYPE = "Type";
+	private static final String COLUMN_POSITION = "Position";
+	private static final String COLUMN_ELEMENT = "Element";
+	private static final String COLUMN_ID = "Id";
+	private static final String COLUMN_NODE = "Node";
+	private static final String COLUMN_OWNER = "Owner";
+	private static final String COLUMN_CASCADE = "Cascade";
+	
+	// the maximum number of changes to read from the change log at once
+	private static final int CHANGE_LOG_BATCH = 1000;
+	// the number of writes a writer commits at once
+	private static final int WRITER_BATCH_SIZE = 1000;
+	// the number of groups or members read at once while they are streamed, the connection is free for other calls in between
+	private static final int STREAM_PAGE_SIZE = 1000;
+	// the name of the cache in traces
+	private static final String CACHE_NAME = "database";
+	
+	private static Map<ColumnType, String> mapTables(final String strings, final String ints, final String longs, final String floats, 
+			final String doubles, final String booleans, final String lists){
+		final Map<ColumnType, String> tables = new EnumMap<>(ColumnType.class);
+		tables.put(ColumnType.STRING_VALUE, strings);
+		tables.put(ColumnType.INT, ints);
+		tables.put(ColumnType.LONG, longs);
+		tables.put(ColumnType.FLOAT, floats);
+		tables.put(ColumnType.DOUBLE, doubles);
+		tables.put(ColumnType.BOOLEAN, booleans);
+		tables.put(ColumnType.STRING_LIST, lists);
+		return tables;
+	}
+	
+	/**
+	 * returns the name of the column holding values of the given type in the consolidated schema
+	 * @param type the type of the value
+	 * @return the name of the column
+	 */
+	private static String getDataColumn(final ColumnType type) {
+		switch(type) {
+		case INT:
+			return "IntData";
+		case LONG:
+			return "LongData";
+		case FLOAT:
+			return "FloatData";
+		case DOUBLE:
+			return "DoubleData";
+		case BOOLEAN:
+			return "BooleanData";
+		case STRING_LIST:
+			return "ListData";
+		case STRING_VALUE:
+		default:
+			return "StringData";
+		}
+	}
+	
+	/**
+	 * @return the column type of the value, or null if it is a list
+	 */
+	private static ColumnType getValueType(final Object value) {
+		if(value instanceof String) {
+			return ColumnType.STRING_VALUE;
+		} else if(value instanceof Integer) {
+			return ColumnType.INT;
+		} else if(value instanceof Long) {
+			return ColumnType.LONG;
+		} else if(value instanceof Float) {
+			return ColumnType.FLOAT;
+		} else if(value instanceof Double) {
+			return ColumnType.DOUBLE;
+		} else if(value instanceof Boolean) {
+			return ColumnType.BOOLEAN;
+		}
+		return null;
+	}
+	
+	private static ColumnType getColumnType(final NumericType type) {
+		switch(type) {
+		case INT:
+			return ColumnType.INT;
+		case LONG:
+			return ColumnType.LONG;
+		case FLOAT:
+			return ColumnType.FLOAT;
+		case DOUBLE:
+		default:
+			return ColumnType.DOUBLE;
+		}
+	}
+	
+	private static Number parseNumber(final NumericType type, final String value) {
+		switch(type) {
+		case INT:
+			return Integer.parseInt(value);
+		case LONG:
+			return Long.parseLong(value);
+		case FLOAT:
+			return Float.parseFloat(value);
+		case DOUBLE:
+		default:
+			return Double.parseDouble(value);
+		}
+	}
 	
 	private static Optional<String> parseString(final Result result){
 		if(result.isEmpty()) {
@@ -112,7 +259,148 @@ public abstract class DBDataSource implements DataSource{
 			return Optional.empty();
 		}
 		
-		return Optional.of(StringUtils.stringToList(result.getString()));
+		// lists stored in element tables leave an empty header, only lists written by older versions carry their encoded elements
+		final String data = result.getString();
+		if(data == null || data.isEmpty()) {
+			return Optional.of(new ArrayList<>());
+		}
+		
+		return Optional.of(StringUtils.stringToList(data));
+	}
+	
+	private final DBSchema schema;
+	private final Set<NumericType> indexedRankings = EnumSet.noneOf(NumericType.class);
+	// null if values are not cached
+	private final DBCache cache;
+	private ScheduledExecutorService cacheSync;
+	// true if the change log exists, then every write is logged, so servers caching values see the writes of servers that do not
+	private boolean logChanges = false;
+	// identifies the writes of this server in the change log if it does not cache values
+	private final String node = UUID.randomUUID().toString();
+	// the columns of all created tables holding data of plugins, to count their rows by plugin
+	private final Map<String, List<String>> pluginTables = new ConcurrentHashMap<>();
+	
+	/**
+	 * Writes visited data in transactions of many writes each, which saves committing every single value. 
+	 * Groups, members and values other than lists are collected by table and sent as one batch per table, 
+	 * lists replace their elements, so they are written through the regular methods.
+	 */
+	private class BatchWriter extends DataSourceWriter {
+		
+		private final List<BooleanSupplier> writes = new ArrayList<>();
+		// the rows by table, groups and their members come first so they exist before the values referencing them are written
+		private final Map<String, List<List<UpdateColumnEntry>>> rows = new LinkedHashMap<>();
+		// the owners of the collected values, which are recorded in the change log
+		private final Set<String> owners = new LinkedHashSet<>();
+		private int size = 0;
+		
+		private BatchWriter() {
+			super(DBDataSource.this);
+			this.rows.put(DBDataSource.TABLE_GROUPS, new ArrayList<>());
+			this.rows.put(DBDataSource.TABLE_GROUP_MEMBERS, new ArrayList<>());
+		}
+		
+		@Override
+		public void visitGlobal(final String pluginKey, final String dataKey, final Object value) {
+			if(!addValue(getLocation(pluginKey, dataKey), value)) {
+				super.visitGlobal(pluginKey, dataKey, value);
+			}
+		}
+		
+		@Override
+		public void visitPlayer(final UUID uuid, final String pluginKey, final String dataKey, final Object value) {
+			if(!addValue(getLocation(pluginKey, uuid, dataKey), value)) {
+				super.visitPlayer(uuid, pluginKey, dataKey, value);
+			}
+		}
+		
+		@Override
+		public void visitGroup(final String group, final String pluginKey, final List<UUID> members) {
+			addRow(DBDataSource.TABLE_GROUPS, Arrays.asList(
+					new UpdateColumnEntry(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, pluginKey, true),
+					new UpdateColumnEntry(DBDataSource.COLUMN_GROUP, ColumnType.STRING_KEY, group, true)));
+			for(final UUID member: members) {
+				addRow(DBDataSource.TABLE_GROUP_MEMBERS, Arrays.asList(
+						new UpdateColumnEntry(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, pluginKey, true),
+						new UpdateColumnEntry(DBDataSource.COLUMN_GROUP, ColumnType.STRING_KEY, group, true),
+						new UpdateColumnEntry(DBDataSource.COLUMN_PLAYER, ColumnType.STRING_KEY, member.toString(), true)));
+			}
+		}
+		
+		@Override
+		public void visitGroupValue(final String group, final String pluginKey, final String dataKey, final Object value) {
+			if(!addValue(getLocation(pluginKey, group, dataKey), value)) {
+				super.visitGroupValue(group, pluginKey, dataKey, value);
+			}
+		}
+		
+		@Override
+		public void visitMemberValue(final UUID uuid, final String group, final String pluginKey, final String dataKey, final Object value) {
+			if(!addValue(getLocation(pluginKey, group, uuid, dataKey), value)) {
+				super.visitMemberValue(uuid, group, pluginKey, dataKey, value);
+			}
+		}
+		
+		@Override
+		protected void apply(final BooleanSupplier write) {
+			this.writes.add(write);
+			count();
+		}
+		
+		@Override
+		public boolean finish() {
+			flush();
+			return super.finish();
+		}
+		
+		/**
+		 * collects the row of a value
+		 * @return true if the value was collected, false if it is a list
+		 */
+		private boolean addValue(final DataLocation location, final Object value) {
+			final ColumnType type = getValueType(value);
+			if(type == null) {
+				return false;
+			}
+			
+			this.owners.add(getOwner(location.getKeys()));
+			addRow(getTable(location, type), getValueRow(type, String.valueOf(value), location.getUpdateKeys()));
+			return true;
+		}
+		
+		private void addRow(final String table, final List<UpdateColumnEntry> row) {
+			this.rows.computeIfAbsent(table, key -> new ArrayList<>()).add(row);
+			count();
+		}
+		
+		private void count() {
+			if(++this.size >= DBDataSource.WRITER_BATCH_SIZE) {
+				flush();
+			}
+		}
+		
+		private void flush() {
+			// a failed write rolls back the whole batch, the following batches are still written
+			record(inTransaction(() -> this.rows.entrySet().stream().allMatch(entry -> updateValues(entry.getKey(), entry.getValue()))
+					&& logChanges(this.owners) && this.writes.stream().allMatch(BooleanSupplier::getAsBoolean)));
+			if(DBDataSource.this.cache != null) {
+				this.owners.forEach(owner -> DBDataSource.this.cache.evict(owner, false));
+			}
+			this.rows.values().forEach(List::clear);
+			this.owners.clear();
+			this.writes.clear();
+			this.size = 0;
+		}
+		
+	}
+	
+	/**
+	 * @param schema the table layout to use
+	 * @param cache the cache for the values, or null to not cache them
+	 */
+	protected DBDataSource(final DBSchema schema, final DBCache cache) {
+		this.schema = schema;
+		this.cache = cache;
 	}
 	
 	/**
@@ -125,6 +413,10 @@ public abstract class DBDataSource implements DataSource{
 	
 	private void createTable(final String name, final Column... columns) {
 		createTable(name, Arrays.asList(columns));
+		final List<String> titles = Arrays.stream(columns).map(Column::getTitle).collect(Collectors.toList());
+		if(titles.contains(DBDataSource.COLUMN_PLUGIN_KEY)) {
+			this.pluginTables.put(name, titles);
+		}
 	}
 	
 	/**
@@ -135,17 +427,36 @@ public abstract class DBDataSource implements DataSource{
 	 */
 	protected abstract boolean updateValue(String table, List<UpdateColumnEntry> columnEntries);
 	
+	/**
+	 * inserts or updates all given rows like {@link #updateValue(String, List)} with a single batch, 
+	 * every row has to consist of the same columns in the same order
+	 * @param table the name of the table to update the values in
+	 * @param rows the rows to insert or update
+	 * @return true on success, otherwise false
+	 */
+	protected abstract boolean updateValues(String table, List<List<UpdateColumnEntry>> rows);
+	
 	private boolean updateValue(final String table, final UpdateColumnEntry... columnEntries) {
 		return updateValue(table, Arrays.asList(columnEntries));
 	}
 	
+	/**
+	 * deletes all rows from the given table that match the given keys
+	 * @param table the name of the table to delete from
+	 * @param keys a list of keys to identify the rows
+	 * @return the number of deleted rows, or -1 on failure
+	 */
+	protected abstract int deleteRows(String table, List<ColumnEntry> keys);
+	
 	/**
 	 * deletes all rows from the given table that match the given keys
 	 * @param table the name of the table to delete from
 	 * @param keys a list of keys to identify the rows
 	 * @return true on success, otherwise false
 	 */
-	protected abstract boolean deleteValue(final String table, final List<ColumnEntry> keys);
+	protected boolean deleteValue(final String table, final List<ColumnEntry> keys) {
+		return deleteRows(table, keys) >= 0;
+	}
 	
 	private boolean deleteValue(final String table, final ColumnEntry... keys) {
 		return deleteValue(table, Arrays.asList(keys));
@@ -176,68 +487,832 @@ public abstract class DBDataSource implements DataSource{
 		return exists(table, Arrays.asList(keys));
 	}
 	
-	private boolean set(final String table, final String pluginKey, final String dataKey, final ColumnType type, final String data) {
-		return updateValue(table,
+	/**
+	 * checks if a table with the given name exists
+	 * @param table the name of the table
+	 * @return true if the table exists, otherwise false
+	 */
+	protected abstract boolean tableExists(String table);
+	
+	/**
+	 * Copies all rows of one table into another. 
+	 * Rows whose keys already exist in the target table are skipped.
+	 * @param source the name of the table to copy from
+	 * @param target the name of the table to copy into
+	 * @param sourceColumns the columns to read from the source table
+	 * @param targetColumns the columns to write the source columns into, in the same order
+	 * @param constants additional columns to fill with the same value for every copied row
+	 * @return true on success, otherwise false
+	 */
+	protected abstract boolean copyRows(String source, String target, List<String> sourceColumns, List<String> targetColumns, List<ColumnEntry> constants);
+	
+	/**
+	 * deletes the given table with all its rows
+	 * @param table the name of the table to delete
+	 * @return true on success, otherwise false
+	 */
+	protected abstract boolean dropTable(String table);
+	
+	/**
+	 * Gets the given column of all rows identified by the given keys, sorted ascending by another column. 
+	 * Pages should continue after the last row of the previous page instead of skipping rows, which reads all skipped rows again.
+	 * @param table the name of the table to get the result from
+	 * @param column the column to get
+	 * @param keys a list of keys to identify the rows
+	 * @param orderColumn the column to sort the rows by
+	 * @param after the value of the order column to get the rows after, or null to start with the first row
+	 * @param offset the number of rows to skip
+	 * @param limit the maximum number of rows to get, a negative value for no limit
+	 * @return a result containing the entries
+	 */
+	protected abstract <T> T getSortedResult(Function<Result, T> parser, String table, String column, List<ColumnEntry> keys, String orderColumn, 
+			ColumnEntry after, int offset, int limit);
+	
+	/**
+	 * counts the rows of the given table that match the given keys
+	 * @param table the name of the table to count the rows in
+	 * @param keys a list of keys to identify the rows
+	 * @return the number of rows, 0 on failure
+	 */
+	protected abstract int countRows(String table, List<ColumnEntry> keys);
+	
+	/**
+	 * groups all rows of the table by the value of the group column and sums up their number and the length of their values
+	 * @param table the name of the table to read
+	 * @param groupColumn the column to group the rows by
+	 * @param columns the columns whose length to sum up
+	 * @return the number of rows and their summed length by the value of the group column, or an empty map on failure
+	 */
+	protected abstract Map<String, StorageUsage> sumLengths(String table, String groupColumn, List<String> columns);
+	
+	/**
+	 * Inserts a row behind all rows with the same keys. 
+	 * The row gets the highest value of the order column among those rows plus one, or 0 if there are none.
+	 * @param table the name of the table to insert into
+	 * @param keys the keys of the row
+	 * @param orderColumn the integer column defining the order of the rows
+	 * @param value the value column of the row
+	 * @return true on success, otherwise false
+	 */
+	protected abstract boolean appendRow(String table, List<ColumnEntry> keys, String orderColumn, ColumnEntry value);
+	
+	/**
+	 * inserts all given rows into the table, every row has to consist of the same columns in the same order
+	 * @param table the name of the table to insert into
+	 * @param rows the rows to insert
+	 * @return true on success, otherwise false
+	 */
+	protected abstract boolean insertRows(String table, List<List<ColumnEntry>> rows);
+	
+	/**
+	 * Reads the given columns of all rows matching the given keys and hands every row to the consumer. 
+	 * The rows are fetched from the database in batches while they are consumed, so the result never has to fit into memory at once.
+	 * @param table the name of the table to read
+	 * @param columns the columns to read
+	 * @param keys a list of keys to identify the rows, might be empty to read the whole table
+	 * @param consumer the consumer for the values of the rows, in the order of the given columns
+	 */
+	protected abstract void forEachRow(String table, List<String> columns, List<ColumnEntry> keys, Consumer<List<String>> consumer);
+	
+	/**
+	 * Runs the given operations as one transaction, which is committed if they return true and rolled back otherwise. 
+	 * If a transaction is already running the operations simply become part of it.
+	 * @param operations the operations to run
+	 * @return true if the transaction was committed, otherwise false
+	 */
+	protected abstract boolean inTransaction(BooleanSupplier operations);
+	
+	/**
+	 * Inserts the given values into the table or, if the unique key already exists, adds the value to the existing one. 
+	 * Exactly one of the column entries has to be a value column.
+	 * @param parser the parser for the new value
+	 * @param table the name of the table to update the value in
+	 * @param columnEntries the columns and their respective values
+	 * @return the parsed new value, or the parsed empty result on failure
+	 */
+	protected abstract <T> T incrementValue(Function<Result, T> parser, String table, List<UpdateColumnEntry> columnEntries);
+	
+	/**
+	 * returns the given columns of all rows whose order column is greater than the given value, ordered by that column
+	 * @param table the name of the table to read
+	 * @param columns the columns to read
+	 * @param orderColumn the numeric column to order by
+	 * @param after the value the order column has to exceed
+	 * @param limit the maximum number of rows to read
+	 * @return the values of the rows as strings, or an empty list on failure
+	 */
+	protected abstract List<List<String>> getRowsAfter(String table, List<String> columns, String orderColumn, long after, int limit);
+	
+	/**
+	 * @param table the name of the table to read
+	 * @param column the numeric column to read
+	 * @return the largest value of the column, 0 if the table is empty or -1 on failure
+	 */
+	protected abstract long getMaxValue(String table, String column);
+	
+	/**
+	 * deletes all rows whose value of the numeric column is lower than the given bound
+	 * @param table the name of the table to delete from
+	 * @param column the numeric column to compare
+	 * @param bound the value rows have to be lower than to be deleted
+	 * @return the number of deleted rows, or -1 on failure
+	 */
+	protected abstract int deleteRowsBelow(String table, String column, long bound);
+	
+	/**
+	 * overwrites the value column of the row identified by the given keys, but only if it currently holds the expected value
+	 * @param table the name of the table to update the value in
+	 * @param keys a list of keys to identify the row
+	 * @param expected the value column with the value it is expected to hold
+	 * @param value the value column with its new value
+	 * @return true if the row was updated, otherwise false
+	 */
+	protected abstract boolean compareAndUpdate(String table, List<ColumnEntry> keys, ColumnEntry expected, ColumnEntry value);
+	
+	/**
+	 * creates an index over the given columns of the table, if no index with the given name exists yet
+	 * @param table the name of the table to index
+	 * @param name the name of the index
+	 * @param columns the columns of the index in order
+	 * @return true on success, otherwise false
+	 */
+	protected abstract boolean createIndex(String table, String name, List<String> columns);
+	
+	/**
+	 * gets the id and the value column of the rows matching the given keys, sorted descending by the value and by the id on ties
+	 * @param table the name of the table to read
+	 * @param idColumn the column identifying the rows
+	 * @param valueColumn the column to sort by
+	 * @param keys a list of keys to identify the rows
+	 * @param offset the number of rows to skip
+	 * @param limit the maximum number of rows to get
+	 * @return the id and the value of every row as strings
+	 */
+	protected abstract List<List<String>> getRankedRows(String table, String idColumn, String valueColumn, List<ColumnEntry> keys, int offset, int limit);
+	
+	/**
+	 * counts the rows matching the given keys that are sorted before the row with the given id by {@link #getRankedRows}
+	 * @param table the name of the table to read
+	 * @param idColumn the column identifying the rows
+	 * @param valueColumn the column to sort by
+	 * @param keys a list of keys to identify the rows
+	 * @param id the id of the row to count the rows before
+	 * @return the number of rows before the row, or -1 if there is no row with the id
+	 */
+	protected abstract int countRankedRowsBefore(String table, String idColumn, String valueColumn, List<ColumnEntry> keys, String id);
+	
+	private boolean set(final ColumnType type, final String pluginKey, final String dataKey, final String data) {
+		return setData(DBDataSource.GLOBAL_TABLES, DBDataSource.TABLE_GLOBAL_DATA, type, data,
 				new UpdateColumnEntry(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, pluginKey, true),
-				new UpdateColumnEntry(DBDataSource.COLUMN_DATA_KEY, ColumnType.STRING_KEY, dataKey, true),
-				new UpdateColumnEntry(DBDataSource.COLUMN_DATA, type, data, false));
+				new UpdateColumnEntry(DBDataSource.COLUMN_DATA_KEY, ColumnType.STRING_KEY, dataKey, true));
 	}
 	
-	private boolean set(final String table, final String pluginKey, final UUID uuid, final String dataKey, final ColumnType type, final String data) {
-		return updateValue(table,
+	private boolean set(final ColumnType type, final String pluginKey, final UUID uuid, final String dataKey, final String data) {
+		return setData(DBDataSource.PLAYER_TABLES, DBDataSource.TABLE_PLAYER_DATA, type, data,
 				new UpdateColumnEntry(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, pluginKey, true),
 				new UpdateColumnEntry(DBDataSource.COLUMN_PLAYER, ColumnType.STRING_KEY, uuid.toString(), true),
-				new UpdateColumnEntry(DBDataSource.COLUMN_DATA_KEY, ColumnType.STRING_KEY, dataKey, true),
-				new UpdateColumnEntry(DBDataSource.COLUMN_DATA, type, data, false));
+				new UpdateColumnEntry(DBDataSource.COLUMN_DATA_KEY, ColumnType.STRING_KEY, dataKey, true));
 	}
 	
-	private boolean set(final String table, final String pluginKey, final String group, final String dataKey, final ColumnType type, final String data) {
-		return updateValue(table,
+	private boolean set(final ColumnType type, final String pluginKey, final String group, final String dataKey, final String data) {
+		return setData(DBDataSource.GROUP_TABLES, DBDataSource.TABLE_GROUP_DATA, type, data,
 				new UpdateColumnEntry(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, pluginKey, true),
 				new UpdateColumnEntry(DBDataSource.COLUMN_GROUP, ColumnType.STRING_KEY, group, true),
-				new UpdateColumnEntry(DBDataSource.COLUMN_DATA_KEY, ColumnType.STRING_KEY, dataKey, true),
-				new UpdateColumnEntry(DBDataSource.COLUMN_DATA, type, data, false));
+				new UpdateColumnEntry(DBDataSource.COLUMN_DATA_KEY, ColumnType.STRING_KEY, dataKey, true));
 	}
 	
-	private boolean set(final String table, final String pluginKey, final String group, final UUID uuid, final String dataKey, final ColumnType type, final String data) {
-		return updateValue(table,
+	private boolean set(final ColumnType type, final String pluginKey, final String group, final UUID uuid, final String dataKey, final String data) {
+		return setData(DBDataSource.GROUP_MEMBER_TABLES, DBDataSource.TABLE_GROUP_MEMBER_DATA, type, data,
 				new UpdateColumnEntry(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, pluginKey, true),
 				new UpdateColumnEntry(DBDataSource.COLUMN_GROUP, ColumnType.STRING_KEY, group, true),
 				new UpdateColumnEntry(DBDataSource.COLUMN_PLAYER, ColumnType.STRING_KEY, uuid.toString(), true),
-				new UpdateColumnEntry(DBDataSource.COLUMN_DATA_KEY, ColumnType.STRING_KEY, dataKey, true),
-				new UpdateColumnEntry(DBDataSource.COLUMN_DATA, type, data, false));
+				new UpdateColumnEntry(DBDataSource.COLUMN_DATA_KEY, ColumnType.STRING_KEY, dataKey, true));
+	}
+	
+	private boolean setData(final Map<ColumnType, String> splitTables, final String consolidatedTable, final ColumnType type, final String data, final UpdateColumnEntry... keys) {
+		// lists are not cached, so their changes do not need to be logged
+		if(type == ColumnType.STRING_LIST) {
+			return updateData(splitTables, consolidatedTable, type, data, keys);
+		}
+		return logged(Arrays.asList(keys), false, () -> updateData(splitTables, consolidatedTable, type, data, keys));
+	}
+	
+	private boolean updateData(final Map<ColumnType, String> splitTables, final String consolidatedTable, final ColumnType type, final String data, final UpdateColumnEntry... keys) {
+		return updateValue(this.schema == DBSchema.CONSOLIDATED ? consolidatedTable : splitTables.get(type), getValueRow(type, data, keys));
+	}
+	
+	/**
+	 * @return the columns of the row storing the value in the table of its type
+	 */
+	private List<UpdateColumnEntry> getValueRow(final ColumnType type, final String data, final UpdateColumnEntry... keys) {
+		final List<UpdateColumnEntry> columnEntries = new ArrayList<>(Arrays.asList(keys));
+		if(this.schema == DBSchema.CONSOLIDATED) {
+			columnEntries.add(new UpdateColumnEntry(DBDataSource.COLUMN_TYPE, ColumnType.STRING_KEY, type.name(), true));
+			columnEntries.add(new UpdateColumnEntry(getDataColumn(type), type, data, false));
+		} else {
+			columnEntries.add(new UpdateColumnEntry(DBDataSource.COLUMN_DATA, type, data, false));
+		}
+		return columnEntries;
+	}
+	
+	private <T> T get(final Function<Result, T> parser, final ColumnType type, final String pluginKey, final String dataKey) {
+		return getData(parser, DBDataSource.GLOBAL_TABLES, DBDataSource.TABLE_GLOBAL_DATA, type,
+				new ColumnEntry(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, pluginKey),
+				new ColumnEntry(DBDataSource.COLUMN_DATA_KEY, ColumnType.STRING_KEY, dataKey));
+	}
+	
+	private <T> T get(final Function<Result, T> parser, final ColumnType type, final String pluginKey, final UUID uuid, final String dataKey) {
+		return getData(parser, DBDataSource.PLAYER_TABLES, DBDataSource.TABLE_PLAYER_DATA, type,
+				new ColumnEntry(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, pluginKey),
+				new ColumnEntry(DBDataSource.COLUMN_PLAYER, ColumnType.STRING_KEY, uuid.toString()),
+				new ColumnEntry(DBDataSource.COLUMN_DATA_KEY, ColumnType.STRING_KEY, dataKey));
+	}
+	
+	private <T> T get(final Function<Result, T> parser, final ColumnType type, final String pluginKey, final String group, final String dataKey) {
+		return getData(parser, DBDataSource.GROUP_TABLES, DBDataSource.TABLE_GROUP_DATA, type,
+				new ColumnEntry(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, pluginKey),
+				new ColumnEntry(DBDataSource.COLUMN_GROUP, ColumnType.STRING_KEY, group),
+				new ColumnEntry(DBDataSource.COLUMN_DATA_KEY, ColumnType.STRING_KEY, dataKey));
+	}
+	
+	private <T> T get(final Function<Result, T> parser, final ColumnType type, final String pluginKey, final String group, final UUID uuid, final String dataKey) {
+		return getData(parser, DBDataSource.GROUP_MEMBER_TABLES, DBDataSource.TABLE_GROUP_MEMBER_DATA, type,
+				new ColumnEntry(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, pluginKey),
+				new ColumnEntry(DBDataSource.COLUMN_GROUP, ColumnType.STRING_KEY, group),
+				new ColumnEntry(DBDataSource.COLUMN_PLAYER, ColumnType.STRING_KEY, uuid.toString()),
+				new ColumnEntry(DBDataSource.COLUMN_DATA_KEY, ColumnType.STRING_KEY, dataKey));
 	}
 	
-	private <T> T get(final Function<Result, T> parser, final String table, final String pluginKey, final String dataKey) {
-		return getResult(parser, table, DBDataSource.COLUMN_DATA, 
+	@SuppressWarnings("unchecked")
+	private <T> T getData(final Function<Result, T> parser, final Map<ColumnType, String> splitTables, final String consolidatedTable, final ColumnType type, final ColumnEntry... keys) {
+		if(this.cache == null || type == ColumnType.STRING_LIST) {
+			return readData(parser, splitTables, consolidatedTable, type, keys);
+		}
+		
+		final List<ColumnEntry> keyList = Arrays.asList(keys);
+		final String owner = getOwner(keyList);
+		final String entry = type.name() + "." + keyList.get(keyList.size() - 1).asString();
+		final Object cached = this.cache.get(owner, entry);
+		Tracing.get().cacheAccessed(DBDataSource.CACHE_NAME, cached != null);
+		if(cached != null) {
+			return (T) cached;
+		}
+		
+		final long mark = this.cache.getMark();
+		final T data = readData(parser, splitTables, consolidatedTable, type, keys);
+		this.cache.put(owner, entry, data, mark);
+		return data;
+	}
+	
+	private <T> T readData(final Function<Result, T> parser, final Map<ColumnType, String> splitTables, final String consolidatedTable, final ColumnType type, final ColumnEntry... keys) {
+		if(this.schema == DBSchema.CONSOLIDATED) {
+			final List<ColumnEntry> columnEntries = new ArrayList<>(Arrays.asList(keys));
+			columnEntries.add(new ColumnEntry(DBDataSource.COLUMN_TYPE, ColumnType.STRING_KEY, type.name()));
+			return getResult(parser, consolidatedTable, getDataColumn(type), columnEntries);
+		}
+		
+		return getResult(parser, splitTables.get(type), DBDataSource.COLUMN_DATA, keys);
+	}
+	
+	/**
+	 * the storage of one value, consisting of the tables it can be stored in and the keys of its row, 
+	 * lists additionally keep their elements in an element table
+	 */
+	private static class DataLocation {
+		
+		private final Map<ColumnType, String> splitTables;
+		private final String consolidatedTable;
+		private final String elementTable;
+		private final ColumnEntry[] keys;
+		
+		private DataLocation(final Map<ColumnType, String> splitTables, final String consolidatedTable, final String elementTable, final ColumnEntry... keys) {
+			this.splitTables = splitTables;
+			this.consolidatedTable = consolidatedTable;
+			this.elementTable = elementTable;
+			this.keys = keys;
+		}
+		
+		private List<ColumnEntry> getKeys(final ColumnEntry... additionalKeys){
+			final List<ColumnEntry> keys = new ArrayList<>(Arrays.asList(this.keys));
+			keys.addAll(Arrays.asList(additionalKeys));
+			return keys;
+		}
+		
+		private UpdateColumnEntry[] getUpdateKeys() {
+			return Arrays.stream(this.keys).map(key -> new UpdateColumnEntry(key.getColumn(), key.getType(), key.asString(), true)).toArray(UpdateColumnEntry[]::new);
+		}
+	}
+	
+	private static DataLocation getLocation(final String pluginKey, final String dataKey) {
+		return new DataLocation(DBDataSource.GLOBAL_TABLES, DBDataSource.TABLE_GLOBAL_DATA, DBDataSource.TABLE_LIST_ELEMENTS,
 				new ColumnEntry(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, pluginKey),
 				new ColumnEntry(DBDataSource.COLUMN_DATA_KEY, ColumnType.STRING_KEY, dataKey));
 	}
 	
-	private <T> T get(final Function<Result, T> parser, final String table, final String pluginKey, final UUID uuid, final String dataKey) {
-		return getResult(parser, table, DBDataSource.COLUMN_DATA, 
+	private static DataLocation getLocation(final String pluginKey, final UUID uuid, final String dataKey) {
+		return new DataLocation(DBDataSource.PLAYER_TABLES, DBDataSource.TABLE_PLAYER_DATA, DBDataSource.TABLE_PLAYER_LIST_ELEMENTS,
 				new ColumnEntry(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, pluginKey),
 				new ColumnEntry(DBDataSource.COLUMN_PLAYER, ColumnType.STRING_KEY, uuid.toString()),
 				new ColumnEntry(DBDataSource.COLUMN_DATA_KEY, ColumnType.STRING_KEY, dataKey));
 	}
 	
-	private <T> T get(final Function<Result, T> parser, final String table, final String pluginKey, final String group, final String dataKey) {
-		return getResult(parser, table, DBDataSource.COLUMN_DATA, 
+	private static DataLocation getLocation(final String pluginKey, final String group, final String dataKey) {
+		return new DataLocation(DBDataSource.GROUP_TABLES, DBDataSource.TABLE_GROUP_DATA, DBDataSource.TABLE_GROUP_LIST_ELEMENTS,
 				new ColumnEntry(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, pluginKey),
 				new ColumnEntry(DBDataSource.COLUMN_GROUP, ColumnType.STRING_KEY, group),
 				new ColumnEntry(DBDataSource.COLUMN_DATA_KEY, ColumnType.STRING_KEY, dataKey));
 	}
 	
-	private <T> T get(final Function<Result, T> parser, final String table, final String pluginKey, final String group, final UUID uuid, final String dataKey) {
-		return getResult(parser, table, DBDataSource.COLUMN_DATA, 
-				new ColumnEntry(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, pluginKey),
-				new ColumnEntry(DBDataSource.COLUMN_GROUP, ColumnType.STRING_KEY, group),
-				new ColumnEntry(DBDataSource.COLUMN_PLAYER, ColumnType.STRING_KEY, uuid.toString()),
-				new ColumnEntry(DBDataSource.COLUMN_DATA_KEY, ColumnType.STRING_KEY, dataKey));
+	private static DataLocation getLocation(final String pluginKey, final String group, final UUID uuid, final String dataKey) {
+		return new DataLocation(DBDataSource.GROUP_MEMBER_TABLES, DBDataSource.TABLE_GROUP_MEMBER_DATA, DBDataSource.TABLE_GROUP_MEMBER_LIST_ELEMENTS,
+				new ColumnEntry(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, pluginKey),
+				new ColumnEntry(DBDataSource.COLUMN_GROUP, ColumnType.STRING_KEY, group),
+				new ColumnEntry(DBDataSource.COLUMN_PLAYER, ColumnType.STRING_KEY, uuid.toString()),
+				new ColumnEntry(DBDataSource.COLUMN_DATA_KEY, ColumnType.STRING_KEY, dataKey));
+	}
+	
+	private static List<List<ColumnEntry>> toElementRows(final List<ColumnEntry> keys, final List<String> elements){
+		final List<List<ColumnEntry>> rows = new ArrayList<>(elements.size());
+		for(int i = 0; i < elements.size(); i++) {
+			final List<ColumnEntry> row = new ArrayList<>(keys);
+			row.add(new ColumnEntry(DBDataSource.COLUMN_POSITION, ColumnType.INT, "" + i));
+			row.add(new ColumnEntry(DBDataSource.COLUMN_ELEMENT, ColumnType.STRING_VALUE, elements.get(i)));
+			rows.add(row);
+		}
+		return rows;
+	}
+	
+	private static String getOwner(final List<? extends ColumnEntry> keys) {
+		return DBCache.getOwner(keys, DBDataSource.COLUMN_DATA_KEY, DBDataSource.COLUMN_TYPE);
+	}
+	
+	/**
+	 * runs a write and, if the change log exists, records it in the change log in the same transaction and evicts the changed values if they are cached
+	 * @param keys the keys of the changed value
+	 * @param cascade true if the owners starting with the owner of the value are changed as well, otherwise false
+	 * @param operations the operations writing the value
+	 * @return true if the write and its record succeeded, otherwise false
+	 */
+	private boolean logged(final List<? extends ColumnEntry> keys, final boolean cascade, final BooleanSupplier operations) {
+		if(!this.logChanges) {
+			return operations.getAsBoolean();
+		}
+		
+		final String owner = getOwner(keys);
+		final boolean success = inTransaction(() -> operations.getAsBoolean() 
+				&& insertRows(DBDataSource.TABLE_CHANGE_LOG, Arrays.asList(getChangeRow(owner, cascade))));
+		// evicting after a failed write as well is harmless, the values are just read again
+		if(this.cache != null) {
+			this.cache.evict(owner, cascade);
+		}
+		return success;
+	}
+	
+	/**
+	 * records the changes of the given owners in the change log if it exists, which has to run in the transaction of the changes
+	 * @param owners the owners whose values changed
+	 * @return true if the changes were recorded or there is no change log, otherwise false
+	 */
+	private boolean logChanges(final Set<String> owners) {
+		if(!this.logChanges) {
+			return true;
+		}
+		return insertRows(DBDataSource.TABLE_CHANGE_LOG, owners.stream().map(owner -> getChangeRow(owner, false)).collect(Collectors.toList()));
+	}
+	
+	private List<ColumnEntry> getChangeRow(final String owner, final boolean cascade) {
+		return Arrays.asList(
+				new ColumnEntry(DBDataSource.COLUMN_NODE, ColumnType.STRING_KEY, this.cache == null ? this.node : this.cache.getNode()),
+				new ColumnEntry(DBDataSource.COLUMN_OWNER, ColumnType.STRING_VALUE, owner),
+				new ColumnEntry(DBDataSource.COLUMN_CASCADE, ColumnType.BOOLEAN, "" + cascade));
+	}
+	
+	/**
+	 * reads the changes other servers made since the last call and evicts the values they changed
+	 */
+	private void syncCache() {
+		final Span span = Tracing.get().beginCacheSync();
+		try {
+			final List<List<String>> changes = getRowsAfter(DBDataSource.TABLE_CHANGE_LOG, 
+					Arrays.asList(DBDataSource.COLUMN_ID, DBDataSource.COLUMN_NODE, DBDataSource.COLUMN_OWNER, DBDataSource.COLUMN_CASCADE), 
+					DBDataSource.COLUMN_ID, this.cache.getSyncStart(), DBDataSource.CHANGE_LOG_BATCH);
+			for(final List<String> change: changes) {
+				// booleans are read as their numeric value
+				final boolean cascade = "1".equals(change.get(3)) || "true".equalsIgnoreCase(change.get(3));
+				this.cache.apply(Long.parseLong(change.get(0)), change.get(1), change.get(2), cascade);
+			}
+			
+			final long bound = this.cache.finishSync();
+			if(bound > 0) {
+				deleteRowsBelow(DBDataSource.TABLE_CHANGE_LOG, DBDataSource.COLUMN_ID, bound);
+			}
+			span.end(changes.size());
+		} catch (final RuntimeException e) {
+			// an exception would cancel all further reads of the log
+			e.printStackTrace();
+		}
+	}
+	
+	private String getTable(final DataLocation location, final ColumnType type) {
+		return this.schema == DBSchema.CONSOLIDATED ? location.consolidatedTable : location.splitTables.get(type);
+	}
+	
+	private String getValueColumn(final ColumnType type) {
+		return this.schema == DBSchema.CONSOLIDATED ? getDataColumn(type) : DBDataSource.COLUMN_DATA;
+	}
+	
+	private List<ColumnEntry> getRowKeys(final DataLocation location, final ColumnType type){
+		final List<ColumnEntry> keys = location.getKeys();
+		if(this.schema == DBSchema.CONSOLIDATED) {
+			keys.add(new ColumnEntry(DBDataSource.COLUMN_TYPE, ColumnType.STRING_KEY, type.name()));
+		}
+		return keys;
+	}
+	
+	private <T> Optional<T> increment(final Function<Result, Optional<T>> parser, final DataLocation location, final ColumnType type, final String delta) {
+		final List<UpdateColumnEntry> columnEntries = getRowKeys(location, type).stream()
+				.map(key -> new UpdateColumnEntry(key.getColumn(), key.getType(), key.asString(), true)).collect(Collectors.toList());
+		columnEntries.add(new UpdateColumnEntry(getValueColumn(type), type, delta, false));
+		
+		// the increment returns the new value itself, so no other write can come in between
+		final List<Optional<T>> result = new ArrayList<>(1);
+		result.add(Optional.empty());
+		final boolean success = logged(location.getKeys(), false, () -> {
+			result.set(0, incrementValue(parser, getTable(location, type), columnEntries));
+			return result.get(0).isPresent();
+		});
+		
+		return success ? result.get(0) : Optional.empty();
+	}
+	
+	private boolean compareAndSet(final DataLocation location, final ColumnType type, final String expected, final String data) {
+		return logged(location.getKeys(), false, () -> compareAndUpdate(getTable(location, type), getRowKeys(location, type), 
+				new ColumnEntry(getValueColumn(type), type, expected), new ColumnEntry(getValueColumn(type), type, data)));
+	}
+	
+	private boolean setListHeader(final DataLocation location) {
+		return setData(location.splitTables, location.consolidatedTable, ColumnType.STRING_LIST, "", location.getUpdateKeys());
+	}
+	
+	private boolean setList(final DataLocation location, final List<String> data) {
+		final List<ColumnEntry> keys = location.getKeys();
+		return inTransaction(() -> deleteValue(location.elementTable, keys) && insertRows(location.elementTable, toElementRows(keys, data)) && setListHeader(location));
+	}
+	
+	private Optional<List<String>> getList(final DataLocation location) {
+		final List<String> elements = getSortedResult(result -> result.isEmpty() ? new ArrayList<>() : result.getList(), 
+				location.elementTable, DBDataSource.COLUMN_ELEMENT, location.getKeys(), DBDataSource.COLUMN_POSITION, null, 0, -1);
+		if(!elements.isEmpty()) {
+			return Optional.of(elements);
+		}
+		
+		// without elements the header tells apart an empty list from a missing one
+		return getData(DBDataSource::parseList, location.splitTables, location.consolidatedTable, ColumnType.STRING_LIST, location.keys);
+	}
+	
+	private boolean appendToList(final DataLocation location, final String element) {
+		return inTransaction(() -> appendRow(location.elementTable, location.getKeys(), DBDataSource.COLUMN_POSITION, 
+				new ColumnEntry(DBDataSource.COLUMN_ELEMENT, ColumnType.STRING_VALUE, element)) && setListHeader(location));
+	}
+	
+	private boolean removeFromList(final DataLocation location, final String element) {
+		return deleteRows(location.elementTable, location.getKeys(new ColumnEntry(DBDataSource.COLUMN_ELEMENT, ColumnType.STRING_VALUE, element))) > 0;
+	}
+	
+	private boolean listContains(final DataLocation location, final String element) {
+		return exists(location.elementTable, location.getKeys(new ColumnEntry(DBDataSource.COLUMN_ELEMENT, ColumnType.STRING_VALUE, element)));
+	}
+	
+	private int getListSize(final DataLocation location) {
+		return countRows(location.elementTable, location.getKeys());
+	}
+	
+	private List<String> getListRange(final DataLocation location, final int start, final int count) {
+		if(start < 0 || count <= 0) {
+			return new ArrayList<>();
+		}
+		
+		return getSortedResult(result -> result.isEmpty() ? new ArrayList<>() : result.getList(), 
+				location.elementTable, DBDataSource.COLUMN_ELEMENT, location.getKeys(), DBDataSource.COLUMN_POSITION, null, start, count);
+	}
+	
+	@Override
+	public void setup() {
+		createTable(DBDataSource.TABLE_GROUPS,
+				new Column(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, true),
+				new Column(DBDataSource.COLUMN_GROUP, ColumnType.STRING_KEY, true));
+		createTable(DBDataSource.TABLE_GROUP_MEMBERS,
+				new Column(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, true, new ForeignKey(DBDataSource.TABLE_GROUPS, DBDataSource.COLUMN_PLUGIN_KEY)),
+				new Column(DBDataSource.COLUMN_GROUP, ColumnType.STRING_KEY, true, new ForeignKey(DBDataSource.TABLE_GROUPS, DBDataSource.COLUMN_GROUP)),
+				new Column(DBDataSource.COLUMN_PLAYER, ColumnType.STRING_KEY, true));
+		
+		if(this.schema == DBSchema.CONSOLIDATED) {
+			setupConsolidated();
+		} else {
+			setupSplit();
+		}
+		
+		setupListElements();
+		
+		if(this.cache != null) {
+			setupCache();
+		}
+		// the log is created by the first server caching values, servers without a cache started before only log their writes after a restart
+		this.logChanges = this.cache != null || tableExists(DBDataSource.TABLE_CHANGE_LOG);
+	}
+	
+	@Override
+	public Map<String, StorageUsage> countStorage(){
+		final Map<String, StorageUsage> usage = new HashMap<>();
+		for(final Map.Entry<String, List<String>> table: this.pluginTables.entrySet()) {
+			sumLengths(table.getKey(), DBDataSource.COLUMN_PLUGIN_KEY, table.getValue())
+					.forEach((pluginKey, tableUsage) -> usage.merge(pluginKey, tableUsage, StorageUsage::plus));
+		}
+		return usage;
+	}
+	
+	/**
+	 * creates a writer that stores visited data in this data source, which has to be set up already
+	 * @return the writer, data is only guaranteed to be written once it is finished
+	 */
+	public DataVisitor createWriter() {
+		return new BatchWriter();
+	}
+	
+	/**
+	 * Hands all stored data to the visitor, the groups with their members first and the values scope by scope afterwards. 
+	 * The values are streamed table by table, only the elements of the lists of the scope being read are kept in memory.
+	 * @param visitor the visitor to hand the data to, it is not finished by this method
+	 */
+	public void export(final DataVisitor visitor) {
+		final Map<List<String>, List<UUID>> groups = new LinkedHashMap<>();
+		forEachRow(DBDataSource.TABLE_GROUPS, Arrays.asList(DBDataSource.COLUMN_PLUGIN_KEY, DBDataSource.COLUMN_GROUP), new ArrayList<>(), 
+				row -> groups.put(row, new ArrayList<>()));
+		forEachRow(DBDataSource.TABLE_GROUP_MEMBERS, Arrays.asList(DBDataSource.COLUMN_PLUGIN_KEY, DBDataSource.COLUMN_GROUP, DBDataSource.COLUMN_PLAYER), 
+				new ArrayList<>(), row -> {
+			final List<UUID> members = groups.get(row.subList(0, 2));
+			if(members != null) {
+				members.add(UUID.fromString(row.get(2)));
+			}
+		});
+		groups.forEach((group, members) -> visitor.visitGroup(group.get(1), group.get(0), members));
+		
+		exportScope(DBDataSource.GLOBAL_TABLES, DBDataSource.TABLE_GLOBAL_DATA, DBDataSource.TABLE_LIST_ELEMENTS, 
+				Arrays.asList(DBDataSource.COLUMN_PLUGIN_KEY, DBDataSource.COLUMN_DATA_KEY), 
+				(keys, value) -> visitor.visitGlobal(keys.get(0), keys.get(1), value));
+		exportScope(DBDataSource.GROUP_TABLES, DBDataSource.TABLE_GROUP_DATA, DBDataSource.TABLE_GROUP_LIST_ELEMENTS, 
+				Arrays.asList(DBDataSource.COLUMN_PLUGIN_KEY, DBDataSource.COLUMN_GROUP, DBDataSource.COLUMN_DATA_KEY), 
+				(keys, value) -> visitor.visitGroupValue(keys.get(1), keys.get(0), keys.get(2), value));
+		exportScope(DBDataSource.PLAYER_TABLES, DBDataSource.TABLE_PLAYER_DATA, DBDataSource.TABLE_PLAYER_LIST_ELEMENTS, 
+				Arrays.asList(DBDataSource.COLUMN_PLUGIN_KEY, DBDataSource.COLUMN_PLAYER, DBDataSource.COLUMN_DATA_KEY), 
+				(keys, value) -> visitor.visitPlayer(UUID.fromString(keys.get(1)), keys.get(0), keys.get(2), value));
+		exportScope(DBDataSource.GROUP_MEMBER_TABLES, DBDataSource.TABLE_GROUP_MEMBER_DATA, DBDataSource.TABLE_GROUP_MEMBER_LIST_ELEMENTS, 
+				Arrays.asList(DBDataSource.COLUMN_PLUGIN_KEY, DBDataSource.COLUMN_GROUP, DBDataSource.COLUMN_PLAYER, DBDataSource.COLUMN_DATA_KEY), 
+				(keys, value) -> visitor.visitMemberValue(UUID.fromString(keys.get(2)), keys.get(1), keys.get(0), keys.get(3), value));
+	}
+	
+	private void exportScope(final Map<ColumnType, String> splitTables, final String consolidatedTable, final String elementTable, 
+			final List<String> keyColumns, final BiConsumer<List<String>, Object> consumer) {
+		for(final ColumnType type: splitTables.keySet()) {
+			final Map<List<String>, SortedMap<Integer, String>> elements = type == ColumnType.STRING_LIST ? readListElements(elementTable, keyColumns) : null;
+			final List<String> columns = new ArrayList<>(keyColumns);
+			final List<ColumnEntry> keys = new ArrayList<>();
+			final String table;
+			if(this.schema == DBSchema.CONSOLIDATED) {
+				table = consolidatedTable;
+				columns.add(getDataColumn(type));
+				keys.add(new ColumnEntry(DBDataSource.COLUMN_TYPE, ColumnType.STRING_KEY, type.name()));
+			} else {
+				table = splitTables.get(type);
+				columns.add(DBDataSource.COLUMN_DATA);
+			}
+			
+			forEachRow(table, columns, keys, row -> {
+				final List<String> rowKeys = row.subList(0, keyColumns.size());
+				final String data = row.get(keyColumns.size());
+				try {
+					final Object value = parseValue(type, data, elements == null ? null : elements.get(rowKeys));
+					if(value != null) {
+						consumer.accept(rowKeys, value);
+					}
+				} catch (final IllegalArgumentException e) {
+					// a malformed value or uuid is skipped, so it does not keep all following values from being read
+					e.printStackTrace();
+				}
+			});
+		}
+	}
+	
+	private Map<List<String>, SortedMap<Integer, String>> readListElements(final String elementTable, final List<String> keyColumns){
+		final Map<List<String>, SortedMap<Integer, String>> elements = new HashMap<>();
+		final List<String> columns = new ArrayList<>(keyColumns);
+		columns.add(DBDataSource.COLUMN_POSITION);
+		columns.add(DBDataSource.COLUMN_ELEMENT);
+		forEachRow(elementTable, columns, new ArrayList<>(), row -> elements.computeIfAbsent(new ArrayList<>(row.subList(0, keyColumns.size())), key -> new TreeMap<>())
+				.put(Integer.parseInt(row.get(keyColumns.size())), row.get(keyColumns.size() + 1)));
+		return elements;
+	}
+	
+	private static Object parseValue(final ColumnType type, final String data, final SortedMap<Integer, String> elements) {
+		if(type == ColumnType.STRING_LIST) {
+			if(elements != null) {
+				return new ArrayList<>(elements.values());
+			}
+			// like when reading a single list, a list without elements is empty unless an older version encoded its elements in the header
+			return data == null || data.isEmpty() ? new ArrayList<>() : StringUtils.stringToList(data);
+		}
+		if(data == null) {
+			// the consolidated schema has no value for the types a row does not hold
+			return null;
+		}
+		
+		switch(type) {
+		case INT:
+			return Integer.parseInt(data);
+		case LONG:
+			return Long.parseLong(data);
+		case FLOAT:
+			return Float.parseFloat(data);
+		case DOUBLE:
+			return Double.parseDouble(data);
+		case BOOLEAN:
+			return "1".equals(data) || Boolean.parseBoolean(data);
+		case STRING_VALUE:
+		default:
+			return data;
+		}
+	}
+	
+	@Override
+	public void close() {
+		if(this.cacheSync != null) {
+			this.cacheSync.shutdown();
+			this.cacheSync = null;
+		}
+	}
+	
+	private void setupCache() {
+		createTable(DBDataSource.TABLE_CHANGE_LOG,
+				new Column(DBDataSource.COLUMN_ID, ColumnType.ID, true),
+				new Column(DBDataSource.COLUMN_NODE, ColumnType.STRING_KEY),
+				new Column(DBDataSource.COLUMN_OWNER, ColumnType.STRING_VALUE),
+				new Column(DBDataSource.COLUMN_CASCADE, ColumnType.BOOLEAN));
+		// nothing is cached yet, so earlier changes do not matter
+		this.cache.start(Math.max(0, getMaxValue(DBDataSource.TABLE_CHANGE_LOG, DBDataSource.COLUMN_ID)));
+		
+		this.cacheSync = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "DataManager cache sync");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.cacheSync.scheduleWithFixedDelay(this::syncCache, this.cache.getSyncInterval(), this.cache.getSyncInterval(), TimeUnit.MILLISECONDS);
+	}
+	
+	private void setupListElements() {
+		createTable(DBDataSource.TABLE_LIST_ELEMENTS,
+				new Column(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, true),
+				new Column(DBDataSource.COLUMN_DATA_KEY, ColumnType.STRING_KEY, true),
+				new Column(DBDataSource.COLUMN_POSITION, ColumnType.INT, true),
+				new Column(DBDataSource.COLUMN_ELEMENT, ColumnType.STRING_VALUE));
+		createTable(DBDataSource.TABLE_PLAYER_LIST_ELEMENTS,
+				new Column(DBDataSource.COLUMN_PLAYER, ColumnType.STRING_KEY, true),
+				new Column(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, true),
+				new Column(DBDataSource.COLUMN_DATA_KEY, ColumnType.STRING_KEY, true),
+				new Column(DBDataSource.COLUMN_POSITION, ColumnType.INT, true),
+				new Column(DBDataSource.COLUMN_ELEMENT, ColumnType.STRING_VALUE));
+		createTable(DBDataSource.TABLE_GROUP_LIST_ELEMENTS,
+				new Column(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, true, new ForeignKey(DBDataSource.TABLE_GROUPS, DBDataSource.COLUMN_PLUGIN_KEY)),
+				new Column(DBDataSource.COLUMN_GROUP, ColumnType.STRING_KEY, true, new ForeignKey(DBDataSource.TABLE_GROUPS, DBDataSource.COLUMN_GROUP)),
+				new Column(DBDataSource.COLUMN_DATA_KEY, ColumnType.STRING_KEY, true),
+				new Column(DBDataSource.COLUMN_POSITION, ColumnType.INT, true),
+				new Column(DBDataSource.COLUMN_ELEMENT, ColumnType.STRING_VALUE));
+		createTable(DBDataSource.TABLE_GROUP_MEMBER_LIST_ELEMENTS,
+				new Column(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, true, new ForeignKey(DBDataSource.TABLE_GROUPS, DBDataSource.COLUMN_PLUGIN_KEY)),
+				new Column(DBDataSource.COLUMN_GROUP, ColumnType.STRING_KEY, true, new ForeignKey(DBDataSource.TABLE_GROUPS, DBDataSource.COLUMN_GROUP)),
+				new Column(DBDataSource.COLUMN_PLAYER, ColumnType.STRING_KEY, true),
+				new Column(DBDataSource.COLUMN_DATA_KEY, ColumnType.STRING_KEY, true),
+				new Column(DBDataSource.COLUMN_POSITION, ColumnType.INT, true),
+				new Column(DBDataSource.COLUMN_ELEMENT, ColumnType.STRING_VALUE));
+		
+		migrateListElements(DBDataSource.GLOBAL_TABLES, DBDataSource.TABLE_GLOBAL_DATA, DBDataSource.TABLE_LIST_ELEMENTS, 
+				DBDataSource.COLUMN_PLUGIN_KEY, DBDataSource.COLUMN_DATA_KEY);
+		migrateListElements(DBDataSource.PLAYER_TABLES, DBDataSource.TABLE_PLAYER_DATA, DBDataSource.TABLE_PLAYER_LIST_ELEMENTS, 
+				DBDataSource.COLUMN_PLUGIN_KEY, DBDataSource.COLUMN_PLAYER, DBDataSource.COLUMN_DATA_KEY);
+		migrateListElements(DBDataSource.GROUP_TABLES, DBDataSource.TABLE_GROUP_DATA, DBDataSource.TABLE_GROUP_LIST_ELEMENTS, 
+				DBDataSource.COLUMN_PLUGIN_KEY, DBDataSource.COLUMN_GROUP, DBDataSource.COLUMN_DATA_KEY);
+		migrateListElements(DBDataSource.GROUP_MEMBER_TABLES, DBDataSource.TABLE_GROUP_MEMBER_DATA, DBDataSource.TABLE_GROUP_MEMBER_LIST_ELEMENTS, 
+				DBDataSource.COLUMN_PLUGIN_KEY, DBDataSource.COLUMN_GROUP, DBDataSource.COLUMN_PLAYER, DBDataSource.COLUMN_DATA_KEY);
+	}
+	
+	/**
+	 * Moves lists that are still stored as one encoded string into the element table of their scope. 
+	 * Every list is moved in its own transaction that also empties its header, so an interrupted migration is simply continued on the next start.
+	 * @param splitTables the split tables of the scope by the type of their data
+	 * @param consolidatedTable the consolidated table of the scope
+	 * @param elementTable the element table of the scope
+	 * @param keyColumns the key columns of the scope
+	 */
+	private void migrateListElements(final Map<ColumnType, String> splitTables, final String consolidatedTable, final String elementTable, final String... keyColumns) {
+		final String table;
+		final String dataColumn;
+		final List<ColumnEntry> filter = new ArrayList<>();
+		if(this.schema == DBSchema.CONSOLIDATED) {
+			table = consolidatedTable;
+			dataColumn = getDataColumn(ColumnType.STRING_LIST);
+			filter.add(new ColumnEntry(DBDataSource.COLUMN_TYPE, ColumnType.STRING_KEY, ColumnType.STRING_LIST.name()));
+		} else {
+			table = splitTables.get(ColumnType.STRING_LIST);
+			dataColumn = DBDataSource.COLUMN_DATA;
+		}
+		
+		final List<String> columns = new ArrayList<>(Arrays.asList(keyColumns));
+		columns.add(dataColumn);
+		final List<List<String>> encodedLists = new ArrayList<>();
+		forEachRow(table, columns, filter, row -> {
+			final String data = row.get(keyColumns.length);
+			if(data != null && !data.isEmpty()) {
+				encodedLists.add(row);
+			}
+		});
+		
+		for(final List<String> row: encodedLists) {
+			final ColumnEntry[] keys = new ColumnEntry[keyColumns.length];
+			for(int i = 0; i < keyColumns.length; i++) {
+				keys[i] = new ColumnEntry(keyColumns[i], ColumnType.STRING_KEY, row.get(i));
+			}
+			
+			setList(new DataLocation(splitTables, consolidatedTable, elementTable, keys), StringUtils.stringToList(row.get(keyColumns.length)));
+		}
+	}
+	
+	private void setupConsolidated() {
+		// the owner of the data leads every primary key, so reading everything of one owner is a single range scan
+		createTable(DBDataSource.TABLE_GLOBAL_DATA, withDataColumns(
+				new Column(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, true),
+				new Column(DBDataSource.COLUMN_DATA_KEY, ColumnType.STRING_KEY, true),
+				new Column(DBDataSource.COLUMN_TYPE, ColumnType.STRING_KEY, true)));
+		createTable(DBDataSource.TABLE_PLAYER_DATA, withDataColumns(
+				new Column(DBDataSource.COLUMN_PLAYER, ColumnType.STRING_KEY, true),
+				new Column(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, true),
+				new Column(DBDataSource.COLUMN_DATA_KEY, ColumnType.STRING_KEY, true),
+				new Column(DBDataSource.COLUMN_TYPE, ColumnType.STRING_KEY, true)));
+		createTable(DBDataSource.TABLE_GROUP_DATA, withDataColumns(
+				new Column(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, true, new ForeignKey(DBDataSource.TABLE_GROUPS, DBDataSource.COLUMN_PLUGIN_KEY)),
+				new Column(DBDataSource.COLUMN_GROUP, ColumnType.STRING_KEY, true, new ForeignKey(DBDataSource.TABLE_GROUPS, DBDataSource.COLUMN_GROUP)),
+				new Column(DBDataSource.COLUMN_DATA_KEY, ColumnType.STRING_KEY, true),
+				new Column(DBDataSource.COLUMN_TYPE, ColumnType.STRING_KEY, true)));
+		createTable(DBDataSource.TABLE_GROUP_MEMBER_DATA, withDataColumns(
+				new Column(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, true, new ForeignKey(DBDataSource.TABLE_GROUPS, DBDataSource.COLUMN_PLUGIN_KEY)),
+				new Column(DBDataSource.COLUMN_GROUP, ColumnType.STRING_KEY, true, new ForeignKey(DBDataSource.TABLE_GROUPS, DBDataSource.COLUMN_GROUP)),
+				new Column(DBDataSource.COLUMN_PLAYER, ColumnType.STRING_KEY, true),
+				new Column(DBDataSource.COLUMN_DATA_KEY, ColumnType.STRING_KEY, true),
+				new Column(DBDataSource.COLUMN_TYPE, ColumnType.STRING_KEY, true)));
+		
+		migrateToConsolidated(DBDataSource.GLOBAL_TABLES, DBDataSource.TABLE_GLOBAL_DATA, 
+				DBDataSource.COLUMN_PLUGIN_KEY, DBDataSource.COLUMN_DATA_KEY);
+		migrateToConsolidated(DBDataSource.PLAYER_TABLES, DBDataSource.TABLE_PLAYER_DATA, 
+				DBDataSource.COLUMN_PLAYER, DBDataSource.COLUMN_PLUGIN_KEY, DBDataSource.COLUMN_DATA_KEY);
+		migrateToConsolidated(DBDataSource.GROUP_TABLES, DBDataSource.TABLE_GROUP_DATA, 
+				DBDataSource.COLUMN_PLUGIN_KEY, DBDataSource.COLUMN_GROUP, DBDataSource.COLUMN_DATA_KEY);
+		migrateToConsolidated(DBDataSource.GROUP_MEMBER_TABLES, DBDataSource.TABLE_GROUP_MEMBER_DATA, 
+				DBDataSource.COLUMN_PLUGIN_KEY, DBDataSource.COLUMN_GROUP, DBDataSource.COLUMN_PLAYER, DBDataSource.COLUMN_DATA_KEY);
+	}
+	
+	private static Column[] withDataColumns(final Column... keys){
+		final List<Column> columns = new ArrayList<>(Arrays.asList(keys));
+		for(final ColumnType type: DBDataSource.GLOBAL_TABLES.keySet()) {
+			columns.add(new Column(getDataColumn(type), type));
+		}
+		return columns.toArray(new Column[0]);
+	}
+	
+	/**
+	 * Moves the data of the split tables of one scope into the consolidated table of that scope and drops the split tables afterwards. 
+	 * Since rows that already exist in the consolidated table are skipped, an interrupted migration is simply repeated on the next start.
+	 * @param splitTables the split tables of the scope by the type of their data
+	 * @param consolidatedTable the consolidated table of the scope
+	 * @param keyColumns the key columns of the scope, excluding the type
+	 */
+	private void migrateToConsolidated(final Map<ColumnType, String> splitTables, final String consolidatedTable, final String... keyColumns) {
+		for(final Map.Entry<ColumnType, String> entry: splitTables.entrySet()) {
+			final String splitTable = entry.getValue();
+			if(!tableExists(splitTable)) {
+				continue;
+			}
+			
+			final List<String> sourceColumns = new ArrayList<>(Arrays.asList(keyColumns));
+			sourceColumns.add(DBDataSource.COLUMN_DATA);
+			final List<String> targetColumns = new ArrayList<>(Arrays.asList(keyColumns));
+			targetColumns.add(getDataColumn(entry.getKey()));
+			final List<ColumnEntry> constants = Arrays.asList(new ColumnEntry(DBDataSource.COLUMN_TYPE, ColumnType.STRING_KEY, entry.getKey().name()));
+			
+			if(copyRows(splitTable, consolidatedTable, sourceColumns, targetColumns, constants)) {
+				dropTable(splitTable);
+			}
+		}
 	}
 	
-	@Override
-	public void setup() {
+	private void setupSplit() {
 		createTable(DBDataSource.TABLE_STRINGS,
 				new Column(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, true),
 				new Column(DBDataSource.COLUMN_DATA_KEY, ColumnType.STRING_KEY, true),
@@ -303,14 +1378,6 @@ public abstract class DBDataSource implements DataSource{
 				new Column(DBDataSource.COLUMN_DATA_KEY, ColumnType.STRING_KEY, true),
 				new Column(DBDataSource.COLUMN_DATA, ColumnType.STRING_LIST));
 		
-		createTable(DBDataSource.TABLE_GROUPS,
-				new Column(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, true),
-				new Column(DBDataSource.COLUMN_GROUP, ColumnType.STRING_KEY, true));
-		createTable(DBDataSource.TABLE_GROUP_MEMBERS,
-				new Column(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, true, new ForeignKey(DBDataSource.TABLE_GROUPS, DBDataSource.COLUMN_PLUGIN_KEY)),
-				new Column(DBDataSource.COLUMN_GROUP, ColumnType.STRING_KEY, true, new ForeignKey(DBDataSource.TABLE_GROUPS, DBDataSource.COLUMN_GROUP)),
-				new Column(DBDataSource.COLUMN_PLAYER, ColumnType.STRING_KEY, true));
-
 		createTable(DBDataSource.TABLE_GROUP_STRINGS,
 				new Column(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, true, new ForeignKey(DBDataSource.TABLE_GROUPS, DBDataSource.COLUMN_PLUGIN_KEY)),
 				new Column(DBDataSource.COLUMN_GROUP, ColumnType.STRING_KEY, true, new ForeignKey(DBDataSource.TABLE_GROUPS, DBDataSource.COLUMN_GROUP)),
@@ -393,142 +1460,394 @@ public abstract class DBDataSource implements DataSource{
 
 	@Override
 	public boolean set(final String pluginKey, final String dataKey, final String data) {
-		return set(DBDataSource.TABLE_STRINGS, pluginKey, dataKey, ColumnType.STRING_VALUE, data);
+		return set(ColumnType.STRING_VALUE, pluginKey, dataKey, data);
 	}
 
 	@Override
 	public boolean set(final String pluginKey, final String dataKey, final int data) {
-		return set(DBDataSource.TABLE_INTS, pluginKey, dataKey, ColumnType.INT, "" + data);
+		return set(ColumnType.INT, pluginKey, dataKey, "" + data);
 	}
 
 	@Override
 	public boolean set(final String pluginKey, final String dataKey, final long data) {
-		return set(DBDataSource.TABLE_LONGS, pluginKey, dataKey, ColumnType.LONG, "" + data);
+		return set(ColumnType.LONG, pluginKey, dataKey, "" + data);
 	}
 
 	@Override
 	public boolean set(final String pluginKey, final String dataKey, final float data) {
-		return set(DBDataSource.TABLE_FLOATS, pluginKey, dataKey, ColumnType.FLOAT, "" + data);
+		return set(ColumnType.FLOAT, pluginKey, dataKey, "" + data);
 	}
 
 	@Override
 	public boolean set(final String pluginKey, final String dataKey, final double data) {
-		return set(DBDataSource.TABLE_DOUBLES, pluginKey, dataKey, ColumnType.BOOLEAN, "" + data);
+		return set(ColumnType.DOUBLE, pluginKey, dataKey, "" + data);
 	}
 
 	@Override
 	public boolean set(final String pluginKey, final String dataKey, final boolean data) {
-		return set(DBDataSource.TABLE_BOOLEANS, pluginKey, dataKey, ColumnType.BOOLEAN, data ? "1" : "0");
+		return set(ColumnType.BOOLEAN, pluginKey, dataKey, data ? "1" : "0");
 	}
 
 	@Override
 	public boolean set(final String pluginKey, final String dataKey, final List<String> data) {
-		return set(DBDataSource.TABLE_LISTS, pluginKey, dataKey, ColumnType.STRING_LIST, StringUtils.listToString(data));
+		return setList(getLocation(pluginKey, dataKey), data);
 	}
 
 	@Override
 	public Optional<String> getString(final String pluginKey, final String dataKey) {
-		return get(DBDataSource::parseString, DBDataSource.TABLE_STRINGS, pluginKey, dataKey);
+		return get(DBDataSource::parseString, ColumnType.STRING_VALUE, pluginKey, dataKey);
 	}
 
 	@Override
 	public Optional<Integer> getInt(final String pluginKey, final String dataKey) {
-		return get(DBDataSource::parseInt, DBDataSource.TABLE_INTS, pluginKey, dataKey);
+		return get(DBDataSource::parseInt, ColumnType.INT, pluginKey, dataKey);
 	}
 
 	@Override
 	public Optional<Long> getLong(final String pluginKey, final String dataKey) {
-		return get(DBDataSource::parseLong, DBDataSource.TABLE_LONGS, pluginKey, dataKey);
+		return get(DBDataSource::parseLong, ColumnType.LONG, pluginKey, dataKey);
 	}
 
 	@Override
 	public Optional<Float> getFloat(final String pluginKey, final String dataKey) {
-		return get(DBDataSource::parseFloat, DBDataSource.TABLE_FLOATS, pluginKey, dataKey);
+		return get(DBDataSource::parseFloat, ColumnType.FLOAT, pluginKey, dataKey);
 	}
 
 	@Override
 	public Optional<Double> getDouble(final String pluginKey, final String dataKey) {
-		return get(DBDataSource::parseDouble, DBDataSource.TABLE_DOUBLES, pluginKey, dataKey);
+		return get(DBDataSource::parseDouble, ColumnType.DOUBLE, pluginKey, dataKey);
 	}
 
 	@Override
 	public Optional<Boolean> getBoolean(final String pluginKey, final String dataKey) {
-		return get(DBDataSource::parseBoolean, DBDataSource.TABLE_BOOLEANS, pluginKey, dataKey);
+		return get(DBDataSource::parseBoolean, ColumnType.BOOLEAN, pluginKey, dataKey);
 	}
 
 	@Override
 	public Optional<List<String>> getList(final String pluginKey, final String dataKey) {
-		return get(DBDataSource::parseList, DBDataSource.TABLE_LISTS, pluginKey, dataKey);
+		return getList(getLocation(pluginKey, dataKey));
+	}
+
+	@Override
+	public boolean appendToList(final String pluginKey, final String dataKey, final String element) {
+		return appendToList(getLocation(pluginKey, dataKey), element);
+	}
+
+	@Override
+	public boolean removeFromList(final String pluginKey, final String dataKey, final String element) {
+		return removeFromList(getLocation(pluginKey, dataKey), element);
+	}
+
+	@Override
+	public boolean listContains(final String pluginKey, final String dataKey, final String element) {
+		return listContains(getLocation(pluginKey, dataKey), element);
+	}
+
+	@Override
+	public int getListSize(final String pluginKey, final String dataKey) {
+		return getListSize(getLocation(pluginKey, dataKey));
+	}
+
+	@Override
+	public List<String> getListRange(final String pluginKey, final String dataKey, final int start, final int count) {
+		return getListRange(getLocation(pluginKey, dataKey), start, count);
+	}
+
+	@Override
+	public Optional<Integer> increment(final String pluginKey, final String dataKey, final int delta) {
+		return increment(DBDataSource::parseInt, getLocation(pluginKey, dataKey), ColumnType.INT, "" + delta);
+	}
+
+	@Override
+	public boolean compareAndSet(final String pluginKey, final String dataKey, final int expected, final int data) {
+		return compareAndSet(getLocation(pluginKey, dataKey), ColumnType.INT, "" + expected, "" + data);
+	}
+
+	@Override
+	public Optional<Long> increment(final String pluginKey, final String dataKey, final long delta) {
+		return increment(DBDataSource::parseLong, getLocation(pluginKey, dataKey), ColumnType.LONG, "" + delta);
+	}
+
+	@Override
+	public boolean compareAndSet(final String pluginKey, final String dataKey, final long expected, final long data) {
+		return compareAndSet(getLocation(pluginKey, dataKey), ColumnType.LONG, "" + expected, "" + data);
+	}
+
+	@Override
+	public Optional<Float> increment(final String pluginKey, final String dataKey, final float delta) {
+		return increment(DBDataSource::parseFloat, getLocation(pluginKey, dataKey), ColumnType.FLOAT, "" + delta);
+	}
+
+	@Override
+	public boolean compareAndSet(final String pluginKey, final String dataKey, final float expected, final float data) {
+		return compareAndSet(getLocation(pluginKey, dataKey), ColumnType.FLOAT, "" + expected, "" + data);
+	}
+
+	@Override
+	public Optional<Double> increment(final String pluginKey, final String dataKey, final double delta) {
+		return increment(DBDataSource::parseDouble, getLocation(pluginKey, dataKey), ColumnType.DOUBLE, "" + delta);
+	}
+
+	@Override
+	public boolean compareAndSet(final String pluginKey, final String dataKey, final double expected, final double data) {
+		return compareAndSet(getLocation(pluginKey, dataKey), ColumnType.DOUBLE, "" + expected, "" + data);
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String pluginKey, final String dataKey, final String data) {
-		return set(DBDataSource.TABLE_PLAYER_STRINGS, pluginKey, uuid, dataKey, ColumnType.STRING_VALUE, data);
+		return set(ColumnType.STRING_VALUE, pluginKey, uuid, dataKey, data);
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String pluginKey, final String dataKey, final int data) {
-		return set(DBDataSource.TABLE_PLAYER_INTS, pluginKey, uuid, dataKey, ColumnType.INT, "" + data);
+		return set(ColumnType.INT, pluginKey, uuid, dataKey, "" + data);
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String pluginKey, final String dataKey, final long data) {
-		return set(DBDataSource.TABLE_PLAYER_LONGS, pluginKey, uuid, dataKey, ColumnType.LONG, "" + data);
+		return set(ColumnType.LONG, pluginKey, uuid, dataKey, "" + data);
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String pluginKey, final String dataKey, final float data) {
-		return set(DBDataSource.TABLE_PLAYER_FLOATS, pluginKey, uuid, dataKey, ColumnType.FLOAT, "" + data);
+		return set(ColumnType.FLOAT, pluginKey, uuid, dataKey, "" + data);
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String pluginKey, final String dataKey, final double data) {
-		return set(DBDataSource.TABLE_PLAYER_DOUBLES, pluginKey, uuid, dataKey, ColumnType.DOUBLE, "" + data);
+		return set(ColumnType.DOUBLE, pluginKey, uuid, dataKey, "" + data);
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String pluginKey, final String dataKey, final boolean data) {
-		return set(DBDataSource.TABLE_PLAYER_BOOLEANS, pluginKey, uuid, dataKey, ColumnType.BOOLEAN, data ? "1" : "0");
+		return set(ColumnType.BOOLEAN, pluginKey, uuid, dataKey, data ? "1" : "0");
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String pluginKey, final String dataKey, final List<String> data) {
-		return set(DBDataSource.TABLE_PLAYER_LISTS, pluginKey, uuid, dataKey, ColumnType.STRING_LIST, StringUtils.listToString(data));
+		return setList(getLocation(pluginKey, uuid, dataKey), data);
 	}
 
 	@Override
 	public Optional<String> getString(final UUID uuid, final String pluginKey, final String dataKey) {
-		return get(DBDataSource::parseString, DBDataSource.TABLE_PLAYER_STRINGS, pluginKey, uuid, dataKey);
+		return get(DBDataSource::parseString, ColumnType.STRING_VALUE, pluginKey, uuid, dataKey);
 	}
 
 	@Override
 	public Optional<Integer> getInt(final UUID uuid, final String pluginKey, final String dataKey) {
-		return get(DBDataSource::parseInt, DBDataSource.TABLE_PLAYER_INTS, pluginKey, uuid, dataKey);
+		return get(DBDataSource::parseInt, ColumnType.INT, pluginKey, uuid, dataKey);
 	}
 
 	@Override
 	public Optional<Long> getLong(final UUID uuid, final String pluginKey, final String dataKey) {
-		return get(DBDataSource::parseLong, DBDataSource.TABLE_PLAYER_LONGS, pluginKey, uuid, dataKey);
+		return get(DBDataSource::parseLong, ColumnType.LONG, pluginKey, uuid, dataKey);
 	}
 
 	@Override
 	public Optional<Float> getFloat(final UUID uuid, final String pluginKey, final String dataKey) {
-		return get(DBDataSource::parseFloat, DBDataSource.TABLE_PLAYER_FLOATS, pluginKey, uuid, dataKey);
+		return get(DBDataSource::parseFloat, ColumnType.FLOAT, pluginKey, uuid, dataKey);
 	}
 
 	@Override
 	public Optional<Double> getDouble(final UUID uuid, final String pluginKey, final String dataKey) {
-		return get(DBDataSource::parseDouble, DBDataSource.TABLE_PLAYER_DOUBLES, pluginKey, uuid, dataKey);
+		return get(DBDataSource::parseDouble, ColumnType.DOUBLE, pluginKey, uuid, dataKey);
 	}
 
 	@Override
 	public Optional<Boolean> getBoolean(final UUID uuid, final String pluginKey, final String dataKey) {
-		return get(DBDataSource::parseBoolean, DBDataSource.TABLE_PLAYER_BOOLEANS, pluginKey, uuid, dataKey);
+		return get(DBDataSource::parseBoolean, ColumnType.BOOLEAN, pluginKey, uuid, dataKey);
 	}
 
 	@Override
 	public Optional<List<String>> getList(final UUID uuid, final String pluginKey, final String dataKey) {
-		return get(DBDataSource::parseList, DBDataSource.TABLE_PLAYER_LISTS, pluginKey, uuid, dataKey);
+		return getList(getLocation(pluginKey, uuid, dataKey));
+	}
+
+	@Override
+	public void forEachValue(final UUID uuid, final String pluginKey, final BiConsumer<String, Object> consumer) {
+		forEachValue(DBDataSource.PLAYER_TABLES, DBDataSource.TABLE_PLAYER_DATA, DBDataSource.TABLE_PLAYER_LIST_ELEMENTS, consumer,
+				new ColumnEntry(DBDataSource.COLUMN_PLAYER, ColumnType.STRING_KEY, uuid.toString()),
+				new ColumnEntry(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, pluginKey));
+	}
+	
+	/**
+	 * hands every value of the owner identified by the keys to the consumer, the keys have to lead the primary keys of all given tables
+	 * @param splitTables the tables of the split schema by type
+	 * @param consolidatedTable the table of the consolidated schema
+	 * @param elementTable the table holding the elements of the lists
+	 * @param consumer the consumer for the data keys and values
+	 * @param keys the keys identifying the owner
+	 */
+	private void forEachValue(final Map<ColumnType, String> splitTables, final String consolidatedTable, final String elementTable, 
+			final BiConsumer<String, Object> consumer, final ColumnEntry... keys) {
+		final List<ColumnEntry> keyList = Arrays.asList(keys);
+		// the owner leads the primary key of the element table and of the consolidated table, so each is read with one range scan
+		final Map<String, SortedMap<Integer, String>> elements = new HashMap<>();
+		forEachRow(elementTable, Arrays.asList(DBDataSource.COLUMN_DATA_KEY, DBDataSource.COLUMN_POSITION, DBDataSource.COLUMN_ELEMENT), 
+				keyList, row -> elements.computeIfAbsent(row.get(0), dataKey -> new TreeMap<>()).put(Integer.parseInt(row.get(1)), row.get(2)));
+		
+		if(this.schema == DBSchema.CONSOLIDATED) {
+			final List<ColumnType> types = new ArrayList<>(splitTables.keySet());
+			final List<String> columns = new ArrayList<>(Arrays.asList(DBDataSource.COLUMN_DATA_KEY, DBDataSource.COLUMN_TYPE));
+			types.forEach(type -> columns.add(getDataColumn(type)));
+			forEachRow(consolidatedTable, columns, keyList, row -> {
+				final ColumnType type = ColumnType.valueOf(row.get(1));
+				acceptValue(consumer, type, row.get(0), row.get(2 + types.indexOf(type)), elements);
+			});
+			return;
+		}
+		
+		// the split tables are led by the owner as well, so every type is a range scan of its own table
+		for(final Map.Entry<ColumnType, String> table: splitTables.entrySet()) {
+			forEachRow(table.getValue(), Arrays.asList(DBDataSource.COLUMN_DATA_KEY, DBDataSource.COLUMN_DATA), keyList, 
+					row -> acceptValue(consumer, table.getKey(), row.get(0), row.get(1), elements));
+		}
+	}
+	
+	private static void acceptValue(final BiConsumer<String, Object> consumer, final ColumnType type, final String dataKey, final String data, 
+			final Map<String, SortedMap<Integer, String>> elements) {
+		try {
+			final Object value = parseValue(type, data, type == ColumnType.STRING_LIST ? elements.get(dataKey) : null);
+			if(value != null) {
+				consumer.accept(dataKey, value);
+			}
+		} catch (final IllegalArgumentException e) {
+			// a malformed value is skipped, so it does not keep the other values from being read
+			e.printStackTrace();
+		}
+	}
+
+	@Override
+	public boolean appendToList(final UUID uuid, final String pluginKey, final String dataKey, final String element) {
+		return appendToList(getLocation(pluginKey, uuid, dataKey), element);
+	}
+
+	@Override
+	public boolean removeFromList(final UUID uuid, final String pluginKey, final String dataKey, final String element) {
+		return removeFromList(getLocation(pluginKey, uuid, dataKey), element);
+	}
+
+	@Override
+	public boolean listContains(final UUID uuid, final String pluginKey, final String dataKey, final String element) {
+		return listContains(getLocation(pluginKey, uuid, dataKey), element);
+	}
+
+	@Override
+	public int getListSize(final UUID uuid, final String pluginKey, final String dataKey) {
+		return getListSize(getLocation(pluginKey, uuid, dataKey));
+	}
+
+	@Override
+	public List<String> getListRange(final UUID uuid, final String pluginKey, final String dataKey, final int start, final int count) {
+		return getListRange(getLocation(pluginKey, uuid, dataKey), start, count);
+	}
+
+	@Override
+	public Optional<Integer> increment(final UUID uuid, final String pluginKey, final String dataKey, final int delta) {
+		return increment(DBDataSource::parseInt, getLocation(pluginKey, uuid, dataKey), ColumnType.INT, "" + delta);
+	}
+
+	@Override
+	public boolean compareAndSet(final UUID uuid, final String pluginKey, final String dataKey, final int expected, final int data) {
+		return compareAndSet(getLocation(pluginKey, uuid, dataKey), ColumnType.INT, "" + expected, "" + data);
+	}
+
+	@Override
+	public Optional<Long> increment(final UUID uuid, final String pluginKey, final String dataKey, final long delta) {
+		return increment(DBDataSource::parseLong, getLocation(pluginKey, uuid, dataKey), ColumnType.LONG, "" + delta);
+	}
+
+	@Override
+	public boolean compareAndSet(final UUID uuid, final String pluginKey, final String dataKey, final long expected, final long data) {
+		return compareAndSet(getLocation(pluginKey, uuid, dataKey), ColumnType.LONG, "" + expected, "" + data);
+	}
+
+	@Override
+	public Optional<Float> increment(final UUID uuid, final String pluginKey, final String dataKey, final float delta) {
+		return increment(DBDataSource::parseFloat, getLocation(pluginKey, uuid, dataKey), ColumnType.FLOAT, "" + delta);
+	}
+
+	@Override
+	public boolean compareAndSet(final UUID uuid, final String pluginKey, final String dataKey, final float expected, final float data) {
+		return compareAndSet(getLocation(pluginKey, uuid, dataKey), ColumnType.FLOAT, "" + expected, "" + data);
+	}
+
+	@Override
+	public Optional<Double> increment(final UUID uuid, final String pluginKey, final String dataKey, final double delta) {
+		return increment(DBDataSource::parseDouble, getLocation(pluginKey, uuid, dataKey), ColumnType.DOUBLE, "" + delta);
+	}
+
+	@Override
+	public boolean compareAndSet(final UUID uuid, final String pluginKey, final String dataKey, final double expected, final double data) {
+		return compareAndSet(getLocation(pluginKey, uuid, dataKey), ColumnType.DOUBLE, "" + expected, "" + data);
+	}
+
+	@Override
+	public void registerRankedKey(final String pluginKey, final String dataKey, final NumericType type) {
+		// one index per type serves the rankings of all keys
+		synchronized(this.indexedRankings) {
+			if(this.indexedRankings.contains(type)) {
+				return;
+			}
+			
+			final String table = getRankingTable(type);
+			final String valueColumn = getRankingColumn(type);
+			final List<String> columns = new ArrayList<>(Arrays.asList(DBDataSource.COLUMN_PLUGIN_KEY, DBDataSource.COLUMN_DATA_KEY));
+			if(this.schema == DBSchema.CONSOLIDATED) {
+				columns.add(DBDataSource.COLUMN_TYPE);
+			}
+			columns.add(valueColumn);
+			columns.add(DBDataSource.COLUMN_PLAYER);
+			
+			if(createIndex(table, table + "_" + valueColumn + "Ranking", columns)) {
+				this.indexedRankings.add(type);
+			}
+		}
+	}
+
+	@Override
+	public List<RankedEntry> getRanking(final String pluginKey, final String dataKey, final NumericType type, final int offset, final int limit) {
+		final List<RankedEntry> ranking = new ArrayList<>();
+		if(offset < 0 || limit <= 0) {
+			return ranking;
+		}
+		
+		final List<List<String>> rows = getRankedRows(getRankingTable(type), DBDataSource.COLUMN_PLAYER, getRankingColumn(type), 
+				getRankingKeys(pluginKey, dataKey, type), offset, limit);
+		for(int i = 0; i < rows.size(); i++) {
+			final List<String> row = rows.get(i);
+			ranking.add(new RankedEntry(offset + i + 1, UUID.fromString(row.get(0)), parseNumber(type, row.get(1))));
+		}
+		return ranking;
+	}
+
+	@Override
+	public Optional<Integer> getRank(final UUID uuid, final String pluginKey, final String dataKey, final NumericType type) {
+		final int before = countRankedRowsBefore(getRankingTable(type), DBDataSource.COLUMN_PLAYER, getRankingColumn(type), 
+				getRankingKeys(pluginKey, dataKey, type), uuid.toString());
+		if(before < 0) {
+			return Optional.empty();
+		}
+		
+		return Optional.of(before + 1);
+	}
+	
+	private String getRankingTable(final NumericType type) {
+		return this.schema == DBSchema.CONSOLIDATED ? DBDataSource.TABLE_PLAYER_DATA : DBDataSource.PLAYER_TABLES.get(getColumnType(type));
+	}
+	
+	private String getRankingColumn(final NumericType type) {
+		return this.schema == DBSchema.CONSOLIDATED ? getDataColumn(getColumnType(type)) : DBDataSource.COLUMN_DATA;
+	}
+	
+	private List<ColumnEntry> getRankingKeys(final String pluginKey, final String dataKey, final NumericType type){
+		final List<ColumnEntry> keys = new ArrayList<>();
+		keys.add(new ColumnEntry(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, pluginKey));
+		keys.add(new ColumnEntry(DBDataSource.COLUMN_DATA_KEY, ColumnType.STRING_KEY, dataKey));
+		if(this.schema == DBSchema.CONSOLIDATED) {
+			keys.add(new ColumnEntry(DBDataSource.COLUMN_TYPE, ColumnType.STRING_KEY, getColumnType(type).name()));
+		}
+		return keys;
 	}
 
 	@Override
@@ -540,9 +1859,11 @@ public abstract class DBDataSource implements DataSource{
 
 	@Override
 	public boolean deleteGroup(final String group, final String pluginKey) {
-		return deleteValue(DBDataSource.TABLE_GROUPS,
-				new UpdateColumnEntry(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, pluginKey, true),
-				new UpdateColumnEntry(DBDataSource.COLUMN_GROUP, ColumnType.STRING_KEY, group, true));
+		final List<ColumnEntry> keys = Arrays.asList(
+				new ColumnEntry(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, pluginKey),
+				new ColumnEntry(DBDataSource.COLUMN_GROUP, ColumnType.STRING_KEY, group));
+		// deleting the group cascades into the data of the group and its members
+		return logged(keys, true, () -> deleteValue(DBDataSource.TABLE_GROUPS, keys));
 	}
 
 	@Override
@@ -585,12 +1906,79 @@ public abstract class DBDataSource implements DataSource{
 				new ColumnEntry(DBDataSource.COLUMN_GROUP, ColumnType.STRING_KEY, group));
 	}
 
+	@Override
+	public boolean forEachMemberID(final String group, final String pluginKey, final Consumer<UUID> consumer) {
+		if(!isGroup(group, pluginKey)) {
+			return false;
+		}
+		
+		// read in pages, so the consumer does not run while the connection is held for other calls
+		forEachPage(after -> getMemberPage(group, pluginKey, after, DBDataSource.STREAM_PAGE_SIZE), consumer, UUID::toString);
+		return true;
+	}
+
+	@Override
+	public Optional<List<UUID>> getMemberIDs(final String group, final String pluginKey, final UUID after, final int limit) {
+		if(!isGroup(group, pluginKey)) {
+			return Optional.empty();
+		}
+		if(limit <= 0) {
+			return Optional.of(new ArrayList<>());
+		}
+		
+		return Optional.of(getMemberPage(group, pluginKey, after == null ? null : after.toString(), limit));
+	}
+	
+	private List<UUID> getMemberPage(final String group, final String pluginKey, final String after, final int limit) {
+		// members are sorted by their id, which is the last column of the primary key, so every page is a range of the index
+		final Function<Result, List<UUID>> parser = result -> result.isEmpty() ? new ArrayList<>() :
+			result.getList().stream().map(uuid -> UUID.fromString(uuid)).collect(Collectors.toList());
+		return getSortedResult(parser, DBDataSource.TABLE_GROUP_MEMBERS, DBDataSource.COLUMN_PLAYER, Arrays.asList(
+				new ColumnEntry(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, pluginKey),
+				new ColumnEntry(DBDataSource.COLUMN_GROUP, ColumnType.STRING_KEY, group)), 
+				DBDataSource.COLUMN_PLAYER, after == null ? null : new ColumnEntry(DBDataSource.COLUMN_PLAYER, ColumnType.STRING_KEY, after), 0, limit);
+	}
+	
+	/**
+	 * hands the elements of all pages to the consumer, every page starts after the last element of the previous one
+	 * @param pages reads the page after the given element, null for the first page
+	 * @param consumer the consumer for the elements
+	 * @param key turns an element into the value of the column the pages are sorted by
+	 */
+	private static <T> void forEachPage(final Function<String, List<T>> pages, final Consumer<T> consumer, final Function<T, String> key) {
+		List<T> page = pages.apply(null);
+		while(!page.isEmpty()) {
+			page.forEach(consumer);
+			if(page.size() < DBDataSource.STREAM_PAGE_SIZE) {
+				return;
+			}
+			page = pages.apply(key.apply(page.get(page.size() - 1)));
+		}
+	}
+
 	@Override
 	public List<String> getGroups(final String pluginKey) {
 		return getResult(result -> result.getList(), DBDataSource.TABLE_GROUPS, DBDataSource.COLUMN_GROUP, 
 				new ColumnEntry(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, pluginKey));
 	}
 
+	@Override
+	public void forEachGroup(final String pluginKey, final Consumer<String> consumer) {
+		// read in pages, so the consumer does not run while the connection is held for other calls
+		forEachPage(after -> getGroups(pluginKey, after, DBDataSource.STREAM_PAGE_SIZE), consumer, Function.identity());
+	}
+
+	@Override
+	public List<String> getGroups(final String pluginKey, final String after, final int limit) {
+		if(limit <= 0) {
+			return new ArrayList<>();
+		}
+		
+		return getSortedResult(result -> result.isEmpty() ? new ArrayList<>() : result.getList(), DBDataSource.TABLE_GROUPS, DBDataSource.COLUMN_GROUP, 
+				Arrays.asList(new ColumnEntry(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, pluginKey)), 
+				DBDataSource.COLUMN_GROUP, after == null ? null : new ColumnEntry(DBDataSource.COLUMN_GROUP, ColumnType.STRING_KEY, after), 0, limit);
+	}
+
 	@Override
 	public List<String> getGroups(final UUID uuid, final String pluginKey) {
 		return getResult(result -> result.getList(), DBDataSource.TABLE_GROUP_MEMBERS, DBDataSource.COLUMN_GROUP, 
@@ -600,142 +1988,287 @@ public abstract class DBDataSource implements DataSource{
 
 	@Override
 	public boolean set(final String group, final String pluginKey, final String dataKey, final String data) {
-		return set(DBDataSource.TABLE_GROUP_STRINGS, pluginKey, group, dataKey, ColumnType.STRING_VALUE, data);
+		return set(ColumnType.STRING_VALUE, pluginKey, group, dataKey, data);
 	}
 
 	@Override
 	public boolean set(final String group, final String pluginKey, final String dataKey, final int data) {
-		return set(DBDataSource.TABLE_GROUP_INTS, pluginKey, group, dataKey, ColumnType.INT, "" + data);
+		return set(ColumnType.INT, pluginKey, group, dataKey, "" + data);
 	}
 
 	@Override
 	public boolean set(final String group, final String pluginKey, final String dataKey, final long data) {
-		return set(DBDataSource.TABLE_GROUP_LONGS, pluginKey, group, dataKey, ColumnType.LONG, "" + data);
+		return set(ColumnType.LONG, pluginKey, group, dataKey, "" + data);
 	}
 
 	@Override
 	public boolean set(final String group, final String pluginKey, final String dataKey, final float data) {
-		return set(DBDataSource.TABLE_GROUP_FLOATS, pluginKey, group, dataKey, ColumnType.FLOAT, "" + data);
+		return set(ColumnType.FLOAT, pluginKey, group, dataKey, "" + data);
 	}
 
 	@Override
 	public boolean set(final String group, final String pluginKey, final String dataKey, final double data) {
-		return set(DBDataSource.TABLE_GROUP_DOUBLES, pluginKey, group, dataKey, ColumnType.DOUBLE, "" + data);
+		return set(ColumnType.DOUBLE, pluginKey, group, dataKey, "" + data);
 	}
 
 	@Override
 	public boolean set(final String group, final String pluginKey, final String dataKey, final boolean data) {
-		return set(DBDataSource.TABLE_GROUP_BOOLEANS, pluginKey, group, dataKey, ColumnType.BOOLEAN, data ? "1" : "0");
+		return set(ColumnType.BOOLEAN, pluginKey, group, dataKey, data ? "1" : "0");
 	}
 
 	@Override
 	public boolean set(final String group, final String pluginKey, final String dataKey, final List<String> data) {
-		return set(DBDataSource.TABLE_GROUP_LISTS, pluginKey, group, dataKey, ColumnType.STRING_VALUE, StringUtils.listToString(data));
+		return setList(getLocation(pluginKey, group, dataKey), data);
 	}
 
 	@Override
 	public Optional<String> getString(final String group, final String pluginKey, final String dataKey) {
-		return get(DBDataSource::parseString, DBDataSource.TABLE_GROUP_STRINGS, pluginKey, group, dataKey);
+		return get(DBDataSource::parseString, ColumnType.STRING_VALUE, pluginKey, group, dataKey);
 	}
 
 	@Override
 	public Optional<Integer> getInt(final String group, final String pluginKey, final String dataKey) {
-		return get(DBDataSource::parseInt, DBDataSource.TABLE_GROUP_INTS, pluginKey, group, dataKey);
+		return get(DBDataSource::parseInt, ColumnType.INT, pluginKey, group, dataKey);
 	}
 
 	@Override
 	public Optional<Long> getLong(final String group, final String pluginKey, final String dataKey) {
-		return get(DBDataSource::parseLong, DBDataSource.TABLE_GROUP_LONGS, pluginKey, group, dataKey);
+		return get(DBDataSource::parseLong, ColumnType.LONG, pluginKey, group, dataKey);
 	}
 
 	@Override
 	public Optional<Float> getFloat(final String group, final String pluginKey, final String dataKey) {
-		return get(DBDataSource::parseFloat, DBDataSource.TABLE_GROUP_FLOATS, pluginKey, group, dataKey);
+		return get(DBDataSource::parseFloat, ColumnType.FLOAT, pluginKey, group, dataKey);
 	}
 
 	@Override
 	public Optional<Double> getDouble(final String group, final String pluginKey, final String dataKey) {
-		return get(DBDataSource::parseDouble, DBDataSource.TABLE_GROUP_DOUBLES, pluginKey, group, dataKey);
+		return get(DBDataSource::parseDouble, ColumnType.DOUBLE, pluginKey, group, dataKey);
 	}
 
 	@Override
 	public Optional<Boolean> getBoolean(final String group, final String pluginKey, final String dataKey) {
-		return get(DBDataSource::parseBoolean, DBDataSource.TABLE_GROUP_BOOLEANS, pluginKey, group, dataKey);
+		return get(DBDataSource::parseBoolean, ColumnType.BOOLEAN, pluginKey, group, dataKey);
 	}
 
 	@Override
 	public Optional<List<String>> getList(final String group, final String pluginKey, final String dataKey) {
-		return get(DBDataSource::parseList, DBDataSource.TABLE_GROUP_LISTS, pluginKey, group, dataKey);
+		return getList(getLocation(pluginKey, group, dataKey));
+	}
+
+	@Override
+	public void forEachValue(final String group, final String pluginKey, final BiConsumer<String, Object> consumer) {
+		forEachValue(DBDataSource.GROUP_TABLES, DBDataSource.TABLE_GROUP_DATA, DBDataSource.TABLE_GROUP_LIST_ELEMENTS, consumer,
+				new ColumnEntry(DBDataSource.COLUMN_GROUP, ColumnType.STRING_KEY, group),
+				new ColumnEntry(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, pluginKey));
+	}
+
+	@Override
+	public boolean appendToList(final String group, final String pluginKey, final String dataKey, final String element) {
+		return appendToList(getLocation(pluginKey, group, dataKey), element);
+	}
+
+	@Override
+	public boolean removeFromList(final String group, final String pluginKey, final String dataKey, final String element) {
+		return removeFromList(getLocation(pluginKey, group, dataKey), element);
+	}
+
+	@Override
+	public boolean listContains(final String group, final String pluginKey, final String dataKey, final String element) {
+		return listContains(getLocation(pluginKey, group, dataKey), element);
+	}
+
+	@Override
+	public int getListSize(final String group, final String pluginKey, final String dataKey) {
+		return getListSize(getLocation(pluginKey, group, dataKey));
+	}
+
+	@Override
+	public List<String> getListRange(final String group, final String pluginKey, final String dataKey, final int start, final int count) {
+		return getListRange(getLocation(pluginKey, group, dataKey), start, count);
+	}
+
+	@Override
+	public Optional<Integer> increment(final String group, final String pluginKey, final String dataKey, final int delta) {
+		return increment(DBDataSource::parseInt, getLocation(pluginKey, group, dataKey), ColumnType.INT, "" + delta);
+	}
+
+	@Override
+	public boolean compareAndSet(final String group, final String pluginKey, final String dataKey, final int expected, final int data) {
+		return compareAndSet(getLocation(pluginKey, group, dataKey), ColumnType.INT, "" + expected, "" + data);
+	}
+
+	@Override
+	public Optional<Long> increment(final String group, final String pluginKey, final String dataKey, final long delta) {
+		return increment(DBDataSource::parseLong, getLocation(pluginKey, group, dataKey), ColumnType.LONG, "" + delta);
+	}
+
+	@Override
+	public boolean compareAndSet(final String group, final String pluginKey, final String dataKey, final long expected, final long data) {
+		return compareAndSet(getLocation(pluginKey, group, dataKey), ColumnType.LONG, "" + expected, "" + data);
+	}
+
+	@Override
+	public Optional<Float> increment(final String group, final String pluginKey, final String dataKey, final float delta) {
+		return increment(DBDataSource::parseFloat, getLocation(pluginKey, group, dataKey), ColumnType.FLOAT, "" + delta);
+	}
+
+	@Override
+	public boolean compareAndSet(final String group, final String pluginKey, final String dataKey, final float expected, final float data) {
+		return compareAndSet(getLocation(pluginKey, group, dataKey), ColumnType.FLOAT, "" + expected, "" + data);
+	}
+
+	@Override
+	public Optional<Double> increment(final String group, final String pluginKey, final String dataKey, final double delta) {
+		return increment(DBDataSource::parseDouble, getLocation(pluginKey, group, dataKey), ColumnType.DOUBLE, "" + delta);
+	}
+
+	@Override
+	public boolean compareAndSet(final String group, final String pluginKey, final String dataKey, final double expected, final double data) {
+		return compareAndSet(getLocation(pluginKey, group, dataKey), ColumnType.DOUBLE, "" + expected, "" + data);
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String group, final String pluginKey, final String dataKey, final String data) {
-		return set(DBDataSource.TABLE_GROUP_MEMBER_STRINGS, pluginKey, group, uuid, dataKey, ColumnType.STRING_VALUE, data);
+		return set(ColumnType.STRING_VALUE, pluginKey, group, uuid, dataKey, data);
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String group, final String pluginKey, final String dataKey, final int data) {
-		return set(DBDataSource.TABLE_GROUP_MEMBER_INTS, pluginKey, group, uuid, dataKey, ColumnType.INT, "" + data);
+		return set(ColumnType.INT, pluginKey, group, uuid, dataKey, "" + data);
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String group, final String pluginKey, final String dataKey, final long data) {
-		return set(DBDataSource.TABLE_GROUP_MEMBER_LONGS, pluginKey, group, uuid, dataKey, ColumnType.LONG, "" + data);
+		return set(ColumnType.LONG, pluginKey, group, uuid, dataKey, "" + data);
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String group, final String pluginKey, final String dataKey, final float data) {
-		return set(DBDataSource.TABLE_GROUP_MEMBER_FLOATS, pluginKey, group, uuid, dataKey, ColumnType.FLOAT, "" + data);
+		return set(ColumnType.FLOAT, pluginKey, group, uuid, dataKey, "" + data);
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String group, final String pluginKey, final String dataKey, final double data) {
-		return set(DBDataSource.TABLE_GROUP_MEMBER_DOUBLES, pluginKey, group, uuid, dataKey, ColumnType.DOUBLE, "" + data);
+		return set(ColumnType.DOUBLE, pluginKey, group, uuid, dataKey, "" + data);
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String group, final String pluginKey, final String dataKey, final boolean data) {
-		return set(DBDataSource.TABLE_GROUP_MEMBER_BOOLEANS, pluginKey, group, uuid, dataKey, ColumnType.BOOLEAN, "" + data);
+		return set(ColumnType.BOOLEAN, pluginKey, group, uuid, dataKey, "" + data);
 	}
 
 	@Override
 	public boolean set(final UUID uuid, final String group, final String pluginKey, final String dataKey, final List<String> data) {
-		return set(DBDataSource.TABLE_GROUP_MEMBER_LISTS, pluginKey, group, uuid, dataKey, ColumnType.STRING_VALUE, StringUtils.listToString(data));
+		return setList(getLocation(pluginKey, group, uuid, dataKey), data);
 	}
 
 	@Override
 	public Optional<String> getString(final UUID uuid, final String group, final String pluginKey, final String dataKey) {
-		return get(DBDataSource::parseString, DBDataSource.TABLE_GROUP_MEMBER_STRINGS, pluginKey, group, uuid, dataKey);
+		return get(DBDataSource::parseString, ColumnType.STRING_VALUE, pluginKey, group, uuid, dataKey);
 	}
 
 	@Override
 	public Optional<Integer> getInt(final UUID uuid, final String group, final String pluginKey, final String dataKey) {
-		return get(DBDataSource::parseInt, DBDataSource.TABLE_GROUP_MEMBER_INTS, pluginKey, group, uuid, dataKey);
+		return get(DBDataSource::parseInt, ColumnType.INT, pluginKey, group, uuid, dataKey);
 	}
 
 	@Override
 	public Optional<Long> getLong(final UUID uuid, final String group, final String pluginKey, final String dataKey) {
-		return get(DBDataSource::parseLong, DBDataSource.TABLE_GROUP_MEMBER_LONGS, pluginKey, group, uuid, dataKey);
+		return get(DBDataSource::parseLong, ColumnType.LONG, pluginKey, group, uuid, dataKey);
 	}
 
 	@Override
 	public Optional<Float> getFloat(final UUID uuid, final String group, final String pluginKey, final String dataKey) {
-		return get(DBDataSource::parseFloat, DBDataSource.TABLE_GROUP_MEMBER_FLOATS, pluginKey, group, uuid, dataKey);
+		return get(DBDataSource::parseFloat, ColumnType.FLOAT, pluginKey, group, uuid, dataKey);
 	}
 
 	@Override
 	public Optional<Double> getDouble(final UUID uuid, final String group, final String pluginKey, final String dataKey) {
-		return get(DBDataSource::parseDouble, DBDataSource.TABLE_GROUP_MEMBER_DOUBLES, pluginKey, group, uuid, dataKey);
+		return get(DBDataSource::parseDouble, ColumnType.DOUBLE, pluginKey, group, uuid, dataKey);
 	}
 
 	@Override
 	public Optional<Boolean> getBoolean(final UUID uuid, final String group, final String pluginKey, final String dataKey) {
-		return get(DBDataSource::parseBoolean, DBDataSource.TABLE_GROUP_MEMBER_BOOLEANS, pluginKey, group, uuid, dataKey);
+		return get(DBDataSource::parseBoolean, ColumnType.BOOLEAN, pluginKey, group, uuid, dataKey);
 	}
 
 	@Override
 	public Optional<List<String>> getList(final UUID uuid, final String group, final String pluginKey, final String dataKey) {
-		return get(DBDataSource::parseList, DBDataSource.TABLE_GROUP_MEMBER_LISTS, pluginKey, group, uuid, dataKey);
+		return getList(getLocation(pluginKey, group, uuid, dataKey));
+	}
+
+	@Override
+	public void forEachValue(final UUID uuid, final String group, final String pluginKey, final BiConsumer<String, Object> consumer) {
+		forEachValue(DBDataSource.GROUP_MEMBER_TABLES, DBDataSource.TABLE_GROUP_MEMBER_DATA, DBDataSource.TABLE_GROUP_MEMBER_LIST_ELEMENTS, consumer,
+				new ColumnEntry(DBDataSource.COLUMN_PLAYER, ColumnType.STRING_KEY, uuid.toString()),
+				new ColumnEntry(DBDataSource.COLUMN_GROUP, ColumnType.STRING_KEY, group),
+				new ColumnEntry(DBDataSource.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, pluginKey));
+	}
+
+	@Override
+	public boolean appendToList(final UUID uuid, final String group, final String pluginKey, final String dataKey, final String element) {
+		return appendToList(getLocation(pluginKey, group, uuid, dataKey), element);
+	}
+
+	@Override
+	public boolean removeFromList(final UUID uuid, final String group, final String pluginKey, final String dataKey, final String element) {
+		return removeFromList(getLocation(pluginKey, group, uuid, dataKey), element);
+	}
+
+	@Override
+	public boolean listContains(final UUID uuid, final String group, final String pluginKey, final String dataKey, final String element) {
+		return listContains(getLocation(pluginKey, group, uuid, dataKey), element);
+	}
+
+	@Override
+	public int getListSize(final UUID uuid, final String group, final String pluginKey, final String dataKey) {
+		return getListSize(getLocation(pluginKey, group, uuid, dataKey));
+	}
+
+	@Override
+	public List<String> getListRange(final UUID uuid, final String group, final String pluginKey, final String dataKey, final int start, final int count) {
+		return getListRange(getLocation(pluginKey, group, uuid, dataKey), start, count);
+	}
+
+	@Override
+	public Optional<Integer> increment(final UUID uuid, final String group, final String pluginKey, final String dataKey, final int delta) {
+		return increment(DBDataSource::parseInt, getLocation(pluginKey, group, uuid, dataKey), ColumnType.INT, "" + delta);
+	}
+
+	@Override
+	public boolean compareAndSet(final UUID uuid, final String group, final String pluginKey, final String dataKey, final int expected, final int data) {
+		return compareAndSet(getLocation(pluginKey, group, uuid, dataKey), ColumnType.INT, "" + expected, "" + data);
+	}
+
+	@Override
+	public Optional<Long> increment(final UUID uuid, final String group, final String pluginKey, final String dataKey, final long delta) {
+		return increment(DBDataSource::parseLong, getLocation(pluginKey, group, uuid, dataKey), ColumnType.LONG, "" + delta);
+	}
+
+	@Override
+	public boolean compareAndSet(final UUID uuid, final String group, final String pluginKey, final String dataKey, final long expected, final long data) {
+		return compareAndSet(getLocation(pluginKey, group, uuid, dataKey), ColumnType.LONG, "" + expected, "" + data);
+	}
+
+	@Override
+	public Optional<Float> increment(final UUID uuid, final String group, final String pluginKey, final String dataKey, final float delta) {
+		return increment(DBDataSource::parseFloat, getLocation(pluginKey, group, uuid, dataKey), ColumnType.FLOAT, "" + delta);
+	}
+
+	@Override
+	public boolean compareAndSet(final UUID uuid, final String group, final String pluginKey, final String dataKey, final float expected, final float data) {
+		return compareAndSet(getLocation(pluginKey, group, uuid, dataKey), ColumnType.FLOAT, "" + expected, "" + data);
+	}
+
+	@Override
+	public Optional<Double> increment(final UUID uuid, final String group, final String pluginKey, final String dataKey, final double delta) {
+		return increment(DBDataSource::parseDouble, getLocation(pluginKey, group, uuid, dataKey), ColumnType.DOUBLE, "" + delta);
+	}
+
+	@Override
+	public boolean compareAndSet(final UUID uuid, final String group, final String pluginKey, final String dataKey, final double expected, final double data) {
+		return compareAndSet(getLocation(pluginKey, group, uuid, dataKey), ColumnType.DOUBLE, "" + expected, "" + data);
 	}
 
 }
@@ -0,0 +1,11 @@
+package com.versuchdrei.datamanager.datasource.database;
+
+/**
+ * an enum for the possible table layouts of database backends
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public enum DBSchema {
+	SPLIT, // one table for every combination of scope and type
+	CONSOLIDATED // one table for every scope, with the type as part of the key and one nullable column for every type
+}
@@ -0,0 +1,831 @@
+package com.versuchdrei.datamanager.datasource.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.versuchdrei.datamanager.datasource.StorageUsage;
+
+/**
+ * the superclass for all database backends that are accessed via JDBC
+ * all statements run on a single connection, so they lock this data source to not run into an open transaction of another thread
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public abstract class JDBCDataSource extends DBDataSource{
+
+	private static final int APPEND_ATTEMPTS = 5;
+
+	private final int fetchSize;
+	private final StatementLog statementLog = new StatementLog();
+	private Connection connection;
+	// set when a statement lost against a concurrent statement on the same rows, so the whole transaction is run again
+	private boolean conflicted;
+
+	/**
+	 * @param schema the table layout to use
+	 * @param fetchSize the number of rows to fetch at once when iterating over large results, 0 to use the default of the driver
+	 * @param cache the cache for the values, or null to not cache them
+	 */
+	protected JDBCDataSource(final DBSchema schema, final int fetchSize, final DBCache cache) {
+		super(schema, cache);
+		this.fetchSize = fetchSize;
+	}
+
+	/**
+	 * opens a new connection to the database
+	 * @return the opened connection
+	 * @throws SQLException if the database cannot be reached
+	 */
+	protected abstract Connection openConnection() throws SQLException;
+
+	/**
+	 * returns the type declaration of the given column type in the sql dialect of the database
+	 * @param type the type of the column
+	 * @return the type declaration of the column
+	 */
+	protected abstract String formatType(ColumnType type);
+
+	/**
+	 * Builds a statement that inserts a row or, if a row with the same keys already exists, only overwrites its value columns. 
+	 * The statement needs one parameter for every column, in the order of the given columns.
+	 * @param table the name of the table to insert into
+	 * @param columns the names of all columns, keys and values alike
+	 * @param keyColumns the names of the columns forming the unique key
+	 * @param valueColumns the names of the columns to overwrite on an existing row, might be empty
+	 * @return the statement in the sql dialect of the database
+	 */
+	protected abstract String formatUpsert(String table, List<String> columns, List<String> keyColumns, List<String> valueColumns);
+
+	/**
+	 * Builds a statement that inserts a row or, if a row with the same keys already exists, adds the inserted value to its value column. 
+	 * The statement needs one parameter for every column, in the order of the given columns. 
+	 * If the database supports it, the statement returns the new value in the value column.
+	 * @param table the name of the table to insert into
+	 * @param columns the names of all columns, keys and value alike
+	 * @param keyColumns the names of the columns forming the unique key
+	 * @param valueColumn the name of the column to add to
+	 * @param type the type of the value column
+	 * @return the statement in the sql dialect of the database
+	 */
+	protected abstract String formatIncrement(String table, List<String> columns, List<String> keyColumns, String valueColumn, ColumnType type);
+
+	/**
+	 * Builds a query that reads the new value of the increment that just ran on the same connection, in a column named like the value column. 
+	 * @param valueColumn the name of the column that was added to
+	 * @param type the type of the value column
+	 * @return the query, an empty string if the increment returns the new value itself, 
+	 * or null if the database cannot tell it and it has to be read from the row
+	 */
+	protected abstract String formatIncrementResult(String valueColumn, ColumnType type);
+
+	/**
+	 * returns the placeholder for a parameter compared to a column of the given type
+	 * @param type the type of the column
+	 * @return the placeholder in the sql dialect of the database
+	 */
+	protected String formatParameter(final ColumnType type) {
+		return "?";
+	}
+
+	/**
+	 * returns the start of an INSERT statement that skips rows whose keys already exist
+	 * @return the start of the statement up to the table name
+	 */
+	protected abstract String formatInsertIgnore();
+
+	/**
+	 * returns true if the statement failed because a concurrent statement on the same rows won, like a duplicate key or a deadlock
+	 * running the statement again can succeed in this case
+	 * @param e the exception thrown by the statement
+	 * @return true if the statement lost a conflict, otherwise false
+	 */
+	protected abstract boolean isConflict(SQLException e);
+
+	/**
+	 * @return the log of the durations of the statements executed by this backend
+	 */
+	public StatementLog getStatementLog() {
+		return this.statementLog;
+	}
+
+	/**
+	 * @return true if the connection to the database is currently open, otherwise false
+	 */
+	public boolean isConnectionOpen() {
+		final Connection current = this.connection;
+		try {
+			return current != null && !current.isClosed();
+		} catch (final SQLException e) {
+			return false;
+		}
+	}
+
+	protected synchronized Connection getOpenConnection() throws SQLException {
+		// an open transaction was checked when it began, probing it again would cost a round trip for every statement
+		if(this.connection != null && !this.connection.isClosed() && (!this.connection.getAutoCommit() || this.connection.isValid(1))) {
+			return this.connection;
+		}
+
+		this.connection = openConnection();
+		return this.connection;
+	}
+
+	@Override
+	public void close() {
+		super.close();
+		synchronized(this) {
+			if(this.connection == null) {
+				return;
+			}
+
+			try {
+				this.connection.close();
+			} catch (final SQLException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	@Override
+	protected synchronized void createTable(final String name, final List<Column> columns) {
+		final String sqlColumns = columns.stream().map(column -> formatColumn(column)).collect(Collectors.joining(", "));
+		final String primaryKeys = columns.stream().filter(column -> column.isUnique()).map(column -> "`" + column.getTitle() + "`").collect(Collectors.joining(", "));
+		final String foreignKeys = columns.stream().filter(column -> column.hasForeignKey()).collect(Collectors.groupingBy(column -> column.getForeignKey().getTable()))
+				.values().stream().map(list -> ", " + formatForeignKey(list)).collect(Collectors.joining());
+
+		final String sql = "CREATE TABLE IF NOT EXISTS `" + name + "` (" + sqlColumns + ", PRIMARY KEY (" + primaryKeys + ")" + foreignKeys + ");";
+		try (Statement statement = getOpenConnection().createStatement();){
+			statement.executeUpdate(sql);
+		} catch (final SQLException e) {
+			System.out.println(sql);
+			e.printStackTrace();
+		}
+
+	}
+
+	@Override
+	protected synchronized boolean updateValue(final String table, final List<UpdateColumnEntry> columnEntries) {
+		final List<String> columns = columnEntries.stream().map(entry -> entry.getColumn()).collect(Collectors.toList());
+		final List<String> keyColumns = columnEntries.stream().filter(entry -> entry.isKey()).map(entry -> entry.getColumn()).collect(Collectors.toList());
+		final List<String> valueColumns = columnEntries.stream().filter(entry -> !entry.isKey()).map(entry -> entry.getColumn()).collect(Collectors.toList());
+
+		// an upsert only touches the value columns of an existing row, unlike REPLACE which deletes it first and thereby cascades into the foreign keys
+		final String sql = formatUpsert(table, columns, keyColumns, valueColumns);
+		try (PreparedStatement statement = getOpenConnection().prepareStatement(sql)){
+			addSQLparameters(statement, columnEntries);
+			final long start = System.nanoTime();
+			final int rows = statement.executeUpdate();
+			this.statementLog.record(table, "UPSERT", keyColumns.size(), start, rows);
+		} catch (final SQLException e) {
+			e.printStackTrace();
+			return false;
+		}
+
+		return true;
+	}
+
+	@Override
+	protected synchronized boolean updateValues(final String table, final List<List<UpdateColumnEntry>> rows) {
+		if(rows.isEmpty()) {
+			return true;
+		}
+
+		final List<UpdateColumnEntry> firstRow = rows.get(0);
+		final List<String> columns = firstRow.stream().map(entry -> entry.getColumn()).collect(Collectors.toList());
+		final List<String> keyColumns = firstRow.stream().filter(entry -> entry.isKey()).map(entry -> entry.getColumn()).collect(Collectors.toList());
+		final List<String> valueColumns = firstRow.stream().filter(entry -> !entry.isKey()).map(entry -> entry.getColumn()).collect(Collectors.toList());
+
+		final String sql = formatUpsert(table, columns, keyColumns, valueColumns);
+		try (PreparedStatement statement = getOpenConnection().prepareStatement(sql)){
+			for(final List<UpdateColumnEntry> row: rows) {
+				addSQLparameters(statement, row);
+				statement.addBatch();
+			}
+			final long start = System.nanoTime();
+			statement.executeBatch();
+			this.statementLog.record(table, "UPSERT BATCH", keyColumns.size(), start, rows.size());
+		} catch (final SQLException e) {
+			e.printStackTrace();
+			return false;
+		}
+
+		return true;
+	}
+
+	@Override
+	protected synchronized <T> T getResult(final Function<Result, T> parser, final String table, final String column, final List<ColumnEntry> keys) {
+		final String where = keys.stream().map(key -> formatWhere(key)).collect(Collectors.joining(" AND "));
+
+		final String sql = "SELECT `" + column + "` FROM `" +  table + "` WHERE " +  where;
+		try (PreparedStatement statement = getOpenConnection().prepareStatement(sql)){
+			addSQLparameters(statement, keys);
+			final long start = System.nanoTime();
+			final JDBCResult result = new JDBCResult(statement.executeQuery(), column);
+			final T parsed = parser.apply(result);
+			this.statementLog.record(table, "SELECT", keys.size(), start, result.getRows());
+			return parsed;
+		} catch (final SQLException e) {
+			e.printStackTrace();
+			return parser.apply(new EmptyResult());
+		}
+	}
+
+	@Override
+	protected synchronized int deleteRows(final String table, final List<ColumnEntry> keys) {
+		final String where = keys.stream().map(key -> formatWhere(key)).collect(Collectors.joining(" AND "));
+
+		final String sql = "DELETE FROM `" + table + "` WHERE " + where;
+		try (PreparedStatement statement = getOpenConnection().prepareStatement(sql)){
+			addSQLparameters(statement, keys);
+			final long start = System.nanoTime();
+			final int rows = statement.executeUpdate();
+			this.statementLog.record(table, "DELETE", keys.size(), start, rows);
+			return rows;
+		} catch (final SQLException e) {
+			e.printStackTrace();
+			return -1;
+		}
+	}
+
+	@Override
+	protected synchronized boolean exists(final String table, final List<ColumnEntry> keys) {
+		final String where = keys.stream().map(key -> formatWhere(key)).collect(Collectors.joining(" AND "));
+
+		final String sql = "SELECT `" + keys.get(0).getColumn() + "` FROM `" + table + "` WHERE " + where;
+		try (PreparedStatement statement = getOpenConnection().prepareStatement(sql)){
+			addSQLparameters(statement, keys);
+			final long start = System.nanoTime();
+			final ResultSet result = statement.executeQuery();
+			final boolean exists = result.next();
+			this.statementLog.record(table, "EXISTS", keys.size(), start, exists ? 1 : 0);
+			return exists;
+		} catch (final SQLException e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	@Override
+	protected synchronized boolean tableExists(final String table) {
+		try {
+			final Connection connection = getOpenConnection();
+			try (ResultSet result = connection.getMetaData().getTables(connection.getCatalog(), null, table, null)){
+				return result.next();
+			}
+		} catch (final SQLException e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	@Override
+	protected synchronized boolean copyRows(final String source, final String target, final List<String> sourceColumns, final List<String> targetColumns, final List<ColumnEntry> constants) {
+		final String sqlTargetColumns = Stream.concat(targetColumns.stream(), constants.stream().map(constant -> constant.getColumn()))
+				.map(column -> "`" + column + "`").collect(Collectors.joining(", "));
+		final String sqlSourceColumns = Stream.concat(sourceColumns.stream().map(column -> "`" + column + "`"), constants.stream().map(constant -> "?"))
+				.collect(Collectors.joining(", "));
+
+		final String sql = formatInsertIgnore() + " `" + target + "` (" + sqlTargetColumns + ") SELECT " + sqlSourceColumns + " FROM `" + source + "`";
+		try (PreparedStatement statement = getOpenConnection().prepareStatement(sql)){
+			addSQLparameters(statement, constants);
+			statement.executeUpdate();
+		} catch (final SQLException e) {
+			e.printStackTrace();
+			return false;
+		}
+
+		return true;
+	}
+
+	@Override
+	protected synchronized boolean dropTable(final String table) {
+		try (Statement statement = getOpenConnection().createStatement()){
+			statement.executeUpdate("DROP TABLE IF EXISTS `" + table + "`");
+		} catch (final SQLException e) {
+			e.printStackTrace();
+			return false;
+		}
+
+		return true;
+	}
+
+	@Override
+	protected synchronized <T> T getSortedResult(final Function<Result, T> parser, final String table, final String column, final List<ColumnEntry> keys, 
+			final String orderColumn, final ColumnEntry after, final int offset, final int limit) {
+		final List<ColumnEntry> parameters = new ArrayList<>(keys);
+		String where = keys.stream().map(key -> formatWhere(key)).collect(Collectors.joining(" AND "));
+		if(after != null) {
+			// the rows following the given one are a range of the index, skipped rows would be read again for every page
+			where += " AND `" + orderColumn + "` > " + formatParameter(after.getType());
+			parameters.add(after);
+		}
+
+		final String sql = "SELECT `" + column + "` FROM `" + table + "` WHERE " + where + " ORDER BY `" + orderColumn + "` LIMIT ? OFFSET ?";
+		try (PreparedStatement statement = getOpenConnection().prepareStatement(sql)){
+			addSQLparameters(statement, parameters);
+			statement.setInt(parameters.size() + 1, limit < 0 ? Integer.MAX_VALUE : limit);
+			statement.setInt(parameters.size() + 2, offset);
+			final long start = System.nanoTime();
+			final JDBCResult result = new JDBCResult(statement.executeQuery(), column);
+			final T parsed = parser.apply(result);
+			this.statementLog.record(table, "SELECT SORTED", keys.size(), start, result.getRows());
+			return parsed;
+		} catch (final SQLException e) {
+			e.printStackTrace();
+			return parser.apply(new EmptyResult());
+		}
+	}
+
+	@Override
+	protected synchronized int countRows(final String table, final List<ColumnEntry> keys) {
+		final String where = keys.stream().map(key -> formatWhere(key)).collect(Collectors.joining(" AND "));
+
+		final String sql = "SELECT COUNT(*) FROM `" + table + "` WHERE " + where;
+		try (PreparedStatement statement = getOpenConnection().prepareStatement(sql)){
+			addSQLparameters(statement, keys);
+			final long start = System.nanoTime();
+			final ResultSet result = statement.executeQuery();
+			final int count = result.next() ? result.getInt(1) : 0;
+			this.statementLog.record(table, "COUNT", keys.size(), start, 1);
+			return count;
+		} catch (final SQLException e) {
+			e.printStackTrace();
+			return 0;
+		}
+	}
+
+	@Override
+	protected Map<String, StorageUsage> sumLengths(final String table, final String groupColumn, final List<String> columns) {
+		// the length of null is null, which would make the whole sum null
+		final String lengths = columns.stream().map(column -> "COALESCE(LENGTH(`" + column + "`), 0)").collect(Collectors.joining(" + "));
+
+		final String sql = "SELECT `" + groupColumn + "`, COUNT(*), SUM(" + lengths + ") FROM `" + table + "` GROUP BY `" + groupColumn + "`";
+		final Map<String, StorageUsage> usage = new HashMap<>();
+		// the scan reads the whole table, so it runs on a connection of its own instead of holding up the calls of the plugins
+		try (Connection connection = openConnection(); PreparedStatement statement = connection.prepareStatement(sql)){
+			final long start = System.nanoTime();
+			final ResultSet result = statement.executeQuery();
+			while(result.next()) {
+				usage.put(result.getString(1), new StorageUsage(result.getLong(2), result.getLong(3)));
+			}
+			this.statementLog.record(table, "SUM LENGTHS", 0, start, usage.size());
+		} catch (final SQLException e) {
+			e.printStackTrace();
+			return new HashMap<>();
+		}
+
+		return usage;
+	}
+
+	@Override
+	protected synchronized boolean appendRow(final String table, final List<ColumnEntry> keys, final String orderColumn, final ColumnEntry value) {
+		final String columns = Stream.concat(keys.stream().map(key -> key.getColumn()), Stream.of(orderColumn, value.getColumn()))
+				.map(column -> "`" + column + "`").collect(Collectors.joining(", "));
+		final String keyValues = keys.stream().map(key -> "?").collect(Collectors.joining(", "));
+		final String where = keys.stream().map(key -> formatWhere(key)).collect(Collectors.joining(" AND "));
+
+		// the aggregate always yields exactly one row, so the position is computed and inserted in a single statement
+		final String sql = "INSERT INTO `" + table + "` (" + columns + ") SELECT " + keyValues + ", COALESCE(MAX(`" + orderColumn + "`), -1) + 1, ? FROM `" + table + "` WHERE " + where;
+		final List<ColumnEntry> parameters = new ArrayList<>(keys);
+		parameters.add(value);
+		parameters.addAll(keys);
+		for(int attempt = 1; ; attempt++) {
+			try (PreparedStatement statement = getOpenConnection().prepareStatement(sql)){
+				addSQLparameters(statement, parameters);
+				final long start = System.nanoTime();
+				final int rows = statement.executeUpdate();
+				this.statementLog.record(table, "APPEND", keys.size(), start, rows);
+				return true;
+			} catch (final SQLException e) {
+				// another server appended to the same list at the same time and took the position
+				if(!isConflict(e) || attempt >= JDBCDataSource.APPEND_ATTEMPTS) {
+					e.printStackTrace();
+					return false;
+				}
+
+				try {
+					if(!getOpenConnection().getAutoCommit()) {
+						// a deadlock rolls back the whole transaction, so the transaction is run again instead of the statement
+						this.conflicted = true;
+						return false;
+					}
+				} catch (final SQLException autoCommitException) {
+					autoCommitException.printStackTrace();
+					return false;
+				}
+			}
+		}
+	}
+
+	@Override
+	protected synchronized boolean insertRows(final String table, final List<List<ColumnEntry>> rows) {
+		if(rows.isEmpty()) {
+			return true;
+		}
+
+		final List<ColumnEntry> firstRow = rows.get(0);
+		final String columns = firstRow.stream().map(entry -> "`" + entry.getColumn() + "`").collect(Collectors.joining(", "));
+		final String values = firstRow.stream().map(entry -> "?").collect(Collectors.joining(", "));
+
+		final String sql = "INSERT INTO `" + table + "` (" + columns + ") VALUES (" + values + ")";
+		try (PreparedStatement statement = getOpenConnection().prepareStatement(sql)){
+			for(final List<ColumnEntry> row: rows) {
+				addSQLparameters(statement, row);
+				statement.addBatch();
+			}
+			final long start = System.nanoTime();
+			statement.executeBatch();
+			this.statementLog.record(table, "INSERT", firstRow.size(), start, rows.size());
+		} catch (final SQLException e) {
+			e.printStackTrace();
+			return false;
+		}
+
+		return true;
+	}
+
+	@Override
+	protected synchronized void forEachRow(final String table, final List<String> columns, final List<ColumnEntry> keys, final Consumer<List<String>> consumer) {
+		final String sqlColumns = columns.stream().map(column -> "`" + column + "`").collect(Collectors.joining(", "));
+		final String where = keys.isEmpty() ? "" : " WHERE " + keys.stream().map(key -> formatWhere(key)).collect(Collectors.joining(" AND "));
+
+		final String sql = "SELECT " + sqlColumns + " FROM `" + table + "`" + where;
+		try (PreparedStatement statement = getOpenConnection().prepareStatement(sql)){
+			statement.setFetchSize(this.fetchSize);
+			addSQLparameters(statement, keys);
+			// the time includes the consumer, as the rows are streamed while it runs
+			final long start = System.nanoTime();
+			final ResultSet result = statement.executeQuery();
+			long rows = 0;
+			while(result.next()) {
+				final List<String> row = new ArrayList<>(columns.size());
+				for(int i = 1; i <= columns.size(); i++) {
+					row.add(result.getString(i));
+				}
+				consumer.accept(row);
+				rows++;
+			}
+			this.statementLog.record(table, "SCAN", keys.size(), start, rows);
+		} catch (final SQLException e) {
+			e.printStackTrace();
+		}
+	}
+
+	@Override
+	protected synchronized List<List<String>> getRowsAfter(final String table, final List<String> columns, final String orderColumn, final long after, final int limit) {
+		final String sqlColumns = columns.stream().map(column -> "`" + column + "`").collect(Collectors.joining(", "));
+
+		final String sql = "SELECT " + sqlColumns + " FROM `" + table + "` WHERE `" + orderColumn + "` > ? ORDER BY `" + orderColumn + "` LIMIT " + limit;
+		final List<List<String>> rows = new ArrayList<>();
+		try (PreparedStatement statement = getOpenConnection().prepareStatement(sql)){
+			statement.setLong(1, after);
+			final long start = System.nanoTime();
+			final ResultSet result = statement.executeQuery();
+			while(result.next()) {
+				final List<String> row = new ArrayList<>(columns.size());
+				for(int i = 1; i <= columns.size(); i++) {
+					row.add(result.getString(i));
+				}
+				rows.add(row);
+			}
+			this.statementLog.record(table, "SELECT AFTER", 1, start, rows.size());
+		} catch (final SQLException e) {
+			e.printStackTrace();
+			return new ArrayList<>();
+		}
+
+		return rows;
+	}
+
+	@Override
+	protected synchronized long getMaxValue(final String table, final String column) {
+		final String sql = "SELECT MAX(`" + column + "`) FROM `" + table + "`";
+		try (PreparedStatement statement = getOpenConnection().prepareStatement(sql)){
+			final ResultSet result = statement.executeQuery();
+			// the maximum of an empty table is null, which is read as 0
+			return result.next() ? result.getLong(1) : 0;
+		} catch (final SQLException e) {
+			e.printStackTrace();
+			return -1;
+		}
+	}
+
+	@Override
+	protected synchronized int deleteRowsBelow(final String table, final String column, final long bound) {
+		final String sql = "DELETE FROM `" + table + "` WHERE `" + column + "` < ?";
+		try (PreparedStatement statement = getOpenConnection().prepareStatement(sql)){
+			statement.setLong(1, bound);
+			final long start = System.nanoTime();
+			final int rows = statement.executeUpdate();
+			this.statementLog.record(table, "DELETE BELOW", 1, start, rows);
+			return rows;
+		} catch (final SQLException e) {
+			e.printStackTrace();
+			return -1;
+		}
+	}
+
+	@Override
+	protected synchronized boolean inTransaction(final BooleanSupplier operations) {
+		final Connection connection;
+		try {
+			connection = getOpenConnection();
+			if(!connection.getAutoCommit()) {
+				return operations.getAsBoolean();
+			}
+			connection.setAutoCommit(false);
+		} catch (final SQLException e) {
+			e.printStackTrace();
+			return false;
+		}
+
+		boolean success = false;
+		try {
+			for(int attempt = 1; ; attempt++) {
+				this.conflicted = false;
+				success = operations.getAsBoolean();
+				if(success) {
+					connection.commit();
+					break;
+				}
+
+				connection.rollback();
+				if(!this.conflicted || attempt >= JDBCDataSource.APPEND_ATTEMPTS) {
+					break;
+				}
+			}
+		} catch (final SQLException | RuntimeException e) {
+			e.printStackTrace();
+			success = false;
+			try {
+				connection.rollback();
+			} catch (final SQLException rollbackException) {
+				rollbackException.printStackTrace();
+			}
+		} finally {
+			this.conflicted = false;
+			try {
+				// switching back to auto commit would commit the open transaction, so it only happens after the commit or rollback
+				connection.setAutoCommit(true);
+			} catch (final SQLException e) {
+				e.printStackTrace();
+			}
+		}
+
+		return success;
+	}
+
+	@Override
+	protected synchronized <T> T incrementValue(final Function<Result, T> parser, final String table, final List<UpdateColumnEntry> columnEntries) {
+		final List<String> columns = columnEntries.stream().map(entry -> entry.getColumn()).collect(Collectors.toList());
+		final List<ColumnEntry> keys = columnEntries.stream().filter(entry -> entry.isKey()).collect(Collectors.toList());
+		final List<String> keyColumns = keys.stream().map(key -> key.getColumn()).collect(Collectors.toList());
+		final UpdateColumnEntry value = columnEntries.stream().filter(entry -> !entry.isKey()).findFirst().get();
+
+		final String sql = formatIncrement(table, columns, keyColumns, value.getColumn(), value.getType());
+		final String resultSql = formatIncrementResult(value.getColumn(), value.getType());
+		if(resultSql == null) {
+			// the new value is read from its row, the transaction keeps other servers from changing it in between
+			final List<T> result = new ArrayList<>(1);
+			result.add(parser.apply(new EmptyResult()));
+			final boolean success = inTransaction(() -> {
+				try (PreparedStatement statement = getOpenConnection().prepareStatement(sql)){
+					addSQLparameters(statement, columnEntries);
+					final long start = System.nanoTime();
+					final int rows = statement.executeUpdate();
+					this.statementLog.record(table, "INCREMENT", keyColumns.size(), start, rows);
+				} catch (final SQLException e) {
+					e.printStackTrace();
+					return false;
+				}
+				result.set(0, getResult(parser, table, value.getColumn(), keys));
+				return true;
+			});
+			return success ? result.get(0) : parser.apply(new EmptyResult());
+		}
+
+		try (PreparedStatement statement = getOpenConnection().prepareStatement(sql)){
+			addSQLparameters(statement, columnEntries);
+			final long start = System.nanoTime();
+			if(resultSql.isEmpty()) {
+				final JDBCResult result = new JDBCResult(statement.executeQuery(), value.getColumn());
+				final T parsed = parser.apply(result);
+				this.statementLog.record(table, "INCREMENT", keyColumns.size(), start, result.getRows());
+				return parsed;
+			}
+
+			final int rows = statement.executeUpdate();
+			try (Statement query = getOpenConnection().createStatement()){
+				final T parsed = parser.apply(new JDBCResult(query.executeQuery(resultSql), value.getColumn()));
+				this.statementLog.record(table, "INCREMENT", keyColumns.size(), start, rows);
+				return parsed;
+			}
+		} catch (final SQLException e) {
+			e.printStackTrace();
+			return parser.apply(new EmptyResult());
+		}
+	}
+
+	@Override
+	protected synchronized boolean compareAndUpdate(final String table, final List<ColumnEntry> keys, final ColumnEntry expected, final ColumnEntry value) {
+		final String where = keys.stream().map(key -> formatWhere(key)).collect(Collectors.joining(" AND "));
+
+		final String sql = "UPDATE `" + table + "` SET `" + value.getColumn() + "` = ? WHERE " + where + " AND " + formatWhere(expected);
+		try (PreparedStatement statement = getOpenConnection().prepareStatement(sql)){
+			final List<ColumnEntry> parameters = new ArrayList<>();
+			parameters.add(value);
+			parameters.addAll(keys);
+			parameters.add(expected);
+			addSQLparameters(statement, parameters);
+			final long start = System.nanoTime();
+			final int rows = statement.executeUpdate();
+			this.statementLog.record(table, "COMPARE AND SET", keys.size(), start, rows);
+			return rows > 0;
+		} catch (final SQLException e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	@Override
+	protected synchronized boolean createIndex(final String table, final String name, final List<String> columns) {
+		try {
+			final Connection connection = getOpenConnection();
+			// not every database supports CREATE INDEX IF NOT EXISTS, so the existence is checked beforehand
+			try (ResultSet result = connection.getMetaData().getIndexInfo(connection.getCatalog(), null, table, false, true)){
+				while(result.next()) {
+					if(name.equalsIgnoreCase(result.getString("INDEX_NAME"))) {
+						return true;
+					}
+				}
+			}
+
+			final String sqlColumns = columns.stream().map(column -> "`" + column + "`").collect(Collectors.joining(", "));
+			try (Statement statement = connection.createStatement()){
+				statement.executeUpdate("CREATE INDEX `" + name + "` ON `" + table + "` (" + sqlColumns + ")");
+			}
+		} catch (final SQLException e) {
+			e.printStackTrace();
+			return false;
+		}
+
+		return true;
+	}
+
+	@Override
+	protected synchronized List<List<String>> getRankedRows(final String table, final String idColumn, final String valueColumn, final List<ColumnEntry> keys, 
+			final int offset, final int limit) {
+		final String where = keys.stream().map(key -> formatWhere(key)).collect(Collectors.joining(" AND "));
+
+		// both directions descending, so the database can read the index backwards instead of sorting
+		final String sql = "SELECT `" + idColumn + "`, `" + valueColumn + "` FROM `" + table + "` WHERE " + where 
+				+ " ORDER BY `" + valueColumn + "` DESC, `" + idColumn + "` DESC LIMIT ? OFFSET ?";
+		final List<List<String>> rows = new ArrayList<>();
+		try (PreparedStatement statement = getOpenConnection().prepareStatement(sql)){
+			addSQLparameters(statement, keys);
+			statement.setInt(keys.size() + 1, limit);
+			statement.setInt(keys.size() + 2, offset);
+			final long start = System.nanoTime();
+			final ResultSet result = statement.executeQuery();
+			while(result.next()) {
+				final List<String> row = new ArrayList<>(2);
+				row.add(result.getString(1));
+				row.add(result.getString(2));
+				rows.add(row);
+			}
+			this.statementLog.record(table, "RANKING", keys.size(), start, rows.size());
+		} catch (final SQLException e) {
+			e.printStackTrace();
+		}
+
+		return rows;
+	}
+
+	@Override
+	protected synchronized int countRankedRowsBefore(final String table, final String idColumn, final String valueColumn, final List<ColumnEntry> keys, final String id) {
+		final String otherWhere = keys.stream().map(key -> formatWhere("other.", key)).collect(Collectors.joining(" AND "));
+		final String rankedWhere = keys.stream().map(key -> formatWhere("ranked.", key)).collect(Collectors.joining(" AND "));
+		final String before = "other.`" + valueColumn + "` > ranked.`" + valueColumn + "` OR (other.`" + valueColumn + "` = ranked.`" + valueColumn 
+				+ "` AND other.`" + idColumn + "` > ranked.`" + idColumn + "`)";
+
+		// the values are compared column to column, which avoids rounding differences between stored floats and parameters
+		final String sql = "SELECT (SELECT COUNT(*) FROM `" + table + "` other WHERE " + otherWhere + " AND (" + before + ")) FROM `" + table + "` ranked WHERE " 
+				+ rankedWhere + " AND ranked.`" + idColumn + "` = ?";
+		try (PreparedStatement statement = getOpenConnection().prepareStatement(sql)){
+			final List<ColumnEntry> parameters = new ArrayList<>(keys);
+			parameters.addAll(keys);
+			parameters.add(new ColumnEntry(idColumn, ColumnType.STRING_KEY, id));
+			addSQLparameters(statement, parameters);
+			final long start = System.nanoTime();
+			final ResultSet result = statement.executeQuery();
+			final int count = result.next() ? result.getInt(1) : -1;
+			this.statementLog.record(table, "RANK", keys.size() + 1, start, 1);
+			return count;
+		} catch (final SQLException e) {
+			e.printStackTrace();
+			return -1;
+		}
+	}
+
+	private String formatColumn(final Column column) {
+		String formatted = "`" + column.getTitle() + "` " + formatType(column.getType());
+
+		if(column.isUnique()) {
+			formatted += " NOT NULL";
+		} else {
+			formatted += " NULL";
+		}
+
+		return formatted;
+	}
+
+	private String formatForeignKey(final List<Column> columns) {
+		final ForeignKey key = columns.get(0).getForeignKey();
+		String foreignColumns = "`" + columns.get(0).getTitle() + "`";
+		String referencedColumns = "`" + key.getColumn() + "`";
+
+		final Iterator<Column> iterator = columns.iterator();
+		iterator.next();
+		while(iterator.hasNext()) {
+			final Column column = iterator.next();
+			foreignColumns += ", `" + column.getTitle() + "`";
+			referencedColumns += ", `" + column.getForeignKey().getColumn() + "`";
+		}
+
+		return "FOREIGN KEY (" + foreignColumns + ") REFERENCES `" + key.getTable() + "`(" + referencedColumns + ") ON DELETE CASCADE";
+	}
+
+	private void addSQLparameters(final PreparedStatement statement, final List<? extends ColumnEntry> columnEntries) throws SQLException {
+		int j = 1;
+		for(final ColumnEntry columnEntry: columnEntries) {
+			switch(columnEntry.getType()) {
+			case BOOLEAN:
+				statement.setBoolean(j++, columnEntry.asBoolean());
+				break;
+			case DOUBLE:
+				statement.setDouble(j++, columnEntry.asDouble());
+				break;
+			case FLOAT:
+				statement.setFloat(j++, columnEntry.asFloat());
+				break;
+			case INT:
+				statement.setInt(j++, columnEntry.asInt());
+				break;
+			case LONG:
+			case ID:
+				statement.setLong(j++, columnEntry.asLong());
+				break;
+			case STRING_KEY:
+				statement.setString(j++, columnEntry.asString());
+				break;
+			case STRING_LIST:
+				statement.setString(j++, columnEntry.asString());
+				break;
+			case STRING_VALUE:
+				statement.setString(j++, columnEntry.asString());
+				break;
+			default:
+				break;
+			}
+		}
+	}
+
+	private String formatWhere(final ColumnEntry entry) {
+		return formatWhere("", entry);
+	}
+
+	/**
+	 * formats the condition for the given key
+	 * @param prefix the prefix of the column, like the alias of the table followed by a dot
+	 * @param entry the key to format
+	 * @return the condition with a parameter for the value of the key
+	 */
+	private String formatWhere(final String prefix, final ColumnEntry entry) {
+		switch(entry.getType()) {
+		case INT:
+		case LONG:
+		case FLOAT:
+		case DOUBLE:
+		case BOOLEAN:
+		case ID:
+			return prefix + "`" + entry.getColumn() + "` = " + formatParameter(entry.getType());
+		default:
+			// keys are compared like the primary key does, LIKE would treat _ and % as wildcards and ignores case and the index on SQLite
+			return prefix + "`" + entry.getColumn() + "` = ?";
+		}
+	}
+
+}
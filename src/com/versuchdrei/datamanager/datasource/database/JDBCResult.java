@@ -6,33 +6,51 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * an implementation of a result using MySQL
+ * an implementation of a result wrapping a JDBC result set
  * @author VersuchDrei
  * @version 1.0
  */
-public class MySQLResult implements Result{
+public class JDBCResult implements Result{
 
 	private final ResultSet resultSet;
 	private final String column;
 	private final boolean empty;
+	// the number of rows read so far
+	private int rows;
 	
-	public MySQLResult(final ResultSet resultSet, final String column) {
+	public JDBCResult(final ResultSet resultSet, final String column) {
 		this.resultSet = resultSet;
 		this.column = column;
 		boolean innerEmpty = true;
 		try {
 			innerEmpty = !resultSet.next();
+			this.rows = innerEmpty ? 0 : 1;
 		} catch (final SQLException e) {
 			e.printStackTrace();
 		}
 		this.empty = innerEmpty;
 	}
 
+	/**
+	 * @return the number of rows read from the result so far
+	 */
+	int getRows() {
+		return this.rows;
+	}
+
 	@Override
 	public boolean isEmpty() {
 		return this.empty;
 	}
 
+	private boolean nextRow() throws SQLException {
+		if(!this.resultSet.next()) {
+			return false;
+		}
+		this.rows++;
+		return true;
+	}
+
 	@Override
 	public String getString() {
 		try {
@@ -102,7 +120,7 @@ public class MySQLResult implements Result{
 			final List<String> list = new ArrayList<>();
 			do {
 				list.add(this.resultSet.getString(column));
-			} while(this.resultSet.next());
+			} while(nextRow());
 			return list;
 		} catch (final SQLException e) {
 			e.printStackTrace();
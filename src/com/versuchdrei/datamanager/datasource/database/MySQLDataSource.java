@@ -2,13 +2,8 @@ package com.versuchdrei.datamanager.datasource.database;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
-import java.util.Iterator;
 import java.util.List;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -16,232 +11,119 @@ import java.util.stream.Collectors;
  * @author VersuchDrei
  * @version 1.0
  */
-public class MySQLDataSource extends DBDataSource{
+public class MySQLDataSource extends JDBCDataSource{
+
+	private static final int ERROR_DUPLICATE_ENTRY = 1062;
+	private static final int ERROR_DEADLOCK = 1213;
 
 	private final String hostname;
 	private final String port;
 	private final String database;
 	private final String user;
 	private final String password;
-	
-	private Connection connection;
+	private final boolean cursorFetch;
 
-	public MySQLDataSource(final String hostname, final String port, final String database, final String user, final String password) {
+	public MySQLDataSource(final String hostname, final String port, final String database, final String user, final String password, 
+			final DBSchema schema, final int fetchSize, final DBCache cache) {
+		super(schema, fetchSize, cache);
 		this.hostname = hostname;
 		this.port = port;
 		this.database = database;
 		this.user = user;
 		this.password = password;
+		this.cursorFetch = fetchSize > 0;
 	}
-	
-	private Connection getOpenConnection() throws SQLException {
-		if(this.connection != null && !this.connection.isClosed() && this.connection.isValid(1)) {
-			return this.connection;
-		}
-			
-		this.connection = DriverManager.getConnection("jdbc:mysql://" + this.hostname + ":" + this.port + "/" + this.database, this.user, this.password);
-		return this.connection;
+
+	@Override
+	protected Connection openConnection() throws SQLException {
+		// without cursor fetching the driver reads the whole result into memory and ignores the fetch size
+		// without rewriting the driver sends every statement of a batch on its own instead of a single insert of many rows
+		final String parameters = "?rewriteBatchedStatements=true" + (this.cursorFetch ? "&useCursorFetch=true" : "");
+		return DriverManager.getConnection("jdbc:mysql://" + this.hostname + ":" + this.port + "/" + this.database + parameters, this.user, this.password);
 	}
-	
+
 	@Override
-	public void close() {
-		try {
-			this.connection.close();
-		} catch (final SQLException e) {
-			e.printStackTrace();
-		}
+	protected String formatInsertIgnore() {
+		return "INSERT IGNORE INTO";
 	}
 
 	@Override
-	protected void createTable(final String name, final List<Column> columns) {
-		final String sqlColumns = columns.stream().map(column -> formatColumn(column)).collect(Collectors.joining(", "));
-		final String primaryKeys = columns.stream().filter(column -> column.isUnique()).map(column -> "`" + column.getTitle() + "`").collect(Collectors.joining(", "));
-		final String foreignKeys = columns.stream().filter(column -> column.hasForeignKey()).collect(Collectors.groupingBy(column -> column.getForeignKey().getTable()))
-				.values().stream().map(list -> ", " + formatForeignKey(list)).collect(Collectors.joining());
-		
-		final String sql = "CREATE TABLE IF NOT EXISTS `" + name + "` (" + sqlColumns + ", PRIMARY KEY (" + primaryKeys + ")" + foreignKeys + ");";
-		try (Statement statement = getOpenConnection().createStatement();){
-			statement.executeUpdate(sql);
-		} catch (final SQLException e) {
-			System.out.println(sql);
-			e.printStackTrace();
-		}
-		
+	protected boolean isConflict(final SQLException e) {
+		return e.getErrorCode() == MySQLDataSource.ERROR_DUPLICATE_ENTRY || e.getErrorCode() == MySQLDataSource.ERROR_DEADLOCK;
 	}
 
 	@Override
-	protected boolean updateValue(final String table, final List<UpdateColumnEntry> columnEntries) {
-		String columns = "`" + columnEntries.get(0).getColumn() + "`";
-		String values = "?";
-		
-		final Iterator<UpdateColumnEntry> iterator = columnEntries.iterator();
-		iterator.next();
-		while(iterator.hasNext()) {
-			final UpdateColumnEntry entry = iterator.next();
-			columns += ", `" + entry.getColumn() + "`";
-			values += ", ?";
-		}
-		
-		final String sql = "REPLACE INTO `" + table + "` (" + columns + ") VALUES (" + values + ")";
-		try (PreparedStatement statement = getOpenConnection().prepareStatement(sql)){
-			addSQLparameters(statement, columnEntries);
-			statement.executeUpdate();
-		} catch (final SQLException e) {
-			e.printStackTrace();
-			return false;
+	protected String formatUpsert(final String table, final List<String> columns, final List<String> keyColumns, final List<String> valueColumns) {
+		final String sqlColumns = columns.stream().map(column -> "`" + column + "`").collect(Collectors.joining(", "));
+		final String values = columns.stream().map(column -> "?").collect(Collectors.joining(", "));
+		if(valueColumns.isEmpty()) {
+			// INSERT IGNORE would also ignore a missing foreign key, like a member of a group that does not exist, so an existing row is updated without change instead
+			final String key = "`" + keyColumns.get(0) + "`";
+			return "INSERT INTO `" + table + "` (" + sqlColumns + ") VALUES (" + values + ") ON DUPLICATE KEY UPDATE " + key + " = " + key;
 		}
-		
-		return true;
+
+		final String updates = valueColumns.stream().map(column -> "`" + column + "` = VALUES(`" + column + "`)").collect(Collectors.joining(", "));
+		return "INSERT INTO `" + table + "` (" + sqlColumns + ") VALUES (" + values + ") ON DUPLICATE KEY UPDATE " + updates;
 	}
 
 	@Override
-	protected <T> T getResult(final Function<Result, T> parser, final String table, final String column, final List<ColumnEntry> keys) {
-		final String where = keys.stream().map(key -> formatWhere(key)).collect(Collectors.joining(" AND "));
-		
-		final String sql = "SELECT `" + column + "` FROM `" +  table + "` WHERE " +  where;
-		try (PreparedStatement statement = getOpenConnection().prepareStatement(sql)){
-			addSQLparameters(statement, keys);
-			return parser.apply(new MySQLResult(statement.executeQuery(), column));
-		} catch (final SQLException e) {
-			e.printStackTrace();
-			return parser.apply(new EmptyResult());
+	protected String formatIncrement(final String table, final List<String> columns, final List<String> keyColumns, final String valueColumn, final ColumnType type) {
+		final String sqlColumns = columns.stream().map(column -> "`" + column + "`").collect(Collectors.joining(", "));
+		final String sum = "`" + valueColumn + "` + VALUES(`" + valueColumn + "`)";
+		if(!isIntegral(type)) {
+			final String values = columns.stream().map(column -> "?").collect(Collectors.joining(", "));
+			return "INSERT INTO `" + table + "` (" + sqlColumns + ") VALUES (" + values + ") ON DUPLICATE KEY UPDATE `" + valueColumn + "` = " + sum;
 		}
+
+		// LAST_INSERT_ID with an argument remembers the value for the connection, the inserted value covers a new row and the sum an existing one
+		final String values = columns.stream().map(column -> column.equals(valueColumn) ? "LAST_INSERT_ID(?)" : "?").collect(Collectors.joining(", "));
+		return "INSERT INTO `" + table + "` (" + sqlColumns + ") VALUES (" + values + ") ON DUPLICATE KEY UPDATE `" 
+				+ valueColumn + "` = LAST_INSERT_ID(" + sum + ")";
 	}
 
 	@Override
-	protected boolean deleteValue(final String table, final List<ColumnEntry> keys) {
-		final String where = keys.stream().map(key -> formatWhere(key)).collect(Collectors.joining(" AND "));
-		
-		final String sql = "DELETE FROM `" + table + "` WHERE " + where;
-		try (PreparedStatement statement = getOpenConnection().prepareStatement(sql)){
-			addSQLparameters(statement, keys);
-			statement.executeUpdate();
-		} catch (final SQLException e) {
-			e.printStackTrace();
-			return false;
+	protected String formatIncrementResult(final String valueColumn, final ColumnType type) {
+		if(!isIntegral(type)) {
+			return null;
 		}
-		
-		return true;
+
+		// the remembered value is unsigned, so negative values have to be cast back
+		return "SELECT CAST(LAST_INSERT_ID() AS SIGNED) AS `" + valueColumn + "`";
 	}
 
 	@Override
-	protected boolean exists(final String table, final List<ColumnEntry> keys) {
-		final String where = keys.stream().map(key -> formatWhere(key)).collect(Collectors.joining(" AND "));
-		
-		final String sql = "SELECT `" + keys.get(0).getColumn() + "` FROM `" + table + "` WHERE " + where;
-		try (PreparedStatement statement = getOpenConnection().prepareStatement(sql)){
-			addSQLparameters(statement, keys);
-			final ResultSet result = statement.executeQuery();
-			return result.next();
-		} catch (final SQLException e) {
-			e.printStackTrace();
-			return false;
-		}
+	protected String formatParameter(final ColumnType type) {
+		// without the cast the parameter is compared as a double and never equals the rounded value in the column
+		return type == ColumnType.FLOAT ? "CAST(? AS FLOAT)" : "?";
 	}
-	
-	private String formatColumn(final Column column) {
-		String formatted = "`" + column.getTitle() + "`";
-		switch(column.getType()) {
+
+	@Override
+	protected String formatType(final ColumnType type) {
+		switch(type) {
 		case INT:
-			formatted += " INT(10)";
-			break;
+			return "INT(10)";
 		case LONG:
-			formatted += " INT(19)";
-			break;
+			return "INT(19)";
 		case FLOAT:
-			formatted += " FLOAT";
-			break;
+			return "FLOAT";
 		case DOUBLE:
-			formatted += " DOUBLE";
-			break;
+			return "DOUBLE";
 		case BOOLEAN:
-			formatted += " SMALLINT(1)";
-			break;
+			return "SMALLINT(1)";
+		case ID:
+			return "BIGINT AUTO_INCREMENT";
 		case STRING_KEY:
-			formatted += " VARCHAR(36)";
-			break;
+			return "VARCHAR(36)";
 		case STRING_VALUE:
 		case STRING_LIST:
-			formatted += " VARCHAR(21844)";
-			break;
+			return "VARCHAR(21844)";
 		default:
-			formatted += " VARCHAR(21844)";
-		}
-		
-		if(column.isUnique()) {
-			formatted += " NOT NULL";
-		} else {
-			formatted += " NULL";
+			return "VARCHAR(21844)";
 		}
-		
-		return formatted;
 	}
-	
-	private String formatForeignKey(final List<Column> columns) {
-		final ForeignKey key = columns.get(0).getForeignKey();
-		String foreignColumns = "`" + columns.get(0).getTitle() + "`";
-		String referencedColumns = "`" + key.getColumn() + "`";
-		
-		final Iterator<Column> iterator = columns.iterator();
-		iterator.next();
-		while(iterator.hasNext()) {
-			final Column column = iterator.next();
-			foreignColumns += ", `" + column.getTitle() + "`";
-			referencedColumns += ", `" + column.getForeignKey().getColumn() + "`";
-		}
-		
-		return "FOREIGN KEY (" + foreignColumns + ") REFERENCES `" + key.getTable() + "`(" + referencedColumns + ") ON DELETE CASCADE";
-	}
-	
-	private void addSQLparameters(final PreparedStatement statement, final List<? extends ColumnEntry> columnEntries) throws SQLException {
-		int j = 1;
-		for(final ColumnEntry columnEntry: columnEntries) {
-			switch(columnEntry.getType()) {
-			case BOOLEAN:
-				statement.setBoolean(j++, columnEntry.asBoolean());
-				break;
-			case DOUBLE:
-				statement.setDouble(j++, columnEntry.asDouble());
-				break;
-			case FLOAT:
-				statement.setFloat(j++, columnEntry.asFloat());
-				break;
-			case INT:
-				statement.setInt(j++, columnEntry.asInt());
-				break;
-			case LONG:
-				statement.setLong(j++, columnEntry.asLong());
-				break;
-			case STRING_KEY:
-				statement.setString(j++, columnEntry.asString());
-				break;
-			case STRING_LIST:
-				statement.setString(j++, columnEntry.asString());
-				break;
-			case STRING_VALUE:
-				statement.setString(j++, columnEntry.asString());
-				break;
-			default:
-				break;
-			}
-		}
-	}
-	
-	private String formatWhere(final ColumnEntry entry) {
-		switch(entry.getType()) {
-		case INT:
-		case LONG:
-		case FLOAT:
-		case DOUBLE:
-		case BOOLEAN:
-			return "`" + entry.getColumn() + "` = ?";
-		case STRING_KEY:
-		case STRING_VALUE:
-		case STRING_LIST:
-			return "`" + entry.getColumn() + "` LIKE ?";
-		default:
-			return "`" + entry.getColumn() + "` = ?";
-		}
+
+	private static boolean isIntegral(final ColumnType type) {
+		return type == ColumnType.INT || type == ColumnType.LONG;
 	}
 
 }
@@ -0,0 +1,131 @@
+package com.versuchdrei.datamanager.datasource.database;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.versuchdrei.datamanager.datasource.DataSource;
+
+/**
+ * an implementation of a database backend using an embedded SQLite file
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class SQLiteDataSource extends JDBCDataSource{
+
+	private static final String FILE_NAME = "data.db";
+	private static final int ERROR_BUSY = 5;
+	private static final int ERROR_CONSTRAINT = 19;
+
+	private final File databaseFile;
+
+	public SQLiteDataSource(final DBSchema schema, final DBCache cache) {
+		this(new File(DataSource.FILE_PATH + SQLiteDataSource.FILE_NAME), schema, cache);
+	}
+
+	/**
+	 * creates a data source on the given database file, mainly used to run the database backend outside of a server
+	 * @param databaseFile the file of the database, will be created if it does not exist
+	 * @param schema the table layout to use
+	 */
+	public SQLiteDataSource(final File databaseFile, final DBSchema schema) {
+		this(databaseFile, schema, null);
+	}
+
+	/**
+	 * creates a data source on the given database file
+	 * @param databaseFile the file of the database, will be created if it does not exist
+	 * @param schema the table layout to use
+	 * @param cache the cache for the values, or null to not cache them
+	 */
+	public SQLiteDataSource(final File databaseFile, final DBSchema schema, final DBCache cache) {
+		// SQLite steps through results row by row anyway, so the default fetch size of the driver is fine
+		super(schema, 0, cache);
+		this.databaseFile = databaseFile;
+	}
+
+	@Override
+	protected Connection openConnection() throws SQLException {
+		final File parent = this.databaseFile.getAbsoluteFile().getParentFile();
+		if(parent != null) {
+			parent.mkdirs();
+		}
+
+		final Connection connection = DriverManager.getConnection("jdbc:sqlite:" + this.databaseFile.getPath());
+		try (Statement statement = connection.createStatement()){
+			// SQLite ignores foreign keys unless they are enabled for every connection
+			statement.execute("PRAGMA foreign_keys = ON");
+			// write ahead logging lets reads proceed while a write is being committed
+			statement.execute("PRAGMA journal_mode = WAL");
+			statement.execute("PRAGMA synchronous = NORMAL");
+		}
+		return connection;
+	}
+
+	@Override
+	protected String formatInsertIgnore() {
+		return "INSERT OR IGNORE INTO";
+	}
+
+	@Override
+	protected boolean isConflict(final SQLException e) {
+		// the driver reports extended codes, their lowest byte is the primary code
+		final int code = e.getErrorCode() & 0xFF;
+		return code == SQLiteDataSource.ERROR_BUSY 
+				|| (code == SQLiteDataSource.ERROR_CONSTRAINT && e.getMessage() != null && e.getMessage().contains("UNIQUE constraint failed"));
+	}
+
+	@Override
+	protected String formatUpsert(final String table, final List<String> columns, final List<String> keyColumns, final List<String> valueColumns) {
+		final String sqlColumns = columns.stream().map(column -> "`" + column + "`").collect(Collectors.joining(", "));
+		final String values = columns.stream().map(column -> "?").collect(Collectors.joining(", "));
+		if(valueColumns.isEmpty()) {
+			return formatInsertIgnore() + " `" + table + "` (" + sqlColumns + ") VALUES (" + values + ")";
+		}
+
+		final String keys = keyColumns.stream().map(column -> "`" + column + "`").collect(Collectors.joining(", "));
+		final String updates = valueColumns.stream().map(column -> "`" + column + "` = excluded.`" + column + "`").collect(Collectors.joining(", "));
+		return "INSERT INTO `" + table + "` (" + sqlColumns + ") VALUES (" + values + ") ON CONFLICT (" + keys + ") DO UPDATE SET " + updates;
+	}
+
+	@Override
+	protected String formatIncrement(final String table, final List<String> columns, final List<String> keyColumns, final String valueColumn, final ColumnType type) {
+		final String sqlColumns = columns.stream().map(column -> "`" + column + "`").collect(Collectors.joining(", "));
+		final String values = columns.stream().map(column -> "?").collect(Collectors.joining(", "));
+		final String keys = keyColumns.stream().map(column -> "`" + column + "`").collect(Collectors.joining(", "));
+		return "INSERT INTO `" + table + "` (" + sqlColumns + ") VALUES (" + values + ") ON CONFLICT (" + keys + ") DO UPDATE SET `" 
+				+ valueColumn + "` = `" + valueColumn + "` + excluded.`" + valueColumn + "`";
+	}
+
+	@Override
+	protected String formatIncrementResult(final String valueColumn, final ColumnType type) {
+		// RETURNING needs SQLite 3.35, the driver bundled with older servers is below that, so the value is read from its row
+		return null;
+	}
+
+	@Override
+	protected String formatType(final ColumnType type) {
+		switch(type) {
+		case INT:
+		case LONG:
+		case BOOLEAN:
+		case ID:
+			// a single integer primary key is filled with increasing ids by SQLite
+			return "INTEGER";
+		case FLOAT:
+		case DOUBLE:
+			return "REAL";
+		case STRING_KEY:
+		case STRING_VALUE:
+		case STRING_LIST:
+			return "TEXT";
+		default:
+			return "TEXT";
+		}
+	}
+
+}
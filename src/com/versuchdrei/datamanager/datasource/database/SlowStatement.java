@@ -0,0 +1,75 @@
+package com.versuchdrei.datamanager.datasource.database;
+
+import java.util.Locale;
+
+/**
+ * a statement that took longer than the threshold of the statement log
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class SlowStatement {
+	
+	private final String table;
+	private final String operation;
+	private final int keys;
+	private final long nanos;
+	private final long rows;
+	private final String caller;
+	private final long time = System.currentTimeMillis();
+	
+	SlowStatement(final String table, final String operation, final int keys, final long nanos, final long rows, final String caller) {
+		this.table = table;
+		this.operation = operation;
+		this.keys = keys;
+		this.nanos = nanos;
+		this.rows = rows;
+		this.caller = caller;
+	}
+	
+	public String getTable() {
+		return this.table;
+	}
+	
+	public String getOperation() {
+		return this.operation;
+	}
+	
+	/**
+	 * @return the number of keys bound by the statement
+	 */
+	public int getKeys() {
+		return this.keys;
+	}
+	
+	public long getNanos() {
+		return this.nanos;
+	}
+	
+	/**
+	 * @return the number of rows the statement returned or changed
+	 */
+	public long getRows() {
+		return this.rows;
+	}
+	
+	/**
+	 * @return the key of the plugin that caused the statement, or null if it was not caused by a plugin
+	 */
+	public String getCaller() {
+		return this.caller;
+	}
+	
+	/**
+	 * @return the time the statement finished at in milliseconds since the epoch
+	 */
+	public long getTime() {
+		return this.time;
+	}
+	
+	@Override
+	public String toString() {
+		return String.format(Locale.ROOT, "%s %s with %d keys took %.1fms for %d rows, caused by %s", this.operation, this.table, this.keys, 
+				this.nanos / 1e6, this.rows, this.caller == null ? "the data manager" : this.caller);
+	}
+
+}
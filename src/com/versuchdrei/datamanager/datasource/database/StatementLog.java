@@ -0,0 +1,106 @@
+package com.versuchdrei.datamanager.datasource.database;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import com.versuchdrei.datamanager.trace.Tracing;
+
+/**
+ * Collects how long the statements of a database backend take, grouped by their shape, which is the table and the kind of statement.
+ * Statements taking longer than a threshold are additionally kept and logged one by one, together with the plugin that caused them.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class StatementLog {
+	
+	// the number of slow statements kept, older ones are only counted in their shape
+	private static final int SLOW_CAPACITY = 50;
+	private static final ThreadLocal<String> CALLER = new ThreadLocal<>();
+	
+	private final Map<String, StatementShape> shapes = new ConcurrentHashMap<>();
+	private final Deque<SlowStatement> slowStatements = new ArrayDeque<>();
+	private volatile long thresholdNanos = -1;
+	private volatile Logger logger;
+	
+	/**
+	 * sets the plugin on whose behalf the current thread accesses the database
+	 * @param pluginKey the key of the plugin, or null if the thread does not act for a plugin
+	 * @return the previously set plugin key, to restore it afterwards
+	 */
+	public static String setCaller(final String pluginKey) {
+		final String previous = StatementLog.CALLER.get();
+		if(pluginKey == null) {
+			StatementLog.CALLER.remove();
+		} else {
+			StatementLog.CALLER.set(pluginKey);
+		}
+		return previous;
+	}
+	
+	/**
+	 * sets when a statement counts as slow
+	 * @param thresholdMillis the duration in milliseconds above which a statement is slow, or a negative number to not keep slow statements
+	 * @param logger the logger to write slow statements to, or null to only keep them
+	 */
+	public void setSlowThreshold(final long thresholdMillis, final Logger logger) {
+		this.thresholdNanos = thresholdMillis < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+		this.logger = logger;
+	}
+	
+	/**
+	 * records an executed statement
+	 * @param table the table the statement accessed
+	 * @param operation the kind of statement
+	 * @param keys the number of bound keys, which tells how selective the statement was
+	 * @param start the result of {@link System#nanoTime()} before the statement was executed
+	 * @param rows the number of rows the statement returned or changed
+	 */
+	void record(final String table, final String operation, final int keys, final long start, final long rows) {
+		final long nanos = System.nanoTime() - start;
+		this.shapes.computeIfAbsent(operation + " " + table, key -> new StatementShape(table, operation)).record(nanos);
+		Tracing.get().statementExecuted(table, operation, keys, rows, nanos);
+		
+		final long threshold = this.thresholdNanos;
+		if(threshold < 0 || nanos <= threshold) {
+			return;
+		}
+		
+		final SlowStatement statement = new SlowStatement(table, operation, keys, nanos, rows, StatementLog.CALLER.get());
+		synchronized(this.slowStatements) {
+			this.slowStatements.addFirst(statement);
+			if(this.slowStatements.size() > StatementLog.SLOW_CAPACITY) {
+				this.slowStatements.removeLast();
+			}
+		}
+		final Logger currentLogger = this.logger;
+		if(currentLogger != null) {
+			currentLogger.warning("Slow statement: " + statement);
+		}
+	}
+	
+	/**
+	 * @return the statistics of all shapes of statements executed so far, the ones taking the most time in total first
+	 */
+	public List<StatementShape> getShapes(){
+		final List<StatementShape> result = new ArrayList<>(this.shapes.values());
+		result.sort(Comparator.comparingLong(StatementShape::getTotalNanos).reversed());
+		return result;
+	}
+	
+	/**
+	 * @return the latest statements that took longer than the threshold, the newest first
+	 */
+	public List<SlowStatement> getSlowStatements(){
+		synchronized(this.slowStatements) {
+			return new ArrayList<>(this.slowStatements);
+		}
+	}
+
+}
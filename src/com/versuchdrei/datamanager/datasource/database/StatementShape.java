@@ -0,0 +1,50 @@
+package com.versuchdrei.datamanager.datasource.database;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * the aggregated durations of all statements of the same kind on the same table, all durations are in nanoseconds
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class StatementShape {
+	
+	private final String table;
+	private final String operation;
+	private final LongAdder count = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final AtomicLong maxNanos = new AtomicLong();
+	
+	StatementShape(final String table, final String operation) {
+		this.table = table;
+		this.operation = operation;
+	}
+	
+	void record(final long nanos) {
+		this.count.increment();
+		this.totalNanos.add(nanos);
+		this.maxNanos.accumulateAndGet(nanos, Math::max);
+	}
+	
+	public String getTable() {
+		return this.table;
+	}
+	
+	public String getOperation() {
+		return this.operation;
+	}
+	
+	public long getCount() {
+		return this.count.sum();
+	}
+	
+	public long getTotalNanos() {
+		return this.totalNanos.sum();
+	}
+	
+	public long getMaxNanos() {
+		return this.maxNanos.get();
+	}
+
+}
@@ -0,0 +1,148 @@
+package com.versuchdrei.datamanager.datasource.database;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import com.versuchdrei.datamanager.datasource.DataSource;
+
+/**
+ * Measures the write throughput of the upsert the database backends use against the REPLACE INTO they used before.
+ * Both statements first insert new rows and then overwrite all of them, every write is committed on its own like a call of the plugin.
+ * It runs outside of a server on a table of its own, which is dropped afterwards, the settings of MySQL are read from the config of the plugin.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class WriteBenchmark {
+
+	private static final String USAGE = "usage: <sqlite|mysql> [rows]";
+	private static final String CONFIG_FILE_NAME = "config.yml";
+	private static final String BENCHMARK_FILE_NAME = "benchmark.db";
+	private static final String TABLE = "VersuchDrei_DataManager_Benchmark";
+	private static final int DEFAULT_ROWS = 10000;
+	private static final long SEED = 3;
+
+	private static final String COLUMN_PLUGIN_KEY = "PluginKey";
+	private static final String COLUMN_PLAYER = "Player";
+	private static final String COLUMN_DATA_KEY = "DataKey";
+	private static final String COLUMN_DATA = "Data";
+	private static final List<String> COLUMNS = Arrays.asList(WriteBenchmark.COLUMN_PLUGIN_KEY, WriteBenchmark.COLUMN_PLAYER,
+			WriteBenchmark.COLUMN_DATA_KEY, WriteBenchmark.COLUMN_DATA);
+	private static final List<String> KEY_COLUMNS = WriteBenchmark.COLUMNS.subList(0, 3);
+	private static final List<String> VALUE_COLUMNS = WriteBenchmark.COLUMNS.subList(3, 4);
+
+	private final JDBCDataSource source;
+	private final List<UUID> players;
+
+	/**
+	 * @param source the database to write to, which is not set up
+	 * @param rows the number of rows to write
+	 */
+	public WriteBenchmark(final JDBCDataSource source, final int rows) {
+		this.source = source;
+		final Random random = new Random(WriteBenchmark.SEED);
+		this.players = new ArrayList<>(rows);
+		for(int i = 0; i < rows; i++) {
+			this.players.add(new UUID(random.nextLong(), random.nextLong()));
+		}
+	}
+
+	/**
+	 * measures both statements, each on a new table
+	 * @return the measured lines, ready to be printed
+	 * @throws SQLException if the database cannot be reached
+	 */
+	public List<String> run() throws SQLException {
+		final String columns = "`" + String.join("`, `", WriteBenchmark.COLUMNS) + "`";
+		final String replace = "REPLACE INTO `" + WriteBenchmark.TABLE + "` (" + columns + ") VALUES (?, ?, ?, ?)";
+		final String upsert = this.source.formatUpsert(WriteBenchmark.TABLE, WriteBenchmark.COLUMNS, WriteBenchmark.KEY_COLUMNS, WriteBenchmark.VALUE_COLUMNS);
+		return Arrays.asList(measure("REPLACE INTO", replace), measure("upsert", upsert));
+	}
+
+	private String measure(final String name, final String sql) throws SQLException {
+		this.source.dropTable(WriteBenchmark.TABLE);
+		this.source.createTable(WriteBenchmark.TABLE, Arrays.asList(
+				new Column(WriteBenchmark.COLUMN_PLUGIN_KEY, ColumnType.STRING_KEY, true),
+				new Column(WriteBenchmark.COLUMN_PLAYER, ColumnType.STRING_KEY, true),
+				new Column(WriteBenchmark.COLUMN_DATA_KEY, ColumnType.STRING_KEY, true),
+				new Column(WriteBenchmark.COLUMN_DATA, ColumnType.INT)));
+		try (Connection connection = this.source.openConnection(); PreparedStatement statement = connection.prepareStatement(sql)){
+			final long insertNanos = write(statement, 0);
+			final long overwriteNanos = write(statement, 1);
+			return String.format(Locale.ROOT, "%s: inserted %.0f rows/s, overwrote %.0f rows/s", name,
+					this.players.size() / (insertNanos / 1e9), this.players.size() / (overwriteNanos / 1e9));
+		} finally {
+			this.source.dropTable(WriteBenchmark.TABLE);
+		}
+	}
+
+	private long write(final PreparedStatement statement, final int data) throws SQLException {
+		final long start = System.nanoTime();
+		for(final UUID player: this.players) {
+			statement.setString(1, "benchmark");
+			statement.setString(2, player.toString());
+			statement.setString(3, "score");
+			statement.setInt(4, data);
+			statement.executeUpdate();
+		}
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * runs the benchmark on the given database and prints the results
+	 * @param args the database and the number of rows
+	 */
+	public static void main(final String[] args) {
+		if(args.length < 1) {
+			System.err.println(WriteBenchmark.USAGE);
+			return;
+		}
+
+		final int rows;
+		try {
+			rows = args.length > 1 ? Integer.parseInt(args[1]) : WriteBenchmark.DEFAULT_ROWS;
+		} catch (final NumberFormatException e) {
+			System.err.println(WriteBenchmark.USAGE);
+			return;
+		}
+
+		final File benchmarkFile = new File(DataSource.FILE_PATH + WriteBenchmark.BENCHMARK_FILE_NAME);
+		final JDBCDataSource source;
+		switch(args[0].toLowerCase(Locale.ROOT)) {
+		case "sqlite":
+			source = new SQLiteDataSource(benchmarkFile, DBSchema.SPLIT);
+			break;
+		case "mysql":
+			final FileConfiguration config = YamlConfiguration.loadConfiguration(new File(DataSource.FILE_PATH + WriteBenchmark.CONFIG_FILE_NAME));
+			source = new MySQLDataSource(config.getString("hostname"), config.getString("port"), config.getString("database"),
+					config.getString("user"), config.getString("password"), DBSchema.SPLIT, 0, null);
+			break;
+		default:
+			System.err.println(WriteBenchmark.USAGE);
+			return;
+		}
+
+		try {
+			for(final String line: new WriteBenchmark(source, rows).run()) {
+				System.out.println(line);
+			}
+		} catch (final SQLException e) {
+			e.printStackTrace();
+		} finally {
+			source.close();
+			// the table is already dropped, the file of SQLite is removed as well
+			benchmarkFile.delete();
+		}
+	}
+
+}
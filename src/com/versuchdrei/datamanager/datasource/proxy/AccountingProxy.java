@@ -0,0 +1,174 @@
+package com.versuchdrei.datamanager.datasource.proxy;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.versuchdrei.datamanager.datasource.DataSource;
+import com.versuchdrei.datamanager.metrics.PluginAccounting;
+
+/**
+ * Counts the reads and writes of every plugin and passes them to the accounting, along with the changes of the stored data. 
+ * Appending to and removing from a list tell the change on their own. A set only tells how much data it replaced 
+ * if the replaced value is read first, which is optional, as it costs a read of the backend on every set. 
+ * Increments and compare and sets only change a few digits, the data of deleted groups and removed members is left to the next recount.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class AccountingProxy extends DataSourceProxy {
+	
+	// the length of a uuid as a string
+	private static final int UUID_LENGTH = 36;
+	private static final Map<Class<?>, String> GETTER_NAMES = new HashMap<>();
+	// the getter of the replaced value by setter
+	private static final Map<Method, DataOperation> GETTERS = new ConcurrentHashMap<>();
+	
+	static {
+		AccountingProxy.GETTER_NAMES.put(String.class, "getString");
+		AccountingProxy.GETTER_NAMES.put(Integer.class, "getInt");
+		AccountingProxy.GETTER_NAMES.put(Long.class, "getLong");
+		AccountingProxy.GETTER_NAMES.put(Float.class, "getFloat");
+		AccountingProxy.GETTER_NAMES.put(Double.class, "getDouble");
+		AccountingProxy.GETTER_NAMES.put(Boolean.class, "getBoolean");
+		AccountingProxy.GETTER_NAMES.put(List.class, "getList");
+	}
+	
+	private final PluginAccounting accounting;
+	private final boolean elementEntries;
+	private final DataSource backend;
+	
+	/**
+	 * @param source the data source to count the calls of
+	 * @param accounting the accounting to pass the counts to
+	 * @param elementEntries true if the backend stores every element of a list as an entry of its own, like the rows of the databases
+	 * @param backend the backend without any proxies to read the values replaced by a set from, 
+	 * so the reads are neither measured nor mirrored, or null to not track the data changed by a set
+	 */
+	public AccountingProxy(final DataSource source, final PluginAccounting accounting, final boolean elementEntries, final DataSource backend) {
+		super(source);
+		this.accounting = accounting;
+		this.elementEntries = elementEntries;
+		this.backend = backend;
+	}
+	
+	@Override
+	protected Object invoke(final DataOperation operation, final Object[] args) throws Throwable {
+		final String pluginKey = operation.getPluginKey(args);
+		if(pluginKey == null) {
+			return forward(operation, args);
+		}
+		
+		// the replaced value is read before the call is timed, so it does not count towards the latency of the plugin
+		final Optional<?> previous = this.backend != null && operation.getName().equals("set") ? readPrevious(operation, args) : Optional.empty();
+		final long start = System.nanoTime();
+		Object result = null;
+		try {
+			result = forward(operation, args);
+			return result;
+		} finally {
+			final long nanos = System.nanoTime() - start;
+			if(operation.isWrite()) {
+				this.accounting.recordWrite(pluginKey, nanos, getSize(args) - pluginKey.length(), operation.isDelete(args));
+				if(Boolean.TRUE.equals(result)) {
+					recordStored(operation, args, pluginKey, previous);
+				}
+			} else {
+				this.accounting.recordRead(pluginKey, nanos);
+			}
+		}
+	}
+	
+	private Optional<?> readPrevious(final DataOperation operation, final Object[] args) throws Throwable {
+		final DataOperation getter = AccountingProxy.GETTERS.computeIfAbsent(operation.getMethod(), AccountingProxy::findGetter);
+		try {
+			// the getters take the same keys as the setters, only without the value
+			return (Optional<?>) getter.getMethod().invoke(this.backend, Arrays.copyOf(args, args.length - 1));
+		} catch (final InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+	
+	private static DataOperation findGetter(final Method setter) {
+		final Class<?>[] parameters = setter.getParameterTypes();
+		final String name = AccountingProxy.GETTER_NAMES.get(DataOperation.of(setter).getValueType().get());
+		try {
+			return DataOperation.of(DataSource.class.getMethod(name, Arrays.copyOf(parameters, parameters.length - 1)));
+		} catch (final NoSuchMethodException e) {
+			throw new IllegalStateException("the data source has no getter for " + setter, e);
+		}
+	}
+	
+	private void recordStored(final DataOperation operation, final Object[] args, final String pluginKey, final Optional<?> previous) {
+		final String dataKey = operation.getDataKey(args);
+		final Object data = args[args.length - 1];
+		switch(operation.getName()) {
+		case "set":
+			if(this.backend == null) {
+				break;
+			}
+			this.accounting.recordStored(pluginKey, getEntries(data) - previous.map(this::getEntries).orElse(0L), 
+					getStoredSize(dataKey, data) - previous.map(value -> getStoredSize(dataKey, value)).orElse(0L));
+			break;
+		case "appendToList":
+			// a list created by the first element is missed by the yaml backends until the next recount
+			this.accounting.recordStored(pluginKey, this.elementEntries ? 1 : 0, getSize(data));
+			break;
+		case "removeFromList":
+			this.accounting.recordStored(pluginKey, this.elementEntries ? -1 : 0, -getSize(data));
+			break;
+		default:
+			break;
+		}
+	}
+	
+	private long getEntries(final Object value) {
+		if(value == null) {
+			return 0;
+		}
+		return this.elementEntries && value instanceof List ? ((List<?>) value).size() : 1;
+	}
+	
+	private static long getStoredSize(final String dataKey, final Object value) {
+		return value == null ? 0 : dataKey.length() + getSize(value);
+	}
+	
+	/**
+	 * approximates the size of the arguments as they would be stored
+	 * @param args the arguments of a call
+	 * @return the summed up length of the arguments as strings
+	 */
+	private static long getSize(final Object[] args) {
+		long size = 0;
+		for(final Object arg: args) {
+			size += getSize(arg);
+		}
+		return size;
+	}
+	
+	private static long getSize(final Object arg) {
+		if(arg == null) {
+			return 0;
+		}
+		if(arg instanceof String) {
+			return ((String) arg).length();
+		}
+		if(arg instanceof List) {
+			long size = 0;
+			for(final Object element: (List<?>) arg) {
+				size += getSize(element);
+			}
+			return size;
+		}
+		if(arg instanceof UUID) {
+			return AccountingProxy.UUID_LENGTH;
+		}
+		return String.valueOf(arg).length();
+	}
+
+}
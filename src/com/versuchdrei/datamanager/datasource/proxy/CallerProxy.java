@@ -0,0 +1,27 @@
+package com.versuchdrei.datamanager.datasource.proxy;
+
+import com.versuchdrei.datamanager.datasource.DataSource;
+import com.versuchdrei.datamanager.datasource.database.StatementLog;
+
+/**
+ * tells the statement log of a database backend which plugin the statements of a call are executed for
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class CallerProxy extends DataSourceProxy {
+	
+	public CallerProxy(final DataSource source) {
+		super(source);
+	}
+	
+	@Override
+	protected Object invoke(final DataOperation operation, final Object[] args) throws Throwable {
+		final String previous = StatementLog.setCaller(operation.getPluginKey(args));
+		try {
+			return forward(operation, args);
+		} finally {
+			StatementLog.setCaller(previous);
+		}
+	}
+
+}
@@ -0,0 +1,78 @@
+package com.versuchdrei.datamanager.datasource.proxy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.versuchdrei.datamanager.datasource.DataScope;
+import com.versuchdrei.datamanager.datasource.DataSource;
+import com.versuchdrei.datamanager.watch.ChangeDispatcher;
+import com.versuchdrei.datamanager.watch.DataChange;
+
+/**
+ * records every successful write of a value, so the listeners watching it are notified
+ * deleting a group records the removal of all values of the group and its members
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class ChangeProxy extends DataSourceProxy {
+	
+	private final ChangeDispatcher dispatcher;
+	
+	public ChangeProxy(final DataSource source, final ChangeDispatcher dispatcher) {
+		super(source);
+		this.dispatcher = dispatcher;
+	}
+	
+	@Override
+	protected Object invoke(final DataOperation operation, final Object[] args) throws Throwable {
+		if(operation.getName().equals("deleteGroup")) {
+			return deleteGroup(operation, (String) args[0], (String) args[1], args);
+		}
+		
+		final Object result = forward(operation, args);
+		if(!operation.isWrite() || !operation.getScope().isPresent() || !isSuccess(result)) {
+			return result;
+		}
+		
+		this.dispatcher.record(new DataChange(operation.getScope().get(), operation.getUUID(args), operation.getGroup(args), 
+				operation.getPluginKey(args), operation.getDataKey(args), operation.getValueType().get()));
+		return result;
+	}
+	
+	private Object deleteGroup(final DataOperation operation, final String group, final String pluginKey, final Object[] args) throws Throwable {
+		// the values are listed before they are gone, but only if anybody watches them, as this reads the whole group
+		final List<DataChange> changes = new ArrayList<>();
+		if(this.dispatcher.isWatched(DataScope.GROUP, pluginKey)) {
+			this.source.forEachValue(group, pluginKey, (dataKey, value) -> 
+					changes.add(new DataChange(DataScope.GROUP, null, group, pluginKey, dataKey, getType(value))));
+		}
+		if(this.dispatcher.isWatched(DataScope.MEMBER, pluginKey)) {
+			for(final UUID uuid: this.source.getMemberIDs(group, pluginKey).orElseGet(ArrayList::new)) {
+				this.source.forEachValue(uuid, group, pluginKey, (dataKey, value) -> 
+						changes.add(new DataChange(DataScope.MEMBER, uuid, group, pluginKey, dataKey, getType(value))));
+			}
+		}
+		
+		final Object result = forward(operation, args);
+		if(isSuccess(result)) {
+			changes.forEach(this.dispatcher::record);
+		}
+		return result;
+	}
+	
+	private static Class<?> getType(final Object value) {
+		// the lists of the data sources are of different implementations
+		return value instanceof List ? List.class : value.getClass();
+	}
+	
+	private static boolean isSuccess(final Object result) {
+		// writes either report success as a boolean or return the new value
+		if(result instanceof Boolean) {
+			return (Boolean) result;
+		}
+		return result instanceof Optional && ((Optional<?>) result).isPresent();
+	}
+
+}
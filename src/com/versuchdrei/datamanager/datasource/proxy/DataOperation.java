@@ -0,0 +1,215 @@
+package com.versuchdrei.datamanager.datasource.proxy;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.versuchdrei.datamanager.datasource.DataScope;
+
+/**
+ * Describes a method of the data source, so proxies can tell which scope and key a call accesses and whether it writes. 
+ * The description of every method is only built once.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class DataOperation {
+	
+	private static final Map<Method, DataOperation> OPERATIONS = new ConcurrentHashMap<>();
+	// the number of parameters following the data key for all methods that access a single value
+	private static final Map<String, Integer> DATA_METHODS = new HashMap<>();
+	private static final Set<String> WRITE_METHODS = new HashSet<>(Arrays.asList(
+			"set", "appendToList", "removeFromList", "increment", "compareAndSet", "addGroup", "deleteGroup", "addMember", "removeMember"));
+	private static final Set<String> DELETE_METHODS = new HashSet<>(Arrays.asList(
+			"removeFromList", "deleteGroup", "removeMember"));
+	private static final Set<String> LIST_METHODS = new HashSet<>(Arrays.asList(
+			"appendToList", "removeFromList", "listContains", "getListSize", "getListRange"));
+	private static final Map<Class<?>, Class<?>> WRAPPERS = new HashMap<>();
+	
+	static {
+		for(final String name: Arrays.asList("getString", "getInt", "getLong", "getFloat", "getDouble", "getBoolean", "getList", "getListSize")) {
+			DataOperation.DATA_METHODS.put(name, 0);
+		}
+		for(final String name: Arrays.asList("set", "appendToList", "removeFromList", "listContains", "increment")) {
+			DataOperation.DATA_METHODS.put(name, 1);
+		}
+		DataOperation.DATA_METHODS.put("getListRange", 2);
+		DataOperation.DATA_METHODS.put("compareAndSet", 2);
+		
+		DataOperation.WRAPPERS.put(int.class, Integer.class);
+		DataOperation.WRAPPERS.put(long.class, Long.class);
+		DataOperation.WRAPPERS.put(float.class, Float.class);
+		DataOperation.WRAPPERS.put(double.class, Double.class);
+		DataOperation.WRAPPERS.put(boolean.class, Boolean.class);
+	}
+	
+	/**
+	 * returns the description of the given method of the data source
+	 * @param method the method to describe
+	 * @return the description of the method
+	 */
+	public static DataOperation of(final Method method) {
+		return DataOperation.OPERATIONS.computeIfAbsent(method, DataOperation::new);
+	}
+	
+	private final Method method;
+	private final boolean write;
+	// the index of the plugin key in the arguments, or -1 if the method has none
+	private final int pluginKeyIndex;
+	// the following fields are only set for methods accessing a single value
+	private final DataScope scope;
+	private final int dataKeyIndex;
+	private final Class<?> valueType;
+	
+	private DataOperation(final Method method) {
+		this.method = method;
+		this.write = DataOperation.WRITE_METHODS.contains(method.getName());
+		
+		final Integer valueParameters = DataOperation.DATA_METHODS.get(method.getName());
+		if(valueParameters == null) {
+			this.pluginKeyIndex = findPluginKey(method);
+			this.scope = null;
+			this.dataKeyIndex = -1;
+			this.valueType = null;
+			return;
+		}
+		
+		final Class<?>[] parameters = method.getParameterTypes();
+		final int keys = parameters.length - valueParameters;
+		this.dataKeyIndex = keys - 1;
+		this.pluginKeyIndex = keys - 2;
+		if(keys == 2) {
+			this.scope = DataScope.GLOBAL;
+		} else if(keys == 3) {
+			this.scope = parameters[0] == UUID.class ? DataScope.PLAYER : DataScope.GROUP;
+		} else {
+			this.scope = DataScope.MEMBER;
+		}
+		
+		if(DataOperation.LIST_METHODS.contains(method.getName())) {
+			this.valueType = List.class;
+		} else if(valueParameters > 0) {
+			final Class<?> type = parameters[parameters.length - 1];
+			this.valueType = DataOperation.WRAPPERS.getOrDefault(type, type);
+		} else {
+			// the getters return an optional of the value
+			final Type type = ((ParameterizedType) method.getGenericReturnType()).getActualTypeArguments()[0];
+			this.valueType = type instanceof ParameterizedType ? (Class<?>) ((ParameterizedType) type).getRawType() : (Class<?>) type;
+		}
+	}
+	
+	private static int findPluginKey(final Method method) {
+		final Class<?>[] parameters = method.getParameterTypes();
+		// the ranked methods take the plugin key first, the group methods take it after the name of the group
+		final boolean ranked = method.getName().contains("Rank");
+		int index = -1;
+		for(int i = 0; i < parameters.length; i++) {
+			if(parameters[i] == String.class) {
+				index = i;
+				if(ranked) {
+					break;
+				}
+			}
+		}
+		return index;
+	}
+	
+	public Method getMethod() {
+		return this.method;
+	}
+	
+	public String getName() {
+		return this.method.getName();
+	}
+	
+	/**
+	 * @return true if the method changes data, otherwise false
+	 */
+	public boolean isWrite() {
+		return this.write;
+	}
+	
+	/**
+	 * returns whether a call of this method removes data, which includes setting a value to null
+	 * @param args the arguments of the call
+	 * @return true if the call removes data, otherwise false
+	 */
+	public boolean isDelete(final Object[] args) {
+		if(DataOperation.DELETE_METHODS.contains(this.method.getName())) {
+			return true;
+		}
+		return this.method.getName().equals("set") && args[args.length - 1] == null;
+	}
+	
+	/**
+	 * @return the scope of the accessed value, or an empty optional if the method does not access a single value
+	 */
+	public Optional<DataScope> getScope(){
+		return Optional.ofNullable(this.scope);
+	}
+	
+	/**
+	 * returns the type of the accessed value, primitives are given as their wrapper and lists as List
+	 * @return the type of the value, or an empty optional if the method does not access a single value
+	 */
+	public Optional<Class<?>> getValueType(){
+		return Optional.ofNullable(this.valueType);
+	}
+	
+	/**
+	 * returns the player owning the value accessed by a call of this method
+	 * @param args the arguments of the call
+	 * @return the uuid of the player, or null if the scope is neither player nor member
+	 */
+	public UUID getUUID(final Object[] args) {
+		return this.scope == DataScope.PLAYER || this.scope == DataScope.MEMBER ? (UUID) args[0] : null;
+	}
+	
+	/**
+	 * returns the group owning the value accessed by a call of this method
+	 * @param args the arguments of the call
+	 * @return the name of the group, or null if the scope is neither group nor member
+	 */
+	public String getGroup(final Object[] args) {
+		if(this.scope == DataScope.GROUP) {
+			return (String) args[0];
+		}
+		return this.scope == DataScope.MEMBER ? (String) args[1] : null;
+	}
+	
+	/**
+	 * returns the plugin key of a call of this method
+	 * @param args the arguments of the call
+	 * @return the plugin key, or null if the method does not take one
+	 */
+	public String getPluginKey(final Object[] args) {
+		return this.pluginKeyIndex < 0 ? null : (String) args[this.pluginKeyIndex];
+	}
+	
+	/**
+	 * returns whether the argument at the index is part of the value, like the data to set or the element to look for in a list
+	 * @param index the index of the argument
+	 * @return true if the argument follows the data key of a method accessing a single value, otherwise false
+	 */
+	public boolean isValueArgument(final int index) {
+		return this.scope != null && index > this.dataKeyIndex;
+	}
+	
+	/**
+	 * returns the data key of a call of this method, only valid for methods accessing a single value
+	 * @param args the arguments of the call
+	 * @return the data key
+	 */
+	public String getDataKey(final Object[] args) {
+		return (String) args[this.dataKeyIndex];
+	}
+
+}
@@ -0,0 +1,62 @@
+package com.versuchdrei.datamanager.datasource.proxy;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import com.versuchdrei.datamanager.datasource.DataSource;
+
+/**
+ * The super class for all layers that are put in front of a data source. 
+ * Instead of implementing every method of the data source a proxy only handles the calls it is interested in and forwards the rest.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public abstract class DataSourceProxy implements InvocationHandler {
+	
+	protected final DataSource source;
+	
+	protected DataSourceProxy(final DataSource source) {
+		this.source = source;
+	}
+	
+	/**
+	 * creates a data source that passes every call through this proxy
+	 * @return the proxied data source
+	 */
+	public DataSource create() {
+		return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[] {DataSource.class}, this);
+	}
+	
+	@Override
+	public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+		return invoke(DataOperation.of(method), args);
+	}
+	
+	/**
+	 * handles a call of the data source
+	 * @param operation the called method
+	 * @param args the arguments of the call
+	 * @return the result of the call
+	 * @throws Throwable any exception thrown by the data source
+	 */
+	protected abstract Object invoke(DataOperation operation, Object[] args) throws Throwable;
+	
+	/**
+	 * passes the call on to the wrapped data source
+	 * @param operation the called method
+	 * @param args the arguments of the call
+	 * @return the result of the wrapped data source
+	 * @throws Throwable any exception thrown by the data source
+	 */
+	protected Object forward(final DataOperation operation, final Object[] args) throws Throwable {
+		try {
+			return operation.getMethod().invoke(this.source, args);
+		} catch (final InvocationTargetException e) {
+			// callers expect the exception of the data source, not the one of the reflection
+			throw e.getCause();
+		}
+	}
+
+}
@@ -0,0 +1,128 @@
+package com.versuchdrei.datamanager.datasource.proxy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.versuchdrei.datamanager.datasource.DataScope;
+import com.versuchdrei.datamanager.datasource.DataSource;
+
+/**
+ * Keeps the global data in an immutable snapshot, so reading it takes a single lookup without any lock. 
+ * Global data is read all the time but hardly ever written, 
+ * so every write copies the snapshot and publishes the copy, while readers keep using the snapshot they found.
+ * Values are loaded into the snapshot on their first read, this includes missing values, and leave it again when they are written.
+ * Only writes through this proxy leave the snapshot, so it must not be used if other servers write the same data.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class GlobalSnapshotProxy extends DataSourceProxy {
+	
+	private static final Set<String> GETTERS = new HashSet<>(Arrays.asList(
+			"getString", "getInt", "getLong", "getFloat", "getDouble", "getBoolean", "getList"));
+	
+	// writers replace the snapshot one at a time, so none of them overwrites the value of another
+	private final Object writeLock = new Object();
+	private volatile Map<String, Optional<?>> snapshot = Collections.emptyMap();
+	// counts the writes, so a value loaded while a write went on is not published
+	private volatile long writes;
+	
+	public GlobalSnapshotProxy(final DataSource source) {
+		super(source);
+	}
+	
+	@Override
+	protected Object invoke(final DataOperation operation, final Object[] args) throws Throwable {
+		if(operation.getScope().orElse(null) != DataScope.GLOBAL) {
+			return forward(operation, args);
+		}
+		
+		final Class<?> type = operation.getValueType().get();
+		final String pluginKey = operation.getPluginKey(args);
+		final String dataKey = operation.getDataKey(args);
+		final String key = buildKey(type, pluginKey, dataKey);
+		if(operation.isWrite()) {
+			try {
+				return forward(operation, args);
+			} finally {
+				// the value is loaded again on the next read, which keeps it exactly as the data source would return it
+				synchronized(this.writeLock) {
+					this.writes++;
+					evict(key);
+				}
+			}
+		}
+		
+		if(!GlobalSnapshotProxy.GETTERS.contains(operation.getName())) {
+			return forward(operation, args);
+		}
+		
+		Optional<?> value = this.snapshot.get(key);
+		if(value == null) {
+			final long writesBefore = this.writes;
+			value = load(type, pluginKey, dataKey);
+			synchronized(this.writeLock) {
+				// the value might be outdated if a write happened since loading
+				if(this.writes == writesBefore && !this.snapshot.containsKey(key)) {
+					publish(key, value);
+				}
+			}
+		}
+		
+		return copy(value);
+	}
+	
+	private static String buildKey(final Class<?> type, final String pluginKey, final String dataKey) {
+		return type.getSimpleName() + "." + pluginKey + "." + dataKey;
+	}
+	
+	private Optional<?> load(final Class<?> type, final String pluginKey, final String dataKey){
+		if(type == String.class) {
+			return this.source.getString(pluginKey, dataKey);
+		} else if(type == Integer.class) {
+			return this.source.getInt(pluginKey, dataKey);
+		} else if(type == Long.class) {
+			return this.source.getLong(pluginKey, dataKey);
+		} else if(type == Float.class) {
+			return this.source.getFloat(pluginKey, dataKey);
+		} else if(type == Double.class) {
+			return this.source.getDouble(pluginKey, dataKey);
+		} else if(type == Boolean.class) {
+			return this.source.getBoolean(pluginKey, dataKey);
+		} else {
+			// lists are kept unmodifiable, as the snapshot is shared by all readers
+			return this.source.getList(pluginKey, dataKey).map(Collections::unmodifiableList);
+		}
+	}
+	
+	private void publish(final String key, final Optional<?> value) {
+		final Map<String, Optional<?>> snapshot = new HashMap<>(this.snapshot);
+		snapshot.put(key, value);
+		this.snapshot = Collections.unmodifiableMap(snapshot);
+	}
+	
+	private void evict(final String key) {
+		if(!this.snapshot.containsKey(key)) {
+			return;
+		}
+		
+		final Map<String, Optional<?>> snapshot = new HashMap<>(this.snapshot);
+		snapshot.remove(key);
+		this.snapshot = Collections.unmodifiableMap(snapshot);
+	}
+	
+	private static Optional<?> copy(final Optional<?> value){
+		// callers may change the lists they get, just like the lists the data sources return
+		if(value.isPresent() && value.get() instanceof List) {
+			return Optional.of(new ArrayList<>((List<?>) value.get()));
+		}
+		return value;
+	}
+
+}
@@ -0,0 +1,28 @@
+package com.versuchdrei.datamanager.datasource.proxy;
+
+import com.versuchdrei.datamanager.datasource.DataSource;
+import com.versuchdrei.datamanager.metrics.HotKeyTracker;
+
+/**
+ * passes the keys of the accessed values to the hot key tracker
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class HotKeyProxy extends DataSourceProxy {
+	
+	private final HotKeyTracker tracker;
+	
+	public HotKeyProxy(final DataSource source, final HotKeyTracker tracker) {
+		super(source);
+		this.tracker = tracker;
+	}
+	
+	@Override
+	protected Object invoke(final DataOperation operation, final Object[] args) throws Throwable {
+		if(operation.getScope().isPresent()) {
+			this.tracker.record(operation.getScope().get(), operation.getPluginKey(args), operation.getDataKey(args));
+		}
+		return forward(operation, args);
+	}
+
+}
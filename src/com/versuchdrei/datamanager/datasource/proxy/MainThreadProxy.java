@@ -0,0 +1,34 @@
+package com.versuchdrei.datamanager.datasource.proxy;
+
+import com.versuchdrei.datamanager.datasource.DataSource;
+import com.versuchdrei.datamanager.metrics.MainThreadMonitor;
+
+/**
+ * measures how long the calls made on the server thread block it
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class MainThreadProxy extends DataSourceProxy {
+	
+	private final MainThreadMonitor monitor;
+	
+	public MainThreadProxy(final DataSource source, final MainThreadMonitor monitor) {
+		super(source);
+		this.monitor = monitor;
+	}
+	
+	@Override
+	protected Object invoke(final DataOperation operation, final Object[] args) throws Throwable {
+		if(!this.monitor.isMainThread()) {
+			return forward(operation, args);
+		}
+		
+		final long start = System.nanoTime();
+		try {
+			return forward(operation, args);
+		} finally {
+			this.monitor.record(operation.getPluginKey(args), operation.getName(), System.nanoTime() - start);
+		}
+	}
+
+}
@@ -0,0 +1,52 @@
+package com.versuchdrei.datamanager.datasource.proxy;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.versuchdrei.datamanager.datasource.DataSource;
+import com.versuchdrei.datamanager.metrics.Metrics;
+import com.versuchdrei.datamanager.metrics.OperationKey;
+
+/**
+ * measures how long every call to the data source takes and records it in the metrics
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class MetricsProxy extends DataSourceProxy {
+	
+	private final Metrics metrics;
+	// the keys are reused, so recording a call does not allocate one for every call
+	private final Map<DataOperation, Map<String, OperationKey>> keys = new ConcurrentHashMap<>();
+	
+	public MetricsProxy(final DataSource source, final Metrics metrics) {
+		super(source);
+		this.metrics = metrics;
+	}
+	
+	@Override
+	protected Object invoke(final DataOperation operation, final Object[] args) throws Throwable {
+		final long start = System.nanoTime();
+		boolean failed = true;
+		try {
+			final Object result = forward(operation, args);
+			failed = false;
+			return result;
+		} finally {
+			this.metrics.record(getKey(operation, args), System.nanoTime() - start, failed);
+		}
+	}
+	
+	private OperationKey getKey(final DataOperation operation, final Object[] args) {
+		final String pluginKey = operation.getPluginKey(args);
+		// concurrent maps do not allow null keys
+		final String mapKey = pluginKey == null ? "" : pluginKey;
+		final Map<String, OperationKey> pluginKeys = this.keys.computeIfAbsent(operation, newOperation -> new ConcurrentHashMap<>());
+		OperationKey key = pluginKeys.get(mapKey);
+		if(key == null) {
+			key = pluginKeys.computeIfAbsent(mapKey, newKey -> new OperationKey(operation.getName(), operation.getScope().orElse(null), 
+					operation.getValueType().map(Class::getSimpleName).orElse(null), pluginKey));
+		}
+		return key;
+	}
+
+}
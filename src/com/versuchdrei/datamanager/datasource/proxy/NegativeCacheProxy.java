@@ -0,0 +1,101 @@
+package com.versuchdrei.datamanager.datasource.proxy;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.versuchdrei.datamanager.datasource.DataScope;
+import com.versuchdrei.datamanager.datasource.DataSource;
+import com.versuchdrei.datamanager.trace.Tracing;
+import com.versuchdrei.datamanager.utils.BoundedOwnerMap;
+
+/**
+ * Remembers which values do not exist, so reading them again is answered without asking the data source. 
+ * Many reads are for values that were never set, like stats with a default value or features a player never used.
+ * The missing values are kept as a set of keys for every owner, which is a plugin for global data, a player, a group or a member.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class NegativeCacheProxy extends DataSourceProxy {
+	
+	private static final Set<String> GETTERS = new HashSet<>(Arrays.asList(
+			"getString", "getInt", "getLong", "getFloat", "getDouble", "getBoolean", "getList"));
+	// a power of two, so the counter of an owner can be picked by a mask
+	private static final int STRIPES = 64;
+	// the name of the cache in traces
+	private static final String CACHE_NAME = "negative";
+	
+	private final BoundedOwnerMap<Set<String>> missing;
+	// counts the writes for the owners of every stripe, so a value read as missing before a write is not remembered after it
+	private final AtomicLongArray writes = new AtomicLongArray(NegativeCacheProxy.STRIPES);
+	
+	/**
+	 * @param source the data source to cache the missing values of
+	 * @param capacity the maximum number of owners to remember missing values of
+	 */
+	public NegativeCacheProxy(final DataSource source, final int capacity) {
+		super(source);
+		this.missing = new BoundedOwnerMap<>(capacity);
+	}
+	
+	@Override
+	protected Object invoke(final DataOperation operation, final Object[] args) throws Throwable {
+		final Optional<DataScope> scope = operation.getScope();
+		if(!scope.isPresent()) {
+			return forward(operation, args);
+		}
+		
+		final String owner = buildOwner(scope.get(), operation, args);
+		final String key = operation.getValueType().get().getSimpleName() + "." + operation.getDataKey(args);
+		final int stripe = getStripe(owner);
+		if(operation.isWrite()) {
+			// the value may exist after the write, even if the write fails
+			this.writes.incrementAndGet(stripe);
+			final Set<String> keys = this.missing.get(owner);
+			if(keys != null) {
+				keys.remove(key);
+			}
+			return forward(operation, args);
+		}
+		
+		if(!NegativeCacheProxy.GETTERS.contains(operation.getName())) {
+			return forward(operation, args);
+		}
+		
+		final Set<String> keys = this.missing.get(owner);
+		final boolean hit = keys != null && keys.contains(key);
+		Tracing.get().cacheAccessed(NegativeCacheProxy.CACHE_NAME, hit);
+		if(hit) {
+			return Optional.empty();
+		}
+		
+		final long mark = this.writes.get(stripe);
+		final Object result = forward(operation, args);
+		if(!((Optional<?>) result).isPresent()) {
+			remember(owner, key, stripe, mark);
+		}
+		return result;
+	}
+	
+	private static String buildOwner(final DataScope scope, final DataOperation operation, final Object[] args) {
+		return scope.name() + "." + operation.getPluginKey(args) + "." + operation.getGroup(args) + "." + operation.getUUID(args);
+	}
+	
+	private static int getStripe(final String owner) {
+		final int hash = owner.hashCode();
+		return (hash ^ (hash >>> 16)) & (NegativeCacheProxy.STRIPES - 1);
+	}
+	
+	private void remember(final String owner, final String key, final int stripe, final long mark) {
+		final Set<String> keys = this.missing.computeIfAbsent(owner, ignored -> ConcurrentHashMap.newKeySet());
+		keys.add(key);
+		// a write since the read may have added the value, checking after adding covers writes that happened in between as well
+		if(this.writes.get(stripe) != mark) {
+			keys.remove(key);
+		}
+	}
+
+}
@@ -0,0 +1,479 @@
+package com.versuchdrei.datamanager.datasource.proxy;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import com.versuchdrei.datamanager.RankedEntry;
+import com.versuchdrei.datamanager.datasource.DataSource;
+import com.versuchdrei.datamanager.datasource.config.MultiYamlDataSource;
+import com.versuchdrei.datamanager.metrics.Metrics;
+import com.versuchdrei.datamanager.metrics.OperationKey;
+
+/**
+ * Mirrors every call of the data source to a second backend, to see how it would perform under the real load before switching to it.
+ * The primary data source answers all calls, the calls are only put into a queue and repeated on the shadow backend by a thread of the proxy,
+ * so the shadow backend can neither slow down nor break the primary one. The shadow backend is set up by that thread as well, 
+ * calls are dropped until it is set up and whenever the queue is full.
+ * The latencies of both backends are measured and every result of the shadow backend that differs from the primary one is counted.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class ShadowProxy extends DataSourceProxy {
+
+	private static final int QUEUE_CAPACITY = 65536;
+	// how long the mirroring thread waits for calls before checking whether it was stopped
+	private static final long POLL_MILLIS = 100;
+	// how long closing waits for the call the shadow backend is working on
+	private static final long CLOSE_MILLIS = 10000;
+	// the number of differing results that are logged one by one, the others are only counted
+	private static final int LOGGED_MISMATCHES = 100;
+	// reading all stored data would put a load on the shadow backend that the primary one only has when asked to
+	private static final Set<String> UNMIRRORED_METHODS = new HashSet<>(Arrays.asList("setup", "close", "countStorage"));
+
+	private final DataSource shadow;
+	private final MultiYamlDataSource playerFiles;
+	// the players whose files the shadow backend has loaded, only accessed by the mirroring thread
+	private final Set<UUID> loadedPlayers = new HashSet<>();
+	private final Logger logger;
+	private final Metrics primaryMetrics = new Metrics();
+	private final Metrics shadowMetrics = new Metrics();
+	// the keys are reused, so recording a call does not allocate one for every call
+	private final Map<DataOperation, OperationKey> keys = new ConcurrentHashMap<>();
+	private final BlockingQueue<Call> queue = new ArrayBlockingQueue<>(ShadowProxy.QUEUE_CAPACITY);
+	private final LongAdder mirrored = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+	private final LongAdder shadowErrors = new LongAdder();
+	private final LongAdder mismatches = new LongAdder();
+	private final AtomicBoolean droppedLogged = new AtomicBoolean();
+	private final Thread thread;
+	private volatile boolean running = false;
+	// set by the mirroring thread once the shadow backend is set up
+	private volatile boolean ready = false;
+
+	/**
+	 * a call of the primary data source waiting to be repeated on the shadow backend
+	 */
+	private static class Call {
+
+		// null if the file of a player is to be unloaded instead
+		private final DataOperation operation;
+		private final Object[] args;
+		private final boolean failed;
+		// the following fields are only set if the call did not fail
+		private final Object result;
+		// the elements the primary data source handed to the consumer of the call, or null if the call takes none
+		private final Consumed consumed;
+
+		private Call(final DataOperation operation, final Object[] args, final boolean failed, final Object result, final Consumed consumed) {
+			this.operation = operation;
+			this.args = args;
+			this.failed = failed;
+			this.result = result;
+			this.consumed = consumed;
+		}
+
+	}
+
+	/**
+	 * the number of elements or key value pairs handed to a consumer and the sum of their hashes, 
+	 * which is enough to compare them without keeping every element of a large group
+	 */
+	private static class Consumed {
+
+		// only accessed by the thread of the call, the call is handed to the mirroring thread afterwards
+		private long count = 0;
+		private long hash = 0;
+
+		private void add(final Object element) {
+			add(ShadowProxy.describe(element));
+		}
+
+		private void add(final Object key, final Object value) {
+			// the key and value are hashed together, so a value handed with another key is not missed
+			add(ShadowProxy.describe(key) + "=" + ShadowProxy.describe(value));
+		}
+
+		private void add(final String description) {
+			this.count++;
+			// a sum does not depend on the order, which is not defined for groups and members
+			this.hash += description.hashCode();
+		}
+
+		private boolean matches(final Consumed other) {
+			return this.count == other.count && this.hash == other.hash;
+		}
+
+	}
+
+	/**
+	 * @param source the primary data source, which answers all calls
+	 * @param shadow the backend to mirror the calls to, it is set up and closed together with the primary data source
+	 * @param playerFiles the shadow backend if it keeps the files of players loaded, which is created without a plugin, 
+	 * so the files are loaded by the mirroring thread and unloaded with {@link #unloadPlayer(UUID)}, otherwise null
+	 * @param logger the logger to write failures of the shadow backend and differing results to
+	 */
+	public ShadowProxy(final DataSource source, final DataSource shadow, final MultiYamlDataSource playerFiles, final Logger logger) {
+		super(source);
+		this.shadow = shadow;
+		this.playerFiles = playerFiles;
+		this.logger = logger;
+		this.thread = new Thread(this::run, "DataManager shadow");
+		this.thread.setDaemon(true);
+	}
+
+	@Override
+	protected Object invoke(final DataOperation operation, final Object[] args) throws Throwable {
+		if(ShadowProxy.UNMIRRORED_METHODS.contains(operation.getName())) {
+			final Object result = forward(operation, args);
+			if(operation.getName().equals("setup")) {
+				start();
+			} else if(operation.getName().equals("close")) {
+				stop();
+			}
+			return result;
+		}
+
+		// the arguments are created for every call, so the consumers can be replaced in place
+		final Consumed consumed = args == null ? null : collectConsumed(args);
+		final long start = System.nanoTime();
+		final Object result;
+		try {
+			result = forward(operation, args);
+		} catch (final Throwable e) {
+			this.primaryMetrics.record(getKey(operation), System.nanoTime() - start, true);
+			mirror(new Call(operation, copyArgs(args), true, null, null));
+			throw e;
+		}
+		this.primaryMetrics.record(getKey(operation), System.nanoTime() - start, false);
+		mirror(new Call(operation, copyArgs(args), false, copyResult(result), consumed));
+		return result;
+	}
+
+	/**
+	 * ends the current interval of the latencies of both backends
+	 */
+	public void rollInterval() {
+		this.primaryMetrics.rollInterval();
+		this.shadowMetrics.rollInterval();
+	}
+
+	/**
+	 * @return the latencies of the primary data source, measured like the ones of the shadow backend
+	 */
+	public Metrics getPrimaryMetrics() {
+		return this.primaryMetrics;
+	}
+
+	/**
+	 * @return the latencies of the shadow backend
+	 */
+	public Metrics getShadowMetrics() {
+		return this.shadowMetrics;
+	}
+
+	/**
+	 * @return the number of calls that were repeated on the shadow backend
+	 */
+	public long getMirrored() {
+		return this.mirrored.sum();
+	}
+
+	/**
+	 * @return the number of calls that were not repeated on the shadow backend, as it was not set up yet or too far behind
+	 */
+	public long getDropped() {
+		return this.dropped.sum();
+	}
+
+	/**
+	 * @return the number of calls that failed on the shadow backend, but not on the primary data source
+	 */
+	public long getShadowErrors() {
+		return this.shadowErrors.sum();
+	}
+
+	/**
+	 * @return the number of calls whose result on the shadow backend differed from the one of the primary data source
+	 */
+	public long getMismatches() {
+		return this.mismatches.sum();
+	}
+
+	/**
+	 * @return the number of calls waiting to be repeated on the shadow backend
+	 */
+	public int getPending() {
+		return this.queue.size();
+	}
+
+	/**
+	 * saves and unloads the file of a player in the shadow backend once the calls before are repeated, 
+	 * the file is loaded again if a later call accesses the player
+	 * @param uuid the uuid of the player
+	 */
+	public void unloadPlayer(final UUID uuid) {
+		if(this.playerFiles != null) {
+			mirror(new Call(null, new Object[] {uuid}, false, null, null));
+		}
+	}
+
+	private synchronized void start() {
+		if(this.running) {
+			return;
+		}
+
+		// the shadow backend is set up by the mirroring thread, so it does not hold up the start of the server
+		this.running = true;
+		this.thread.start();
+	}
+
+	private synchronized void stop() {
+		if(!this.running) {
+			return;
+		}
+
+		// the calls still waiting are dropped, so the shutdown of the server does not wait for the shadow backend
+		this.running = false;
+		this.queue.clear();
+		try {
+			this.thread.join(ShadowProxy.CLOSE_MILLIS);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void mirror(final Call call) {
+		if(!this.running) {
+			return;
+		}
+		if(!this.ready) {
+			this.dropped.increment();
+			return;
+		}
+
+		if(!this.queue.offer(call)) {
+			this.dropped.increment();
+			if(this.droppedLogged.compareAndSet(false, true)) {
+				this.logger.warning("the shadow backend can not keep up, calls are dropped and its results may differ from now on");
+			}
+		}
+	}
+
+	private void run() {
+		try {
+			this.shadow.setup();
+		} catch (final RuntimeException e) {
+			this.logger.log(Level.WARNING, "the shadow backend could not be set up, calls are not mirrored", e);
+			this.running = false;
+			return;
+		}
+		this.ready = true;
+
+		try {
+			while(this.running) {
+				final Call call = this.queue.poll(ShadowProxy.POLL_MILLIS, TimeUnit.MILLISECONDS);
+				if(call == null) {
+					continue;
+				}
+				if(call.operation == null) {
+					unloadShadowPlayer((UUID) call.args[0]);
+				} else {
+					loadShadowPlayers(call.args);
+					execute(call);
+				}
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			try {
+				this.shadow.close();
+			} catch (final RuntimeException e) {
+				this.logger.log(Level.WARNING, "the shadow backend could not be closed", e);
+			}
+		}
+	}
+
+	/**
+	 * loads the files of the players a call accesses, which the listener of the backend would have loaded when they joined
+	 */
+	private void loadShadowPlayers(final Object[] args) {
+		if(this.playerFiles == null) {
+			return;
+		}
+		for(final Object arg: args) {
+			if(arg instanceof UUID && this.loadedPlayers.add((UUID) arg)) {
+				this.playerFiles.loadPlayer((UUID) arg);
+			}
+		}
+	}
+
+	private void unloadShadowPlayer(final UUID uuid) {
+		if(this.loadedPlayers.remove(uuid)) {
+			this.playerFiles.unloadPlayer(uuid);
+		}
+	}
+
+	private void execute(final Call call) {
+		final Object[] args = call.args.clone();
+		final Consumed consumed = collectConsumed(args);
+		final long start = System.nanoTime();
+		boolean failed = true;
+		Object result = null;
+		try {
+			result = call.operation.getMethod().invoke(this.shadow, args);
+			failed = false;
+		} catch (final InvocationTargetException e) {
+			if(!call.failed) {
+				this.shadowErrors.increment();
+				logMismatch(call, "failed with " + e.getCause());
+			}
+		} catch (final IllegalAccessException | RuntimeException e) {
+			// a failure of the shadow backend must not stop the mirroring of the following calls
+			if(!call.failed) {
+				this.shadowErrors.increment();
+				logMismatch(call, "failed with " + e);
+			}
+		}
+		this.shadowMetrics.record(getKey(call.operation), System.nanoTime() - start, failed);
+		this.mirrored.increment();
+		if(failed || call.failed) {
+			return;
+		}
+
+		final Object expected = normalize(call.operation, call.result);
+		final Object actual = normalize(call.operation, result);
+		if(!Objects.equals(expected, actual)) {
+			this.mismatches.increment();
+			logMismatch(call, "returned " + actual + " instead of " + expected);
+		} else if(consumed != null && !consumed.matches(call.consumed)) {
+			this.mismatches.increment();
+			logMismatch(call, consumed.count == call.consumed.count ? "passed other elements" 
+					: "passed " + consumed.count + " elements instead of " + call.consumed.count);
+		}
+	}
+
+	private void logMismatch(final Call call, final String difference) {
+		final long count = this.mismatches.sum() + this.shadowErrors.sum();
+		if(count <= ShadowProxy.LOGGED_MISMATCHES) {
+			this.logger.warning("the shadow backend " + difference + " for " + call.operation.getName() + Arrays.toString(call.args)
+					+ (count == ShadowProxy.LOGGED_MISMATCHES ? ", further differences are only counted" : ""));
+		}
+	}
+
+	private OperationKey getKey(final DataOperation operation) {
+		OperationKey key = this.keys.get(operation);
+		if(key == null) {
+			// the latencies are compared per method, so they are not split by plugin
+			key = this.keys.computeIfAbsent(operation, newOperation -> new OperationKey(operation.getName(), operation.getScope().orElse(null),
+					operation.getValueType().map(Class::getSimpleName).orElse(null), null));
+		}
+		return key;
+	}
+
+	/**
+	 * replaces the consumers in the arguments by ones that also count the elements or key value pairs they are given
+	 * @param args the arguments of the call, which are changed
+	 * @return the counted elements, or null if the call takes no consumer
+	 */
+	@SuppressWarnings("unchecked")
+	private static Consumed collectConsumed(final Object[] args) {
+		Consumed consumed = null;
+		for(int i = 0; i < args.length; i++) {
+			if(args[i] instanceof Consumer) {
+				final Consumer<Object> consumer = (Consumer<Object>) args[i];
+				final Consumed elements = new Consumed();
+				args[i] = (Consumer<Object>) element -> {
+					elements.add(element);
+					consumer.accept(element);
+				};
+				consumed = elements;
+			} else if(args[i] instanceof BiConsumer) {
+				final BiConsumer<Object, Object> consumer = (BiConsumer<Object, Object>) args[i];
+				final Consumed pairs = new Consumed();
+				args[i] = (BiConsumer<Object, Object>) (key, value) -> {
+					pairs.add(key, value);
+					consumer.accept(key, value);
+				};
+				consumed = pairs;
+			}
+		}
+		return consumed;
+	}
+
+	private static Object[] copyArgs(final Object[] args) {
+		// lists may be changed by the caller after the call, so they are copied before the call is handed to the mirroring thread
+		final Object[] copy = args == null ? new Object[0] : args.clone();
+		for(int i = 0; i < copy.length; i++) {
+			if(copy[i] instanceof List) {
+				copy[i] = new ArrayList<>((List<?>) copy[i]);
+			} else if(copy[i] instanceof Consumer) {
+				// the consumer of the caller must not see the elements of the shadow backend
+				copy[i] = (Consumer<Object>) element -> {};
+			} else if(copy[i] instanceof BiConsumer) {
+				copy[i] = (BiConsumer<Object, Object>) (key, value) -> {};
+			}
+		}
+		return copy;
+	}
+
+	private static Object copyResult(final Object result) {
+		if(result instanceof List) {
+			return new ArrayList<>((List<?>) result);
+		}
+		if(result instanceof Optional && ((Optional<?>) result).orElse(null) instanceof List) {
+			return Optional.of(new ArrayList<>((List<?>) ((Optional<?>) result).get()));
+		}
+		return result;
+	}
+
+	/**
+	 * turns a result into a form that can be compared across backends
+	 * @param operation the called method
+	 * @param result the result of the call
+	 * @return the comparable result
+	 */
+	private static Object normalize(final DataOperation operation, final Object result) {
+		if(result instanceof Optional) {
+			return ((Optional<?>) result).map(value -> normalize(operation, value));
+		}
+		if(!(result instanceof List)) {
+			return result;
+		}
+
+		final List<String> elements = ((List<?>) result).stream().map(ShadowProxy::describe).collect(Collectors.toList());
+		// only the elements of stored lists have an order, the one of groups, members and equally ranked players is not defined
+		if(!operation.getScope().isPresent()) {
+			Collections.sort(elements);
+		}
+		return elements;
+	}
+
+	private static String describe(final Object element) {
+		if(element instanceof RankedEntry) {
+			final RankedEntry entry = (RankedEntry) element;
+			return entry.getRank() + " " + entry.getUUID() + " " + entry.getValue();
+		}
+		return String.valueOf(element);
+	}
+
+}
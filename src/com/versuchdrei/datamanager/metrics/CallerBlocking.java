@@ -0,0 +1,50 @@
+package com.versuchdrei.datamanager.metrics;
+
+/**
+ * the time the calls of one plugin blocked the server thread during one period
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class CallerBlocking {
+	
+	private final String pluginKey;
+	private final long calls;
+	private final long nanos;
+	private final long overBudget;
+	
+	CallerBlocking(final String pluginKey, final long calls, final long nanos, final long overBudget) {
+		this.pluginKey = pluginKey;
+		this.calls = calls;
+		this.nanos = nanos;
+		this.overBudget = overBudget;
+	}
+	
+	/**
+	 * @return the key of the calling plugin, or null for calls that do not take one
+	 */
+	public String getPluginKey() {
+		return this.pluginKey;
+	}
+	
+	/**
+	 * @return the number of calls made on the server thread
+	 */
+	public long getCalls() {
+		return this.calls;
+	}
+	
+	/**
+	 * @return the total time in nanoseconds the calls blocked the server thread
+	 */
+	public long getNanos() {
+		return this.nanos;
+	}
+	
+	/**
+	 * @return the number of calls that took longer than the budget
+	 */
+	public long getOverBudget() {
+		return this.overBudget;
+	}
+
+}
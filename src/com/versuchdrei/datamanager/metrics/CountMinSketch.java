@@ -0,0 +1,57 @@
+package com.versuchdrei.datamanager.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Estimates how often keys were counted in a fixed amount of memory, no matter how many different keys there are.
+ * Every key is counted in one cell of every row, the smallest of its cells is the estimate, 
+ * which can only be too high by the counts of other keys sharing all of its cells.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+class CountMinSketch {
+	
+	private static final int DEPTH = 4;
+	// a power of two, so the cell of a hash can be picked by a mask
+	private static final int WIDTH = 2048;
+	private static final int[] SEEDS = {0x9E3779B1, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+	
+	private final AtomicLongArray cells = new AtomicLongArray(CountMinSketch.DEPTH * CountMinSketch.WIDTH);
+	
+	private static int getCell(final int row, final int hash) {
+		// the finalizer of murmur3, which spreads every bit of the hash over all bits of the result
+		int mixed = hash * CountMinSketch.SEEDS[row];
+		mixed ^= mixed >>> 16;
+		mixed *= 0x85EBCA6B;
+		mixed ^= mixed >>> 13;
+		mixed *= 0xC2B2AE35;
+		mixed ^= mixed >>> 16;
+		return row * CountMinSketch.WIDTH + (mixed & (CountMinSketch.WIDTH - 1));
+	}
+	
+	/**
+	 * counts the key
+	 * @param hash the hash of the key
+	 * @param amount the amount to count
+	 * @return the estimated count of the key after counting it
+	 */
+	long add(final int hash, final long amount) {
+		long estimate = Long.MAX_VALUE;
+		for(int row = 0; row < CountMinSketch.DEPTH; row++) {
+			estimate = Math.min(estimate, this.cells.addAndGet(getCell(row, hash), amount));
+		}
+		return estimate;
+	}
+	
+	/**
+	 * halves all counts, so keys that were hot a while ago fade out
+	 */
+	void decay() {
+		for(int i = 0; i < this.cells.length(); i++) {
+			final long value = this.cells.get(i);
+			// concurrent additions between reading and writing the cell are lost, which is fine for an estimate
+			this.cells.set(i, value >> 1);
+		}
+	}
+
+}
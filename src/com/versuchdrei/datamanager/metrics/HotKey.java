@@ -0,0 +1,43 @@
+package com.versuchdrei.datamanager.metrics;
+
+import com.versuchdrei.datamanager.datasource.DataScope;
+
+/**
+ * a key that was accessed often recently
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class HotKey {
+	
+	private final DataScope scope;
+	private final String pluginKey;
+	private final String dataKey;
+	private final long estimate;
+	
+	HotKey(final DataScope scope, final String pluginKey, final String dataKey, final long estimate) {
+		this.scope = scope;
+		this.pluginKey = pluginKey;
+		this.dataKey = dataKey;
+		this.estimate = estimate;
+	}
+	
+	public DataScope getScope() {
+		return this.scope;
+	}
+	
+	public String getPluginKey() {
+		return this.pluginKey;
+	}
+	
+	public String getDataKey() {
+		return this.dataKey;
+	}
+	
+	/**
+	 * @return the estimated number of recent accesses, older accesses count less the older they are
+	 */
+	public long getEstimate() {
+		return this.estimate;
+	}
+
+}
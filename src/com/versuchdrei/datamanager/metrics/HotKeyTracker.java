@@ -0,0 +1,117 @@
+package com.versuchdrei.datamanager.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.versuchdrei.datamanager.datasource.DataScope;
+
+/**
+ * Finds the keys of every scope that are accessed the most.
+ * Only a sample of the accesses is counted, in a count-min sketch per scope, 
+ * and the keys with the highest estimates are kept by name so they can be listed.
+ * All counts are halved periodically, so the list follows the current traffic.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class HotKeyTracker {
+	
+	// the number of keys listed per scope
+	private static final int TOP_KEYS = 20;
+	
+	private final int sampleRate;
+	private final Map<DataScope, ScopeTracker> scopes = new EnumMap<>(DataScope.class);
+	
+	/**
+	 * @param sampleRate every how many accesses one is counted, 1 counts all of them
+	 */
+	public HotKeyTracker(final int sampleRate) {
+		this.sampleRate = Math.max(sampleRate, 1);
+		for(final DataScope scope: DataScope.values()) {
+			this.scopes.put(scope, new ScopeTracker());
+		}
+	}
+	
+	/**
+	 * counts an access to the key, if it is sampled
+	 * @param scope the scope of the accessed value
+	 * @param pluginKey the plugin key of the accessed value
+	 * @param dataKey the data key of the accessed value
+	 */
+	public void record(final DataScope scope, final String pluginKey, final String dataKey) {
+		if(this.sampleRate > 1 && ThreadLocalRandom.current().nextInt(this.sampleRate) != 0) {
+			return;
+		}
+		
+		// a sampled access stands for all accesses that were skipped
+		this.scopes.get(scope).record(pluginKey, dataKey, this.sampleRate);
+	}
+	
+	/**
+	 * halves all counts, meant to be called periodically
+	 */
+	public void decay() {
+		for(final ScopeTracker tracker: this.scopes.values()) {
+			tracker.decay();
+		}
+	}
+	
+	/**
+	 * @param scope the scope to list the keys of
+	 * @return the most accessed keys of the scope, the most accessed first
+	 */
+	public List<HotKey> getTopKeys(final DataScope scope){
+		return this.scopes.get(scope).getTopKeys(scope);
+	}
+	
+	private static class ScopeTracker {
+		
+		private final CountMinSketch sketch = new CountMinSketch();
+		// the keys with the highest estimates and their estimates, with the plugin and data key separated by a new line
+		private final Map<String, Long> topKeys = new HashMap<>();
+		private long minimum = 0;
+		
+		private void record(final String pluginKey, final String dataKey, final long amount) {
+			final String key = pluginKey + "\n" + dataKey;
+			final long estimate = this.sketch.add(key.hashCode(), amount);
+			synchronized(this) {
+				if(this.topKeys.containsKey(key)) {
+					this.topKeys.put(key, estimate);
+				} else if(this.topKeys.size() < HotKeyTracker.TOP_KEYS) {
+					this.topKeys.put(key, estimate);
+				} else if(estimate > this.minimum) {
+					this.topKeys.values().remove(this.minimum);
+					this.topKeys.put(key, estimate);
+				} else {
+					return;
+				}
+				this.minimum = this.topKeys.values().stream().mapToLong(Long::longValue).min().orElse(0);
+			}
+		}
+		
+		private void decay() {
+			this.sketch.decay();
+			synchronized(this) {
+				this.topKeys.replaceAll((key, estimate) -> estimate >> 1);
+				this.topKeys.values().removeIf(estimate -> estimate == 0);
+				this.minimum = this.topKeys.values().stream().mapToLong(Long::longValue).min().orElse(0);
+			}
+		}
+		
+		private synchronized List<HotKey> getTopKeys(final DataScope scope){
+			final List<HotKey> keys = new ArrayList<>(this.topKeys.size());
+			for(final Map.Entry<String, Long> entry: this.topKeys.entrySet()) {
+				final int separator = entry.getKey().indexOf('\n');
+				keys.add(new HotKey(scope, entry.getKey().substring(0, separator), entry.getKey().substring(separator + 1), entry.getValue()));
+			}
+			keys.sort(Comparator.comparingLong(HotKey::getEstimate).reversed());
+			return keys;
+		}
+		
+	}
+
+}
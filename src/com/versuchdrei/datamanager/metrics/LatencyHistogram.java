@@ -0,0 +1,88 @@
+package com.versuchdrei.datamanager.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of latencies that can be recorded into from any thread without locking.
+ * Every power of two is split into a fixed number of linear buckets, so a percentile read from the histogram
+ * is never off by more than an eighth of its value, no matter how large the latencies get.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+class LatencyHistogram {
+	
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << LatencyHistogram.SUB_BUCKET_BITS;
+	// values below the sub buckets get a bucket each, every higher power of two gets the sub buckets
+	static final int BUCKETS = (64 - LatencyHistogram.SUB_BUCKET_BITS) * LatencyHistogram.SUB_BUCKETS;
+	
+	private final AtomicLongArray counts = new AtomicLongArray(LatencyHistogram.BUCKETS);
+	
+	/**
+	 * @param value the value to find the bucket of, has to be positive
+	 * @return the index of the bucket containing the value
+	 */
+	static int getBucket(final long value) {
+		if(value < LatencyHistogram.SUB_BUCKETS) {
+			return (int) Math.max(value, 0);
+		}
+		
+		final int exponent = 63 - Long.numberOfLeadingZeros(value);
+		final int subBucket = (int) (value >>> (exponent - LatencyHistogram.SUB_BUCKET_BITS)) & (LatencyHistogram.SUB_BUCKETS - 1);
+		return (exponent - LatencyHistogram.SUB_BUCKET_BITS + 1) * LatencyHistogram.SUB_BUCKETS + subBucket;
+	}
+	
+	/**
+	 * @param bucket the index of the bucket
+	 * @return the highest value that falls into the bucket
+	 */
+	static long getUpperBound(final int bucket) {
+		if(bucket < LatencyHistogram.SUB_BUCKETS) {
+			return bucket;
+		}
+		
+		final int exponent = bucket / LatencyHistogram.SUB_BUCKETS + LatencyHistogram.SUB_BUCKET_BITS - 1;
+		final int subBucket = bucket % LatencyHistogram.SUB_BUCKETS;
+		return ((LatencyHistogram.SUB_BUCKETS + subBucket + 1L) << (exponent - LatencyHistogram.SUB_BUCKET_BITS)) - 1;
+	}
+	
+	/**
+	 * returns the value below or at which the given share of the recorded values lie
+	 * @param counts the counts of the buckets, as taken by {@link #snapshot()}
+	 * @param total the sum of the counts
+	 * @param quantile the share of values, between 0 and 1
+	 * @return the upper bound of the bucket containing the quantile, or 0 if nothing was recorded
+	 */
+	static long getQuantile(final long[] counts, final long total, final double quantile) {
+		if(total == 0) {
+			return 0;
+		}
+		
+		final long rank = Math.max(1, (long) Math.ceil(total * quantile));
+		long seen = 0;
+		for(int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if(seen >= rank) {
+				return getUpperBound(i);
+			}
+		}
+		return getUpperBound(counts.length - 1);
+	}
+	
+	void record(final long value) {
+		this.counts.incrementAndGet(getBucket(value));
+	}
+	
+	/**
+	 * copies the counts of all buckets, the histogram never resets so intervals are taken by subtracting two snapshots
+	 * @return the current counts of the buckets
+	 */
+	long[] snapshot() {
+		final long[] snapshot = new long[LatencyHistogram.BUCKETS];
+		for(int i = 0; i < snapshot.length; i++) {
+			snapshot[i] = this.counts.get(i);
+		}
+		return snapshot;
+	}
+
+}
@@ -0,0 +1,141 @@
+package com.versuchdrei.datamanager.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Measures how long the server thread is blocked by calls to the data source, summed up per calling plugin.
+ * Calls taking longer than the budget are logged together with the code that made them,
+ * so plugins that should access their data asynchronously can be found.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class MainThreadMonitor {
+	
+	// the number of calls above the budget that are logged one by one per period, the others are only counted
+	private static final int LOGGED_CALLS = 10;
+	private static final String OWN_PACKAGE = "com.versuchdrei.datamanager.";
+	private static final String[] IGNORED_PACKAGES = {"java.", "javax.", "jdk.", "sun.", "com.sun.proxy."};
+	
+	private final Thread mainThread;
+	private final long budgetNanos;
+	private final Logger logger;
+	private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+	private final AtomicInteger loggedCalls = new AtomicInteger();
+	private volatile List<CallerBlocking> latest = Collections.emptyList();
+	
+	/**
+	 * @param mainThread the thread the server runs on
+	 * @param budgetMillis the duration in milliseconds a single call may block the server thread without being logged
+	 * @param logger the logger to write the calls exceeding the budget to
+	 */
+	public MainThreadMonitor(final Thread mainThread, final long budgetMillis, final Logger logger) {
+		this.mainThread = mainThread;
+		this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+		this.logger = logger;
+	}
+	
+	/**
+	 * @return true if the current thread is the server thread, otherwise false
+	 */
+	public boolean isMainThread() {
+		return Thread.currentThread() == this.mainThread;
+	}
+	
+	/**
+	 * records a call made on the server thread
+	 * @param pluginKey the plugin key of the call, or null if it does not take one
+	 * @param operation the name of the called method
+	 * @param nanos the time the call took in nanoseconds
+	 */
+	public void record(final String pluginKey, final String operation, final long nanos) {
+		final String caller = pluginKey == null ? "" : pluginKey;
+		Recorder recorder = this.recorders.get(caller);
+		if(recorder == null) {
+			recorder = this.recorders.computeIfAbsent(caller, key -> new Recorder());
+		}
+		recorder.calls.increment();
+		recorder.nanos.add(nanos);
+		if(nanos <= this.budgetNanos) {
+			return;
+		}
+		
+		recorder.overBudget.increment();
+		// the stack is only inspected for the slow calls, as it is expensive
+		if(this.loggedCalls.incrementAndGet() <= MainThreadMonitor.LOGGED_CALLS) {
+			this.logger.warning(String.format(Locale.ROOT, "%s of %s blocked the server thread for %.1fms, called from %s", operation, 
+					pluginKey == null ? "no plugin" : pluginKey, nanos / 1e6, findCallingCode()));
+		}
+	}
+	
+	/**
+	 * ends the current period, the blocking time of every caller during it is kept until the next period ends
+	 */
+	public synchronized void rollPeriod() {
+		final List<CallerBlocking> blocking = new ArrayList<>();
+		for(final Map.Entry<String, Recorder> entry: this.recorders.entrySet()) {
+			final Recorder recorder = entry.getValue();
+			final long calls = recorder.calls.sumThenReset();
+			final long nanos = recorder.nanos.sumThenReset();
+			final long overBudget = recorder.overBudget.sumThenReset();
+			if(calls > 0) {
+				blocking.add(new CallerBlocking(entry.getKey().isEmpty() ? null : entry.getKey(), calls, nanos, overBudget));
+			}
+		}
+		
+		final int skipped = this.loggedCalls.getAndSet(0) - MainThreadMonitor.LOGGED_CALLS;
+		if(skipped > 0) {
+			this.logger.warning(skipped + " more calls blocked the server thread longer than the budget, see /datamanager blocking");
+		}
+		
+		blocking.sort(Comparator.comparingLong(CallerBlocking::getNanos).reversed());
+		this.latest = Collections.unmodifiableList(blocking);
+	}
+	
+	/**
+	 * @return the blocking time of every caller during the last period, the callers blocking the longest first
+	 */
+	public List<CallerBlocking> getLatest(){
+		return this.latest;
+	}
+	
+	private static String findCallingCode() {
+		for(final StackTraceElement element: Thread.currentThread().getStackTrace()) {
+			if(!isInternal(element.getClassName())) {
+				return element.getClassName() + "." + element.getMethodName() + ":" + element.getLineNumber();
+			}
+		}
+		return "unknown code";
+	}
+	
+	private static boolean isInternal(final String className) {
+		// the proxies are generated into the package of the interface or into one of the jdk
+		if(className.startsWith(MainThreadMonitor.OWN_PACKAGE) || className.contains("$Proxy")) {
+			return true;
+		}
+		for(final String ignored: MainThreadMonitor.IGNORED_PACKAGES) {
+			if(className.startsWith(ignored)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	private static class Recorder {
+		
+		private final LongAdder calls = new LongAdder();
+		private final LongAdder nanos = new LongAdder();
+		private final LongAdder overBudget = new LongAdder();
+		
+	}
+
+}
@@ -0,0 +1,116 @@
+package com.versuchdrei.datamanager.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the latencies of all calls to the data source by the kind of operation.
+ * Recording never locks, the recorded values are turned into statistics once per interval,
+ * which keep describing the last full interval until the next one ends.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class Metrics {
+	
+	private final Map<OperationKey, Recorder> recorders = new ConcurrentHashMap<>();
+	private volatile List<OperationStats> latest = Collections.emptyList();
+	// only accessed while rolling the interval
+	private long intervalStart = System.nanoTime();
+	
+	/**
+	 * records a call
+	 * @param key the kind of operation that was called
+	 * @param nanos the time the call took in nanoseconds
+	 * @param failed true if the call threw an exception, otherwise false
+	 */
+	public void record(final OperationKey key, final long nanos, final boolean failed) {
+		Recorder recorder = this.recorders.get(key);
+		if(recorder == null) {
+			recorder = this.recorders.computeIfAbsent(key, newKey -> new Recorder());
+		}
+		
+		recorder.histogram.record(nanos);
+		recorder.nanos.add(nanos);
+		if(failed) {
+			recorder.errors.increment();
+		}
+	}
+	
+	/**
+	 * ends the current interval and computes the statistics of every kind of operation that was called during it
+	 */
+	public synchronized void rollInterval() {
+		final long now = System.nanoTime();
+		final double seconds = Math.max(now - this.intervalStart, 1) / 1e9;
+		this.intervalStart = now;
+		
+		final List<OperationStats> stats = new ArrayList<>();
+		for(final Map.Entry<OperationKey, Recorder> entry: this.recorders.entrySet()) {
+			final Recorder recorder = entry.getValue();
+			final long[] counts = recorder.histogram.snapshot();
+			final long errors = recorder.errors.sum();
+			
+			final long[] interval = new long[counts.length];
+			long total = 0;
+			int highest = -1;
+			for(int i = 0; i < counts.length; i++) {
+				interval[i] = counts[i] - recorder.previous[i];
+				total += interval[i];
+				if(interval[i] > 0) {
+					highest = i;
+				}
+			}
+			final long intervalErrors = errors - recorder.previousErrors;
+			recorder.previous = counts;
+			recorder.previousErrors = errors;
+			if(total == 0) {
+				continue;
+			}
+			
+			stats.add(new OperationStats(entry.getKey(), total, intervalErrors, total / seconds, 
+					LatencyHistogram.getQuantile(interval, total, 0.5), 
+					LatencyHistogram.getQuantile(interval, total, 0.99), 
+					LatencyHistogram.getQuantile(interval, total, 0.999), 
+					LatencyHistogram.getUpperBound(highest)));
+		}
+		
+		stats.sort(Comparator.comparingLong(OperationStats::getCount).reversed());
+		this.latest = Collections.unmodifiableList(stats);
+	}
+	
+	/**
+	 * @return the counts of all operations since the metrics were created
+	 */
+	List<OperationTotals> getTotals(){
+		final List<OperationTotals> totals = new ArrayList<>();
+		for(final Map.Entry<OperationKey, Recorder> entry: this.recorders.entrySet()) {
+			final Recorder recorder = entry.getValue();
+			totals.add(new OperationTotals(entry.getKey(), recorder.histogram.snapshot(), recorder.nanos.sum(), recorder.errors.sum()));
+		}
+		return totals;
+	}
+	
+	/**
+	 * @return the statistics of all operations called during the last interval, the most frequent first
+	 */
+	public List<OperationStats> getLatest(){
+		return this.latest;
+	}
+	
+	private static class Recorder {
+		
+		private final LatencyHistogram histogram = new LatencyHistogram();
+		private final LongAdder errors = new LongAdder();
+		private final LongAdder nanos = new LongAdder();
+		// the counts at the end of the last interval
+		private long[] previous = new long[LatencyHistogram.BUCKETS];
+		private long previousErrors = 0;
+		
+	}
+
+}
@@ -0,0 +1,92 @@
+package com.versuchdrei.datamanager.metrics;
+
+import java.util.Objects;
+
+import com.versuchdrei.datamanager.datasource.DataScope;
+
+/**
+ * identifies the calls that are measured together, which are the calls of the same method of the data source
+ * on the same scope, type of value and plugin
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class OperationKey {
+	
+	private final String operation;
+	private final DataScope scope;
+	private final String valueType;
+	private final String pluginKey;
+	
+	/**
+	 * @param operation the name of the called method
+	 * @param scope the scope of the accessed value, or null if the method does not access a single value
+	 * @param valueType the simple name of the type of the accessed value, or null if the method does not access a single value
+	 * @param pluginKey the key of the calling plugin, or null if the method does not take one
+	 */
+	public OperationKey(final String operation, final DataScope scope, final String valueType, final String pluginKey) {
+		this.operation = operation;
+		this.scope = scope;
+		this.valueType = valueType;
+		this.pluginKey = pluginKey;
+	}
+	
+	public String getOperation() {
+		return this.operation;
+	}
+	
+	/**
+	 * @return the scope of the accessed value, or null if the method does not access a single value
+	 */
+	public DataScope getScope() {
+		return this.scope;
+	}
+	
+	/**
+	 * @return the simple name of the type of the accessed value, or null if the method does not access a single value
+	 */
+	public String getValueType() {
+		return this.valueType;
+	}
+	
+	/**
+	 * @return the key of the calling plugin, or null if the method does not take one
+	 */
+	public String getPluginKey() {
+		return this.pluginKey;
+	}
+	
+	@Override
+	public boolean equals(final Object object) {
+		if(this == object) {
+			return true;
+		}
+		if(!(object instanceof OperationKey)) {
+			return false;
+		}
+		
+		final OperationKey other = (OperationKey) object;
+		return this.operation.equals(other.operation) && this.scope == other.scope 
+				&& Objects.equals(this.valueType, other.valueType) && Objects.equals(this.pluginKey, other.pluginKey);
+	}
+	
+	@Override
+	public int hashCode() {
+		return Objects.hash(this.operation, this.scope, this.valueType, this.pluginKey);
+	}
+	
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder(this.operation);
+		if(this.scope != null) {
+			builder.append(' ').append(this.scope.name().toLowerCase());
+		}
+		if(this.valueType != null) {
+			builder.append(' ').append(this.valueType);
+		}
+		if(this.pluginKey != null) {
+			builder.append(" [").append(this.pluginKey).append(']');
+		}
+		return builder.toString();
+	}
+
+}
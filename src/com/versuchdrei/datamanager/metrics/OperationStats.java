@@ -0,0 +1,75 @@
+package com.versuchdrei.datamanager.metrics;
+
+/**
+ * the latencies and throughput of one kind of operation during one interval, all latencies are in nanoseconds
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class OperationStats {
+	
+	private final OperationKey key;
+	private final long count;
+	private final long errors;
+	private final double throughput;
+	private final long p50;
+	private final long p99;
+	private final long p999;
+	private final long max;
+	
+	OperationStats(final OperationKey key, final long count, final long errors, final double throughput, 
+			final long p50, final long p99, final long p999, final long max) {
+		this.key = key;
+		this.count = count;
+		this.errors = errors;
+		this.throughput = throughput;
+		this.p50 = p50;
+		this.p99 = p99;
+		this.p999 = p999;
+		this.max = max;
+	}
+	
+	public OperationKey getKey() {
+		return this.key;
+	}
+	
+	/**
+	 * @return the number of calls during the interval
+	 */
+	public long getCount() {
+		return this.count;
+	}
+	
+	/**
+	 * @return the number of calls during the interval that threw an exception
+	 */
+	public long getErrors() {
+		return this.errors;
+	}
+	
+	/**
+	 * @return the number of calls per second during the interval
+	 */
+	public double getThroughput() {
+		return this.throughput;
+	}
+	
+	public long getP50() {
+		return this.p50;
+	}
+	
+	public long getP99() {
+		return this.p99;
+	}
+	
+	public long getP999() {
+		return this.p999;
+	}
+	
+	/**
+	 * @return the highest latency during the interval, rounded up to the bucket of the histogram it fell into
+	 */
+	public long getMax() {
+		return this.max;
+	}
+
+}
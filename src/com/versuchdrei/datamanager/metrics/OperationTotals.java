@@ -0,0 +1,44 @@
+package com.versuchdrei.datamanager.metrics;
+
+/**
+ * the counts of one kind of operation since the metrics were created
+ * @author VersuchDrei
+ * @version 1.0
+ */
+class OperationTotals {
+	
+	private final OperationKey key;
+	private final long[] counts;
+	private final long nanos;
+	private final long errors;
+	
+	OperationTotals(final OperationKey key, final long[] counts, final long nanos, final long errors) {
+		this.key = key;
+		this.counts = counts;
+		this.nanos = nanos;
+		this.errors = errors;
+	}
+	
+	OperationKey getKey() {
+		return this.key;
+	}
+	
+	/**
+	 * @return the number of calls in every bucket of the latency histogram
+	 */
+	long[] getCounts() {
+		return this.counts;
+	}
+	
+	/**
+	 * @return the summed up latency of all calls in nanoseconds
+	 */
+	long getNanos() {
+		return this.nanos;
+	}
+	
+	long getErrors() {
+		return this.errors;
+	}
+
+}
@@ -0,0 +1,164 @@
+package com.versuchdrei.datamanager.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.versuchdrei.datamanager.datasource.StorageUsage;
+
+/**
+ * Attributes the traffic and the stored data of the data source to the plugins using it.
+ * The traffic is counted on every call. The stored data is counted by a recount of the whole backend 
+ * and changed by the writes that tell how much data they changed, until the next recount replaces the drift of the approximated changes.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class PluginAccounting {
+	
+	private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+	private volatile Map<String, StorageUsage> storage = Collections.emptyMap();
+	private volatile long recountTime = 0;
+	// the rates per second of the last period by plugin, reads first
+	private volatile Map<String, double[]> rates = Collections.emptyMap();
+	// only accessed while rolling the period
+	private long periodStart = System.nanoTime();
+	
+	/**
+	 * records a call that read data
+	 * @param pluginKey the plugin key of the call
+	 * @param nanos the time the call took in nanoseconds
+	 */
+	public void recordRead(final String pluginKey, final long nanos) {
+		final Counter counter = getCounter(pluginKey);
+		counter.reads.increment();
+		counter.nanos.add(nanos);
+	}
+	
+	/**
+	 * records a call that changed data
+	 * @param pluginKey the plugin key of the call
+	 * @param nanos the time the call took in nanoseconds
+	 * @param bytes the approximate size of the written keys and values
+	 * @param delete true if the call removed data, otherwise false
+	 */
+	public void recordWrite(final String pluginKey, final long nanos, final long bytes, final boolean delete) {
+		final Counter counter = getCounter(pluginKey);
+		counter.writes.increment();
+		counter.nanos.add(nanos);
+		counter.bytes.add(bytes);
+		if(delete) {
+			counter.deletes.increment();
+		}
+	}
+	
+	private Counter getCounter(final String pluginKey) {
+		final Counter counter = this.counters.get(pluginKey);
+		return counter == null ? this.counters.computeIfAbsent(pluginKey, newKey -> new Counter()) : counter;
+	}
+	
+	/**
+	 * records a change of the stored data of a plugin
+	 * @param pluginKey the plugin key of the call
+	 * @param entries the number of added entries, negative if entries were removed
+	 * @param bytes the approximate size of the added data, negative if data was removed
+	 */
+	public void recordStored(final String pluginKey, final long entries, final long bytes) {
+		final Counter counter = getCounter(pluginKey);
+		counter.storedEntries.add(entries);
+		counter.storedBytes.add(bytes);
+	}
+	
+	/**
+	 * replaces the stored data of all plugins with the result of a recount, the changes recorded so far are part of it
+	 * @param storage the stored data by plugin
+	 */
+	public void setStorage(final Map<String, StorageUsage> storage) {
+		for(final Counter counter: this.counters.values()) {
+			counter.storedEntries.reset();
+			counter.storedBytes.reset();
+		}
+		this.storage = Collections.unmodifiableMap(new HashMap<>(storage));
+		this.recountTime = System.currentTimeMillis();
+	}
+	
+	/**
+	 * @return the time of the last recount in milliseconds since the epoch, or 0 if there was none yet
+	 */
+	public long getRecountTime() {
+		return this.recountTime;
+	}
+	
+	/**
+	 * ends the current period and computes the rates of every plugin during it
+	 */
+	public synchronized void rollPeriod() {
+		final long now = System.nanoTime();
+		final double seconds = Math.max(now - this.periodStart, 1) / 1e9;
+		this.periodStart = now;
+		
+		final Map<String, double[]> rates = new HashMap<>();
+		for(final Map.Entry<String, Counter> entry: this.counters.entrySet()) {
+			final Counter counter = entry.getValue();
+			final long reads = counter.reads.sum();
+			final long writes = counter.writes.sum();
+			rates.put(entry.getKey(), new double[] {(reads - counter.previousReads) / seconds, (writes - counter.previousWrites) / seconds});
+			counter.previousReads = reads;
+			counter.previousWrites = writes;
+		}
+		this.rates = rates;
+	}
+	
+	/**
+	 * @return the usage of every plugin that was called or has stored data, the one with the most stored bytes first
+	 */
+	public List<PluginUsage> getUsage(){
+		final Map<String, StorageUsage> storage = this.storage;
+		final boolean counted = this.recountTime != 0;
+		final Map<String, double[]> rates = this.rates;
+		final Set<String> pluginKeys = new HashSet<>(this.counters.keySet());
+		pluginKeys.addAll(storage.keySet());
+		
+		final List<PluginUsage> usage = new ArrayList<>(pluginKeys.size());
+		for(final String pluginKey: pluginKeys) {
+			final Counter counter = this.counters.get(pluginKey);
+			final double[] rate = rates.getOrDefault(pluginKey, new double[2]);
+			if(counter == null) {
+				usage.add(new PluginUsage(pluginKey, 0, 0, 0, 0, 0, 0, 0, storage.get(pluginKey)));
+			} else {
+				// the changes only mean something on top of a recount
+				final StorageUsage stored = counted ? storage.getOrDefault(pluginKey, new StorageUsage(0, 0))
+						.plus(new StorageUsage(counter.storedEntries.sum(), counter.storedBytes.sum())) : null;
+				usage.add(new PluginUsage(pluginKey, counter.reads.sum(), counter.writes.sum(), counter.deletes.sum(), counter.bytes.sum(), 
+						counter.nanos.sum(), rate[0], rate[1], stored));
+			}
+		}
+		
+		usage.sort(Comparator.comparingLong((PluginUsage pluginUsage) -> pluginUsage.getStorage().map(StorageUsage::getBytes).orElse(0L)).reversed()
+				.thenComparing(Comparator.comparingLong(PluginUsage::getNanos).reversed()));
+		return usage;
+	}
+	
+	private static class Counter {
+		
+		private final LongAdder reads = new LongAdder();
+		private final LongAdder writes = new LongAdder();
+		private final LongAdder deletes = new LongAdder();
+		private final LongAdder bytes = new LongAdder();
+		private final LongAdder nanos = new LongAdder();
+		// the changes of the stored data since the last recount
+		private final LongAdder storedEntries = new LongAdder();
+		private final LongAdder storedBytes = new LongAdder();
+		// the counts at the end of the last period
+		private long previousReads = 0;
+		private long previousWrites = 0;
+		
+	}
+
+}
@@ -0,0 +1,94 @@
+package com.versuchdrei.datamanager.metrics;
+
+import java.util.Optional;
+
+import com.versuchdrei.datamanager.datasource.StorageUsage;
+
+/**
+ * the traffic and the stored data of one plugin, all counts are since the accounting was created
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class PluginUsage {
+	
+	private final String pluginKey;
+	private final long reads;
+	private final long writes;
+	private final long deletes;
+	private final long bytesWritten;
+	private final long nanos;
+	private final double readRate;
+	private final double writeRate;
+	private final StorageUsage storage;
+	
+	PluginUsage(final String pluginKey, final long reads, final long writes, final long deletes, final long bytesWritten, final long nanos, 
+			final double readRate, final double writeRate, final StorageUsage storage) {
+		this.pluginKey = pluginKey;
+		this.reads = reads;
+		this.writes = writes;
+		this.deletes = deletes;
+		this.bytesWritten = bytesWritten;
+		this.nanos = nanos;
+		this.readRate = readRate;
+		this.writeRate = writeRate;
+		this.storage = storage;
+	}
+	
+	public String getPluginKey() {
+		return this.pluginKey;
+	}
+	
+	public long getReads() {
+		return this.reads;
+	}
+	
+	/**
+	 * @return the number of writes, including the deletes
+	 */
+	public long getWrites() {
+		return this.writes;
+	}
+	
+	/**
+	 * @return the number of writes that removed data, like deleted groups or values set to null
+	 */
+	public long getDeletes() {
+		return this.deletes;
+	}
+	
+	/**
+	 * @return the approximate size of all written keys and values
+	 */
+	public long getBytesWritten() {
+		return this.bytesWritten;
+	}
+	
+	/**
+	 * @return the summed up time all reads and writes took in nanoseconds
+	 */
+	public long getNanos() {
+		return this.nanos;
+	}
+	
+	/**
+	 * @return the reads per second during the last period
+	 */
+	public double getReadRate() {
+		return this.readRate;
+	}
+	
+	/**
+	 * @return the writes per second during the last period
+	 */
+	public double getWriteRate() {
+		return this.writeRate;
+	}
+	
+	/**
+	 * @return the data stored by the plugin, or an empty optional if it was not counted yet
+	 */
+	public Optional<StorageUsage> getStorage(){
+		return Optional.ofNullable(this.storage);
+	}
+
+}
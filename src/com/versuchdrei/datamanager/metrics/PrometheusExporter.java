@@ -0,0 +1,335 @@
+package com.versuchdrei.datamanager.metrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.versuchdrei.datamanager.datasource.DataScope;
+import com.versuchdrei.datamanager.datasource.database.StatementLog;
+import com.versuchdrei.datamanager.datasource.database.StatementShape;
+
+/**
+ * Publishes the metrics of the data manager in the text format scraped by Prometheus, 
+ * either on an http endpoint only reachable from the same machine or by rewriting a file.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class PrometheusExporter {
+	
+	private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+	private static final String PATH = "/metrics";
+	private static final String PREFIX = "datamanager_";
+	// the upper bounds of the exported latency buckets in seconds, the histogram of the metrics is far finer and merged into these
+	private static final String[] BUCKETS = {"0.0001", "0.00025", "0.0005", "0.001", "0.0025", "0.005", "0.01", "0.025", "0.05", "0.1", "0.25", "0.5", "1", "2.5", "5"};
+	
+	private final Metrics metrics;
+	private final TraceCounters counters;
+	private final StatementLog statementLog;
+	private final HotKeyTracker hotKeys;
+	private final PluginAccounting accounting;
+	private final List<Gauge> gauges = new CopyOnWriteArrayList<>();
+	private final long[] bucketBounds = new long[PrometheusExporter.BUCKETS.length];
+	private HttpServer server;
+	
+	/**
+	 * @param metrics the latencies of the calls to the data source, or null if they are not measured
+	 * @param counters the counted storage work of the backends
+	 * @param statementLog the statements of a database backend, or null if the backend is no database
+	 * @param hotKeys the most accessed keys, or null if they are not tracked
+	 * @param accounting the traffic and stored data by plugin, or null if it is not accounted
+	 */
+	public PrometheusExporter(final Metrics metrics, final TraceCounters counters, final StatementLog statementLog, final HotKeyTracker hotKeys, 
+			final PluginAccounting accounting) {
+		this.metrics = metrics;
+		this.counters = counters;
+		this.statementLog = statementLog;
+		this.hotKeys = hotKeys;
+		this.accounting = accounting;
+		for(int i = 0; i < this.bucketBounds.length; i++) {
+			this.bucketBounds[i] = (long) (Double.parseDouble(PrometheusExporter.BUCKETS[i]) * 1e9);
+		}
+	}
+	
+	/**
+	 * adds a value that is read whenever the metrics are exported
+	 * @param name the name of the metric without the prefix of the data manager
+	 * @param help the description of the metric
+	 * @param value the supplier of the current value
+	 */
+	public void addGauge(final String name, final String help, final DoubleSupplier value) {
+		this.gauges.add(new Gauge(PrometheusExporter.PREFIX + name, help, value));
+	}
+	
+	/**
+	 * starts serving the metrics on the loopback address
+	 * @param port the port to listen on
+	 * @return true if the server was started, otherwise false
+	 */
+	public boolean startServer(final int port) {
+		try {
+			this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+		} catch (final IOException e) {
+			e.printStackTrace();
+			return false;
+		}
+		
+		this.server.createContext(PrometheusExporter.PATH, this::handle);
+		this.server.start();
+		return true;
+	}
+	
+	/**
+	 * replaces the file with the current metrics, readers never see a partly written file
+	 * @param file the file to write to
+	 * @return true if the file was written, otherwise false
+	 */
+	public boolean writeFile(final File file) {
+		final Path target = file.toPath().toAbsolutePath();
+		final Path temporary = target.resolveSibling(file.getName() + ".tmp");
+		try {
+			Files.createDirectories(target.getParent());
+			Files.write(temporary, format().getBytes(StandardCharsets.UTF_8));
+			try {
+				Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (final AtomicMoveNotSupportedException e) {
+				Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+			return true;
+		} catch (final IOException e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+	
+	/**
+	 * stops the server if it was started
+	 */
+	public void close() {
+		if(this.server != null) {
+			this.server.stop(0);
+			this.server = null;
+		}
+	}
+	
+	/**
+	 * @return all metrics in the text format of Prometheus
+	 */
+	public String format() {
+		final StringBuilder builder = new StringBuilder();
+		if(this.metrics != null) {
+			formatOperations(builder);
+		}
+		
+		writeHeader(builder, "cache_requests_total", "Reads checked against a cache of the data manager.", "counter");
+		for(final Map.Entry<String, LongAdder[]> entry: this.counters.getCacheAccesses().entrySet()) {
+			final String cache = "cache=\"" + escape(entry.getKey()) + "\"";
+			writeSample(builder, "cache_requests_total", cache + ",result=\"hit\"", entry.getValue()[0].sum());
+			writeSample(builder, "cache_requests_total", cache + ",result=\"miss\"", entry.getValue()[1].sum());
+		}
+		writeCounter(builder, "cache_syncs_total", "Reads of the changes other servers made.", this.counters.getCacheSyncs());
+		writeCounter(builder, "cache_synced_changes_total", "Changes of other servers read into the cache.", this.counters.getSyncedChanges());
+		writeCounter(builder, "file_saves_total", "Data files written by the yaml backends.", this.counters.getFileSaves());
+		writeCounter(builder, "file_save_seconds_total", "Time spent writing data files.", this.counters.getFileSaveNanos() / 1e9);
+		writeCounter(builder, "file_written_bytes_total", "Size of all written data files.", this.counters.getBytesWritten());
+		
+		if(this.statementLog != null) {
+			formatStatements(builder);
+		}
+		if(this.hotKeys != null) {
+			formatHotKeys(builder);
+		}
+		if(this.accounting != null) {
+			formatPlugins(builder);
+		}
+		
+		for(final Gauge gauge: this.gauges) {
+			builder.append("# HELP ").append(gauge.name).append(' ').append(gauge.help).append('\n');
+			builder.append("# TYPE ").append(gauge.name).append(" gauge\n");
+			builder.append(gauge.name).append(' ').append(formatValue(gauge.value.getAsDouble())).append('\n');
+		}
+		return builder.toString();
+	}
+	
+	private void formatOperations(final StringBuilder builder) {
+		final List<OperationTotals> totals = this.metrics.getTotals();
+		writeHeader(builder, "operation_duration_seconds", "Latency of the calls to the data source.", "histogram");
+		for(final OperationTotals entry: totals) {
+			final String labels = formatLabels(entry.getKey());
+			final long[] buckets = new long[this.bucketBounds.length];
+			long count = 0;
+			final long[] counts = entry.getCounts();
+			for(int i = 0; i < counts.length; i++) {
+				if(counts[i] == 0) {
+					continue;
+				}
+				count += counts[i];
+				// a bucket of the histogram is counted in the first exported bucket it lies in completely
+				final long upperBound = LatencyHistogram.getUpperBound(i);
+				for(int j = 0; j < buckets.length; j++) {
+					if(upperBound <= this.bucketBounds[j]) {
+						buckets[j] += counts[i];
+						break;
+					}
+				}
+			}
+			
+			long cumulative = 0;
+			for(int j = 0; j < buckets.length; j++) {
+				cumulative += buckets[j];
+				writeSample(builder, "operation_duration_seconds_bucket", labels + ",le=\"" + PrometheusExporter.BUCKETS[j] + "\"", cumulative);
+			}
+			writeSample(builder, "operation_duration_seconds_bucket", labels + ",le=\"+Inf\"", count);
+			writeSample(builder, "operation_duration_seconds_sum", labels, entry.getNanos() / 1e9);
+			writeSample(builder, "operation_duration_seconds_count", labels, count);
+		}
+		
+		writeHeader(builder, "operation_errors_total", "Calls to the data source that threw an exception.", "counter");
+		for(final OperationTotals entry: totals) {
+			writeSample(builder, "operation_errors_total", formatLabels(entry.getKey()), entry.getErrors());
+		}
+	}
+	
+	private void formatStatements(final StringBuilder builder) {
+		final List<StatementShape> shapes = this.statementLog.getShapes();
+		writeHeader(builder, "statements_total", "Statements executed by the database backend.", "counter");
+		for(final StatementShape shape: shapes) {
+			writeSample(builder, "statements_total", formatLabels(shape), shape.getCount());
+		}
+		writeHeader(builder, "statement_seconds_total", "Time spent executing statements.", "counter");
+		for(final StatementShape shape: shapes) {
+			writeSample(builder, "statement_seconds_total", formatLabels(shape), shape.getTotalNanos() / 1e9);
+		}
+		writeHeader(builder, "statement_max_seconds", "The longest execution of a statement.", "gauge");
+		for(final StatementShape shape: shapes) {
+			writeSample(builder, "statement_max_seconds", formatLabels(shape), shape.getMaxNanos() / 1e9);
+		}
+	}
+	
+	private void formatHotKeys(final StringBuilder builder) {
+		writeHeader(builder, "hot_key_accesses", "Estimated recent accesses of the most accessed keys, halved every minute.", "gauge");
+		for(final DataScope scope: DataScope.values()) {
+			for(final HotKey key: this.hotKeys.getTopKeys(scope)) {
+				writeSample(builder, "hot_key_accesses", "scope=\"" + scope.name().toLowerCase() + "\",plugin=\"" + escape(key.getPluginKey()) 
+						+ "\",key=\"" + escape(key.getDataKey()) + "\"", key.getEstimate());
+			}
+		}
+	}
+	
+	private void formatPlugins(final StringBuilder builder) {
+		final List<PluginUsage> usage = this.accounting.getUsage();
+		writeHeader(builder, "plugin_reads_total", "Calls of a plugin that read data.", "counter");
+		for(final PluginUsage entry: usage) {
+			writeSample(builder, "plugin_reads_total", formatLabels(entry), entry.getReads());
+		}
+		writeHeader(builder, "plugin_writes_total", "Calls of a plugin that changed data.", "counter");
+		for(final PluginUsage entry: usage) {
+			writeSample(builder, "plugin_writes_total", formatLabels(entry), entry.getWrites());
+		}
+		writeHeader(builder, "plugin_deletes_total", "Calls of a plugin that removed data.", "counter");
+		for(final PluginUsage entry: usage) {
+			writeSample(builder, "plugin_deletes_total", formatLabels(entry), entry.getDeletes());
+		}
+		writeHeader(builder, "plugin_written_bytes_total", "Approximate size of the keys and values written by a plugin.", "counter");
+		for(final PluginUsage entry: usage) {
+			writeSample(builder, "plugin_written_bytes_total", formatLabels(entry), entry.getBytesWritten());
+		}
+		writeHeader(builder, "plugin_seconds_total", "Time spent in the calls of a plugin.", "counter");
+		for(final PluginUsage entry: usage) {
+			writeSample(builder, "plugin_seconds_total", formatLabels(entry), entry.getNanos() / 1e9);
+		}
+		writeHeader(builder, "plugin_stored_entries", "Values stored by a plugin.", "gauge");
+		for(final PluginUsage entry: usage) {
+			if(entry.getStorage().isPresent()) {
+				writeSample(builder, "plugin_stored_entries", formatLabels(entry), entry.getStorage().get().getEntries());
+			}
+		}
+		writeHeader(builder, "plugin_stored_bytes", "Approximate size of the data stored by a plugin.", "gauge");
+		for(final PluginUsage entry: usage) {
+			if(entry.getStorage().isPresent()) {
+				writeSample(builder, "plugin_stored_bytes", formatLabels(entry), entry.getStorage().get().getBytes());
+			}
+		}
+	}
+	
+	private void handle(final HttpExchange exchange) throws IOException {
+		final byte[] body = format().getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", PrometheusExporter.CONTENT_TYPE);
+		exchange.sendResponseHeaders(200, body.length);
+		try (OutputStream output = exchange.getResponseBody()){
+			output.write(body);
+		}
+	}
+	
+	private static String formatLabels(final OperationKey key) {
+		return "operation=\"" + escape(key.getOperation()) 
+				+ "\",scope=\"" + (key.getScope() == null ? "" : key.getScope().name().toLowerCase()) 
+				+ "\",type=\"" + escape(key.getValueType()) 
+				+ "\",plugin=\"" + escape(key.getPluginKey()) + "\"";
+	}
+	
+	private static String formatLabels(final StatementShape shape) {
+		return "table=\"" + escape(shape.getTable()) + "\",operation=\"" + escape(shape.getOperation()) + "\"";
+	}
+	
+	private static String formatLabels(final PluginUsage usage) {
+		return "plugin=\"" + escape(usage.getPluginKey()) + "\"";
+	}
+	
+	private static String escape(final String value) {
+		if(value == null) {
+			return "";
+		}
+		return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+	}
+	
+	private static void writeHeader(final StringBuilder builder, final String name, final String help, final String type) {
+		builder.append("# HELP ").append(PrometheusExporter.PREFIX).append(name).append(' ').append(help).append('\n');
+		builder.append("# TYPE ").append(PrometheusExporter.PREFIX).append(name).append(' ').append(type).append('\n');
+	}
+	
+	private static void writeSample(final StringBuilder builder, final String name, final String labels, final double value) {
+		builder.append(PrometheusExporter.PREFIX).append(name).append('{').append(labels).append("} ").append(formatValue(value)).append('\n');
+	}
+	
+	private static void writeCounter(final StringBuilder builder, final String name, final String help, final double value) {
+		writeHeader(builder, name, help, "counter");
+		builder.append(PrometheusExporter.PREFIX).append(name).append(' ').append(formatValue(value)).append('\n');
+	}
+	
+	private static String formatValue(final double value) {
+		// whole numbers are written without a fraction, which keeps counters readable
+		if(value == Math.rint(value) && Math.abs(value) < 1e15) {
+			return Long.toString((long) value);
+		}
+		return Double.toString(value);
+	}
+	
+	private static class Gauge {
+		
+		private final String name;
+		private final String help;
+		private final DoubleSupplier value;
+		
+		private Gauge(final String name, final String help, final DoubleSupplier value) {
+			this.name = name;
+			this.help = help;
+			this.value = value;
+		}
+		
+	}
+
+}
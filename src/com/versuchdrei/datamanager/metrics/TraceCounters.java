@@ -0,0 +1,81 @@
+package com.versuchdrei.datamanager.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.versuchdrei.datamanager.trace.Span;
+import com.versuchdrei.datamanager.trace.Tracer;
+
+/**
+ * counts the storage work reported by the backends, so it can be exported
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class TraceCounters implements Tracer {
+	
+	private final LongAdder fileSaves = new LongAdder();
+	private final LongAdder fileSaveNanos = new LongAdder();
+	private final LongAdder bytesWritten = new LongAdder();
+	private final LongAdder cacheSyncs = new LongAdder();
+	private final LongAdder syncedChanges = new LongAdder();
+	// the hits and misses of every cache by its name
+	private final Map<String, LongAdder[]> cacheAccesses = new ConcurrentHashMap<>();
+	
+	@Override
+	public Span beginFileSave(final String file) {
+		final long start = System.nanoTime();
+		return bytes -> {
+			this.fileSaves.increment();
+			this.fileSaveNanos.add(System.nanoTime() - start);
+			this.bytesWritten.add(bytes);
+		};
+	}
+	
+	@Override
+	public Span beginCacheSync() {
+		return changes -> {
+			this.cacheSyncs.increment();
+			this.syncedChanges.add(changes);
+		};
+	}
+	
+	@Override
+	public void statementExecuted(final String table, final String operation, final int keys, final long rows, final long nanos) {
+		// the statement log already keeps the statements by their shape
+	}
+	
+	@Override
+	public void cacheAccessed(final String cache, final boolean hit) {
+		LongAdder[] accesses = this.cacheAccesses.get(cache);
+		if(accesses == null) {
+			accesses = this.cacheAccesses.computeIfAbsent(cache, key -> new LongAdder[] {new LongAdder(), new LongAdder()});
+		}
+		accesses[hit ? 0 : 1].increment();
+	}
+	
+	long getFileSaves() {
+		return this.fileSaves.sum();
+	}
+	
+	long getFileSaveNanos() {
+		return this.fileSaveNanos.sum();
+	}
+	
+	long getBytesWritten() {
+		return this.bytesWritten.sum();
+	}
+	
+	long getCacheSyncs() {
+		return this.cacheSyncs.sum();
+	}
+	
+	long getSyncedChanges() {
+		return this.syncedChanges.sum();
+	}
+	
+	Map<String, LongAdder[]> getCacheAccesses(){
+		return this.cacheAccesses;
+	}
+
+}
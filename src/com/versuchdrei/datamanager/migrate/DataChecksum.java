@@ -0,0 +1,146 @@
+package com.versuchdrei.datamanager.migrate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import com.versuchdrei.datamanager.datasource.DataScope;
+import com.versuchdrei.datamanager.datasource.DataVisitor;
+
+/**
+ * Counts the visited data and sums up a hash of every value, group and membership.
+ * The sums do not depend on the order the data is visited in,
+ * so two backends holding the same data have the same checksum no matter how they store it.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class DataChecksum implements DataVisitor {
+
+	private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+	private static final char SEPARATOR = '\u0000';
+
+	private final long[] valueCounts = new long[DataScope.values().length];
+	private final long[] valueSums = new long[DataScope.values().length];
+	private long groups = 0;
+	private long groupSum = 0;
+	private long memberships = 0;
+	private long membershipSum = 0;
+
+	@Override
+	public void visitGlobal(final String pluginKey, final String dataKey, final Object value) {
+		addValue(DataScope.GLOBAL, value, pluginKey, dataKey);
+	}
+
+	@Override
+	public void visitPlayer(final UUID uuid, final String pluginKey, final String dataKey, final Object value) {
+		addValue(DataScope.PLAYER, value, uuid.toString(), pluginKey, dataKey);
+	}
+
+	@Override
+	public void visitGroup(final String group, final String pluginKey, final List<UUID> members) {
+		this.groups++;
+		this.groupSum += hash(group, pluginKey);
+		for(final UUID member: members) {
+			this.memberships++;
+			this.membershipSum += hash(group, pluginKey, member.toString());
+		}
+	}
+
+	@Override
+	public void visitGroupValue(final String group, final String pluginKey, final String dataKey, final Object value) {
+		addValue(DataScope.GROUP, value, group, pluginKey, dataKey);
+	}
+
+	@Override
+	public void visitMemberValue(final UUID uuid, final String group, final String pluginKey, final String dataKey, final Object value) {
+		addValue(DataScope.MEMBER, value, uuid.toString(), group, pluginKey, dataKey);
+	}
+
+	@Override
+	public boolean finish() {
+		return true;
+	}
+
+	/**
+	 * @return the total number of values, groups and memberships
+	 */
+	public long getTotal() {
+		long total = this.groups + this.memberships;
+		for(final long count: this.valueCounts) {
+			total += count;
+		}
+		return total;
+	}
+
+	/**
+	 * compares the counts and checksums with the ones of other data
+	 * @param other the checksum of the other data
+	 * @return a description of every part that differs, empty if both hold the same data
+	 */
+	public List<String> compare(final DataChecksum other) {
+		final List<String> differences = new ArrayList<>();
+		for(final DataScope scope: DataScope.values()) {
+			final int index = scope.ordinal();
+			compare(differences, scope.name().toLowerCase(Locale.ROOT) + " values", this.valueCounts[index], this.valueSums[index],
+					other.valueCounts[index], other.valueSums[index]);
+		}
+		compare(differences, "groups", this.groups, this.groupSum, other.groups, other.groupSum);
+		compare(differences, "memberships", this.memberships, this.membershipSum, other.memberships, other.membershipSum);
+		return differences;
+	}
+
+	private static void compare(final List<String> differences, final String part, final long count, final long sum, final long otherCount, final long otherSum) {
+		if(count != otherCount) {
+			differences.add(String.format(Locale.ROOT, "%s: %d against %d", part, count, otherCount));
+		} else if(sum != otherSum) {
+			differences.add(String.format(Locale.ROOT, "%s: %d each, but the checksums %016x and %016x differ", part, count, sum, otherSum));
+		}
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		for(final DataScope scope: DataScope.values()) {
+			builder.append(scope.name().toLowerCase(Locale.ROOT)).append(" values: ").append(this.valueCounts[scope.ordinal()]).append(", ");
+		}
+		return builder.append("groups: ").append(this.groups).append(", memberships: ").append(this.memberships).toString();
+	}
+
+	private void addValue(final DataScope scope, final Object value, final String... keys) {
+		final String[] parts = new String[keys.length + 1];
+		System.arraycopy(keys, 0, parts, 0, keys.length);
+		parts[keys.length] = formatValue(value);
+		this.valueCounts[scope.ordinal()]++;
+		this.valueSums[scope.ordinal()] += hash(parts);
+	}
+
+	private static String formatValue(final Object value) {
+		// the type is part of the value, so an int and a long of the same number differ
+		if(value instanceof List) {
+			final StringBuilder builder = new StringBuilder("List");
+			for(final Object element: (List<?>) value) {
+				builder.append(DataChecksum.SEPARATOR).append(element);
+			}
+			return builder.toString();
+		}
+		return value.getClass().getSimpleName() + DataChecksum.SEPARATOR + value;
+	}
+
+	private static long hash(final String... parts) {
+		// FNV-1a over all characters, the separator keeps the parts from running into each other
+		long hash = DataChecksum.FNV_OFFSET;
+		for(final String part: parts) {
+			for(int i = 0; i < part.length(); i++) {
+				hash = (hash ^ part.charAt(i)) * DataChecksum.FNV_PRIME;
+			}
+			hash = (hash ^ DataChecksum.SEPARATOR) * DataChecksum.FNV_PRIME;
+		}
+		// a final mix spreads every character over all bits, so sums of hashes of similar strings do not cancel out easily
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		return hash ^ (hash >>> 33);
+	}
+
+}
@@ -0,0 +1,392 @@
+package com.versuchdrei.datamanager.migrate;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import com.versuchdrei.datamanager.DataSystem;
+import com.versuchdrei.datamanager.datasource.DataSource;
+import com.versuchdrei.datamanager.datasource.DataVisitor;
+import com.versuchdrei.datamanager.datasource.config.MultiYamlDataSource;
+import com.versuchdrei.datamanager.datasource.config.SingleYamlDataSource;
+import com.versuchdrei.datamanager.datasource.database.DBDataSource;
+import com.versuchdrei.datamanager.datasource.database.DBSchema;
+import com.versuchdrei.datamanager.datasource.database.MySQLDataSource;
+import com.versuchdrei.datamanager.datasource.database.SQLiteDataSource;
+
+/**
+ * Copies all data from one backend to another while the server is stopped.
+ * The data is read by one thread and handed to a number of workers through bounded queues,
+ * every worker writes with the bulk writer of the target, which batches database writes into transactions and saves every file once.
+ * The data of a player always goes to the same worker, so the files of a player are never written by two workers.
+ * Afterwards the target is read back and its counts and checksums are compared to the ones of the source.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class Migrator {
+
+	private static final String USAGE = "usage: <source data system> <target data system> [workers], data systems are single_yaml, multi_yaml, sqlite and mysql, "
+			+ "the settings of the database are read from the config of the plugin";
+	private static final String CONFIG_FILE_NAME = "config.yml";
+	// the keys of the plugin config, as the server is stopped the config is read directly
+	private static final String CONFIG_KEY_SCHEMA = "schema";
+	private static final String CONFIG_KEY_HOSTNAME = "hostname";
+	private static final String CONFIG_KEY_PORT = "port";
+	private static final String CONFIG_KEY_DATABASE = "database";
+	private static final String CONFIG_KEY_USER = "user";
+	private static final String CONFIG_KEY_PASSWORD = "password";
+	private static final String CONFIG_KEY_FETCH_SIZE = "fetchSize";
+	private static final int DEFAULT_FETCH_SIZE = 1000;
+	private static final int DEFAULT_WORKERS = 4;
+	// the number of visits that may wait for every worker, which bounds the memory if the target is slower than the source
+	private static final int QUEUE_CAPACITY = 10000;
+	private static final long PROGRESS_INTERVAL = 5000;
+	private static final Consumer<DataVisitor> END = visitor -> {};
+
+	private final Backend source;
+	private final Backend target;
+	private final int workers;
+	private final AtomicLong written = new AtomicLong();
+	private long read = 0;
+	private long start;
+	private long nextProgress;
+
+	/**
+	 * a backend to read from or write to, the database backends are created when they are first used
+	 */
+	private static class Backend {
+
+		private final DataSystem system;
+		private final FileConfiguration config;
+		private final List<DBDataSource> databases = new ArrayList<>();
+
+		private Backend(final DataSystem system, final FileConfiguration config) {
+			this.system = system;
+			this.config = config;
+		}
+
+		private void export(final DataVisitor visitor) {
+			switch(this.system) {
+			case SINGLE_YAML:
+				SingleYamlDataSource.export(visitor);
+				break;
+			case MULTI_YAML:
+				MultiYamlDataSource.export(visitor);
+				break;
+			case SQLITE:
+			case MYSQL:
+			default:
+				getDatabase(0).export(visitor);
+				break;
+			}
+		}
+
+		private int getMaxWorkers(final int workers) {
+			// all data of the single yaml backend is saved in one file, which only one writer can produce
+			return this.system == DataSystem.SINGLE_YAML ? 1 : workers;
+		}
+
+		private DataVisitor createWriter(final int worker) {
+			switch(this.system) {
+			case SINGLE_YAML:
+				return SingleYamlDataSource.createWriter();
+			case MULTI_YAML:
+				return MultiYamlDataSource.createWriter();
+			case SQLITE:
+				// SQLite lets only one connection write at a time, so all workers share one
+				return getDatabase(0).createWriter();
+			case MYSQL:
+			default:
+				// every worker gets its own connection, so their transactions run in parallel
+				return getDatabase(worker).createWriter();
+			}
+		}
+
+		private DBDataSource getDatabase(final int index) {
+			while(this.databases.size() <= index) {
+				final DBDataSource database = createDatabase();
+				database.setup();
+				this.databases.add(database);
+			}
+			return this.databases.get(index);
+		}
+
+		private DBDataSource createDatabase() {
+			// configs written by older versions do not contain the schema yet
+			final DBSchema schema = DBSchema.valueOf(this.config.getString(Migrator.CONFIG_KEY_SCHEMA, DBSchema.SPLIT.name()).toUpperCase());
+			if(this.system == DataSystem.SQLITE) {
+				return new SQLiteDataSource(schema, null);
+			}
+
+			return new MySQLDataSource(this.config.getString(Migrator.CONFIG_KEY_HOSTNAME), this.config.getString(Migrator.CONFIG_KEY_PORT),
+					this.config.getString(Migrator.CONFIG_KEY_DATABASE), this.config.getString(Migrator.CONFIG_KEY_USER),
+					this.config.getString(Migrator.CONFIG_KEY_PASSWORD), schema, this.config.getInt(Migrator.CONFIG_KEY_FETCH_SIZE, Migrator.DEFAULT_FETCH_SIZE), null);
+		}
+
+		private void close() {
+			this.databases.forEach(DBDataSource::close);
+			this.databases.clear();
+		}
+
+	}
+
+	/**
+	 * Hands the data read from the source to the queues of the workers and sums it up for the verification.
+	 * Groups are written before any data is handed to the workers, since the values of groups and members require their group to exist.
+	 */
+	private class Distributor implements DataVisitor {
+
+		private final List<BlockingQueue<Consumer<DataVisitor>>> queues;
+		private final DataChecksum checksum = new DataChecksum();
+		// the writer of the groups visited since the last value, null if there are none
+		private DataVisitor groupWriter;
+		private boolean success = true;
+
+		private Distributor(final List<BlockingQueue<Consumer<DataVisitor>>> queues) {
+			this.queues = queues;
+		}
+
+		@Override
+		public void visitGlobal(final String pluginKey, final String dataKey, final Object value) {
+			this.checksum.visitGlobal(pluginKey, dataKey, value);
+			// there is only one global file, so all global data goes to the same worker
+			hand(0, visitor -> visitor.visitGlobal(pluginKey, dataKey, value));
+		}
+
+		@Override
+		public void visitPlayer(final UUID uuid, final String pluginKey, final String dataKey, final Object value) {
+			this.checksum.visitPlayer(uuid, pluginKey, dataKey, value);
+			hand(uuid.hashCode(), visitor -> visitor.visitPlayer(uuid, pluginKey, dataKey, value));
+		}
+
+		@Override
+		public void visitGroup(final String group, final String pluginKey, final List<UUID> members) {
+			this.checksum.visitGroup(group, pluginKey, members);
+			if(this.queues.size() == 1) {
+				// a single worker writes everything in order anyway
+				hand(0, visitor -> visitor.visitGroup(group, pluginKey, members));
+				return;
+			}
+
+			if(this.groupWriter == null) {
+				this.groupWriter = Migrator.this.target.createWriter(0);
+			}
+			this.groupWriter.visitGroup(group, pluginKey, members);
+			Migrator.this.written.incrementAndGet();
+			countRead();
+		}
+
+		@Override
+		public void visitGroupValue(final String group, final String pluginKey, final String dataKey, final Object value) {
+			this.checksum.visitGroupValue(group, pluginKey, dataKey, value);
+			hand(31 * pluginKey.hashCode() + group.hashCode(), visitor -> visitor.visitGroupValue(group, pluginKey, dataKey, value));
+		}
+
+		@Override
+		public void visitMemberValue(final UUID uuid, final String group, final String pluginKey, final String dataKey, final Object value) {
+			this.checksum.visitMemberValue(uuid, group, pluginKey, dataKey, value);
+			hand(uuid.hashCode(), visitor -> visitor.visitMemberValue(uuid, group, pluginKey, dataKey, value));
+		}
+
+		@Override
+		public boolean finish() {
+			finishGroups();
+			for(final BlockingQueue<Consumer<DataVisitor>> queue: this.queues) {
+				put(queue, Migrator.END);
+			}
+			return this.success;
+		}
+
+		private void hand(final int hash, final Consumer<DataVisitor> visit) {
+			finishGroups();
+			put(this.queues.get(Math.floorMod(hash, this.queues.size())), visit);
+			countRead();
+		}
+
+		private void finishGroups() {
+			if(this.groupWriter != null) {
+				this.success &= this.groupWriter.finish();
+				this.groupWriter = null;
+			}
+		}
+
+		private void put(final BlockingQueue<Consumer<DataVisitor>> queue, final Consumer<DataVisitor> visit) {
+			try {
+				queue.put(visit);
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("interrupted while handing data to the workers", e);
+			}
+		}
+
+		private void countRead() {
+			Migrator.this.read++;
+			if(System.currentTimeMillis() >= Migrator.this.nextProgress) {
+				printProgress();
+			}
+		}
+
+	}
+
+	/**
+	 * @param source the backend to copy the data from
+	 * @param target the backend to copy the data to, which should not hold any data yet
+	 * @param config the config of the plugin holding the settings of the database backends
+	 * @param workers the number of threads writing to the target
+	 */
+	public Migrator(final DataSystem source, final DataSystem target, final FileConfiguration config, final int workers) {
+		this.source = new Backend(source, config);
+		this.target = new Backend(target, config);
+		this.workers = this.target.getMaxWorkers(Math.max(1, workers));
+	}
+
+	/**
+	 * copies all data and verifies it afterwards, printing the progress
+	 * @return true if all data was copied and the target holds the same data as the source, otherwise false
+	 * @throws InterruptedException if the thread is interrupted while waiting for the workers
+	 */
+	public boolean migrate() throws InterruptedException {
+		final List<BlockingQueue<Consumer<DataVisitor>>> queues = new ArrayList<>();
+		final List<DataVisitor> writers = new ArrayList<>();
+		for(int i = 0; i < this.workers; i++) {
+			queues.add(new ArrayBlockingQueue<>(Migrator.QUEUE_CAPACITY));
+			writers.add(this.target.createWriter(i));
+		}
+
+		final ExecutorService executor = Executors.newFixedThreadPool(this.workers);
+		try {
+			final List<Future<Boolean>> results = new ArrayList<>();
+			for(int i = 0; i < this.workers; i++) {
+				final BlockingQueue<Consumer<DataVisitor>> queue = queues.get(i);
+				final DataVisitor writer = writers.get(i);
+				results.add(executor.submit(() -> work(queue, writer, this.written)));
+			}
+
+			this.start = System.currentTimeMillis();
+			this.nextProgress = this.start + Migrator.PROGRESS_INTERVAL;
+			final Distributor distributor = new Distributor(queues);
+			this.source.export(distributor);
+			boolean success = distributor.finish();
+			System.out.println(String.format(Locale.ROOT, "read %d entries from %s, waiting for the workers", this.read, this.source.system));
+			for(final Future<Boolean> result: results) {
+				success &= await(result);
+			}
+			printProgress();
+
+			final DataChecksum copied = new DataChecksum();
+			this.target.export(copied);
+			final List<String> differences = distributor.checksum.compare(copied);
+			System.out.println("source: " + distributor.checksum);
+			System.out.println("target: " + copied);
+			if(!differences.isEmpty()) {
+				System.out.println("the target does not hold the same data as the source:");
+				differences.forEach(difference -> System.out.println("  " + difference));
+				return false;
+			}
+
+			System.out.println(success ? "verified all data, the counts and checksums match" : "the counts and checksums match, but some writes failed");
+			return success;
+		} finally {
+			executor.shutdownNow();
+			this.source.close();
+			this.target.close();
+		}
+	}
+
+	private static boolean work(final BlockingQueue<Consumer<DataVisitor>> queue, final DataVisitor writer, final AtomicLong written) throws InterruptedException {
+		boolean failed = false;
+		while(true) {
+			final Consumer<DataVisitor> visit = queue.take();
+			if(visit == Migrator.END) {
+				return writer.finish() && !failed;
+			}
+			// after a failure the queue is still drained, so the reading thread is not blocked forever
+			if(failed) {
+				continue;
+			}
+
+			try {
+				visit.accept(writer);
+				written.incrementAndGet();
+			} catch (final RuntimeException e) {
+				e.printStackTrace();
+				failed = true;
+			}
+		}
+	}
+
+	private boolean await(final Future<Boolean> result) throws InterruptedException {
+		while(true) {
+			try {
+				return result.get(Migrator.PROGRESS_INTERVAL, TimeUnit.MILLISECONDS);
+			} catch (final TimeoutException e) {
+				printProgress();
+			} catch (final ExecutionException e) {
+				e.getCause().printStackTrace();
+				return false;
+			}
+		}
+	}
+
+	private void printProgress() {
+		final long now = System.currentTimeMillis();
+		final long copied = this.written.get();
+		final double seconds = Math.max(1, now - this.start) / 1000.0;
+		System.out.println(String.format(Locale.ROOT, "read %d, written %d entries in %.0fs, %.0f entries per second", this.read, copied, seconds, copied / seconds));
+		this.nextProgress = now + Migrator.PROGRESS_INTERVAL;
+	}
+
+	/**
+	 * copies all data from one backend to another, the server has to be stopped and the working directory has to be the one of the server
+	 * @param args the source and target data system and optionally the number of workers
+	 */
+	public static void main(final String[] args) {
+		if(args.length < 2) {
+			System.err.println(Migrator.USAGE);
+			return;
+		}
+
+		final DataSystem source;
+		final DataSystem target;
+		final int workers;
+		try {
+			source = DataSystem.valueOf(args[0].toUpperCase());
+			target = DataSystem.valueOf(args[1].toUpperCase());
+			workers = args.length > 2 ? Integer.parseInt(args[2]) : Migrator.DEFAULT_WORKERS;
+		} catch (final IllegalArgumentException e) {
+			System.err.println(Migrator.USAGE);
+			return;
+		}
+		if(source == target) {
+			System.err.println("the source and the target have to be different data systems");
+			return;
+		}
+
+		final FileConfiguration config = YamlConfiguration.loadConfiguration(new File(DataSource.FILE_PATH + Migrator.CONFIG_FILE_NAME));
+		final Migrator migrator = new Migrator(source, target, config, workers);
+		System.out.println(String.format(Locale.ROOT, "migrating from %s to %s with %d workers", source, target, migrator.workers));
+		try {
+			if(!migrator.migrate()) {
+				System.exit(1);
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
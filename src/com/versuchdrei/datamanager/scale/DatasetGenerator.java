@@ -0,0 +1,186 @@
+package com.versuchdrei.datamanager.scale;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import com.versuchdrei.datamanager.datasource.DataVisitor;
+
+/**
+ * Generates a dataset of the given shape and passes it to a visitor, which can write it into any backend. 
+ * The data is visited player by player, so writers that keep one player at a time in memory can write datasets of any size.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class DatasetGenerator {
+	
+	private static final String PLUGIN_KEY = "plugin";
+	private static final String GROUP = "group";
+	private static final String DATA_KEY = "key";
+	private static final String GROUP_NAME_KEY = "name";
+	private static final String GROUP_LEVEL_KEY = "level";
+	private static final String MEMBER_RANK_KEY = "rank";
+	private static final int MIN_STRING_LENGTH = 8;
+	private static final int MAX_STRING_LENGTH = 32;
+	private static final char[] CHARACTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789".toCharArray();
+	// longs are generated as timestamps before this time, which is a typical use of them
+	private static final long BASE_TIME = 1600000000000L;
+	// the number of value types the keys of a player rotate through
+	private static final int TYPES = 7;
+	
+	private final DatasetSpec spec;
+	private final List<UUID> players = new ArrayList<>();
+	private final List<String> pluginKeys = new ArrayList<>();
+	// the members of every group by plugin and group, and the groups of every player as the indices of the plugin and the group
+	private final List<List<List<UUID>>> members = new ArrayList<>();
+	private final Map<UUID, List<int[]>> memberships = new HashMap<>();
+	
+	/**
+	 * picks the players and the members of the groups, the values are only generated when visited
+	 * @param spec the shape of the dataset
+	 */
+	public DatasetGenerator(final DatasetSpec spec) {
+		this.spec = spec;
+		final Random random = new Random(spec.getSeed());
+		for(int i = 0; i < spec.getPlayers(); i++) {
+			this.players.add(new UUID(random.nextLong(), random.nextLong()));
+		}
+		
+		for(int plugin = 0; plugin < spec.getPlugins(); plugin++) {
+			this.pluginKeys.add(DatasetGenerator.PLUGIN_KEY + plugin);
+			final List<List<UUID>> groups = new ArrayList<>();
+			for(int group = 0; group < spec.getGroupsPerPlugin(); group++) {
+				final Set<UUID> groupMembers = new LinkedHashSet<>();
+				while(groupMembers.size() < spec.getGroupSize()) {
+					groupMembers.add(this.players.get(random.nextInt(this.players.size())));
+				}
+				for(final UUID member: groupMembers) {
+					this.memberships.computeIfAbsent(member, key -> new ArrayList<>()).add(new int[] {plugin, group});
+				}
+				groups.add(new ArrayList<>(groupMembers));
+			}
+			this.members.add(groups);
+		}
+	}
+	
+	/**
+	 * @return the players of the dataset in the order they are visited
+	 */
+	public List<UUID> getPlayers(){
+		return this.players;
+	}
+	
+	/**
+	 * @return the keys of the plugins of the dataset
+	 */
+	public List<String> getPluginKeys(){
+		return this.pluginKeys;
+	}
+	
+	/**
+	 * @param key the index of the value among the values of a player or the global values of a plugin
+	 * @return the data key of the value
+	 */
+	public static String getDataKey(final int key) {
+		return DatasetGenerator.DATA_KEY + key;
+	}
+	
+	/**
+	 * @param key the index of the value among the values of a player or the global values of a plugin
+	 * @return the type of the value, which is String, Integer, Long, Double, Float, Boolean or List
+	 */
+	public static Class<?> getValueType(final int key) {
+		switch(key % DatasetGenerator.TYPES) {
+		case 0:
+			return String.class;
+		case 1:
+			return Integer.class;
+		case 2:
+			return Long.class;
+		case 3:
+			return Double.class;
+		case 4:
+			return Float.class;
+		case 5:
+			return Boolean.class;
+		default:
+			return List.class;
+		}
+	}
+	
+	/**
+	 * visits the whole dataset, the global data first, then the groups and their members and then every player with the data of its memberships, 
+	 * but does not finish the visitor
+	 * @param visitor the visitor to pass the data to
+	 */
+	public void generate(final DataVisitor visitor) {
+		// the values use their own random, so every call generates the same values
+		final Random random = new Random(~this.spec.getSeed());
+		for(final String pluginKey: this.pluginKeys) {
+			for(int key = 0; key < this.spec.getKeysPerPlayer(); key++) {
+				visitor.visitGlobal(pluginKey, getDataKey(key), createValue(random, key));
+			}
+		}
+		
+		for(int plugin = 0; plugin < this.pluginKeys.size(); plugin++) {
+			final String pluginKey = this.pluginKeys.get(plugin);
+			final List<List<UUID>> groups = this.members.get(plugin);
+			for(int group = 0; group < groups.size(); group++) {
+				final String groupName = DatasetGenerator.GROUP + group;
+				visitor.visitGroup(groupName, pluginKey, groups.get(group));
+				visitor.visitGroupValue(groupName, pluginKey, DatasetGenerator.GROUP_NAME_KEY, createString(random));
+				visitor.visitGroupValue(groupName, pluginKey, DatasetGenerator.GROUP_LEVEL_KEY, random.nextInt(100));
+			}
+		}
+		
+		for(final UUID uuid: this.players) {
+			for(final String pluginKey: this.pluginKeys) {
+				for(int key = 0; key < this.spec.getKeysPerPlayer(); key++) {
+					visitor.visitPlayer(uuid, pluginKey, getDataKey(key), createValue(random, key));
+				}
+			}
+			for(final int[] membership: this.memberships.getOrDefault(uuid, new ArrayList<>())) {
+				visitor.visitMemberValue(uuid, DatasetGenerator.GROUP + membership[1], this.pluginKeys.get(membership[0]), 
+						DatasetGenerator.MEMBER_RANK_KEY, random.nextInt(10));
+			}
+		}
+	}
+	
+	private Object createValue(final Random random, final int key) {
+		switch(key % DatasetGenerator.TYPES) {
+		case 0:
+			return createString(random);
+		case 1:
+			return random.nextInt(1000000);
+		case 2:
+			return DatasetGenerator.BASE_TIME - random.nextInt(Integer.MAX_VALUE);
+		case 3:
+			return random.nextDouble() * 1000;
+		case 4:
+			return random.nextFloat() * 100;
+		case 5:
+			return random.nextBoolean();
+		default:
+			final List<String> list = new ArrayList<>();
+			for(int i = 0; i < this.spec.getListSize(); i++) {
+				list.add(createString(random));
+			}
+			return list;
+		}
+	}
+	
+	private static String createString(final Random random) {
+		final int length = DatasetGenerator.MIN_STRING_LENGTH + random.nextInt(DatasetGenerator.MAX_STRING_LENGTH - DatasetGenerator.MIN_STRING_LENGTH + 1);
+		final char[] characters = new char[length];
+		for(int i = 0; i < length; i++) {
+			characters[i] = DatasetGenerator.CHARACTERS[random.nextInt(DatasetGenerator.CHARACTERS.length)];
+		}
+		return new String(characters);
+	}
+
+}
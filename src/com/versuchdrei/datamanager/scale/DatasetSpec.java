@@ -0,0 +1,72 @@
+package com.versuchdrei.datamanager.scale;
+
+/**
+ * the shape of a generated dataset, the same spec always generates the same data
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class DatasetSpec {
+	
+	private final int players;
+	private final int plugins;
+	private final int keysPerPlayer;
+	private final int listSize;
+	private final int groupsPerPlugin;
+	private final int groupSize;
+	private final long seed;
+	
+	/**
+	 * @param players the number of players with data
+	 * @param plugins the number of plugins storing data
+	 * @param keysPerPlayer the number of values every plugin stores for every player and globally, with alternating types
+	 * @param listSize the number of elements of every list value
+	 * @param groupsPerPlugin the number of groups of every plugin
+	 * @param groupSize the number of members of every group, at most the number of players
+	 * @param seed the seed of the random values
+	 */
+	public DatasetSpec(final int players, final int plugins, final int keysPerPlayer, final int listSize, 
+			final int groupsPerPlugin, final int groupSize, final long seed) {
+		this.players = players;
+		this.plugins = plugins;
+		this.keysPerPlayer = keysPerPlayer;
+		this.listSize = listSize;
+		this.groupsPerPlugin = groupsPerPlugin;
+		this.groupSize = Math.min(groupSize, players);
+		this.seed = seed;
+	}
+	
+	public int getPlayers() {
+		return this.players;
+	}
+	
+	public int getPlugins() {
+		return this.plugins;
+	}
+	
+	public int getKeysPerPlayer() {
+		return this.keysPerPlayer;
+	}
+	
+	public int getListSize() {
+		return this.listSize;
+	}
+	
+	public int getGroupsPerPlugin() {
+		return this.groupsPerPlugin;
+	}
+	
+	public int getGroupSize() {
+		return this.groupSize;
+	}
+	
+	public long getSeed() {
+		return this.seed;
+	}
+	
+	@Override
+	public String toString() {
+		return this.players + " players, " + this.plugins + " plugins, " + this.keysPerPlayer + " keys per player, " + this.listSize + " list elements, " 
+				+ this.groupsPerPlugin + " groups per plugin, " + this.groupSize + " members per group";
+	}
+
+}
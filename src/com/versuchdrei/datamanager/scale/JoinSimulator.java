@@ -0,0 +1,315 @@
+package com.versuchdrei.datamanager.scale;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+import com.versuchdrei.datamanager.DataManager;
+import com.versuchdrei.datamanager.datasource.DataScope;
+import com.versuchdrei.datamanager.datasource.DataSource;
+import com.versuchdrei.datamanager.datasource.config.MultiYamlDataSource;
+import com.versuchdrei.datamanager.datasource.proxy.MainThreadProxy;
+import com.versuchdrei.datamanager.metrics.CallerBlocking;
+import com.versuchdrei.datamanager.metrics.MainThreadMonitor;
+import com.versuchdrei.datamanager.metrics.Metrics;
+import com.versuchdrei.datamanager.metrics.OperationKey;
+import com.versuchdrei.datamanager.metrics.OperationStats;
+
+/**
+ * Simulates players joining, playing and quitting on a server without running one. 
+ * A thread standing in for the server thread runs 20 ticks per second, 
+ * in every tick it lets players join and quit and reads and writes their data through the API like plugins would. 
+ * Joining and quitting do what the listeners of the backends do, the time every tick keeps the thread busy shows the impact on the tick rate.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class JoinSimulator {
+	
+	private static final String USAGE = "usage: <players> [backend, of single_yaml, multi_yaml, sqlite and sqlite_consolidated] [join ticks] [stay ticks] [quit ticks] "
+			+ "[join reads per plugin] [reads per player and second] [writes per player and second] [plugins] [keys per player]";
+	private static final String DEFAULT_BACKEND = "multi_yaml";
+	private static final int DEFAULT_JOIN_TICKS = 100;
+	private static final int DEFAULT_STAY_TICKS = 200;
+	private static final int DEFAULT_QUIT_TICKS = 100;
+	private static final int DEFAULT_JOIN_READS = 5;
+	private static final double DEFAULT_READS_PER_SECOND = 1;
+	private static final double DEFAULT_WRITES_PER_SECOND = 0.2;
+	private static final int DEFAULT_PLUGINS = 5;
+	private static final int DEFAULT_KEYS_PER_PLAYER = 14;
+	private static final int LIST_SIZE = 5;
+	private static final int GROUPS_PER_PLUGIN = 10;
+	private static final int GROUP_SIZE = 20;
+	
+	private static final int TICKS_PER_SECOND = 20;
+	private static final long TICK_NANOS = TimeUnit.SECONDS.toNanos(1) / JoinSimulator.TICKS_PER_SECOND;
+	// calls blocking the server thread longer than this are logged with the code that made them
+	private static final long MAIN_THREAD_BUDGET = 5;
+	private static final String WRITE_KEY = "lastTick";
+	private static final String QUIT_KEY = "lastQuit";
+	private static final OperationKey JOIN = new OperationKey("join", DataScope.PLAYER, null, null);
+	private static final OperationKey QUIT = new OperationKey("quit", DataScope.PLAYER, null, null);
+	private static final OperationKey READ = new OperationKey("read", DataScope.PLAYER, null, null);
+	private static final OperationKey WRITE = new OperationKey("write", DataScope.PLAYER, Integer.class.getSimpleName(), null);
+	
+	private final DataSource source;
+	private final List<UUID> players;
+	private final List<String> pluginKeys;
+	private final int keysPerPlayer;
+	private final LoadProfile profile;
+	private final Metrics metrics = new Metrics();
+	private final Random random = new Random(ScaleTest.SEED);
+	private final List<TickStats> phases = new ArrayList<>();
+	
+	// the players that joined and quit so far, players quit in the order they joined
+	private int joined = 0;
+	private int quit = 0;
+	private int tick = 0;
+	// fractions of reads and writes carried over to the next tick
+	private double pendingReads = 0;
+	private double pendingWrites = 0;
+	
+	/**
+	 * @param source the set up data source holding the data of the players, it is used through the API while the simulation runs
+	 * @param players the players to join, they are expected to have values at the keys of the generated datasets
+	 * @param pluginKeys the keys of the plugins accessing the data
+	 * @param keysPerPlayer the number of values every plugin stores for every player
+	 * @param profile the course of the session
+	 */
+	public JoinSimulator(final DataSource source, final List<UUID> players, final List<String> pluginKeys, final int keysPerPlayer, final LoadProfile profile) {
+		this.source = source;
+		this.players = players;
+		this.pluginKeys = pluginKeys;
+		this.keysPerPlayer = keysPerPlayer;
+		this.profile = profile;
+	}
+	
+	/**
+	 * runs the simulation and waits for it to finish, the API must not be used by anything else in the meantime
+	 * @return the measurements of the simulation
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 */
+	public SimulationResult run() throws InterruptedException {
+		final Thread serverThread = new Thread(this::simulate, "Server thread");
+		final MainThreadMonitor monitor = new MainThreadMonitor(serverThread, JoinSimulator.MAIN_THREAD_BUDGET, Logger.getLogger(JoinSimulator.class.getName()));
+		DataManager.setStandaloneSource(new MainThreadProxy(this.source, monitor).create());
+		try {
+			serverThread.start();
+			serverThread.join();
+		} finally {
+			DataManager.setStandaloneSource(null);
+		}
+		
+		this.metrics.rollInterval();
+		monitor.rollPeriod();
+		return new SimulationResult(this.phases, this.metrics.getLatest(), monitor.getLatest());
+	}
+	
+	private void simulate() {
+		long nextTick = System.nanoTime();
+		nextTick = runPhase("join", this.profile.getJoinTicks(), true, false, nextTick);
+		nextTick = runPhase("stay", this.profile.getStayTicks(), false, false, nextTick);
+		runPhase("quit", this.profile.getQuitTicks(), false, true, nextTick);
+	}
+	
+	private long runPhase(final String phase, final int ticks, final boolean joining, final boolean quitting, final long firstTick) {
+		final long[] tickNanos = new long[ticks];
+		long operations = 0;
+		long nextTick = firstTick;
+		final long phaseStart = System.nanoTime();
+		for(int i = 0; i < ticks; i++) {
+			final long start = System.nanoTime();
+			// the players are spread evenly over the ticks of the phase
+			final int target = (int) ((long) (i + 1) * this.players.size() / ticks);
+			while(joining && this.joined < target) {
+				join(this.players.get(this.joined++));
+				operations++;
+			}
+			
+			final int online = this.joined - this.quit;
+			this.pendingReads += online * this.profile.getReadsPerSecond() / JoinSimulator.TICKS_PER_SECOND;
+			for(; this.pendingReads >= 1 && online > 0; this.pendingReads--) {
+				read(getOnlinePlayer(), this.pluginKeys.get(this.random.nextInt(this.pluginKeys.size())), this.random.nextInt(this.keysPerPlayer));
+				operations++;
+			}
+			this.pendingWrites += online * this.profile.getWritesPerSecond() / JoinSimulator.TICKS_PER_SECOND;
+			for(; this.pendingWrites >= 1 && online > 0; this.pendingWrites--) {
+				write(getOnlinePlayer(), this.pluginKeys.get(this.random.nextInt(this.pluginKeys.size())));
+				operations++;
+			}
+			
+			while(quitting && this.quit < target) {
+				quit(this.players.get(this.quit++));
+				operations++;
+			}
+			
+			final long end = System.nanoTime();
+			tickNanos[i] = end - start;
+			this.tick++;
+			// like a server the next tick waits for the rest of the time of the current one, but late ticks are not caught up
+			nextTick = Math.max(nextTick + JoinSimulator.TICK_NANOS, end);
+			for(long wait = nextTick - System.nanoTime(); wait > 0; wait = nextTick - System.nanoTime()) {
+				LockSupport.parkNanos(wait);
+			}
+		}
+		
+		this.phases.add(new TickStats(phase, tickNanos, JoinSimulator.TICK_NANOS, operations, System.nanoTime() - phaseStart));
+		return nextTick;
+	}
+	
+	private UUID getOnlinePlayer() {
+		return this.players.get(this.quit + this.random.nextInt(this.joined - this.quit));
+	}
+	
+	private void join(final UUID uuid) {
+		final long start = System.nanoTime();
+		if(this.source instanceof MultiYamlDataSource) {
+			// the listener of the backend loads the file of the player when they join
+			((MultiYamlDataSource) this.source).loadPlayer(uuid);
+		}
+		// plugins usually load the data of the player when they join
+		boolean failed = false;
+		for(final String pluginKey: this.pluginKeys) {
+			for(int key = 0; key < Math.min(this.profile.getJoinReads(), this.keysPerPlayer); key++) {
+				failed |= !readValue(uuid, pluginKey, key).isPresent();
+			}
+		}
+		this.metrics.record(JoinSimulator.JOIN, System.nanoTime() - start, failed);
+	}
+	
+	private void quit(final UUID uuid) {
+		final long start = System.nanoTime();
+		// plugins usually save the data of the player when they quit
+		boolean failed = false;
+		for(final String pluginKey: this.pluginKeys) {
+			failed |= !DataManager.Players.set(uuid, pluginKey, JoinSimulator.QUIT_KEY, this.tick);
+		}
+		if(this.source instanceof MultiYamlDataSource) {
+			// the listener of the backend saves and unloads the file of the player when they quit
+			((MultiYamlDataSource) this.source).unloadPlayer(uuid);
+		}
+		this.metrics.record(JoinSimulator.QUIT, System.nanoTime() - start, failed);
+	}
+	
+	private void read(final UUID uuid, final String pluginKey, final int key) {
+		final long start = System.nanoTime();
+		final boolean found = readValue(uuid, pluginKey, key).isPresent();
+		this.metrics.record(JoinSimulator.READ, System.nanoTime() - start, !found);
+	}
+	
+	private void write(final UUID uuid, final String pluginKey) {
+		final long start = System.nanoTime();
+		final boolean written = DataManager.Players.set(uuid, pluginKey, JoinSimulator.WRITE_KEY, this.tick);
+		this.metrics.record(JoinSimulator.WRITE, System.nanoTime() - start, !written);
+	}
+	
+	private static Optional<?> readValue(final UUID uuid, final String pluginKey, final int key) {
+		final String dataKey = DatasetGenerator.getDataKey(key);
+		final Class<?> type = DatasetGenerator.getValueType(key);
+		if(type == String.class) {
+			return DataManager.Players.getString(uuid, pluginKey, dataKey);
+		} else if(type == Integer.class) {
+			return DataManager.Players.getInt(uuid, pluginKey, dataKey);
+		} else if(type == Long.class) {
+			return DataManager.Players.getLong(uuid, pluginKey, dataKey);
+		} else if(type == Double.class) {
+			return DataManager.Players.getDouble(uuid, pluginKey, dataKey);
+		} else if(type == Float.class) {
+			return DataManager.Players.getFloat(uuid, pluginKey, dataKey);
+		} else if(type == Boolean.class) {
+			return DataManager.Players.getBoolean(uuid, pluginKey, dataKey);
+		}
+		return DataManager.Players.getList(uuid, pluginKey, dataKey);
+	}
+	
+	/**
+	 * generates a dataset in the data folder of the working directory, simulates a session on it, prints the measurements and deletes the dataset, 
+	 * the yaml backends need the server on the class path and SQLite its driver
+	 * @param args the number of players, the backend and the course of the session
+	 */
+	public static void main(final String[] args) {
+		if(args.length < 1) {
+			System.err.println(JoinSimulator.USAGE);
+			return;
+		}
+		if(new File(DataSource.FILE_PATH).exists()) {
+			System.err.println(DataSource.FILE_PATH + " already exists, run the simulation in an empty directory");
+			return;
+		}
+		
+		final String backend;
+		final DatasetSpec spec;
+		final LoadProfile profile;
+		try {
+			backend = args.length > 1 ? args[1].toLowerCase() : JoinSimulator.DEFAULT_BACKEND;
+			profile = new LoadProfile(ScaleTest.getArgument(args, 2, JoinSimulator.DEFAULT_JOIN_TICKS), 
+					ScaleTest.getArgument(args, 3, JoinSimulator.DEFAULT_STAY_TICKS), 
+					ScaleTest.getArgument(args, 4, JoinSimulator.DEFAULT_QUIT_TICKS), 
+					ScaleTest.getArgument(args, 5, JoinSimulator.DEFAULT_JOIN_READS), 
+					args.length > 6 ? Double.parseDouble(args[6]) : JoinSimulator.DEFAULT_READS_PER_SECOND, 
+					args.length > 7 ? Double.parseDouble(args[7]) : JoinSimulator.DEFAULT_WRITES_PER_SECOND);
+			spec = new DatasetSpec(Integer.parseInt(args[0]), ScaleTest.getArgument(args, 8, JoinSimulator.DEFAULT_PLUGINS), 
+					ScaleTest.getArgument(args, 9, JoinSimulator.DEFAULT_KEYS_PER_PLAYER), JoinSimulator.LIST_SIZE, 
+					JoinSimulator.GROUPS_PER_PLUGIN, JoinSimulator.GROUP_SIZE, ScaleTest.SEED);
+		} catch (final NumberFormatException e) {
+			System.err.println(JoinSimulator.USAGE);
+			return;
+		}
+		
+		try {
+			final DatasetGenerator generator = new DatasetGenerator(spec);
+			if(!ScaleTest.generate(generator, backend)) {
+				System.err.println("the dataset could not be written");
+				return;
+			}
+			
+			final DataSource source = ScaleTest.createDataSource(backend);
+			source.setup();
+			try {
+				System.out.println(backend + ", " + spec);
+				print(new JoinSimulator(source, generator.getPlayers(), generator.getPluginKeys(), spec.getKeysPerPlayer(), profile).run());
+			} finally {
+				source.close();
+			}
+		} catch (final IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			try {
+				ScaleTest.delete();
+			} catch (final IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+	
+	private static void print(final SimulationResult result) {
+		System.out.println("phase: ticks, tps, tick p50, p99, max, overloaded ticks, operations per second");
+		for(final TickStats phase: result.getPhases()) {
+			System.out.println(String.format(Locale.ROOT, "%s: %d, %.1f, %s, %s, %s, %d, %.0f", phase.getPhase(), phase.getTicks(), phase.getTicksPerSecond(), 
+					ScaleTest.formatNanos(phase.getP50()), ScaleTest.formatNanos(phase.getP99()), ScaleTest.formatNanos(phase.getMax()), 
+					phase.getOverloaded(), phase.getThroughput()));
+		}
+		
+		System.out.println("operation: count, failed, p50, p99, max");
+		for(final OperationStats stats: result.getOperations()) {
+			System.out.println(String.format(Locale.ROOT, "%s: %d, %d, %s, %s, %s", stats.getKey().getOperation(), stats.getCount(), stats.getErrors(), 
+					ScaleTest.formatNanos(stats.getP50()), ScaleTest.formatNanos(stats.getP99()), ScaleTest.formatNanos(stats.getMax())));
+		}
+		
+		System.out.println("plugin: calls on the server thread, blocked time, calls over " + JoinSimulator.MAIN_THREAD_BUDGET + "ms");
+		for(final CallerBlocking blocking: result.getBlocking()) {
+			System.out.println(String.format(Locale.ROOT, "%s: %d, %s, %d", blocking.getPluginKey() == null ? "no plugin" : blocking.getPluginKey(), 
+					blocking.getCalls(), ScaleTest.formatNanos(blocking.getNanos()), blocking.getOverBudget()));
+		}
+	}
+
+}
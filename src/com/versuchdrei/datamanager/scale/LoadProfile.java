@@ -0,0 +1,59 @@
+package com.versuchdrei.datamanager.scale;
+
+/**
+ * the course of a simulated session, the players join over the first ticks, stay and quit over the last ticks
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class LoadProfile {
+	
+	private final int joinTicks;
+	private final int stayTicks;
+	private final int quitTicks;
+	private final int joinReads;
+	private final double readsPerSecond;
+	private final double writesPerSecond;
+	
+	/**
+	 * @param joinTicks the number of ticks the players join in, at least one
+	 * @param stayTicks the number of ticks all players stay online
+	 * @param quitTicks the number of ticks the players quit in, at least one
+	 * @param joinReads the number of values every plugin reads of a player when they join
+	 * @param readsPerSecond the number of values read per online player and second
+	 * @param writesPerSecond the number of values written per online player and second
+	 */
+	public LoadProfile(final int joinTicks, final int stayTicks, final int quitTicks, final int joinReads, 
+			final double readsPerSecond, final double writesPerSecond) {
+		this.joinTicks = Math.max(1, joinTicks);
+		this.stayTicks = Math.max(0, stayTicks);
+		this.quitTicks = Math.max(1, quitTicks);
+		this.joinReads = joinReads;
+		this.readsPerSecond = readsPerSecond;
+		this.writesPerSecond = writesPerSecond;
+	}
+	
+	public int getJoinTicks() {
+		return this.joinTicks;
+	}
+	
+	public int getStayTicks() {
+		return this.stayTicks;
+	}
+	
+	public int getQuitTicks() {
+		return this.quitTicks;
+	}
+	
+	public int getJoinReads() {
+		return this.joinReads;
+	}
+	
+	public double getReadsPerSecond() {
+		return this.readsPerSecond;
+	}
+	
+	public double getWritesPerSecond() {
+		return this.writesPerSecond;
+	}
+
+}
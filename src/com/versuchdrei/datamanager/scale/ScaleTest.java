@@ -0,0 +1,286 @@
+package com.versuchdrei.datamanager.scale;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import com.versuchdrei.datamanager.datasource.DataScope;
+import com.versuchdrei.datamanager.datasource.DataSource;
+import com.versuchdrei.datamanager.datasource.DataVisitor;
+import com.versuchdrei.datamanager.datasource.config.MultiYamlDataSource;
+import com.versuchdrei.datamanager.datasource.config.SingleYamlDataSource;
+import com.versuchdrei.datamanager.datasource.database.DBSchema;
+import com.versuchdrei.datamanager.datasource.database.SQLiteDataSource;
+import com.versuchdrei.datamanager.metrics.Metrics;
+import com.versuchdrei.datamanager.metrics.OperationKey;
+import com.versuchdrei.datamanager.metrics.OperationStats;
+
+/**
+ * Measures how the backends behave as the number of players grows. 
+ * For every size and backend a dataset is generated into an empty data folder, 
+ * then the time to load it, the heap it takes, the latency of looking up the groups of a player and the time to save a change are measured. 
+ * It runs outside of a server in the working directory, the yaml backends need the server on the class path and SQLite its driver.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class ScaleTest {
+	
+	private static final String USAGE = "usage: <players, comma separated> [backends, comma separated, of single_yaml, multi_yaml, sqlite and sqlite_consolidated] "
+			+ "[plugins] [keys per player] [list size] [groups per plugin] [group size]";
+	private static final String DEFAULT_BACKENDS = "single_yaml,multi_yaml,sqlite";
+	private static final int DEFAULT_PLUGINS = 5;
+	private static final int DEFAULT_KEYS_PER_PLAYER = 14;
+	private static final int DEFAULT_LIST_SIZE = 5;
+	private static final int DEFAULT_GROUPS_PER_PLUGIN = 100;
+	private static final int DEFAULT_GROUP_SIZE = 20;
+	static final long SEED = 3;
+	private static final String DATABASE_FILE_NAME = "data.db";
+	
+	private static final int LOOKUPS = 1000;
+	private static final int SAVES = 20;
+	private static final String SAVE_KEY = "saved";
+	private static final OperationKey GET_GROUPS = new OperationKey("getGroups", null, null, null);
+	private static final OperationKey SET = new OperationKey("set", DataScope.PLAYER, Integer.class.getSimpleName(), null);
+	
+	private final DatasetSpec spec;
+	private final String backend;
+	
+	/**
+	 * @param spec the shape of the dataset to measure
+	 * @param backend the name of the backend to measure
+	 */
+	public ScaleTest(final DatasetSpec spec, final String backend) {
+		this.spec = spec;
+		this.backend = backend;
+	}
+	
+	/**
+	 * generates the dataset, measures the backend and deletes the dataset again
+	 * @return the measured line, ready to be printed
+	 * @throws IOException if the data folder can not be read or deleted
+	 */
+	public String run() throws IOException {
+		final DatasetGenerator generator = new DatasetGenerator(this.spec);
+		try {
+			final long generateStart = System.nanoTime();
+			if(!generate(generator, this.backend)) {
+				return this.backend + ": the dataset could not be written";
+			}
+			final long generateNanos = System.nanoTime() - generateStart;
+			final long diskBytes = getDiskBytes();
+			
+			final long heapBefore = getUsedHeap();
+			final long loadStart = System.nanoTime();
+			final DataSource source = createDataSource(this.backend);
+			source.setup();
+			final long loadNanos = System.nanoTime() - loadStart;
+			final long heapBytes = getUsedHeap() - heapBefore;
+			
+			final Metrics metrics = new Metrics();
+			final Random random = new Random(ScaleTest.SEED);
+			final List<UUID> players = generator.getPlayers();
+			final List<String> pluginKeys = generator.getPluginKeys();
+			for(int i = 0; i < ScaleTest.LOOKUPS; i++) {
+				final UUID uuid = players.get(random.nextInt(players.size()));
+				final String pluginKey = pluginKeys.get(random.nextInt(pluginKeys.size()));
+				final long start = System.nanoTime();
+				source.getGroups(uuid, pluginKey);
+				metrics.record(ScaleTest.GET_GROUPS, System.nanoTime() - start, false);
+			}
+			
+			for(int i = 0; i < ScaleTest.SAVES; i++) {
+				final UUID uuid = players.get(random.nextInt(players.size()));
+				if(source instanceof MultiYamlDataSource) {
+					// the player has to be online to change their file
+					((MultiYamlDataSource) source).loadPlayer(uuid);
+				}
+				final long start = System.nanoTime();
+				final boolean saved = source.set(uuid, pluginKeys.get(0), ScaleTest.SAVE_KEY, i);
+				metrics.record(ScaleTest.SET, System.nanoTime() - start, !saved);
+				if(source instanceof MultiYamlDataSource) {
+					((MultiYamlDataSource) source).unloadPlayer(uuid);
+				}
+			}
+			
+			final long closeStart = System.nanoTime();
+			source.close();
+			final long closeNanos = System.nanoTime() - closeStart;
+			
+			metrics.rollInterval();
+			final StringBuilder builder = new StringBuilder(String.format(Locale.ROOT, "%s: %d players, %s on disk, generated in %.1fs, loaded in %s, %s heap", 
+					this.backend, this.spec.getPlayers(), formatBytes(diskBytes), generateNanos / 1e9, formatNanos(loadNanos), formatBytes(heapBytes)));
+			for(final OperationStats stats: metrics.getLatest()) {
+				builder.append(String.format(Locale.ROOT, ", %s p50 %s p99 %s max %s", stats.getKey().getOperation(), 
+						formatNanos(stats.getP50()), formatNanos(stats.getP99()), formatNanos(stats.getMax())));
+			}
+			builder.append(", closed in ").append(formatNanos(closeNanos));
+			return builder.toString();
+		} finally {
+			delete();
+		}
+	}
+	
+	/**
+	 * writes the dataset into the data folder in the format of the backend
+	 * @param generator the generator of the dataset
+	 * @param backend the name of the backend
+	 * @return true if the dataset was written, otherwise false
+	 */
+	static boolean generate(final DatasetGenerator generator, final String backend) {
+		switch(backend) {
+		case "single_yaml":
+			return generate(generator, SingleYamlDataSource.createWriter());
+		case "multi_yaml":
+			return generate(generator, MultiYamlDataSource.createWriter());
+		default:
+			final SQLiteDataSource source = (SQLiteDataSource) createDataSource(backend);
+			source.setup();
+			try {
+				return generate(generator, source.createWriter());
+			} finally {
+				source.close();
+			}
+		}
+	}
+	
+	private static boolean generate(final DatasetGenerator generator, final DataVisitor writer) {
+		generator.generate(writer);
+		return writer.finish();
+	}
+	
+	/**
+	 * @param backend the name of the backend
+	 * @return a data source of the backend on the data folder, which is not set up yet
+	 */
+	static DataSource createDataSource(final String backend) {
+		switch(backend) {
+		case "single_yaml":
+			return new SingleYamlDataSource();
+		case "multi_yaml":
+			return new MultiYamlDataSource(null);
+		case "sqlite":
+			return new SQLiteDataSource(new File(DataSource.FILE_PATH + ScaleTest.DATABASE_FILE_NAME), DBSchema.SPLIT);
+		case "sqlite_consolidated":
+			return new SQLiteDataSource(new File(DataSource.FILE_PATH + ScaleTest.DATABASE_FILE_NAME), DBSchema.CONSOLIDATED);
+		default:
+			throw new IllegalArgumentException("unsupported backend " + backend);
+		}
+	}
+	
+	private static long getDiskBytes() throws IOException {
+		try (Stream<Path> walk = Files.walk(Paths.get(DataSource.FILE_PATH))) {
+			return walk.map(Path::toFile).filter(File::isFile).mapToLong(File::length).sum();
+		}
+	}
+	
+	/**
+	 * deletes the data folder with everything in it
+	 * @throws IOException if the folder can not be deleted
+	 */
+	static void delete() throws IOException {
+		final Path folder = Paths.get(DataSource.FILE_PATH);
+		if(!Files.exists(folder)) {
+			return;
+		}
+		
+		// the contents of a folder have to be deleted before the folder
+		try (Stream<Path> walk = Files.walk(folder)) {
+			for(final Path path: (Iterable<Path>) walk.sorted(Comparator.reverseOrder())::iterator) {
+				Files.delete(path);
+			}
+		}
+	}
+	
+	private static long getUsedHeap() {
+		final Runtime runtime = Runtime.getRuntime();
+		// a single collection may leave garbage behind, a few in a row are close enough for a footprint
+		for(int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+	
+	/**
+	 * runs the scale test for every size and backend and prints the results, 
+	 * the data folder in the working directory must not exist, since it is deleted after every run
+	 * @param args the sizes, the backends and the shape of the datasets
+	 */
+	public static void main(final String[] args) {
+		if(args.length < 1) {
+			System.err.println(ScaleTest.USAGE);
+			return;
+		}
+		if(new File(DataSource.FILE_PATH).exists()) {
+			System.err.println(DataSource.FILE_PATH + " already exists, run the scale test in an empty directory");
+			return;
+		}
+		
+		final List<Integer> sizes = new ArrayList<>();
+		final String[] backends;
+		final int plugins;
+		final int keysPerPlayer;
+		final int listSize;
+		final int groupsPerPlugin;
+		final int groupSize;
+		try {
+			for(final String size: args[0].split(",")) {
+				sizes.add(Integer.parseInt(size.trim()));
+			}
+			backends = (args.length > 1 ? args[1] : ScaleTest.DEFAULT_BACKENDS).toLowerCase().split(",");
+			plugins = getArgument(args, 2, ScaleTest.DEFAULT_PLUGINS);
+			keysPerPlayer = getArgument(args, 3, ScaleTest.DEFAULT_KEYS_PER_PLAYER);
+			listSize = getArgument(args, 4, ScaleTest.DEFAULT_LIST_SIZE);
+			groupsPerPlugin = getArgument(args, 5, ScaleTest.DEFAULT_GROUPS_PER_PLUGIN);
+			groupSize = getArgument(args, 6, ScaleTest.DEFAULT_GROUP_SIZE);
+		} catch (final NumberFormatException e) {
+			System.err.println(ScaleTest.USAGE);
+			return;
+		}
+		
+		for(final int size: sizes) {
+			final DatasetSpec spec = new DatasetSpec(size, plugins, keysPerPlayer, listSize, groupsPerPlugin, groupSize, ScaleTest.SEED);
+			System.out.println(spec);
+			for(final String backend: backends) {
+				try {
+					System.out.println(new ScaleTest(spec, backend.trim()).run());
+				} catch (final IOException | IllegalArgumentException e) {
+					e.printStackTrace();
+				}
+			}
+		}
+	}
+	
+	static int getArgument(final String[] args, final int index, final int defaultValue) {
+		return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+	}
+	
+	static String formatBytes(final long bytes) {
+		if(bytes < 1024) {
+			return bytes + "B";
+		} else if(bytes < 1024 * 1024) {
+			return String.format(Locale.ROOT, "%.1fKiB", bytes / 1024.0);
+		} else {
+			return String.format(Locale.ROOT, "%.1fMiB", bytes / (1024.0 * 1024));
+		}
+	}
+	
+	static String formatNanos(final long nanos) {
+		if(nanos < 1000) {
+			return nanos + "ns";
+		} else if(nanos < 1000000) {
+			return String.format(Locale.ROOT, "%.1fus", nanos / 1e3);
+		} else {
+			return String.format(Locale.ROOT, "%.1fms", nanos / 1e6);
+		}
+	}
+
+}
@@ -0,0 +1,46 @@
+package com.versuchdrei.datamanager.scale;
+
+import java.util.List;
+
+import com.versuchdrei.datamanager.metrics.CallerBlocking;
+import com.versuchdrei.datamanager.metrics.OperationStats;
+
+/**
+ * the measurements of a simulated session
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class SimulationResult {
+	
+	private final List<TickStats> phases;
+	private final List<OperationStats> operations;
+	private final List<CallerBlocking> blocking;
+	
+	SimulationResult(final List<TickStats> phases, final List<OperationStats> operations, final List<CallerBlocking> blocking) {
+		this.phases = phases;
+		this.operations = operations;
+		this.blocking = blocking;
+	}
+	
+	/**
+	 * @return the tick times of the joining, staying and quitting phases
+	 */
+	public List<TickStats> getPhases(){
+		return this.phases;
+	}
+	
+	/**
+	 * @return the latencies of the joins, quits, reads and writes
+	 */
+	public List<OperationStats> getOperations(){
+		return this.operations;
+	}
+	
+	/**
+	 * @return the time every plugin blocked the server thread with calls to the data source
+	 */
+	public List<CallerBlocking> getBlocking(){
+		return this.blocking;
+	}
+
+}
@@ -0,0 +1,111 @@
+package com.versuchdrei.datamanager.scale;
+
+import java.util.Arrays;
+
+/**
+ * the time the simulated server thread spent in the ticks of a phase of a simulation
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class TickStats {
+	
+	private final String phase;
+	private final int ticks;
+	private final long p50;
+	private final long p99;
+	private final long max;
+	private final int overloaded;
+	private final long operations;
+	private final long nanos;
+	
+	/**
+	 * @param phase the name of the phase
+	 * @param tickNanos the time every tick of the phase took in nanoseconds, will be sorted
+	 * @param tickBudget the time in nanoseconds a tick may take without delaying the next one
+	 * @param operations the number of operations run during the phase
+	 * @param nanos the wall time the phase took in nanoseconds
+	 */
+	TickStats(final String phase, final long[] tickNanos, final long tickBudget, final long operations, final long nanos) {
+		Arrays.sort(tickNanos);
+		this.phase = phase;
+		this.ticks = tickNanos.length;
+		this.p50 = getPercentile(tickNanos, 0.5);
+		this.p99 = getPercentile(tickNanos, 0.99);
+		this.max = tickNanos.length == 0 ? 0 : tickNanos[tickNanos.length - 1];
+		this.overloaded = (int) Arrays.stream(tickNanos).filter(tick -> tick > tickBudget).count();
+		this.operations = operations;
+		this.nanos = nanos;
+	}
+	
+	private static long getPercentile(final long[] sorted, final double percentile) {
+		if(sorted.length == 0) {
+			return 0;
+		}
+		return sorted[Math.min(sorted.length - 1, (int) (sorted.length * percentile))];
+	}
+	
+	public String getPhase() {
+		return this.phase;
+	}
+	
+	public int getTicks() {
+		return this.ticks;
+	}
+	
+	/**
+	 * @return the median time of a tick in nanoseconds
+	 */
+	public long getP50() {
+		return this.p50;
+	}
+	
+	/**
+	 * @return the 99th percentile of the time of a tick in nanoseconds
+	 */
+	public long getP99() {
+		return this.p99;
+	}
+	
+	/**
+	 * @return the time of the longest tick in nanoseconds
+	 */
+	public long getMax() {
+		return this.max;
+	}
+	
+	/**
+	 * @return the number of ticks that took longer than a tick may, which delays the following ticks on a server
+	 */
+	public int getOverloaded() {
+		return this.overloaded;
+	}
+	
+	/**
+	 * @return the number of joins, quits, reads and writes during the phase
+	 */
+	public long getOperations() {
+		return this.operations;
+	}
+	
+	/**
+	 * @return the wall time of the phase in nanoseconds
+	 */
+	public long getNanos() {
+		return this.nanos;
+	}
+	
+	/**
+	 * @return the operations per second of wall time
+	 */
+	public double getThroughput() {
+		return this.nanos == 0 ? 0 : this.operations * 1e9 / this.nanos;
+	}
+	
+	/**
+	 * @return the ticks per second, which is 20 on a server keeping up
+	 */
+	public double getTicksPerSecond() {
+		return this.nanos == 0 ? 0 : this.ticks * 1e9 / this.nanos;
+	}
+
+}
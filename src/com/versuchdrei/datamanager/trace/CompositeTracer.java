@@ -0,0 +1,56 @@
+package com.versuchdrei.datamanager.trace;
+
+import java.util.List;
+
+/**
+ * passes the reported work on to several tracers
+ * @author VersuchDrei
+ * @version 1.0
+ */
+class CompositeTracer implements Tracer {
+	
+	private final List<Tracer> tracers;
+	
+	CompositeTracer(final List<Tracer> tracers) {
+		this.tracers = tracers;
+	}
+	
+	@Override
+	public Span beginFileSave(final String file) {
+		final Span[] spans = new Span[this.tracers.size()];
+		for(int i = 0; i < spans.length; i++) {
+			spans[i] = this.tracers.get(i).beginFileSave(file);
+		}
+		return amount -> end(spans, amount);
+	}
+	
+	@Override
+	public Span beginCacheSync() {
+		final Span[] spans = new Span[this.tracers.size()];
+		for(int i = 0; i < spans.length; i++) {
+			spans[i] = this.tracers.get(i).beginCacheSync();
+		}
+		return amount -> end(spans, amount);
+	}
+	
+	@Override
+	public void statementExecuted(final String table, final String operation, final int keys, final long rows, final long nanos) {
+		for(final Tracer tracer: this.tracers) {
+			tracer.statementExecuted(table, operation, keys, rows, nanos);
+		}
+	}
+	
+	@Override
+	public void cacheAccessed(final String cache, final boolean hit) {
+		for(final Tracer tracer: this.tracers) {
+			tracer.cacheAccessed(cache, hit);
+		}
+	}
+	
+	private static void end(final Span[] spans, final long amount) {
+		for(final Span span: spans) {
+			span.end(amount);
+		}
+	}
+
+}
@@ -0,0 +1,16 @@
+package com.versuchdrei.datamanager.trace;
+
+/**
+ * a traced piece of work that is still running
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public interface Span {
+	
+	// the span handed out while tracing is disabled
+	public static final Span NONE = amount -> {};
+	
+	// ends the work, the amount is the number of bytes or rows the work handled
+	public void end(long amount);
+
+}
@@ -0,0 +1,43 @@
+package com.versuchdrei.datamanager.trace;
+
+/**
+ * receives the storage work of the backends, so it can be correlated with other activity of the server in a profiler
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public interface Tracer {
+	
+	// the tracer used while tracing is disabled
+	public static final Tracer NONE = new Tracer() {
+		
+		@Override
+		public Span beginFileSave(final String file) {
+			return Span.NONE;
+		}
+		
+		@Override
+		public Span beginCacheSync() {
+			return Span.NONE;
+		}
+		
+		@Override
+		public void statementExecuted(final String table, final String operation, final int keys, final long rows, final long nanos) {}
+		
+		@Override
+		public void cacheAccessed(final String cache, final boolean hit) {}
+		
+	};
+	
+	// begins writing a data file, the span is ended with the size of the written file
+	public Span beginFileSave(String file);
+	
+	// begins reading the changes of other servers into the cache of a database backend, the span is ended with the number of read changes
+	public Span beginCacheSync();
+	
+	// reports a finished database statement, the statement log already measured its duration
+	public void statementExecuted(String table, String operation, int keys, long rows, long nanos);
+	
+	// reports a read answered by a cache or passed on to the backend
+	public void cacheAccessed(String cache, boolean hit);
+
+}
@@ -0,0 +1,69 @@
+package com.versuchdrei.datamanager.trace;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * holds the tracers the backends report their storage work to
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class Tracing {
+	
+	private static final List<Tracer> TRACERS = new ArrayList<>();
+	// rebuilt on every change, so reporting never has to lock
+	private static volatile Tracer tracer = Tracer.NONE;
+	
+	private Tracing() {}
+	
+	/**
+	 * @return the tracer passing the work on to all added tracers, which does nothing if there are none
+	 */
+	public static Tracer get() {
+		return Tracing.tracer;
+	}
+	
+	/**
+	 * @param tracer the tracer to report to from now on
+	 */
+	public static void add(final Tracer tracer) {
+		synchronized(Tracing.TRACERS) {
+			Tracing.TRACERS.add(tracer);
+			update();
+		}
+	}
+	
+	/**
+	 * removes all tracers, which disables tracing
+	 */
+	public static void clear() {
+		synchronized(Tracing.TRACERS) {
+			Tracing.TRACERS.clear();
+			update();
+		}
+	}
+	
+	/**
+	 * checks whether the running java supports flight recorder events, without loading any of its classes
+	 * @return true if flight recorder events can be used, otherwise false
+	 */
+	public static boolean isFlightRecorderAvailable() {
+		try {
+			Class.forName("jdk.jfr.Event", false, Tracing.class.getClassLoader());
+			return true;
+		} catch (final ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+	
+	private static void update() {
+		if(Tracing.TRACERS.isEmpty()) {
+			Tracing.tracer = Tracer.NONE;
+		} else if(Tracing.TRACERS.size() == 1) {
+			Tracing.tracer = Tracing.TRACERS.get(0);
+		} else {
+			Tracing.tracer = new CompositeTracer(new ArrayList<>(Tracing.TRACERS));
+		}
+	}
+
+}
@@ -0,0 +1,30 @@
+package com.versuchdrei.datamanager.trace.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * a read answered by a cache of the data manager or passed on to the backend, disabled by default as there is one for most reads
+ * @author VersuchDrei
+ * @version 1.0
+ */
+@Name("com.versuchdrei.datamanager.CacheAccess")
+@Label("DataManager Cache Access")
+@Category({"DataManager"})
+@Description("A read checked against a cache of the data manager")
+@Enabled(false)
+@StackTrace(false)
+class CacheAccessEvent extends Event {
+	
+	@Label("Cache")
+	String cache;
+	
+	@Label("Hit")
+	boolean hit;
+
+}
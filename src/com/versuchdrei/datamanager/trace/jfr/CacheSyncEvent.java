@@ -0,0 +1,33 @@
+package com.versuchdrei.datamanager.trace.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import com.versuchdrei.datamanager.trace.Span;
+
+/**
+ * a read of the changes other servers made, which evicts the values they changed from the cache of a database backend
+ * @author VersuchDrei
+ * @version 1.0
+ */
+@Name("com.versuchdrei.datamanager.CacheSync")
+@Label("DataManager Cache Sync")
+@Category({"DataManager"})
+@Description("The changes of other servers being read into the cache of a database backend")
+@StackTrace(false)
+class CacheSyncEvent extends Event implements Span {
+	
+	@Label("Changes")
+	long changes;
+	
+	@Override
+	public void end(final long amount) {
+		this.changes = amount;
+		commit();
+	}
+
+}
@@ -0,0 +1,41 @@
+package com.versuchdrei.datamanager.trace.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * a call of the data source, from the view of the calling plugin
+ * @author VersuchDrei
+ * @version 1.0
+ */
+@Name("com.versuchdrei.datamanager.DataOperation")
+@Label("DataManager Operation")
+@Category({"DataManager"})
+@Description("A call of a plugin to the data manager")
+class DataOperationEvent extends Event {
+	
+	@Label("Operation")
+	String operation;
+	
+	@Label("Scope")
+	String scope;
+	
+	@Label("Plugin Key")
+	String pluginKey;
+	
+	@Label("Data Key")
+	String dataKey;
+	
+	@Label("Value Type")
+	String valueType;
+	
+	@Label("Backend")
+	String backend;
+	
+	@Label("Failed")
+	boolean failed;
+
+}
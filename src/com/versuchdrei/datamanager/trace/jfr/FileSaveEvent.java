@@ -0,0 +1,38 @@
+package com.versuchdrei.datamanager.trace.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import com.versuchdrei.datamanager.trace.Span;
+
+/**
+ * a data file of a yaml backend being written to disk
+ * @author VersuchDrei
+ * @version 1.0
+ */
+@Name("com.versuchdrei.datamanager.FileSave")
+@Label("DataManager File Save")
+@Category({"DataManager"})
+@Description("A data file written by a yaml backend")
+@StackTrace(false)
+class FileSaveEvent extends Event implements Span {
+	
+	@Label("File")
+	String file;
+	
+	@Label("Bytes Written")
+	@DataAmount
+	long bytes;
+	
+	@Override
+	public void end(final long amount) {
+		this.bytes = amount;
+		commit();
+	}
+
+}
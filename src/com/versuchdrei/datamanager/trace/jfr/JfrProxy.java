@@ -0,0 +1,51 @@
+package com.versuchdrei.datamanager.trace.jfr;
+
+import com.versuchdrei.datamanager.datasource.DataSource;
+import com.versuchdrei.datamanager.datasource.proxy.DataOperation;
+import com.versuchdrei.datamanager.datasource.proxy.DataSourceProxy;
+
+/**
+ * emits a flight recorder event for every call of the data source
+ * @author VersuchDrei
+ * @version 1.0
+ */
+class JfrProxy extends DataSourceProxy {
+	
+	private final String backend;
+	
+	JfrProxy(final DataSource source, final String backend) {
+		super(source);
+		this.backend = backend;
+	}
+	
+	@Override
+	protected Object invoke(final DataOperation operation, final Object[] args) throws Throwable {
+		final DataOperationEvent event = new DataOperationEvent();
+		if(!event.isEnabled()) {
+			return forward(operation, args);
+		}
+		
+		event.begin();
+		event.failed = true;
+		try {
+			final Object result = forward(operation, args);
+			event.failed = false;
+			return result;
+		} finally {
+			event.end();
+			if(event.shouldCommit()) {
+				// the fields are only filled for the events that are actually written
+				event.operation = operation.getName();
+				event.pluginKey = operation.getPluginKey(args);
+				event.backend = this.backend;
+				operation.getScope().ifPresent(scope -> {
+					event.scope = scope.name();
+					event.dataKey = operation.getDataKey(args);
+				});
+				operation.getValueType().ifPresent(type -> event.valueType = type.getSimpleName());
+				event.commit();
+			}
+		}
+	}
+
+}
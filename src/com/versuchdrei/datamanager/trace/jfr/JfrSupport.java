@@ -0,0 +1,28 @@
+package com.versuchdrei.datamanager.trace.jfr;
+
+import com.versuchdrei.datamanager.datasource.DataSource;
+import com.versuchdrei.datamanager.trace.Tracing;
+
+/**
+ * Enables the flight recorder events of the data manager.
+ * This is the only class of the package referenced from outside, so none of the events are loaded on a java without flight recorder.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class JfrSupport {
+	
+	private JfrSupport() {}
+	
+	/**
+	 * reports the storage work of the backends as events and wraps the data source to report every call, 
+	 * may only be called if {@link Tracing#isFlightRecorderAvailable()} is true
+	 * @param source the data source to wrap
+	 * @param backend the name of the data system behind the data source
+	 * @return the wrapped data source
+	 */
+	public static DataSource install(final DataSource source, final String backend) {
+		Tracing.add(new JfrTracer());
+		return new JfrProxy(source, backend).create();
+	}
+
+}
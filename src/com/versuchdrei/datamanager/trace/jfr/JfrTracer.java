@@ -0,0 +1,64 @@
+package com.versuchdrei.datamanager.trace.jfr;
+
+import com.versuchdrei.datamanager.trace.Span;
+import com.versuchdrei.datamanager.trace.Tracer;
+
+/**
+ * reports the storage work of the backends as flight recorder events, 
+ * events that are not enabled by the running recordings cost no more than the check whether they are
+ * @author VersuchDrei
+ * @version 1.0
+ */
+class JfrTracer implements Tracer {
+	
+	@Override
+	public Span beginFileSave(final String file) {
+		final FileSaveEvent event = new FileSaveEvent();
+		if(!event.isEnabled()) {
+			return Span.NONE;
+		}
+		
+		event.file = file;
+		event.begin();
+		return event;
+	}
+	
+	@Override
+	public Span beginCacheSync() {
+		final CacheSyncEvent event = new CacheSyncEvent();
+		if(!event.isEnabled()) {
+			return Span.NONE;
+		}
+		
+		event.begin();
+		return event;
+	}
+	
+	@Override
+	public void statementExecuted(final String table, final String operation, final int keys, final long rows, final long nanos) {
+		final StatementEvent event = new StatementEvent();
+		if(!event.isEnabled()) {
+			return;
+		}
+		
+		event.table = table;
+		event.operation = operation;
+		event.keys = keys;
+		event.rows = rows;
+		event.executionTime = nanos;
+		event.commit();
+	}
+	
+	@Override
+	public void cacheAccessed(final String cache, final boolean hit) {
+		final CacheAccessEvent event = new CacheAccessEvent();
+		if(!event.isEnabled()) {
+			return;
+		}
+		
+		event.cache = cache;
+		event.hit = hit;
+		event.commit();
+	}
+
+}
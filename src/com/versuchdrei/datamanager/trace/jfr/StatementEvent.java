@@ -0,0 +1,39 @@
+package com.versuchdrei.datamanager.trace.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * a statement of a database backend, committed once it finished with the time it took
+ * @author VersuchDrei
+ * @version 1.0
+ */
+@Name("com.versuchdrei.datamanager.Statement")
+@Label("DataManager Statement")
+@Category({"DataManager"})
+@Description("A statement executed by a database backend")
+@StackTrace(false)
+class StatementEvent extends Event {
+	
+	@Label("Table")
+	String table;
+	
+	@Label("Operation")
+	String operation;
+	
+	@Label("Bound Keys")
+	int keys;
+	
+	@Label("Rows")
+	long rows;
+	
+	@Label("Execution Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long executionTime;
+
+}
@@ -0,0 +1,69 @@
+package com.versuchdrei.datamanager.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Holds the cached data of a bounded number of owners, which are the global data of a plugin, a player, a group or a member.
+ * Once there are more owners than the capacity, the owner that was accessed least recently is dropped.
+ * The owners are kept in an access ordered map under the lock of this object, the data of an owner has to be thread safe on its own.
+ * @author VersuchDrei
+ * @version 1.0
+ * @param <V> the type of the data of an owner
+ */
+public class BoundedOwnerMap<V> {
+
+	private final Map<String, V> owners;
+
+	/**
+	 * @param capacity the maximum number of owners to keep
+	 */
+	public BoundedOwnerMap(final int capacity) {
+		this.owners = new LinkedHashMap<String, V>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, V> eldest) {
+				return size() > capacity;
+			}
+
+		};
+	}
+
+	/**
+	 * @param owner the owner to get the data of
+	 * @return the data of the owner, or null if it is not kept
+	 */
+	public synchronized V get(final String owner) {
+		return this.owners.get(owner);
+	}
+
+	/**
+	 * @param owner the owner to get the data of
+	 * @param factory creates the data of the owner if it is not kept yet
+	 * @return the data of the owner
+	 */
+	public synchronized V computeIfAbsent(final String owner, final Function<String, V> factory) {
+		return this.owners.computeIfAbsent(owner, factory);
+	}
+
+	/**
+	 * drops the data of the owner
+	 * @param owner the owner to drop
+	 */
+	public synchronized void remove(final String owner) {
+		this.owners.remove(owner);
+	}
+
+	/**
+	 * drops the data of all owners matching the filter
+	 * @param filter the filter to test the owners with
+	 */
+	public synchronized void removeIf(final Predicate<String> filter) {
+		this.owners.keySet().removeIf(filter);
+	}
+
+}
@@ -0,0 +1,165 @@
+package com.versuchdrei.datamanager.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.json.simple.JSONArray;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+/**
+ * Measures the list codec of {@link StringUtils} against json-simple, which encoded the lists before.
+ * Both encode and decode the same lists, a part of the elements needs escaping like names with quotes or line breaks.
+ * It runs outside of a server, json-simple has to be on the class path, it is shipped with Bukkit.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class ListCodecBenchmark {
+
+	private static final String USAGE = "usage: [lists] [elements]";
+	private static final int DEFAULT_LISTS = 10000;
+	private static final int DEFAULT_ELEMENTS = 20;
+	private static final int WARMUP_ROUNDS = 5;
+	private static final int ROUNDS = 10;
+	private static final long SEED = 3;
+	private static final String ESCAPED_CHARACTERS = "\"\\\n\t/";
+
+	private final List<List<String>> lists;
+	private final List<String> encoded;
+	// keeps the results alive, so the JIT cannot drop the measured work
+	private long sink;
+
+	/**
+	 * @param lists the number of lists to encode and decode per round
+	 * @param elements the number of elements per list
+	 */
+	public ListCodecBenchmark(final int lists, final int elements) {
+		final Random random = new Random(ListCodecBenchmark.SEED);
+		this.lists = new ArrayList<>(lists);
+		this.encoded = new ArrayList<>(lists);
+		for(int i = 0; i < lists; i++) {
+			final List<String> list = new ArrayList<>(elements);
+			for(int j = 0; j < elements; j++) {
+				list.add(randomElement(random));
+			}
+			this.lists.add(list);
+			this.encoded.add(StringUtils.listToString(list));
+		}
+	}
+
+	/**
+	 * checks that both codecs read what the other one wrote and measures both of them
+	 * @return the measured lines, ready to be printed
+	 * @throws ParseException if json-simple cannot read a list written by the codec
+	 */
+	public List<String> run() throws ParseException {
+		final JSONParser parser = new JSONParser();
+		for(final List<String> list: this.lists) {
+			if(!list.equals(parser.parse(StringUtils.listToString(list))) || !list.equals(StringUtils.stringToList(JSONArray.toJSONString(list)))) {
+				throw new IllegalStateException("the codecs disagree on " + list);
+			}
+		}
+
+		for(int i = 0; i < ListCodecBenchmark.WARMUP_ROUNDS; i++) {
+			encodeCodec();
+			encodeJson();
+			decodeCodec();
+			decodeJson(parser);
+		}
+
+		long encodeCodec = 0;
+		long encodeJson = 0;
+		long decodeCodec = 0;
+		long decodeJson = 0;
+		for(int i = 0; i < ListCodecBenchmark.ROUNDS; i++) {
+			encodeCodec += encodeCodec();
+			encodeJson += encodeJson();
+			decodeCodec += decodeCodec();
+			decodeJson += decodeJson(parser);
+		}
+
+		final List<String> lines = new ArrayList<>();
+		lines.add(format("codec", encodeCodec, decodeCodec));
+		lines.add(format("json-simple", encodeJson, decodeJson));
+		lines.add("checksum: " + this.sink);
+		return lines;
+	}
+
+	private long encodeCodec() {
+		final long start = System.nanoTime();
+		for(final List<String> list: this.lists) {
+			this.sink += StringUtils.listToString(list).length();
+		}
+		return System.nanoTime() - start;
+	}
+
+	private long encodeJson() {
+		final long start = System.nanoTime();
+		for(final List<String> list: this.lists) {
+			this.sink += JSONArray.toJSONString(list).length();
+		}
+		return System.nanoTime() - start;
+	}
+
+	private long decodeCodec() {
+		final long start = System.nanoTime();
+		for(final String string: this.encoded) {
+			this.sink += StringUtils.stringToList(string).size();
+		}
+		return System.nanoTime() - start;
+	}
+
+	private long decodeJson(final JSONParser parser) throws ParseException {
+		final long start = System.nanoTime();
+		for(final String string: this.encoded) {
+			this.sink += ((List<?>) parser.parse(string)).size();
+		}
+		return System.nanoTime() - start;
+	}
+
+	private String format(final String name, final long encodeNanos, final long decodeNanos) {
+		final double lists = (double) this.lists.size() * ListCodecBenchmark.ROUNDS;
+		return String.format(Locale.ROOT, "%s: encoded %.0f lists/s, decoded %.0f lists/s", name,
+				lists / (encodeNanos / 1e9), lists / (decodeNanos / 1e9));
+	}
+
+	private static String randomElement(final Random random) {
+		final StringBuilder builder = new StringBuilder();
+		final int length = 4 + random.nextInt(16);
+		for(int i = 0; i < length; i++) {
+			builder.append((char) ('a' + random.nextInt(26)));
+		}
+		// every fourth element needs escaping
+		if(random.nextInt(4) == 0) {
+			builder.insert(random.nextInt(length), ListCodecBenchmark.ESCAPED_CHARACTERS.charAt(random.nextInt(ListCodecBenchmark.ESCAPED_CHARACTERS.length())));
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * runs the benchmark and prints the results
+	 * @param args the number of lists and the number of elements per list
+	 */
+	public static void main(final String[] args) {
+		final int lists;
+		final int elements;
+		try {
+			lists = args.length > 0 ? Integer.parseInt(args[0]) : ListCodecBenchmark.DEFAULT_LISTS;
+			elements = args.length > 1 ? Integer.parseInt(args[1]) : ListCodecBenchmark.DEFAULT_ELEMENTS;
+		} catch (final NumberFormatException e) {
+			System.err.println(ListCodecBenchmark.USAGE);
+			return;
+		}
+
+		try {
+			for(final String line: new ListCodecBenchmark(lists, elements).run()) {
+				System.out.println(line);
+			}
+		} catch (final ParseException e) {
+			e.printStackTrace();
+		}
+	}
+
+}
@@ -1,13 +1,8 @@
 package com.versuchdrei.datamanager.utils;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
-
-import org.json.simple.JSONArray;
-import org.json.simple.parser.JSONParser;
-import org.json.simple.parser.ParseException;
+import java.util.function.Consumer;
 
 /**
  * a util class for methods regarding strings
@@ -16,18 +11,208 @@ import org.json.simple.parser.ParseException;
  */
 public class StringUtils {
 
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
 	public static List<String> stringToList(final String string){
+		final List<String> list = new ArrayList<>();
 		try {
-			final JSONParser parser = new JSONParser();
-			final JSONArray array = (JSONArray) parser.parse(string);
-			return Arrays.stream(array.toArray()).map(object -> object.toString()).collect(Collectors.toList());
-		} catch (final ParseException e) {
+			forEachListElement(string, list::add);
+		} catch (final IllegalArgumentException e) {
 			e.printStackTrace();
 			return new ArrayList<>();
 		}
+		return list;
 	}
-	
+
+	/**
+	 * Decodes a list formatted by {@link #listToString(List)} and hands every element to the consumer as soon as it is read,
+	 * so large lists can be processed without building an intermediate list.
+	 * Any JSON array is accepted, values that are not strings are passed on in their textual form.
+	 * @param string the formatted list
+	 * @param consumer the consumer to pass the elements to
+	 * @throws IllegalArgumentException if the string is not a valid formatted list
+	 */
+	public static void forEachListElement(final String string, final Consumer<String> consumer) {
+		final int length = string.length();
+		int index = skipWhitespace(string, 0);
+		if(index >= length || string.charAt(index) != '[') {
+			throw new IllegalArgumentException("expected '[' at position " + index + " of " + string);
+		}
+
+		index = skipWhitespace(string, index + 1);
+		if(index < length && string.charAt(index) == ']') {
+			return;
+		}
+
+		while(index < length) {
+			final char first = string.charAt(index);
+			if(first == '"') {
+				index = readString(string, index + 1, consumer);
+			} else {
+				// bare values like numbers or booleans end at the next separator
+				int end = index;
+				while(end < length && string.charAt(end) != ',' && string.charAt(end) != ']' && !Character.isWhitespace(string.charAt(end))) {
+					end++;
+				}
+				final String token = string.substring(index, end);
+				consumer.accept(token.equals("null") ? null : token);
+				index = end;
+			}
+
+			index = skipWhitespace(string, index);
+			if(index >= length) {
+				break;
+			}
+
+			final char separator = string.charAt(index);
+			if(separator == ']') {
+				return;
+			}
+			if(separator != ',') {
+				throw new IllegalArgumentException("expected ',' or ']' at position " + index + " of " + string);
+			}
+			index = skipWhitespace(string, index + 1);
+		}
+
+		throw new IllegalArgumentException("unterminated list " + string);
+	}
+
 	public static String listToString(final List<String> list) {
-		return JSONArray.toJSONString(list);
+		// most elements are short identifiers, so this estimate avoids resizing the builder in the common case
+		final StringBuilder builder = new StringBuilder(2 + list.size() * 16);
+		builder.append('[');
+		boolean first = true;
+		for(final String element: list) {
+			if(!first) {
+				builder.append(',');
+			}
+			first = false;
+
+			if(element == null) {
+				builder.append("null");
+			} else {
+				builder.append('"');
+				appendEscaped(builder, element);
+				builder.append('"');
+			}
+		}
+		builder.append(']');
+		return builder.toString();
+	}
+
+	private static int skipWhitespace(final String string, int index) {
+		while(index < string.length() && Character.isWhitespace(string.charAt(index))) {
+			index++;
+		}
+		return index;
+	}
+
+	/**
+	 * reads a quoted string starting behind the opening quote
+	 * @return the index behind the closing quote
+	 */
+	private static int readString(final String string, final int start, final Consumer<String> consumer) {
+		final int length = string.length();
+
+		// without escape sequences the element is a plain substring
+		int index = start;
+		while(index < length) {
+			final char c = string.charAt(index);
+			if(c == '"') {
+				consumer.accept(string.substring(start, index));
+				return index + 1;
+			}
+			if(c == '\\') {
+				break;
+			}
+			index++;
+		}
+
+		final StringBuilder builder = new StringBuilder(index - start + 16);
+		builder.append(string, start, index);
+		while(index < length) {
+			final char c = string.charAt(index++);
+			if(c == '"') {
+				consumer.accept(builder.toString());
+				return index;
+			}
+			if(c != '\\') {
+				builder.append(c);
+				continue;
+			}
+
+			if(index >= length) {
+				break;
+			}
+			final char escaped = string.charAt(index++);
+			switch(escaped) {
+			case 'b':
+				builder.append('\b');
+				break;
+			case 'f':
+				builder.append('\f');
+				break;
+			case 'n':
+				builder.append('\n');
+				break;
+			case 'r':
+				builder.append('\r');
+				break;
+			case 't':
+				builder.append('\t');
+				break;
+			case 'u':
+				if(index + 4 > length) {
+					throw new IllegalArgumentException("incomplete unicode escape at position " + index + " of " + string);
+				}
+				try {
+					builder.append((char) Integer.parseInt(string.substring(index, index + 4), 16));
+				} catch (final NumberFormatException e) {
+					throw new IllegalArgumentException("invalid unicode escape at position " + index + " of " + string, e);
+				}
+				index += 4;
+				break;
+			default:
+				// covers \" \\ and \/, the latter is written by older versions
+				builder.append(escaped);
+			}
+		}
+
+		throw new IllegalArgumentException("unterminated string at position " + start + " of " + string);
+	}
+
+	private static void appendEscaped(final StringBuilder builder, final String string) {
+		for(int i = 0; i < string.length(); i++) {
+			final char c = string.charAt(i);
+			switch(c) {
+			case '"':
+				builder.append("\\\"");
+				break;
+			case '\\':
+				builder.append("\\\\");
+				break;
+			case '\b':
+				builder.append("\\b");
+				break;
+			case '\f':
+				builder.append("\\f");
+				break;
+			case '\n':
+				builder.append("\\n");
+				break;
+			case '\r':
+				builder.append("\\r");
+				break;
+			case '\t':
+				builder.append("\\t");
+				break;
+			default:
+				if(c < 0x20) {
+					builder.append("\\u00").append(StringUtils.HEX_DIGITS[c >> 4]).append(StringUtils.HEX_DIGITS[c & 0xF]);
+				} else {
+					builder.append(c);
+				}
+			}
+		}
 	}
 }
@@ -0,0 +1,131 @@
+package com.versuchdrei.datamanager.watch;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+import com.versuchdrei.datamanager.datasource.DataScope;
+
+/**
+ * Collects the changes of all values and passes them to the listeners watching them. 
+ * Changes can be recorded from any thread, they are dispatched in one batch per tick 
+ * and a value that changed several times during the tick is only contained once.
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class ChangeDispatcher {
+	
+	private final Queue<DataChange> pending = new ConcurrentLinkedQueue<>();
+	// the watches by scope and plugin key, so a change is only matched against the watches of its plugin
+	private final Map<String, List<DataWatch>> watches = new ConcurrentHashMap<>();
+	
+	private static String buildKey(final DataScope scope, final String pluginKey) {
+		return scope.name() + "." + pluginKey;
+	}
+	
+	/**
+	 * records the change of a value, it will be dispatched with the next batch
+	 * @param change the change
+	 */
+	public void record(final DataChange change) {
+		// without any watches nobody would receive the change
+		if(isWatched(change.getScope(), change.getPluginKey())) {
+			this.pending.add(change);
+		}
+	}
+	
+	/**
+	 * @param scope the scope of the values
+	 * @param pluginKey the key of the plugin owning the values
+	 * @return true if any value of the plugin in the scope is watched, otherwise false
+	 */
+	public boolean isWatched(final DataScope scope, final String pluginKey) {
+		return this.watches.containsKey(ChangeDispatcher.buildKey(scope, pluginKey));
+	}
+	
+	/**
+	 * adds a watch for the changes of one value or all values starting with a prefix
+	 * @param scope the scope of the values
+	 * @param pluginKey the key of the plugin owning the values
+	 * @param dataKey the key of the value, or the prefix of the keys
+	 * @param prefix true if the data key is a prefix, otherwise false
+	 * @param listener the listener to pass the changes to
+	 * @param executor the executor to run the listener on
+	 * @return the watch
+	 */
+	public DataWatch watch(final DataScope scope, final String pluginKey, final String dataKey, final boolean prefix, 
+			final ChangeListener listener, final Executor executor) {
+		final DataWatch watch = new DataWatch(this, scope, pluginKey, dataKey, prefix, listener, executor);
+		// adding inside of compute keeps a concurrent removal from dropping the list the watch is added to
+		this.watches.compute(ChangeDispatcher.buildKey(scope, pluginKey), (key, list) -> {
+			final List<DataWatch> watches = list == null ? new CopyOnWriteArrayList<>() : list;
+			watches.add(watch);
+			return watches;
+		});
+		return watch;
+	}
+	
+	void remove(final DataWatch watch) {
+		this.watches.computeIfPresent(ChangeDispatcher.buildKey(watch.getScope(), watch.getPluginKey()), (key, list) -> {
+			list.remove(watch);
+			return list.isEmpty() ? null : list;
+		});
+	}
+	
+	/**
+	 * @return the number of recorded changes that were not passed to the listeners yet
+	 */
+	public int getPending() {
+		return this.pending.size();
+	}
+	
+	/**
+	 * passes all changes recorded since the last call to the listeners watching them, meant to be called once per tick
+	 */
+	public void dispatch() {
+		final Set<DataChange> changes = new LinkedHashSet<>();
+		DataChange change;
+		while((change = this.pending.poll()) != null) {
+			changes.add(change);
+		}
+		if(changes.isEmpty()) {
+			return;
+		}
+		
+		final Map<DataWatch, List<DataChange>> batches = new IdentityHashMap<>();
+		for(final DataChange next: changes) {
+			final List<DataWatch> watches = this.watches.get(ChangeDispatcher.buildKey(next.getScope(), next.getPluginKey()));
+			if(watches == null) {
+				continue;
+			}
+			
+			for(final DataWatch watch: watches) {
+				if(watch.matches(next)) {
+					batches.computeIfAbsent(watch, key -> new ArrayList<>()).add(next);
+				}
+			}
+		}
+		
+		for(final Map.Entry<DataWatch, List<DataChange>> entry: batches.entrySet()) {
+			final ChangeListener listener = entry.getKey().getListener();
+			final List<DataChange> batch = entry.getValue();
+			entry.getKey().getExecutor().execute(() -> {
+				try {
+					listener.onChanges(batch);
+				} catch (final RuntimeException e) {
+					// a failing listener must not keep the others from receiving their changes
+					e.printStackTrace();
+				}
+			});
+		}
+	}
+
+}
@@ -0,0 +1,16 @@
+package com.versuchdrei.datamanager.watch;
+
+import java.util.List;
+
+/**
+ * a listener for changes of watched values
+ * @author VersuchDrei
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface ChangeListener {
+	
+	// receives all changes of one tick, every changed value is contained only once
+	public void onChanges(List<DataChange> changes);
+
+}
@@ -0,0 +1,98 @@
+package com.versuchdrei.datamanager.watch;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.versuchdrei.datamanager.datasource.DataScope;
+
+/**
+ * a change of a single value, handed to the listeners watching it
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class DataChange {
+	
+	private final DataScope scope;
+	private final UUID uuid;
+	private final String group;
+	private final String pluginKey;
+	private final String dataKey;
+	private final Class<?> type;
+	
+	/**
+	 * creates a new change
+	 * @param scope the scope of the changed value
+	 * @param uuid the player owning the value, null for the global and group scope
+	 * @param group the group owning the value, null for the global and player scope
+	 * @param pluginKey the key of the plugin owning the value
+	 * @param dataKey the key of the value
+	 * @param type the type the value is stored as, one of String, Integer, Long, Float, Double, Boolean or List
+	 */
+	public DataChange(final DataScope scope, final UUID uuid, final String group, final String pluginKey, final String dataKey, final Class<?> type) {
+		this.scope = scope;
+		this.uuid = uuid;
+		this.group = group;
+		this.pluginKey = pluginKey;
+		this.dataKey = dataKey;
+		this.type = type;
+	}
+	
+	public DataScope getScope() {
+		return this.scope;
+	}
+	
+	/**
+	 * @return the player owning the value, an empty optional for the global and group scope
+	 */
+	public Optional<UUID> getUUID(){
+		return Optional.ofNullable(this.uuid);
+	}
+	
+	/**
+	 * @return the group owning the value, an empty optional for the global and player scope
+	 */
+	public Optional<String> getGroup(){
+		return Optional.ofNullable(this.group);
+	}
+	
+	public String getPluginKey() {
+		return this.pluginKey;
+	}
+	
+	public String getDataKey() {
+		return this.dataKey;
+	}
+	
+	/**
+	 * @return the type the value is stored as, the same data key can hold a value of every type
+	 */
+	public Class<?> getType() {
+		return this.type;
+	}
+	
+	@Override
+	public boolean equals(final Object object) {
+		if(this == object) {
+			return true;
+		}
+		if(!(object instanceof DataChange)) {
+			return false;
+		}
+		
+		final DataChange other = (DataChange) object;
+		return this.scope == other.scope && Objects.equals(this.uuid, other.uuid) && Objects.equals(this.group, other.group) 
+				&& this.pluginKey.equals(other.pluginKey) && this.dataKey.equals(other.dataKey) && this.type == other.type;
+	}
+	
+	@Override
+	public int hashCode() {
+		return Objects.hash(this.scope, this.uuid, this.group, this.pluginKey, this.dataKey, this.type);
+	}
+	
+	@Override
+	public String toString() {
+		return this.scope + " " + (this.uuid == null ? "" : this.uuid + " ") + (this.group == null ? "" : this.group + " ") + this.pluginKey + "." + this.dataKey + " (" + this.type.getSimpleName() + ")";
+	}
+
+}
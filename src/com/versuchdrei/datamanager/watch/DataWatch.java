@@ -0,0 +1,60 @@
+package com.versuchdrei.datamanager.watch;
+
+import java.util.concurrent.Executor;
+
+import com.versuchdrei.datamanager.datasource.DataScope;
+
+/**
+ * a subscription of a listener to the changes of a value or all values starting with a prefix
+ * @author VersuchDrei
+ * @version 1.0
+ */
+public class DataWatch {
+	
+	private final ChangeDispatcher dispatcher;
+	private final DataScope scope;
+	private final String pluginKey;
+	private final String dataKey;
+	private final boolean prefix;
+	private final ChangeListener listener;
+	private final Executor executor;
+	
+	DataWatch(final ChangeDispatcher dispatcher, final DataScope scope, final String pluginKey, final String dataKey, final boolean prefix,
+			final ChangeListener listener, final Executor executor) {
+		this.dispatcher = dispatcher;
+		this.scope = scope;
+		this.pluginKey = pluginKey;
+		this.dataKey = dataKey;
+		this.prefix = prefix;
+		this.listener = listener;
+		this.executor = executor;
+	}
+	
+	/**
+	 * stops passing changes to the listener, changes of the current tick may still be passed
+	 */
+	public void cancel() {
+		this.dispatcher.remove(this);
+	}
+	
+	DataScope getScope() {
+		return this.scope;
+	}
+	
+	String getPluginKey() {
+		return this.pluginKey;
+	}
+	
+	boolean matches(final DataChange change) {
+		return this.prefix ? change.getDataKey().startsWith(this.dataKey) : change.getDataKey().equals(this.dataKey);
+	}
+	
+	ChangeListener getListener() {
+		return this.listener;
+	}
+	
+	Executor getExecutor() {
+		return this.executor;
+	}
+
+}